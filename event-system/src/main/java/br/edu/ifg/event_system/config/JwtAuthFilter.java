@@ -1,15 +1,11 @@
 package br.edu.ifg.event_system.config;
 
-import br.edu.ifg.event_system.model.Role;
-import br.edu.ifg.event_system.model.User;
-import br.edu.ifg.event_system.repository.UserRepository;
-import br.edu.ifg.event_system.service.JwtService;
+import br.edu.ifg.event_system.service.AutenticacaoTokenService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.filter.OncePerRequestFilter;
 
@@ -17,12 +13,10 @@ import java.io.IOException;
 
 public class JwtAuthFilter extends OncePerRequestFilter {
 
-    private final JwtService jwtService;
-    private final UserRepository userRepository;
+    private final AutenticacaoTokenService autenticacaoTokenService;
 
-    public JwtAuthFilter(JwtService jwtService, UserRepository userRepository) {
-        this.jwtService = jwtService;
-        this.userRepository = userRepository;
+    public JwtAuthFilter(AutenticacaoTokenService autenticacaoTokenService) {
+        this.autenticacaoTokenService = autenticacaoTokenService;
     }
 
     @Override
@@ -41,27 +35,14 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
         String token = authHeader.substring(7);
 
-        if (!jwtService.validateToken(token)) {
+        UsuarioAutenticado principal = autenticacaoTokenService.autenticar(token);
+        if (principal == null) {
             filterChain.doFilter(request, response);
             return;
         }
 
-        String username = jwtService.getUsernameFromToken(token);
-
-        User user = userRepository.findByUsername(username);
-        if (user == null) {
-            filterChain.doFilter(request, response);
-            return;
-        }
-
-        var roles = user.getRoles().stream()
-                .map(Role::getName)
-                .map(rn -> "ROLE_" + rn)
-                .map(SimpleGrantedAuthority::new)
-                .toList();
-
         UsernamePasswordAuthenticationToken authToken =
-                new UsernamePasswordAuthenticationToken(username, null, roles);
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
 
         SecurityContextHolder.getContext().setAuthentication(authToken);
 
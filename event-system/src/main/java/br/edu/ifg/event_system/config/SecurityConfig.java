@@ -2,7 +2,8 @@ package br.edu.ifg.event_system.config;
 
 import br.edu.ifg.event_system.model.Role;
 import br.edu.ifg.event_system.repository.UserRepository;
-import br.edu.ifg.event_system.service.JwtService;
+import br.edu.ifg.event_system.service.AutenticacaoTokenService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -16,8 +17,10 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -26,6 +29,7 @@ import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import java.util.List;
+import java.util.Map;
 
 @Configuration
 @EnableWebSecurity
@@ -36,19 +40,25 @@ public class SecurityConfig {
     private static final String ROLE_ADMIN_GERAL = "ADMIN_GERAL";
     private static final String ROLE_ADMIN_CAMPUS = "ADMIN_CAMPUS";
     private static final String ROLE_ADMIN_DEPARTAMENTO = "ADMIN_DEPARTAMENTO";
+    private static final String ID_BCRYPT = "bcrypt";
 
     private final UserRepository userRepository;
-    private final JwtService jwtService;
+    private final AutenticacaoTokenService autenticacaoTokenService;
+    private final int custoBcrypt;
 
-    public SecurityConfig(UserRepository userRepository, JwtService jwtService) {
+    public SecurityConfig(UserRepository userRepository,
+                          AutenticacaoTokenService autenticacaoTokenService,
+                          @Value("${eventos.auth.senhas.custo-bcrypt:10}") int custoBcrypt) {
         this.userRepository = userRepository;
-        this.jwtService = jwtService;
+        this.autenticacaoTokenService = autenticacaoTokenService;
+        this.custoBcrypt = custoBcrypt;
     }
 
     @Bean
     public UserDetailsService userDetailsService() {
+        // Executado no pool de verificação de senhas, sem sessão aberta: as roles vêm no fetch join.
         return username -> {
-            var user = userRepository.findByUsername(username);
+            var user = userRepository.findComRolesByUsername(username);
             if (user == null) {
                 return new org.springframework.security.core.userdetails.User(
                         "dummy_user",
@@ -71,11 +81,31 @@ public class SecurityConfig {
         };
     }
 
+    /**
+     * Regrava a senha com o encoder atual quando um login bem-sucedido usa um hash antigo
+     * (sem prefixo ou com custo menor que {@code eventos.auth.senhas.custo-bcrypt}).
+     */
+    @Bean
+    public UserDetailsPasswordService userDetailsPasswordService() {
+        return (userDetails, novaSenha) -> {
+            var user = userRepository.findByUsername(userDetails.getUsername());
+            if (user == null) {
+                return userDetails;
+            }
+            user.setPassword(novaSenha);
+            userRepository.save(user);
+            return org.springframework.security.core.userdetails.User.withUserDetails(userDetails)
+                    .password(novaSenha)
+                    .build();
+        };
+    }
+
     @Bean
     public AuthenticationProvider authenticationProvider() {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService());
         authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setUserDetailsPasswordService(userDetailsPasswordService());
         return authProvider;
     }
 
@@ -88,7 +118,7 @@ public class SecurityConfig {
 
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
-        JwtAuthFilter jwtAuthFilter = new JwtAuthFilter(jwtService, userRepository);
+        JwtAuthFilter jwtAuthFilter = new JwtAuthFilter(autenticacaoTokenService);
 
         http
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
@@ -127,9 +157,16 @@ public class SecurityConfig {
         return http.build();
     }
 
+    /**
+     * Novos hashes saem como {@code {bcrypt}} com o custo configurado. Hashes legados, sem
+     * prefixo, continuam sendo conferidos pelo BCrypt e são regravados no próximo login.
+     */
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(ID_BCRYPT,
+                Map.of(ID_BCRYPT, new BCryptPasswordEncoder(custoBcrypt)));
+        encoder.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder());
+        return encoder;
     }
 
     @Bean
@@ -137,7 +174,8 @@ public class SecurityConfig {
         CorsConfiguration configuration = new CorsConfiguration();
         configuration.setAllowedOrigins(List.of("http://localhost:3000"));
         configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "PATCH", "OPTIONS"));
-        configuration.setAllowedHeaders(List.of("Authorization", "Content-Type"));
+        configuration.setAllowedHeaders(List.of("Authorization", "Content-Type", "Idempotency-Key", "X-Fila-Token", "If-None-Match"));
+        configuration.setExposedHeaders(List.of("Location", "Idempotency-Replayed", "X-Reserva-Expira-Em", "ETag"));
         configuration.setAllowCredentials(true);
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
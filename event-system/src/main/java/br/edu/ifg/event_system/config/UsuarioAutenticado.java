@@ -0,0 +1,87 @@
+package br.edu.ifg.event_system.config;
+
+import br.edu.ifg.event_system.util.EscopoAutorizacao;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.security.Principal;
+import java.util.List;
+
+/**
+ * Principal das requisições autenticadas por JWT, montado a partir das claims do token.
+ * Como implementa {@link Principal}, {@code Authentication#getName()} continua devolvendo
+ * o username.
+ */
+public final class UsuarioAutenticado implements Principal {
+
+    private final Long id;
+    private final String username;
+    private final String nomeCompleto;
+    private final List<String> roles;
+    private final List<GrantedAuthority> authorities;
+    private final EscopoAutorizacao escopo;
+    private final long emitidoEm;
+    private final long expiraEm;
+
+    /**
+     * @param nomeCompleto nulo em tokens emitidos antes de o nome fazer parte das claims
+     * @param emitidoEm instante de emissão do token, em segundos (claim {@code iat})
+     * @param expiraEm  instante de expiração do token, em milissegundos
+     */
+    public UsuarioAutenticado(Long id, String username, String nomeCompleto, List<String> roles,
+                              EscopoAutorizacao escopo, long emitidoEm, long expiraEm) {
+        this.id = id;
+        this.username = username;
+        this.nomeCompleto = nomeCompleto;
+        this.roles = List.copyOf(roles);
+        this.authorities = roles.stream()
+                .map(role -> (GrantedAuthority) new SimpleGrantedAuthority("ROLE_" + role))
+                .toList();
+        this.escopo = escopo;
+        this.emitidoEm = emitidoEm;
+        this.expiraEm = expiraEm;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getNomeCompleto() {
+        return nomeCompleto;
+    }
+
+    public List<String> getRoles() {
+        return roles;
+    }
+
+    public List<GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    public EscopoAutorizacao getEscopo() {
+        return escopo;
+    }
+
+    public long getEmitidoEm() {
+        return emitidoEm;
+    }
+
+    public boolean isExpirado(long agoraMs) {
+        return agoraMs >= expiraEm;
+    }
+
+    @Override
+    public String getName() {
+        return username;
+    }
+
+    @Override
+    public String toString() {
+        return username;
+    }
+
+}
@@ -2,58 +2,120 @@ package br.edu.ifg.event_system.controller;
 
 import br.edu.ifg.event_system.dto.LoginRequestDTO;
 import br.edu.ifg.event_system.dto.LoginResponseDTO;
+import br.edu.ifg.event_system.dto.RefreshTokenRequestDTO;
 import br.edu.ifg.event_system.dto.RegisterRequestDTO;
-import br.edu.ifg.event_system.model.Role;
 import br.edu.ifg.event_system.model.User;
 import br.edu.ifg.event_system.service.JwtService;
+import br.edu.ifg.event_system.service.RevogacaoTokenService;
 import br.edu.ifg.event_system.service.UserService;
+import br.edu.ifg.event_system.service.UsuarioLogadoService;
+import br.edu.ifg.event_system.service.VerificacaoSenhaService;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api/auth")
 public class AuthController {
 
-    private final AuthenticationManager authenticationManager;
+    private static final String SEGUNDOS_PARA_NOVA_TENTATIVA = "1";
+
+    private final VerificacaoSenhaService verificacaoSenhaService;
     private final JwtService jwtService;
     private final UserService userService;
+    private final RevogacaoTokenService revogacaoTokenService;
+    private final UsuarioLogadoService usuarioLogadoService;
 
-    public AuthController(AuthenticationManager authenticationManager,
+    public AuthController(VerificacaoSenhaService verificacaoSenhaService,
                           JwtService jwtService,
-                          UserService userService) {
-        this.authenticationManager = authenticationManager;
+                          UserService userService,
+                          RevogacaoTokenService revogacaoTokenService,
+                          UsuarioLogadoService usuarioLogadoService) {
+        this.verificacaoSenhaService = verificacaoSenhaService;
         this.jwtService = jwtService;
         this.userService = userService;
+        this.revogacaoTokenService = revogacaoTokenService;
+        this.usuarioLogadoService = usuarioLogadoService;
     }
 
+    /**
+     * A senha é verificada no pool do {@link VerificacaoSenhaService}; a thread da requisição
+     * é liberada enquanto isso. Com o pool saturado a resposta é 429.
+     */
     @PostMapping("/login")
-    public ResponseEntity<LoginResponseDTO> login(@RequestBody LoginRequestDTO request) {
-        try {
-            authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword())
-            );
+    public CompletableFuture<ResponseEntity<LoginResponseDTO>> login(@RequestBody LoginRequestDTO request) {
+        return verificacaoSenhaService.autenticar(request.getUsername(), request.getPassword())
+                .thenApply(autenticacao -> {
+                    User user = userService.buscarComEscopoPorUsername(request.getUsername());
+                    return ResponseEntity.ok(emitirTokens(user));
+                })
+                .exceptionally(this::falhaNoLogin);
+    }
 
-            User user = userService.buscarPorUsername(request.getUsername());
+    /**
+     * Troca um token de renovação válido por um novo par. O token usado é revogado
+     * (rotação), então reapresentá-lo falha; roles e escopo do novo token de acesso são
+     * lidos do banco.
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<LoginResponseDTO> refresh(@RequestBody RefreshTokenRequestDTO request) {
+        JwtService.TokenVerificado renovacao = verificarRenovacao(request.getRefreshToken());
+        if (renovacao == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
 
-            List<String> roles = user.getRoles().stream()
-                    .map(Role::getName)
-                    .toList();
+        User user = userService.buscarPorId(renovacao.userId());
+        if (user == null || !revogacaoTokenService.revogarToken(renovacao.id(), renovacao.expiraEm())) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        return ResponseEntity.ok(emitirTokens(user));
+    }
 
-            String token = jwtService.generateToken(request.getUsername(), roles);
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestBody RefreshTokenRequestDTO request) {
+        JwtService.TokenVerificado renovacao = verificarRenovacao(request.getRefreshToken());
+        if (renovacao != null) {
+            revogacaoTokenService.revogarToken(renovacao.id(), renovacao.expiraEm());
+        }
+        return ResponseEntity.noContent().build();
+    }
 
-            LoginResponseDTO response = new LoginResponseDTO(token);
-            return ResponseEntity.ok(response);
-        } catch (AuthenticationException e) {
+    private ResponseEntity<LoginResponseDTO> falhaNoLogin(Throwable erro) {
+        Throwable causa = erro instanceof CompletionException && erro.getCause() != null ? erro.getCause() : erro;
+        if (causa instanceof AuthenticationException) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
+        if (causa instanceof RejectedExecutionException) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, SEGUNDOS_PARA_NOVA_TENTATIVA)
+                    .build();
+        }
+        if (causa instanceof RuntimeException e) {
+            throw e;
+        }
+        throw new IllegalStateException(causa);
+    }
+
+    private LoginResponseDTO emitirTokens(User user) {
+        return new LoginResponseDTO(jwtService.generateToken(user), jwtService.generateRefreshToken(user));
+    }
+
+    private JwtService.TokenVerificado verificarRenovacao(String refreshToken) {
+        JwtService.TokenVerificado renovacao = jwtService.verificar(refreshToken);
+        if (renovacao == null || !renovacao.isRenovacao() || renovacao.id() == null || renovacao.userId() == null
+                || revogacaoTokenService.isTokenRevogado(renovacao.id())) {
+            return null;
+        }
+        return renovacao;
     }
 
     @PostMapping("/registrar")
@@ -74,7 +136,7 @@ public class AuthController {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
 
-        User user = userService.buscarPorUsername(auth.getName());
+        User user = usuarioLogadoService.obter();
         if (user == null) {
             return ResponseEntity.notFound().build();
         }
@@ -6,14 +6,14 @@ import br.edu.ifg.event_system.model.Departamento;
 import br.edu.ifg.event_system.model.User;
 import br.edu.ifg.event_system.service.CampusService;
 import br.edu.ifg.event_system.service.DepartamentoService;
-import br.edu.ifg.event_system.service.UserService;
+import br.edu.ifg.event_system.service.UsuarioLogadoService;
 import br.edu.ifg.event_system.util.DepartamentoUtils;
+import br.edu.ifg.event_system.util.EscopoAutorizacao;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Arrays;
 import java.util.List;
 
 @RestController
@@ -22,14 +22,14 @@ public class DepartamentoController {
 
     private final DepartamentoService departamentoService;
     private final CampusService campusService;
-    private final UserService userService;
+    private final UsuarioLogadoService usuarioLogadoService;
 
     public DepartamentoController(DepartamentoService departamentoService,
                                   CampusService campusService,
-                                  UserService userService) {
+                                  UsuarioLogadoService usuarioLogadoService) {
         this.departamentoService = departamentoService;
         this.campusService = campusService;
-        this.userService = userService;
+        this.usuarioLogadoService = usuarioLogadoService;
     }
 
     @PreAuthorize("hasAnyRole('ADMIN_GERAL','ADMIN_CAMPUS','ADMIN_DEPARTAMENTO')")
@@ -45,34 +45,30 @@ public class DepartamentoController {
     @PreAuthorize("hasAnyRole('ADMIN_GERAL', 'ADMIN_CAMPUS', 'ADMIN_DEPARTAMENTO')")
     @GetMapping("/gerenciados")
     public ResponseEntity<List<Departamento>> listarDepartamentosGerenciados() {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        User usuarioLogado = userService.buscarPorUsername(auth.getName());
-
-        if (usuarioLogado == null) {
+        EscopoAutorizacao escopo = usuarioLogadoService.obterEscopo();
+        if (escopo == null) {
             return ResponseEntity.notFound().build();
         }
 
-        boolean isAdminGeral = usuarioLogado.getRoles().stream()
-                .anyMatch(r -> r.getName().equals("ADMIN_GERAL"));
-        if (isAdminGeral) {
+        if (escopo.isAdminGeral()) {
             return ResponseEntity.ok(departamentoService.listarTodos());
         }
 
-        boolean isAdminCampus = usuarioLogado.getRoles().stream()
-                .anyMatch(r -> r.getName().equals("ADMIN_CAMPUS"));
-        if (isAdminCampus) {
-            List<Long> campusIds = usuarioLogado.getCampusQueAdministro().stream()
-                    .map(Campus::getId)
-                    .toList();
-
-            List<Departamento> departamentosCampus = campusIds.stream()
+        if (escopo.isAdminCampus()) {
+            List<Departamento> departamentosCampus = Arrays.stream(escopo.getCampusIds())
+                    .boxed()
                     .flatMap(id -> departamentoService.listarPorCampus(id).stream())
                     .toList();
 
             return ResponseEntity.ok(departamentosCampus);
         }
 
-        return ResponseEntity.ok(usuarioLogado.getDepartamentosQueAdministro());
+        // Só aqui as entidades dos departamentos são necessárias; o usuário é carregado do banco.
+        User usuarioLogado = usuarioLogadoService.obter();
+        if (usuarioLogado == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(List.copyOf(usuarioLogado.getDepartamentosQueAdministro()));
     }
 
     @PreAuthorize("hasAnyRole('ADMIN_GERAL','ADMIN_CAMPUS','ADMIN_DEPARTAMENTO')")
@@ -106,7 +102,7 @@ public class DepartamentoController {
     public ResponseEntity<Object> criar(@RequestBody DepartamentoRequestDTO request) {
         @SuppressWarnings("unchecked")
         ResponseEntity<Object> validacao = DepartamentoUtils.validarCampusEPermissao(
-                request, campusService, userService);
+                request, campusService, usuarioLogadoService);
         if (!(validacao.getBody() instanceof DepartamentoUtils.DepartamentoValidationData dataOk)) {
             return validacao;
         }
@@ -129,7 +125,7 @@ public class DepartamentoController {
 
         @SuppressWarnings("unchecked")
         ResponseEntity<Object> validacao = DepartamentoUtils.validarCampusEPermissao(
-                request, campusService, userService);
+                request, campusService, usuarioLogadoService);
         if (!(validacao.getBody() instanceof DepartamentoUtils.DepartamentoValidationData dataOk)) {
             return validacao;
         }
@@ -155,19 +151,9 @@ public class DepartamentoController {
             return ResponseEntity.notFound().build();
         }
 
-        User usuarioLogado = userService.buscarPorUsername(
-                org.springframework.security.core.context.SecurityContextHolder.getContext()
-                        .getAuthentication().getName()
-        );
-        boolean isAdminGeral = usuarioLogado.getRoles().stream()
-                .anyMatch(r -> r.getName().equals("ADMIN_GERAL"));
-
-        if (!isAdminGeral) {
-            boolean gerenciaEsteCampus = usuarioLogado.getCampusQueAdministro().stream()
-                    .anyMatch(c -> c.getId().equals(existente.getCampus().getId()));
-            if (!gerenciaEsteCampus) {
-                return ResponseEntity.status(403).body("Você não gerencia este campus.");
-            }
+        EscopoAutorizacao escopo = usuarioLogadoService.obterEscopo();
+        if (!escopo.isAdminGeral() && !escopo.administraCampus(existente.getCampus().getId())) {
+            return ResponseEntity.status(403).body("Você não gerencia este campus.");
         }
 
         departamentoService.deletar(id);
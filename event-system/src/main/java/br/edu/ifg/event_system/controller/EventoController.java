@@ -1,18 +1,28 @@
 package br.edu.ifg.event_system.controller;
 
+import br.edu.ifg.event_system.dto.EstatisticasCacheDTO;
+import br.edu.ifg.event_system.dto.EventoDetalheDTO;
 import br.edu.ifg.event_system.dto.EventoRequestDTO;
+import br.edu.ifg.event_system.dto.EventoResumoDTO;
+import br.edu.ifg.event_system.dto.FiltroEventoDTO;
+import br.edu.ifg.event_system.dto.InscricaoEmLoteRequestDTO;
+import br.edu.ifg.event_system.dto.PaginaDTO;
+import br.edu.ifg.event_system.dto.ReferenciaDTO;
+import br.edu.ifg.event_system.dto.ResultadoSorteioDTO;
+import br.edu.ifg.event_system.exception.InscricaoException;
 import br.edu.ifg.event_system.model.Evento;
 import br.edu.ifg.event_system.model.Inscricao;
 import br.edu.ifg.event_system.model.User;
 import br.edu.ifg.event_system.repository.CampoAdicionalRepository;
 import br.edu.ifg.event_system.repository.CampoValorRepository;
 import br.edu.ifg.event_system.service.*;
+import br.edu.ifg.event_system.util.EscopoAutorizacao;
 import br.edu.ifg.event_system.util.EventoUtils;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
@@ -22,86 +32,177 @@ import java.util.List;
 @RequestMapping("/api/eventos")
 public class EventoController {
 
+    /**
+     * Permite que o navegador guarde a resposta, mas sempre revalide com If-None-Match.
+     * Sem um Cache-Control explícito, o Spring Security envia {@code no-store} e o
+     * navegador nunca reapresentaria a ETag.
+     */
+    private static final CacheControl REVALIDAR_CATALOGO = CacheControl.noCache().cachePrivate();
+
     private final EventoService eventoService;
+    private final CatalogoEventosService catalogoEventosService;
+    private final SugestaoEventosService sugestaoEventosService;
     private final CampusService campusService;
     private final DepartamentoService departamentoService;
-    private final UserService userService;
+    private final UsuarioLogadoService usuarioLogadoService;
     private final InscricaoService inscricaoService;
+    private final SorteioService sorteioService;
+    private final InscricaoLoteService inscricaoLoteService;
     private final CampoAdicionalRepository campoAdicionalRepository;
     private final CampoValorRepository campoValorRepository;
 
     public EventoController(EventoService eventoService,
+                            CatalogoEventosService catalogoEventosService,
+                            SugestaoEventosService sugestaoEventosService,
                             CampusService campusService,
                             DepartamentoService departamentoService,
-                            UserService userService,
+                            UsuarioLogadoService usuarioLogadoService,
                             InscricaoService inscricaoService,
+                            SorteioService sorteioService,
+                            InscricaoLoteService inscricaoLoteService,
                             CampoAdicionalRepository campoAdicionalRepository,
                             CampoValorRepository campoValorRepository) {
         this.eventoService = eventoService;
+        this.catalogoEventosService = catalogoEventosService;
+        this.sugestaoEventosService = sugestaoEventosService;
         this.campusService = campusService;
         this.departamentoService = departamentoService;
-        this.userService = userService;
+        this.usuarioLogadoService = usuarioLogadoService;
         this.inscricaoService = inscricaoService;
+        this.sorteioService = sorteioService;
+        this.inscricaoLoteService = inscricaoLoteService;
         this.campoAdicionalRepository = campoAdicionalRepository;
         this.campoValorRepository = campoValorRepository;
     }
 
     @GetMapping
-    public ResponseEntity<List<Evento>> listarOuFiltrar(
+    public ResponseEntity<List<EventoResumoDTO>> listarOuFiltrar(
             @RequestParam(required = false) Long campusId,
-            @RequestParam(required = false) Long departamentoId
+            @RequestParam(required = false) Long departamentoId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
     ) {
-        if (campusId == null && departamentoId == null) {
-            return ResponseEntity.ok(eventoService.listarTodos());
-        }
-        if (campusId != null && departamentoId == null) {
-            return ResponseEntity.ok(eventoService.listarPorCampus(campusId));
-        }
-        if (campusId == null) {
-            return ResponseEntity.ok(eventoService.listarPorDepartamento(departamentoId));
+        FiltroEventoDTO filtro = new FiltroEventoDTO();
+        filtro.setCampusId(campusId);
+        filtro.setDepartamentoId(departamentoId);
+        return respostaDoCatalogo(ifNoneMatch, catalogoEventosService.listarResumos(filtro));
+    }
+
+    /**
+     * Listagem paginada por cursor. É selecionada quando a requisição informa {@code limite};
+     * sem ele, {@link #listarOuFiltrar} continua devolvendo a lista completa.
+     */
+    @GetMapping(params = "limite")
+    public ResponseEntity<Object> listarPaginado(FiltroEventoDTO filtro,
+                                                 @RequestParam int limite,
+                                                 @RequestParam(required = false) String cursor,
+                                                 @RequestParam(defaultValue = "asc") String ordem,
+                                                 @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+                                                 String ifNoneMatch) {
+        try {
+            return respostaDoCatalogo(ifNoneMatch, catalogoEventosService.listarPaginado(
+                    filtro, cursor, limite, "desc".equalsIgnoreCase(ordem)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
         }
-        return ResponseEntity.ok(eventoService.listarPorCampusEDepartamento(campusId, departamentoId));
     }
 
+    /**
+     * Todos os eventos encontrados pela pesquisa, dos mais relevantes para os menos
+     * relevantes. Para receber os resultados em páginas, informe {@code limite} e {@code cursor}.
+     */
     @GetMapping("/search")
-    public ResponseEntity<List<Evento>> pesquisarEventos(@RequestParam String texto) {
-        List<Evento> resultados = eventoService.buscarPorTituloOuDescricao(texto);
-        return ResponseEntity.ok(resultados);
+    public ResponseEntity<List<EventoResumoDTO>> pesquisarEventos(
+            @RequestParam String texto,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return respostaDoCatalogo(ifNoneMatch, catalogoEventosService.pesquisarTodos(texto));
+    }
+
+    @GetMapping(value = "/search", params = "limite")
+    public ResponseEntity<Object> pesquisarEventosPaginado(
+            @RequestParam String texto,
+            @RequestParam int limite,
+            @RequestParam(required = false) String cursor,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        try {
+            return respostaDoCatalogo(ifNoneMatch, catalogoEventosService.pesquisar(texto, cursor, limite));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * Autocompletar da caixa de pesquisa: títulos de eventos ativos com alguma palavra
+     * começando por {@code texto}. Respondido da memória, sem acessar o banco.
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<List<ReferenciaDTO>> sugerirEventos(@RequestParam String texto,
+                                                              @RequestParam(defaultValue = "10") int limite) {
+        return ResponseEntity.ok(sugestaoEventosService.sugerir(texto, limite));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Evento> buscar(@PathVariable Long id) {
-        Evento e = eventoService.buscarPorId(id);
-        if (e == null) {
+    public ResponseEntity<EventoDetalheDTO> buscar(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        CatalogoEventosService.Entrada<EventoDetalheDTO> detalhe = catalogoEventosService.buscarDetalhe(id);
+        if (detalhe == null) {
             return ResponseEntity.notFound().build();
         }
-        return ResponseEntity.ok(e);
+        return respostaDoCatalogo(ifNoneMatch, detalhe);
     }
 
-    @PreAuthorize("hasAnyRole('ADMIN_GERAL','ADMIN_CAMPUS','ADMIN_DEPARTAMENTO')")
-    @GetMapping("/proximos-que-gerencio")
-    public ResponseEntity<List<Evento>> listarEventosFuturosQueGerencio() {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        User usuarioLogado = userService.buscarPorUsername(auth.getName());
+    /**
+     * Responde 304 sem corpo quando a ETag enviada pelo cliente é a da representação atual;
+     * caso contrário, devolve a resposta com a ETag. A entrada vem do cache do catálogo,
+     * então a revalidação normalmente não consulta o banco.
+     */
+    private static <T> ResponseEntity<T> respostaDoCatalogo(String ifNoneMatch,
+                                                            CatalogoEventosService.Entrada<? extends T> entrada) {
+        if (CatalogoEventosService.naoModificado(ifNoneMatch, entrada.etag())) {
+            return naoModificado(entrada.etag());
+        }
+        return ResponseEntity.ok().eTag(entrada.etag()).cacheControl(REVALIDAR_CATALOGO).body(entrada.valor());
+    }
 
-        List<Evento> eventosFuturos = eventoService.listarEventosFuturos();
-        List<Evento> gerenciaveis = filtrarEventosPorPermissao(eventosFuturos, usuarioLogado);
+    private static <T> ResponseEntity<T> naoModificado(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(REVALIDAR_CATALOGO).build();
+    }
 
-        if (gerenciaveis.isEmpty()) {
-            return ResponseEntity.noContent().build();
-        }
+    @PreAuthorize("hasRole('ADMIN_GERAL')")
+    @GetMapping("/catalogo/estatisticas")
+    public ResponseEntity<List<EstatisticasCacheDTO>> estatisticasCatalogo() {
+        return ResponseEntity.ok(catalogoEventosService.estatisticas());
+    }
 
-        return ResponseEntity.ok(gerenciaveis);
+    @PreAuthorize("hasAnyRole('ADMIN_GERAL','ADMIN_CAMPUS','ADMIN_DEPARTAMENTO')")
+    @GetMapping("/proximos-que-gerencio")
+    public ResponseEntity<List<EventoResumoDTO>> listarEventosFuturosQueGerencio() {
+        return listarQueGerencio(true);
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN_GERAL','ADMIN_CAMPUS','ADMIN_DEPARTAMENTO')")
+    @GetMapping(value = "/proximos-que-gerencio", params = "limite")
+    public ResponseEntity<Object> listarEventosFuturosQueGerencioPaginado(@RequestParam int limite,
+                                                                         @RequestParam(required = false) String cursor) {
+        return listarQueGerencioPaginado(true, cursor, limite);
     }
 
     @PreAuthorize("hasAnyRole('ADMIN_GERAL','ADMIN_CAMPUS','ADMIN_DEPARTAMENTO')")
     @GetMapping("/todos-que-gerencio")
-    public ResponseEntity<List<Evento>> listarTodosEventosQueGerencio() {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        User usuarioLogado = userService.buscarPorUsername(auth.getName());
+    public ResponseEntity<List<EventoResumoDTO>> listarTodosEventosQueGerencio() {
+        return listarQueGerencio(false);
+    }
 
-        List<Evento> todosEventos = eventoService.listarTodos();
-        List<Evento> gerenciaveis = filtrarEventosPorPermissao(todosEventos, usuarioLogado);
+    @PreAuthorize("hasAnyRole('ADMIN_GERAL','ADMIN_CAMPUS','ADMIN_DEPARTAMENTO')")
+    @GetMapping(value = "/todos-que-gerencio", params = "limite")
+    public ResponseEntity<Object> listarTodosEventosQueGerencioPaginado(@RequestParam int limite,
+                                                                       @RequestParam(required = false) String cursor) {
+        return listarQueGerencioPaginado(false, cursor, limite);
+    }
+
+    private ResponseEntity<List<EventoResumoDTO>> listarQueGerencio(boolean somenteFuturos) {
+        List<EventoResumoDTO> gerenciaveis = eventoService.listarQueGerencio(
+                EventoUtils.escopoGerencia(usuarioLogadoService.obterEscopo()), somenteFuturos);
 
         if (gerenciaveis.isEmpty()) {
             return ResponseEntity.noContent().build();
@@ -110,11 +211,20 @@ public class EventoController {
         return ResponseEntity.ok(gerenciaveis);
     }
 
+    private ResponseEntity<Object> listarQueGerencioPaginado(boolean somenteFuturos, String cursor, int limite) {
+        try {
+            return ResponseEntity.ok(eventoService.listarQueGerencioPaginado(
+                    EventoUtils.escopoGerencia(usuarioLogadoService.obterEscopo()), somenteFuturos, cursor, limite));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     @PreAuthorize("hasAnyRole('ADMIN_GERAL','ADMIN_CAMPUS','ADMIN_DEPARTAMENTO')")
     @PostMapping
     public ResponseEntity<Object> criar(@RequestBody EventoRequestDTO request) {
         ResponseEntity<?> validacaoResult = EventoUtils.validarDadosIniciais(
-                request, campusService, departamentoService, userService
+                request, campusService, departamentoService, usuarioLogadoService
         );
 
         if (validacaoResult.getStatusCode() != HttpStatus.OK) {
@@ -154,6 +264,22 @@ public class EventoController {
         return ResponseEntity.ok().build();
     }
 
+    @PreAuthorize("hasAnyRole('ADMIN_GERAL','ADMIN_CAMPUS','ADMIN_DEPARTAMENTO')")
+    @PostMapping("/{id}/sorteio")
+    public ResponseEntity<Object> realizarSorteio(@PathVariable Long id) {
+        ResponseEntity<Object> check = checkEventoPermissao(id);
+        if (!(check.getBody() instanceof EventoData data)) {
+            return check;
+        }
+
+        try {
+            ResultadoSorteioDTO resultado = sorteioService.sortear(data.evento().getId());
+            return ResponseEntity.ok(resultado);
+        } catch (InscricaoException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     @PreAuthorize("hasAnyRole('ADMIN_GERAL','ADMIN_CAMPUS','ADMIN_DEPARTAMENTO')")
     @PutMapping("/{id}")
     public ResponseEntity<Object> atualizar(@PathVariable Long id, @RequestBody EventoRequestDTO request) {
@@ -165,7 +291,7 @@ public class EventoController {
         Evento eventoExistente = data.evento();
 
         ResponseEntity<?> validationResult = EventoUtils.validarDadosIniciais(
-                request, campusService, departamentoService, userService);
+                request, campusService, departamentoService, usuarioLogadoService);
         if (validationResult.getStatusCode() != HttpStatus.OK) {
             return ResponseEntity.status(validationResult.getStatusCode())
                     .body(validationResult.getBody());
@@ -207,42 +333,40 @@ public class EventoController {
         return ResponseEntity.ok(lista);
     }
 
+    @PreAuthorize("hasAnyRole('ADMIN_GERAL','ADMIN_CAMPUS','ADMIN_DEPARTAMENTO')")
+    @PostMapping("/{eventoId}/inscritos/bulk")
+    public ResponseEntity<Object> inscreverEmLote(@PathVariable Long eventoId,
+                                                  @RequestBody InscricaoEmLoteRequestDTO request) {
+        ResponseEntity<Object> check = checkEventoPermissao(eventoId);
+        if (!(check.getBody() instanceof EventoData)) {
+            return check;
+        }
+
+        try {
+            return ResponseEntity.ok(inscricaoLoteService.inscrever(eventoId, request));
+        } catch (InscricaoException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     private ResponseEntity<Object> checkEventoPermissao(Long eventoId) {
         Evento evento = eventoService.buscarPorId(eventoId);
         if (evento == null) {
             return ResponseEntity.notFound().build();
         }
 
-        User usuarioLogado = getUsuarioLogado();
-        if (usuarioLogado == null) {
+        EscopoAutorizacao escopo = usuarioLogadoService.obterEscopo();
+        if (escopo == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Usuário não encontrado");
         }
 
-        ResponseEntity<?> permissao = EventoUtils.checarPermissaoEvento(usuarioLogado, evento);
-
-        if (!permissao.getStatusCode().is2xxSuccessful()) {
-            return ResponseEntity.status(permissao.getStatusCode())
-                    .body(permissao.getBody());
+        if (!EventoUtils.podeGerenciarEvento(escopo, evento)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Você não tem permissão para este evento.");
         }
 
-        return ResponseEntity.ok(new EventoData(usuarioLogado, evento));
-    }
-
-    private User getUsuarioLogado() {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        if (auth == null) return null;
-        return userService.buscarPorUsername(auth.getName());
-    }
-
-    private List<Evento> filtrarEventosPorPermissao(List<Evento> eventos, User usuario) {
-        return eventos.stream()
-                .filter(evt -> {
-                    ResponseEntity<?> permissao = EventoUtils.checarPermissaoEvento(usuario, evt);
-                    return permissao.getStatusCode().is2xxSuccessful();
-                })
-                .toList();
+        return ResponseEntity.ok(new EventoData(evento));
     }
 
-    private record EventoData(User user, Evento evento) {}
+    private record EventoData(Evento evento) {}
 
 }
\ No newline at end of file
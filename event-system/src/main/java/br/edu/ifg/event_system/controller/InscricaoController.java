@@ -1,14 +1,24 @@
 package br.edu.ifg.event_system.controller;
 
+import br.edu.ifg.event_system.dto.CampoValorDTO;
+import br.edu.ifg.event_system.dto.FilaVirtualDTO;
+import br.edu.ifg.event_system.dto.InscricaoCarrinhoRequestDTO;
 import br.edu.ifg.event_system.dto.InscricaoRequestDTO;
 import br.edu.ifg.event_system.dto.InscricaoResponseDTO;
+import br.edu.ifg.event_system.dto.TicketInscricaoDTO;
 import br.edu.ifg.event_system.exception.InscricaoException;
 import br.edu.ifg.event_system.model.Evento;
 import br.edu.ifg.event_system.model.Inscricao;
 import br.edu.ifg.event_system.model.User;
 import br.edu.ifg.event_system.service.EventoService;
+import br.edu.ifg.event_system.service.FilaVirtualService;
+import br.edu.ifg.event_system.service.IdempotenciaService;
+import br.edu.ifg.event_system.service.InscricaoAssincronaService;
+import br.edu.ifg.event_system.service.InscricaoExecutorService;
 import br.edu.ifg.event_system.service.InscricaoService;
-import br.edu.ifg.event_system.service.UserService;
+import br.edu.ifg.event_system.service.ReservaVagaService;
+import br.edu.ifg.event_system.service.UsuarioLogadoService;
+import br.edu.ifg.event_system.util.EscopoAutorizacao;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -16,39 +26,62 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/inscricoes")
 public class InscricaoController {
 
     private static final String ERRO_USUARIO_NAO_LOGADO = "Usuário não logado.";
+    private static final int MAXIMO_ITENS_CARRINHO = 20;
 
     private final InscricaoService inscricaoService;
-    private final UserService userService;
+    private final UsuarioLogadoService usuarioLogadoService;
     private final EventoService eventoService;
+    private final InscricaoExecutorService inscricaoExecutorService;
+    private final IdempotenciaService idempotenciaService;
+    private final InscricaoAssincronaService inscricaoAssincronaService;
+    private final FilaVirtualService filaVirtualService;
+    private final ReservaVagaService reservaVagaService;
 
     public InscricaoController(InscricaoService inscricaoService,
-                               UserService userService,
-                               EventoService eventoService) {
+                               UsuarioLogadoService usuarioLogadoService,
+                               EventoService eventoService,
+                               InscricaoExecutorService inscricaoExecutorService,
+                               IdempotenciaService idempotenciaService,
+                               InscricaoAssincronaService inscricaoAssincronaService,
+                               FilaVirtualService filaVirtualService,
+                               ReservaVagaService reservaVagaService) {
         this.inscricaoService = inscricaoService;
-        this.userService = userService;
+        this.usuarioLogadoService = usuarioLogadoService;
         this.eventoService = eventoService;
+        this.inscricaoExecutorService = inscricaoExecutorService;
+        this.idempotenciaService = idempotenciaService;
+        this.inscricaoAssincronaService = inscricaoAssincronaService;
+        this.filaVirtualService = filaVirtualService;
+        this.reservaVagaService = reservaVagaService;
     }
 
     @PreAuthorize("isAuthenticated()")
     @GetMapping("/minhas")
     public ResponseEntity<Object> listarMinhasInscricoes() {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        User userLogado = userService.buscarPorUsername(auth.getName());
+        User userLogado = usuarioLogadoService.obterReferencia();
         if (userLogado == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(ERRO_USUARIO_NAO_LOGADO);
         }
 
         List<Inscricao> minhasInscricoes = inscricaoService.listarInscricoesDoUsuario(userLogado.getId());
+        String nomeUsuario = usuarioLogadoService.obterNomeCompleto();
         List<InscricaoResponseDTO> response = minhasInscricoes.stream()
-                .map(InscricaoResponseDTO::new)
+                .map(inscricao -> new InscricaoResponseDTO(inscricao, nomeUsuario))
                 .toList();
 
         return ResponseEntity.ok(response);
@@ -56,9 +89,23 @@ public class InscricaoController {
 
     @PreAuthorize("isAuthenticated()")
     @PostMapping("/inscrever")
-    public ResponseEntity<Object> inscreverNoEvento(@RequestParam("eventoId") Long eventoId) {
+    public ResponseEntity<Object> inscreverNoEvento(@RequestParam("eventoId") Long eventoId,
+                                                    @RequestHeader(value = IdempotenciaService.CABECALHO_CHAVE, required = false)
+                                                    String chaveIdempotencia,
+                                                    @RequestHeader(value = FilaVirtualService.CABECALHO_TOKEN, required = false)
+                                                    String tokenFila) {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        User userLogado = userService.buscarPorUsername(auth.getName());
+        return idempotenciaService.executar(auth.getName(), "inscrever:" + eventoId, chaveIdempotencia,
+                () -> inscrever(auth, eventoId, tokenFila));
+    }
+
+    private ResponseEntity<Object> inscrever(Authentication auth, Long eventoId, String tokenFila) {
+        FilaVirtualService.Admissao admissao = admissaoAntecipada(eventoId, auth.getName(), tokenFila);
+        if (admissao != null && admissao != FilaVirtualService.Admissao.ADMITIDO) {
+            return bloqueioFila(admissao);
+        }
+
+        User userLogado = usuarioLogadoService.obterReferencia();
         if (userLogado == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(ERRO_USUARIO_NAO_LOGADO);
@@ -70,9 +117,18 @@ public class InscricaoController {
                     .body("Evento inexistente.");
         }
 
+        if (admissao == null) {
+            ResponseEntity<Object> bloqueioFila = verificarFilaVirtual(evento, auth.getName(), tokenFila);
+            if (bloqueioFila != null) {
+                return bloqueioFila;
+            }
+        }
+
         try {
-            Inscricao inscricao = inscricaoService.inscreverUsuarioEmEvento(userLogado, evento);
-            return ResponseEntity.ok(new InscricaoResponseDTO(inscricao));
+            Inscricao inscricao = inscricaoExecutorService.isHabilitado()
+                    ? inscricaoExecutorService.inscrever(userLogado, evento, null)
+                    : inscricaoService.inscreverUsuarioEmEvento(userLogado, evento);
+            return ResponseEntity.ok(new InscricaoResponseDTO(inscricao, usuarioLogadoService.obterNomeCompleto()));
         } catch (InscricaoException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         } catch (Exception e) {
@@ -83,9 +139,26 @@ public class InscricaoController {
 
     @PreAuthorize("isAuthenticated()")
     @PostMapping("/inscrever-completo")
-    public ResponseEntity<Object> inscreverCompletoNoEvento(@RequestBody InscricaoRequestDTO request) {
+    public ResponseEntity<Object> inscreverCompletoNoEvento(@RequestBody InscricaoRequestDTO request,
+                                                            @RequestParam(value = "async", defaultValue = "false") boolean assincrono,
+                                                            @RequestHeader(value = IdempotenciaService.CABECALHO_CHAVE, required = false)
+                                                            String chaveIdempotencia,
+                                                            @RequestHeader(value = FilaVirtualService.CABECALHO_TOKEN, required = false)
+                                                            String tokenFila) {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        User userLogado = userService.buscarPorUsername(auth.getName());
+        String impressao = "inscrever-completo:" + request.getEventoId() + (assincrono ? ":async" : "");
+        return idempotenciaService.executar(auth.getName(), impressao, chaveIdempotencia,
+                () -> inscreverCompleto(auth, request, assincrono, tokenFila));
+    }
+
+    private ResponseEntity<Object> inscreverCompleto(Authentication auth, InscricaoRequestDTO request,
+                                                     boolean assincrono, String tokenFila) {
+        FilaVirtualService.Admissao admissao = admissaoAntecipada(request.getEventoId(), auth.getName(), tokenFila);
+        if (admissao != null && admissao != FilaVirtualService.Admissao.ADMITIDO) {
+            return bloqueioFila(admissao);
+        }
+
+        User userLogado = usuarioLogadoService.obterReferencia();
         if (userLogado == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(ERRO_USUARIO_NAO_LOGADO);
@@ -97,9 +170,22 @@ public class InscricaoController {
                     .body("Evento inexistente.");
         }
 
+        if (admissao == null) {
+            ResponseEntity<Object> bloqueioFila = verificarFilaVirtual(evento, auth.getName(), tokenFila);
+            if (bloqueioFila != null) {
+                return bloqueioFila;
+            }
+        }
+
+        if (assincrono) {
+            return aceitarInscricao(auth, userLogado, evento, request);
+        }
+
         try {
-            Inscricao inscricao = inscricaoService.processarInscricao(userLogado, request, evento);
-            return ResponseEntity.ok(new InscricaoResponseDTO(inscricao));
+            Inscricao inscricao = inscricaoExecutorService.isHabilitado()
+                    ? inscricaoExecutorService.inscrever(userLogado, evento, request.getCamposValores())
+                    : inscricaoService.processarInscricao(userLogado, request, evento);
+            return ResponseEntity.ok(new InscricaoResponseDTO(inscricao, usuarioLogadoService.obterNomeCompleto()));
         } catch (InscricaoException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         } catch (Exception e) {
@@ -108,6 +194,157 @@ public class InscricaoController {
         }
     }
 
+    /**
+     * Inscreve o usuário logado em vários eventos em uma única transação: ou todas as
+     * inscrições do carrinho são gravadas, ou nenhuma.
+     */
+    @PreAuthorize("isAuthenticated()")
+    @PostMapping("/carrinho")
+    public ResponseEntity<Object> inscreverCarrinho(@RequestBody InscricaoCarrinhoRequestDTO request,
+                                                    @RequestHeader(value = IdempotenciaService.CABECALHO_CHAVE, required = false)
+                                                    String chaveIdempotencia) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        String impressao = "carrinho:" + request.getItens().stream()
+                .map(InscricaoRequestDTO::getEventoId)
+                .sorted(Comparator.nullsFirst(Comparator.naturalOrder()))
+                .toList();
+        return idempotenciaService.executar(auth.getName(), impressao, chaveIdempotencia,
+                () -> inscreverCarrinho(auth, request));
+    }
+
+    private ResponseEntity<Object> inscreverCarrinho(Authentication auth, InscricaoCarrinhoRequestDTO request) {
+        User userLogado = usuarioLogadoService.obterReferencia();
+        if (userLogado == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(ERRO_USUARIO_NAO_LOGADO);
+        }
+
+        List<InscricaoRequestDTO> itens = request.getItens();
+        if (itens == null || itens.isEmpty()) {
+            return ResponseEntity.badRequest().body("Informe ao menos um evento.");
+        }
+        if (itens.size() > MAXIMO_ITENS_CARRINHO) {
+            return ResponseEntity.badRequest()
+                    .body("O carrinho aceita no máximo " + MAXIMO_ITENS_CARRINHO + " eventos.");
+        }
+
+        Map<Long, List<CampoValorDTO>> camposPorEvento = new HashMap<>();
+        for (InscricaoRequestDTO item : itens) {
+            if (item.getEventoId() == null || camposPorEvento.containsKey(item.getEventoId())) {
+                return ResponseEntity.badRequest().body("Cada evento deve aparecer uma única vez no carrinho.");
+            }
+            camposPorEvento.put(item.getEventoId(), item.getCamposValores());
+        }
+
+        List<Evento> eventos = eventoService.buscarPorIds(camposPorEvento.keySet());
+        if (eventos.size() != camposPorEvento.size()) {
+            return ResponseEntity.badRequest()
+                    .body("Evento inexistente.");
+        }
+        for (Evento evento : eventos) {
+            if (Boolean.TRUE.equals(evento.getFilaVirtual())) {
+                return ResponseEntity.badRequest()
+                        .body("O evento " + evento.getTitulo() + " usa fila virtual; inscreva-se nele individualmente.");
+            }
+        }
+
+        try {
+            String nomeUsuario = usuarioLogadoService.obterNomeCompleto();
+            List<InscricaoResponseDTO> response = inscricaoService
+                    .inscreverEmEventos(userLogado, eventos, camposPorEvento).stream()
+                    .map(inscricao -> new InscricaoResponseDTO(inscricao, nomeUsuario))
+                    .toList();
+            return ResponseEntity.ok(response);
+        } catch (InscricaoException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Erro ao inscrever: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Checa a fila virtual antes de carregar o usuário e o evento: com a sala do evento
+     * aberta, quem ainda aguarda ou não tem ticket válido é recusado sem consultar o banco.
+     *
+     * @return a admissão, ou null se o evento não tiver sala e a checagem depender do evento
+     */
+    private FilaVirtualService.Admissao admissaoAntecipada(Long eventoId, String username, String tokenFila) {
+        if (eventoId == null || !filaVirtualService.possuiSala(eventoId)) {
+            return null;
+        }
+        return filaVirtualService.verificarAdmissao(eventoId, username, tokenFila);
+    }
+
+    private ResponseEntity<Object> verificarFilaVirtual(Evento evento, String username, String tokenFila) {
+        if (!Boolean.TRUE.equals(evento.getFilaVirtual())) {
+            return null;
+        }
+        return bloqueioFila(filaVirtualService.verificarAdmissao(evento.getId(), username, tokenFila));
+    }
+
+    private ResponseEntity<Object> bloqueioFila(FilaVirtualService.Admissao admissao) {
+        return switch (admissao) {
+            case ADMITIDO -> null;
+            case AGUARDANDO -> ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .body("Aguarde sua vez na fila virtual deste evento.");
+            case INVALIDO -> ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body("Entre na fila virtual deste evento antes de se inscrever.");
+        };
+    }
+
+    @PreAuthorize("isAuthenticated()")
+    @PostMapping("/fila-virtual/{eventoId}")
+    public ResponseEntity<Object> entrarNaFilaVirtual(@PathVariable Long eventoId) {
+        Evento evento = eventoService.buscarPorId(eventoId);
+        if (evento == null) {
+            return ResponseEntity.notFound().build();
+        }
+        if (!Boolean.TRUE.equals(evento.getFilaVirtual())) {
+            filaVirtualService.encerrar(eventoId);
+            return ResponseEntity.badRequest().body("Este evento não utiliza fila virtual.");
+        }
+
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return ResponseEntity.ok(filaVirtualService.entrar(eventoId, auth.getName()));
+    }
+
+    @PreAuthorize("isAuthenticated()")
+    @GetMapping("/fila-virtual/{eventoId}")
+    public ResponseEntity<Object> consultarFilaVirtual(@PathVariable Long eventoId,
+                                                       @RequestHeader(value = FilaVirtualService.CABECALHO_TOKEN, required = false)
+                                                       String tokenFila) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        FilaVirtualDTO situacao = filaVirtualService.consultar(eventoId, auth.getName(), tokenFila);
+        if (situacao == null) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body("Ticket da fila virtual inválido ou expirado.");
+        }
+        return ResponseEntity.ok(situacao);
+    }
+
+    private ResponseEntity<Object> aceitarInscricao(Authentication auth, User userLogado, Evento evento,
+                                                    InscricaoRequestDTO request) {
+        try {
+            TicketInscricaoDTO ticket = inscricaoAssincronaService.aceitar(auth.getName(), userLogado, evento,
+                    request.getCamposValores());
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/inscricoes/tickets/" + ticket.getTicket()))
+                    .body(ticket);
+        } catch (InscricaoException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @PreAuthorize("isAuthenticated()")
+    @GetMapping("/tickets/{ticket}")
+    public ResponseEntity<Object> consultarTicket(@PathVariable String ticket) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return inscricaoAssincronaService.consultar(ticket, auth.getName())
+                .<ResponseEntity<Object>>map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body("Ticket inexistente ou expirado."));
+    }
+
     @PreAuthorize("isAuthenticated()")
     @DeleteMapping("/{inscricaoId}")
     public ResponseEntity<String> cancelarInscricao(@PathVariable Long inscricaoId) {
@@ -116,12 +353,8 @@ public class InscricaoController {
             return ResponseEntity.notFound().build();
         }
 
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        User userLogado = userService.buscarPorUsername(auth.getName());
-
-        boolean isAdminGeral = userLogado.getRoles().stream()
-                .anyMatch(r -> r.getName().equals("ADMIN_GERAL"));
-        if (!isAdminGeral && !insc.getUser().getId().equals(userLogado.getId())) {
+        EscopoAutorizacao escopo = usuarioLogadoService.obterEscopo();
+        if (!escopo.isAdminGeral() && !escopo.isUsuario(insc.getUser().getId())) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN)
                     .body("Você não pode cancelar a inscrição de outro usuário!");
         }
@@ -139,13 +372,41 @@ public class InscricaoController {
 
     @PreAuthorize("isAuthenticated()")
     @GetMapping("/evento/{eventoId}/campos")
-    public ResponseEntity<Object> listarCamposDoEvento(@PathVariable Long eventoId) {
+    public ResponseEntity<Object> listarCamposDoEvento(@PathVariable Long eventoId,
+                                                       @RequestHeader(value = FilaVirtualService.CABECALHO_TOKEN, required = false)
+                                                       String tokenFila) {
         Evento evento = eventoService.buscarPorId(eventoId);
         if (evento == null) {
             return ResponseEntity.notFound().build();
         }
 
-        return ResponseEntity.ok(evento.getCamposAdicionais());
+        ResponseEntity.BodyBuilder resposta = ResponseEntity.ok();
+        reservarVaga(evento, tokenFila).ifPresent(expiraEm -> resposta.header(
+                ReservaVagaService.CABECALHO_EXPIRACAO,
+                expiraEm.atZone(ZoneId.systemDefault()).toOffsetDateTime().toString()));
+        return resposta.body(evento.getCamposAdicionais());
+    }
+
+    /**
+     * Ao abrir o formulário, segura uma vaga para o usuário enquanto ele preenche os
+     * campos. Em eventos com fila virtual, apenas usuários já admitidos recebem reserva.
+     */
+    private Optional<LocalDateTime> reservarVaga(Evento evento, String tokenFila) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null) {
+            return Optional.empty();
+        }
+        if (Boolean.TRUE.equals(evento.getFilaVirtual())
+                && filaVirtualService.verificarAdmissao(evento.getId(), auth.getName(), tokenFila)
+                != FilaVirtualService.Admissao.ADMITIDO) {
+            return Optional.empty();
+        }
+
+        User userLogado = usuarioLogadoService.obterReferencia();
+        if (userLogado == null) {
+            return Optional.empty();
+        }
+        return reservaVagaService.reservar(userLogado, evento);
     }
 
 }
\ No newline at end of file
@@ -8,12 +8,13 @@ import br.edu.ifg.event_system.model.User;
 import br.edu.ifg.event_system.service.CampusService;
 import br.edu.ifg.event_system.service.DepartamentoService;
 import br.edu.ifg.event_system.service.UserService;
+import br.edu.ifg.event_system.service.UsuarioLogadoService;
+import br.edu.ifg.event_system.util.EscopoAutorizacao;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -25,13 +26,16 @@ public class UserController {
     private final UserService userService;
     private final DepartamentoService departamentoService;
     private final CampusService campusService;
+    private final UsuarioLogadoService usuarioLogadoService;
 
     public UserController(UserService userService,
                           DepartamentoService departamentoService,
-                          CampusService campusService) {
+                          CampusService campusService,
+                          UsuarioLogadoService usuarioLogadoService) {
         this.userService = userService;
         this.departamentoService = departamentoService;
         this.campusService = campusService;
+        this.usuarioLogadoService = usuarioLogadoService;
     }
 
     @GetMapping
@@ -154,20 +158,12 @@ public class UserController {
     }
 
     private ResponseEntity<String> checarPermissaoAdminCampusDepartamento(Departamento departamento) {
-        var auth = SecurityContextHolder.getContext().getAuthentication();
-        User usuarioLogado = userService.buscarPorUsername(auth.getName());
-
-        boolean isAdminGeral = usuarioLogado.getRoles().stream()
-                .anyMatch(r -> r.getName().equals("ADMIN_GERAL"));
-
-        if (isAdminGeral) {
+        EscopoAutorizacao escopo = usuarioLogadoService.obterEscopo();
+        if (escopo.isAdminGeral()) {
             return null;
         }
 
-        Campus campusDoDepto = departamento.getCampus();
-        boolean gerenciaEsteCampus = usuarioLogado.getCampusQueAdministro().stream()
-                .anyMatch(c -> c.getId().equals(campusDoDepto.getId()));
-        if (!gerenciaEsteCampus) {
+        if (!escopo.administraCampus(departamento.getCampus().getId())) {
             return ResponseEntity.status(403).body("Você não gerencia o campus deste departamento.");
         }
 
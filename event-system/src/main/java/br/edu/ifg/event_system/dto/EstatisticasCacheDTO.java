@@ -0,0 +1,82 @@
+package br.edu.ifg.event_system.dto;
+
+public class EstatisticasCacheDTO {
+    private String nome;
+    private int capacidade;
+    private int tamanho;
+    private long acertos;
+    private long falhas;
+    private long rejeicoes;
+    private double taxaAcerto;
+
+    public EstatisticasCacheDTO() {
+    }
+
+    public EstatisticasCacheDTO(String nome, int capacidade, int tamanho, long acertos, long falhas, long rejeicoes) {
+        this.nome = nome;
+        this.capacidade = capacidade;
+        this.tamanho = tamanho;
+        this.acertos = acertos;
+        this.falhas = falhas;
+        this.rejeicoes = rejeicoes;
+        long consultas = acertos + falhas;
+        this.taxaAcerto = consultas == 0 ? 0.0 : (double) acertos / consultas;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public void setNome(String nome) {
+        this.nome = nome;
+    }
+
+    public int getCapacidade() {
+        return capacidade;
+    }
+
+    public void setCapacidade(int capacidade) {
+        this.capacidade = capacidade;
+    }
+
+    public int getTamanho() {
+        return tamanho;
+    }
+
+    public void setTamanho(int tamanho) {
+        this.tamanho = tamanho;
+    }
+
+    public long getAcertos() {
+        return acertos;
+    }
+
+    public void setAcertos(long acertos) {
+        this.acertos = acertos;
+    }
+
+    public long getFalhas() {
+        return falhas;
+    }
+
+    public void setFalhas(long falhas) {
+        this.falhas = falhas;
+    }
+
+    public long getRejeicoes() {
+        return rejeicoes;
+    }
+
+    public void setRejeicoes(long rejeicoes) {
+        this.rejeicoes = rejeicoes;
+    }
+
+    public double getTaxaAcerto() {
+        return taxaAcerto;
+    }
+
+    public void setTaxaAcerto(double taxaAcerto) {
+        this.taxaAcerto = taxaAcerto;
+    }
+
+}
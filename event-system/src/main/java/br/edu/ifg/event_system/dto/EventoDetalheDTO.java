@@ -0,0 +1,60 @@
+package br.edu.ifg.event_system.dto;
+
+import br.edu.ifg.event_system.model.CampoAdicional;
+import br.edu.ifg.event_system.model.Evento;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Forma de detalhe de um evento: o resumo com a descrição completa e os campos adicionais.
+ */
+public class EventoDetalheDTO extends EventoResumoDTO {
+
+    private LocalDateTime sorteioRealizadoEm;
+    private List<CampoAdicionalDTO> camposAdicionais = new ArrayList<>();
+
+    public EventoDetalheDTO() {
+    }
+
+    public EventoDetalheDTO(Evento evento) {
+        super(evento);
+        setDescricao(evento.getDescricao());
+        this.sorteioRealizadoEm = evento.getSorteioRealizadoEm();
+
+        if (evento.getCamposAdicionais() != null) {
+            this.camposAdicionais = evento.getCamposAdicionais().stream()
+                    .map(EventoDetalheDTO::converterCampo)
+                    .toList();
+        }
+    }
+
+    private static CampoAdicionalDTO converterCampo(CampoAdicional campo) {
+        CampoAdicionalDTO dto = new CampoAdicionalDTO();
+        dto.setId(campo.getId());
+        dto.setNome(campo.getNome());
+        dto.setTipo(campo.getTipo());
+        dto.setDescricao(campo.getDescricao());
+        dto.setObrigatorio(campo.getObrigatorio());
+        dto.setOpcoes(campo.getOpcoes());
+        return dto;
+    }
+
+    public LocalDateTime getSorteioRealizadoEm() {
+        return sorteioRealizadoEm;
+    }
+
+    public void setSorteioRealizadoEm(LocalDateTime sorteioRealizadoEm) {
+        this.sorteioRealizadoEm = sorteioRealizadoEm;
+    }
+
+    public List<CampoAdicionalDTO> getCamposAdicionais() {
+        return camposAdicionais;
+    }
+
+    public void setCamposAdicionais(List<CampoAdicionalDTO> camposAdicionais) {
+        this.camposAdicionais = camposAdicionais;
+    }
+
+}
@@ -1,5 +1,7 @@
 package br.edu.ifg.event_system.dto;
 
+import br.edu.ifg.event_system.model.Evento;
+
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -15,6 +17,8 @@ public class EventoRequestDTO {
     private Long departamentoId;
     private Integer vagas;
     private Boolean estudanteIfg;
+    private Boolean filaVirtual;
+    private Evento.ModoAlocacao modoAlocacao;
     private List<CampoAdicionalDTO> camposAdicionais = new ArrayList<>();
 
     public EventoRequestDTO() {
@@ -103,6 +107,22 @@ public class EventoRequestDTO {
         this.estudanteIfg = estudanteIfg;
     }
 
+    public Boolean getFilaVirtual() {
+        return filaVirtual;
+    }
+
+    public void setFilaVirtual(Boolean filaVirtual) {
+        this.filaVirtual = filaVirtual;
+    }
+
+    public Evento.ModoAlocacao getModoAlocacao() {
+        return modoAlocacao;
+    }
+
+    public void setModoAlocacao(Evento.ModoAlocacao modoAlocacao) {
+        this.modoAlocacao = modoAlocacao;
+    }
+
     public List<CampoAdicionalDTO> getCamposAdicionais() {
         return camposAdicionais;
     }
@@ -0,0 +1,199 @@
+package br.edu.ifg.event_system.dto;
+
+import br.edu.ifg.event_system.model.Evento;
+
+import java.time.LocalDateTime;
+
+/**
+ * Forma de listagem de um evento. É montada direto pela consulta (projeção por construtor),
+ * sem carregar a entidade, os departamentos do campus nem os campos adicionais. A descrição
+ * vem truncada em {@link #TAMANHO_DESCRICAO} caracteres; o texto completo está em
+ * {@link EventoDetalheDTO}.
+ */
+public class EventoResumoDTO {
+
+    public static final int TAMANHO_DESCRICAO = 200;
+
+    private Long id;
+    private String titulo;
+    private String descricao;
+    private String local;
+    private LocalDateTime dataInicio;
+    private LocalDateTime dataFim;
+    private LocalDateTime dataLimiteInscricao;
+    private Integer vagas;
+    private Integer vagasOcupadas;
+    private Boolean estudanteIfg;
+    private Evento.EventoStatus status;
+    private Boolean filaVirtual;
+    private Evento.ModoAlocacao modoAlocacao;
+    private ReferenciaDTO campus;
+    private ReferenciaDTO departamento;
+
+    public EventoResumoDTO() {
+    }
+
+    public EventoResumoDTO(Long id, String titulo, String descricao, String local,
+                           LocalDateTime dataInicio, LocalDateTime dataFim, LocalDateTime dataLimiteInscricao,
+                           Integer vagas, Integer vagasOcupadas, Boolean estudanteIfg,
+                           Evento.EventoStatus status, Boolean filaVirtual, Evento.ModoAlocacao modoAlocacao,
+                           Long campusId, String campusNome, Long departamentoId, String departamentoNome) {
+        this.id = id;
+        this.titulo = titulo;
+        this.descricao = descricao;
+        this.local = local;
+        this.dataInicio = dataInicio;
+        this.dataFim = dataFim;
+        this.dataLimiteInscricao = dataLimiteInscricao;
+        this.vagas = vagas;
+        this.vagasOcupadas = vagasOcupadas;
+        this.estudanteIfg = estudanteIfg;
+        this.status = status;
+        this.filaVirtual = filaVirtual;
+        this.modoAlocacao = modoAlocacao;
+        this.campus = campusId == null ? null : new ReferenciaDTO(campusId, campusNome);
+        this.departamento = departamentoId == null ? null : new ReferenciaDTO(departamentoId, departamentoNome);
+    }
+
+    /**
+     * Monta o resumo a partir de uma entidade já carregada.
+     */
+    public EventoResumoDTO(Evento evento) {
+        this(evento.getId(), evento.getTitulo(), truncar(evento.getDescricao()), evento.getLocal(),
+                evento.getDataInicio(), evento.getDataFim(), evento.getDataLimiteInscricao(),
+                evento.getVagas(), evento.getVagasOcupadas(), evento.getEstudanteIfg(),
+                evento.getStatus(), evento.getFilaVirtual(), evento.getModoAlocacao(),
+                evento.getCampus() == null ? null : evento.getCampus().getId(),
+                evento.getCampus() == null ? null : evento.getCampus().getNome(),
+                evento.getDepartamento() == null ? null : evento.getDepartamento().getId(),
+                evento.getDepartamento() == null ? null : evento.getDepartamento().getNome());
+    }
+
+    private static String truncar(String descricao) {
+        if (descricao == null || descricao.length() <= TAMANHO_DESCRICAO) {
+            return descricao;
+        }
+        return descricao.substring(0, TAMANHO_DESCRICAO);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTitulo() {
+        return titulo;
+    }
+
+    public void setTitulo(String titulo) {
+        this.titulo = titulo;
+    }
+
+    public String getDescricao() {
+        return descricao;
+    }
+
+    public void setDescricao(String descricao) {
+        this.descricao = descricao;
+    }
+
+    public String getLocal() {
+        return local;
+    }
+
+    public void setLocal(String local) {
+        this.local = local;
+    }
+
+    public LocalDateTime getDataInicio() {
+        return dataInicio;
+    }
+
+    public void setDataInicio(LocalDateTime dataInicio) {
+        this.dataInicio = dataInicio;
+    }
+
+    public LocalDateTime getDataFim() {
+        return dataFim;
+    }
+
+    public void setDataFim(LocalDateTime dataFim) {
+        this.dataFim = dataFim;
+    }
+
+    public LocalDateTime getDataLimiteInscricao() {
+        return dataLimiteInscricao;
+    }
+
+    public void setDataLimiteInscricao(LocalDateTime dataLimiteInscricao) {
+        this.dataLimiteInscricao = dataLimiteInscricao;
+    }
+
+    public Integer getVagas() {
+        return vagas;
+    }
+
+    public void setVagas(Integer vagas) {
+        this.vagas = vagas;
+    }
+
+    public Integer getVagasOcupadas() {
+        return vagasOcupadas;
+    }
+
+    public void setVagasOcupadas(Integer vagasOcupadas) {
+        this.vagasOcupadas = vagasOcupadas;
+    }
+
+    public Boolean getEstudanteIfg() {
+        return estudanteIfg;
+    }
+
+    public void setEstudanteIfg(Boolean estudanteIfg) {
+        this.estudanteIfg = estudanteIfg;
+    }
+
+    public Evento.EventoStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(Evento.EventoStatus status) {
+        this.status = status;
+    }
+
+    public Boolean getFilaVirtual() {
+        return filaVirtual;
+    }
+
+    public void setFilaVirtual(Boolean filaVirtual) {
+        this.filaVirtual = filaVirtual;
+    }
+
+    public Evento.ModoAlocacao getModoAlocacao() {
+        return modoAlocacao;
+    }
+
+    public void setModoAlocacao(Evento.ModoAlocacao modoAlocacao) {
+        this.modoAlocacao = modoAlocacao;
+    }
+
+    public ReferenciaDTO getCampus() {
+        return campus;
+    }
+
+    public void setCampus(ReferenciaDTO campus) {
+        this.campus = campus;
+    }
+
+    public ReferenciaDTO getDepartamento() {
+        return departamento;
+    }
+
+    public void setDepartamento(ReferenciaDTO departamento) {
+        this.departamento = departamento;
+    }
+
+}
@@ -0,0 +1,72 @@
+package br.edu.ifg.event_system.dto;
+
+public class FilaVirtualDTO {
+    private String token;
+    private Long eventoId;
+    private long posicao;
+    private long pessoasAFrente;
+    private boolean admitido;
+    private long estimativaSegundos;
+
+    public FilaVirtualDTO() {
+    }
+
+    public FilaVirtualDTO(String token, Long eventoId, long posicao, long pessoasAFrente,
+                          boolean admitido, long estimativaSegundos) {
+        this.token = token;
+        this.eventoId = eventoId;
+        this.posicao = posicao;
+        this.pessoasAFrente = pessoasAFrente;
+        this.admitido = admitido;
+        this.estimativaSegundos = estimativaSegundos;
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    public void setToken(String token) {
+        this.token = token;
+    }
+
+    public Long getEventoId() {
+        return eventoId;
+    }
+
+    public void setEventoId(Long eventoId) {
+        this.eventoId = eventoId;
+    }
+
+    public long getPosicao() {
+        return posicao;
+    }
+
+    public void setPosicao(long posicao) {
+        this.posicao = posicao;
+    }
+
+    public long getPessoasAFrente() {
+        return pessoasAFrente;
+    }
+
+    public void setPessoasAFrente(long pessoasAFrente) {
+        this.pessoasAFrente = pessoasAFrente;
+    }
+
+    public boolean isAdmitido() {
+        return admitido;
+    }
+
+    public void setAdmitido(boolean admitido) {
+        this.admitido = admitido;
+    }
+
+    public long getEstimativaSegundos() {
+        return estimativaSegundos;
+    }
+
+    public void setEstimativaSegundos(long estimativaSegundos) {
+        this.estimativaSegundos = estimativaSegundos;
+    }
+
+}
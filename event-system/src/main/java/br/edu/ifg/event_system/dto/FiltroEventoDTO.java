@@ -0,0 +1,62 @@
+package br.edu.ifg.event_system.dto;
+
+import br.edu.ifg.event_system.model.Evento;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+public class FiltroEventoDTO {
+    private Long campusId;
+    private Long departamentoId;
+    private Evento.EventoStatus status;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime dataInicioDe;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime dataInicioAte;
+
+    public FiltroEventoDTO() {
+    }
+
+    public Long getCampusId() {
+        return campusId;
+    }
+
+    public void setCampusId(Long campusId) {
+        this.campusId = campusId;
+    }
+
+    public Long getDepartamentoId() {
+        return departamentoId;
+    }
+
+    public void setDepartamentoId(Long departamentoId) {
+        this.departamentoId = departamentoId;
+    }
+
+    public Evento.EventoStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(Evento.EventoStatus status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getDataInicioDe() {
+        return dataInicioDe;
+    }
+
+    public void setDataInicioDe(LocalDateTime dataInicioDe) {
+        this.dataInicioDe = dataInicioDe;
+    }
+
+    public LocalDateTime getDataInicioAte() {
+        return dataInicioAte;
+    }
+
+    public void setDataInicioAte(LocalDateTime dataInicioAte) {
+        this.dataInicioAte = dataInicioAte;
+    }
+
+}
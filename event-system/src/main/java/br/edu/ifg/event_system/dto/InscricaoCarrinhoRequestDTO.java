@@ -0,0 +1,20 @@
+package br.edu.ifg.event_system.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class InscricaoCarrinhoRequestDTO {
+    private List<InscricaoRequestDTO> itens = new ArrayList<>();
+
+    public InscricaoCarrinhoRequestDTO() {
+    }
+
+    public List<InscricaoRequestDTO> getItens() {
+        return itens;
+    }
+
+    public void setItens(List<InscricaoRequestDTO> itens) {
+        this.itens = itens;
+    }
+
+}
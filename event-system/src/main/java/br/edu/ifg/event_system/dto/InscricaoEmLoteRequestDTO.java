@@ -0,0 +1,29 @@
+package br.edu.ifg.event_system.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class InscricaoEmLoteRequestDTO {
+    private List<Long> userIds = new ArrayList<>();
+    private List<String> usernames = new ArrayList<>();
+
+    public InscricaoEmLoteRequestDTO() {
+    }
+
+    public List<Long> getUserIds() {
+        return userIds;
+    }
+
+    public void setUserIds(List<Long> userIds) {
+        this.userIds = userIds;
+    }
+
+    public List<String> getUsernames() {
+        return usernames;
+    }
+
+    public void setUsernames(List<String> usernames) {
+        this.usernames = usernames;
+    }
+
+}
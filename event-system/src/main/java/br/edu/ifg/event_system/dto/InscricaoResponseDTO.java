@@ -20,9 +20,17 @@ public class InscricaoResponseDTO {
     }
 
     public InscricaoResponseDTO(Inscricao inscricao) {
+        this(inscricao, inscricao.getUser().getNomeCompleto());
+    }
+
+    /**
+     * Para inscrições do próprio usuário logado: o nome já é conhecido e a referência ao
+     * usuário não precisa ser carregada (só o id é lido).
+     */
+    public InscricaoResponseDTO(Inscricao inscricao, String nomeUsuario) {
         this.id = inscricao.getId();
         this.userId = inscricao.getUser().getId();
-        this.nomeUsuario = inscricao.getUser().getNomeCompleto();
+        this.nomeUsuario = nomeUsuario;
         this.eventoId = inscricao.getEvento().getId();
         this.tituloEvento = inscricao.getEvento().getTitulo();
         this.dataInscricao = inscricao.getDataInscricao();
@@ -0,0 +1,41 @@
+package br.edu.ifg.event_system.dto;
+
+public class ItemInscricaoEmLoteDTO {
+    private String identificador;
+    private Long userId;
+    private String resultado;
+
+    public ItemInscricaoEmLoteDTO() {
+    }
+
+    public ItemInscricaoEmLoteDTO(String identificador, Long userId, String resultado) {
+        this.identificador = identificador;
+        this.userId = userId;
+        this.resultado = resultado;
+    }
+
+    public String getIdentificador() {
+        return identificador;
+    }
+
+    public void setIdentificador(String identificador) {
+        this.identificador = identificador;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getResultado() {
+        return resultado;
+    }
+
+    public void setResultado(String resultado) {
+        this.resultado = resultado;
+    }
+
+}
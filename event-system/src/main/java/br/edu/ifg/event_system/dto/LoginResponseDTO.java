@@ -2,12 +2,18 @@ package br.edu.ifg.event_system.dto;
 
 public class LoginResponseDTO {
     private String token;
+    private String refreshToken;
 
-    public LoginResponseDTO(String token) {
+    public LoginResponseDTO(String token, String refreshToken) {
         this.token = token;
+        this.refreshToken = refreshToken;
     }
 
     public String getToken() {
         return token;
     }
+
+    public String getRefreshToken() {
+        return refreshToken;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,37 @@
+package br.edu.ifg.event_system.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Página de uma listagem paginada por cursor. {@code proximoCursor} é nulo na última página.
+ */
+public class PaginaDTO<T> {
+    private List<T> itens = new ArrayList<>();
+    private String proximoCursor;
+
+    public PaginaDTO() {
+    }
+
+    public PaginaDTO(List<T> itens, String proximoCursor) {
+        this.itens = itens;
+        this.proximoCursor = proximoCursor;
+    }
+
+    public List<T> getItens() {
+        return itens;
+    }
+
+    public void setItens(List<T> itens) {
+        this.itens = itens;
+    }
+
+    public String getProximoCursor() {
+        return proximoCursor;
+    }
+
+    public void setProximoCursor(String proximoCursor) {
+        this.proximoCursor = proximoCursor;
+    }
+
+}
@@ -0,0 +1,34 @@
+package br.edu.ifg.event_system.dto;
+
+/**
+ * Referência resumida a outra entidade (campus, departamento), sem suas coleções.
+ */
+public class ReferenciaDTO {
+    private Long id;
+    private String nome;
+
+    public ReferenciaDTO() {
+    }
+
+    public ReferenciaDTO(Long id, String nome) {
+        this.id = id;
+        this.nome = nome;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public void setNome(String nome) {
+        this.nome = nome;
+    }
+
+}
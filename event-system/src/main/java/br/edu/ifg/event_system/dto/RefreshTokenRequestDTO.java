@@ -0,0 +1,8 @@
+package br.edu.ifg.event_system.dto;
+
+public class RefreshTokenRequestDTO {
+    private String refreshToken;
+
+    public String getRefreshToken() { return refreshToken; }
+    public void setRefreshToken(String refreshToken) { this.refreshToken = refreshToken; }
+}
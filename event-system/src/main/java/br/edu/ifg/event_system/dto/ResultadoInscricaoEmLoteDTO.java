@@ -0,0 +1,48 @@
+package br.edu.ifg.event_system.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+public class ResultadoInscricaoEmLoteDTO {
+    private Long eventoId;
+    private Map<String, Integer> totais = new TreeMap<>();
+    private List<ItemInscricaoEmLoteDTO> itens = new ArrayList<>();
+
+    public ResultadoInscricaoEmLoteDTO() {
+    }
+
+    public ResultadoInscricaoEmLoteDTO(Long eventoId, List<ItemInscricaoEmLoteDTO> itens) {
+        this.eventoId = eventoId;
+        this.itens = itens;
+        for (ItemInscricaoEmLoteDTO item : itens) {
+            totais.merge(item.getResultado(), 1, Integer::sum);
+        }
+    }
+
+    public Long getEventoId() {
+        return eventoId;
+    }
+
+    public void setEventoId(Long eventoId) {
+        this.eventoId = eventoId;
+    }
+
+    public Map<String, Integer> getTotais() {
+        return totais;
+    }
+
+    public void setTotais(Map<String, Integer> totais) {
+        this.totais = totais;
+    }
+
+    public List<ItemInscricaoEmLoteDTO> getItens() {
+        return itens;
+    }
+
+    public void setItens(List<ItemInscricaoEmLoteDTO> itens) {
+        this.itens = itens;
+    }
+
+}
@@ -0,0 +1,64 @@
+package br.edu.ifg.event_system.dto;
+
+import java.time.LocalDateTime;
+
+public class ResultadoSorteioDTO {
+    private Long eventoId;
+    private int participantes;
+    private int contemplados;
+    private int listaEspera;
+    private LocalDateTime realizadoEm;
+
+    public ResultadoSorteioDTO() {
+    }
+
+    public ResultadoSorteioDTO(Long eventoId, int participantes, int contemplados,
+                               int listaEspera, LocalDateTime realizadoEm) {
+        this.eventoId = eventoId;
+        this.participantes = participantes;
+        this.contemplados = contemplados;
+        this.listaEspera = listaEspera;
+        this.realizadoEm = realizadoEm;
+    }
+
+    public Long getEventoId() {
+        return eventoId;
+    }
+
+    public void setEventoId(Long eventoId) {
+        this.eventoId = eventoId;
+    }
+
+    public int getParticipantes() {
+        return participantes;
+    }
+
+    public void setParticipantes(int participantes) {
+        this.participantes = participantes;
+    }
+
+    public int getContemplados() {
+        return contemplados;
+    }
+
+    public void setContemplados(int contemplados) {
+        this.contemplados = contemplados;
+    }
+
+    public int getListaEspera() {
+        return listaEspera;
+    }
+
+    public void setListaEspera(int listaEspera) {
+        this.listaEspera = listaEspera;
+    }
+
+    public LocalDateTime getRealizadoEm() {
+        return realizadoEm;
+    }
+
+    public void setRealizadoEm(LocalDateTime realizadoEm) {
+        this.realizadoEm = realizadoEm;
+    }
+
+}
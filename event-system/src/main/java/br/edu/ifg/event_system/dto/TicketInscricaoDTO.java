@@ -0,0 +1,51 @@
+package br.edu.ifg.event_system.dto;
+
+public class TicketInscricaoDTO {
+    private String ticket;
+    private String status;
+    private Long inscricaoId;
+    private String mensagem;
+
+    public TicketInscricaoDTO() {
+    }
+
+    public TicketInscricaoDTO(String ticket, String status, Long inscricaoId, String mensagem) {
+        this.ticket = ticket;
+        this.status = status;
+        this.inscricaoId = inscricaoId;
+        this.mensagem = mensagem;
+    }
+
+    public String getTicket() {
+        return ticket;
+    }
+
+    public void setTicket(String ticket) {
+        this.ticket = ticket;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Long getInscricaoId() {
+        return inscricaoId;
+    }
+
+    public void setInscricaoId(Long inscricaoId) {
+        this.inscricaoId = inscricaoId;
+    }
+
+    public String getMensagem() {
+        return mensagem;
+    }
+
+    public void setMensagem(String mensagem) {
+        this.mensagem = mensagem;
+    }
+
+}
@@ -1,13 +1,20 @@
 package br.edu.ifg.event_system.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "evento")
+@Table(name = "evento", indexes = {
+        @Index(name = "idx_evento_data_inicio_id", columnList = "data_inicio, id"),
+        @Index(name = "idx_evento_campus_data_inicio_id", columnList = "campus_id, data_inicio, id"),
+        @Index(name = "idx_evento_departamento_data_inicio_id", columnList = "departamento_id, data_inicio, id"),
+        @Index(name = "idx_evento_status_data_inicio_id", columnList = "status, data_inicio, id")
+})
 public class Evento {
 
     @Id
@@ -30,11 +37,37 @@ public class Evento {
 
     private Integer vagas;
 
+    /**
+     * Contador de vagas ocupadas por inscrições ATIVAS. É alterado apenas por
+     * UPDATEs condicionais em {@code EventoRepository}, nunca pelo merge da entidade.
+     */
+    @ColumnDefault("0")
+    @Column(nullable = false, updatable = false)
+    private Integer vagasOcupadas = 0;
+
     private Boolean estudanteIfg;
 
+    /**
+     * Quando ativo, as inscrições só são aceitas de quem foi admitido pela fila virtual.
+     */
+    @ColumnDefault("false")
+    @Column(nullable = false)
+    private Boolean filaVirtual = false;
+
     @Enumerated(EnumType.STRING)
     private EventoStatus status = EventoStatus.ATIVO;
 
+    /**
+     * Em {@link ModoAlocacao#SORTEIO}, as inscrições feitas até a data limite apenas entram
+     * no sorteio; as vagas são distribuídas de uma vez por {@code SorteioService}.
+     */
+    @Enumerated(EnumType.STRING)
+    @ColumnDefault("'ORDEM_CHEGADA'")
+    @Column(nullable = false, length = 20)
+    private ModoAlocacao modoAlocacao = ModoAlocacao.ORDEM_CHEGADA;
+
+    private LocalDateTime sorteioRealizadoEm;
+
     @OneToMany(mappedBy = "evento", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<CampoAdicional> camposAdicionais = new ArrayList<>();
 
@@ -130,6 +163,14 @@ public class Evento {
         this.vagas = vagas;
     }
 
+    public Integer getVagasOcupadas() {
+        return vagasOcupadas;
+    }
+
+    public void setVagasOcupadas(Integer vagasOcupadas) {
+        this.vagasOcupadas = vagasOcupadas;
+    }
+
     public Boolean getEstudanteIfg() {
         return estudanteIfg;
     }
@@ -138,6 +179,14 @@ public class Evento {
         this.estudanteIfg = estudanteIfg;
     }
 
+    public Boolean getFilaVirtual() {
+        return filaVirtual;
+    }
+
+    public void setFilaVirtual(Boolean filaVirtual) {
+        this.filaVirtual = filaVirtual;
+    }
+
     public LocalDateTime getDataLimiteInscricao() {
         return dataLimiteInscricao;
     }
@@ -151,6 +200,35 @@ public class Evento {
         ENCERRADO
     }
 
+    public enum ModoAlocacao {
+        ORDEM_CHEGADA,
+        SORTEIO
+    }
+
+    public ModoAlocacao getModoAlocacao() {
+        return modoAlocacao;
+    }
+
+    public void setModoAlocacao(ModoAlocacao modoAlocacao) {
+        this.modoAlocacao = modoAlocacao;
+    }
+
+    public LocalDateTime getSorteioRealizadoEm() {
+        return sorteioRealizadoEm;
+    }
+
+    public void setSorteioRealizadoEm(LocalDateTime sorteioRealizadoEm) {
+        this.sorteioRealizadoEm = sorteioRealizadoEm;
+    }
+
+    /**
+     * @return true enquanto as inscrições devem apenas entrar no sorteio, sem ocupar vagas
+     */
+    @JsonIgnore
+    public boolean isAguardandoSorteio() {
+        return modoAlocacao == ModoAlocacao.SORTEIO && sorteioRealizadoEm == null;
+    }
+
     public EventoStatus getStatus() {
         return status;
     }
@@ -10,6 +10,9 @@ import java.util.List;
         uniqueConstraints = {
                 @UniqueConstraint(name = "UK_inscricao_user_evento",
                         columnNames = {"user_id", "evento_id"})
+        },
+        indexes = {
+                @Index(name = "idx_inscricao_evento_status", columnList = "evento_id, status")
         }
 )
 public class Inscricao {
@@ -32,6 +35,11 @@ public class Inscricao {
     @Column(nullable = false, length = 20)
     private String status;
 
+    /**
+     * Ordem sorteada da inscrição em eventos com sorteio; define a ordem da lista de espera.
+     */
+    private Integer posicaoSorteio;
+
     @OneToMany(mappedBy = "inscricao", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<CampoValor> camposValores = new ArrayList<>();
 
@@ -96,4 +104,12 @@ public class Inscricao {
         campoValor.setInscricao(null);
     }
 
-}
\ No newline at end of file
+    public Integer getPosicaoSorteio() {
+        return posicaoSorteio;
+    }
+
+    public void setPosicaoSorteio(Integer posicaoSorteio) {
+        this.posicaoSorteio = posicaoSorteio;
+    }
+
+}
@@ -0,0 +1,74 @@
+package br.edu.ifg.event_system.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Vaga segurada para um usuário enquanto ele preenche os campos adicionais do evento.
+ * A vaga já está contabilizada em {@code evento.vagas_ocupadas}; quem apagar a
+ * reserva (a confirmação da inscrição ou a varredura de expiradas) decide o destino dela.
+ */
+@Entity
+@Table(name = "reserva_vaga",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "UK_reserva_vaga_user_evento",
+                        columnNames = {"user_id", "evento_id"})
+        },
+        indexes = {
+                @Index(name = "idx_reserva_vaga_expira_em", columnList = "expira_em")
+        }
+)
+public class ReservaVaga {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "evento_id", nullable = false)
+    private Evento evento;
+
+    @Column(nullable = false)
+    private LocalDateTime expiraEm;
+
+    public ReservaVaga() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public void setUser(User user) {
+        this.user = user;
+    }
+
+    public Evento getEvento() {
+        return evento;
+    }
+
+    public void setEvento(Evento evento) {
+        this.evento = evento;
+    }
+
+    public LocalDateTime getExpiraEm() {
+        return expiraEm;
+    }
+
+    public void setExpiraEm(LocalDateTime expiraEm) {
+        this.expiraEm = expiraEm;
+    }
+
+}
@@ -0,0 +1,82 @@
+package br.edu.ifg.event_system.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Revogação de tokens compartilhada entre as instâncias. A chave identifica o que foi
+ * revogado: {@code u:<id do usuário>} recusa os tokens de acesso do usuário emitidos antes
+ * de {@code revogadoEm}; {@code j:<jti>} recusa um token de renovação específico. A linha
+ * só precisa existir até {@code expiraEm}, quando todos os tokens afetados já expiraram.
+ */
+@Entity
+@Table(name = "token_revogado",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "UK_token_revogado_chave", columnNames = {"chave"})
+        },
+        indexes = {
+                @Index(name = "idx_token_revogado_expira_em", columnList = "expira_em")
+        }
+)
+public class TokenRevogado {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 64)
+    private String chave;
+
+    /**
+     * Segundos desde a época; tokens com {@code iat} anterior a este instante são recusados.
+     */
+    @Column(nullable = false)
+    private long revogadoEm;
+
+    /**
+     * Segundos desde a época.
+     */
+    @Column(nullable = false)
+    private long expiraEm;
+
+    public TokenRevogado() {
+    }
+
+    public TokenRevogado(String chave, long revogadoEm, long expiraEm) {
+        this.chave = chave;
+        this.revogadoEm = revogadoEm;
+        this.expiraEm = expiraEm;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getChave() {
+        return chave;
+    }
+
+    public void setChave(String chave) {
+        this.chave = chave;
+    }
+
+    public long getRevogadoEm() {
+        return revogadoEm;
+    }
+
+    public void setRevogadoEm(long revogadoEm) {
+        this.revogadoEm = revogadoEm;
+    }
+
+    public long getExpiraEm() {
+        return expiraEm;
+    }
+
+    public void setExpiraEm(long expiraEm) {
+        this.expiraEm = expiraEm;
+    }
+
+}
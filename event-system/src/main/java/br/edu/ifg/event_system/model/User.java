@@ -2,13 +2,21 @@ package br.edu.ifg.event_system.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
-import java.util.ArrayList;
-import java.util.List;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.ColumnDefault;
+import java.util.HashSet;
+import java.util.Set;
 
 @Entity
 @Table(name = "users")
 public class User {
 
+    /**
+     * Coleções de vários usuários carregados juntos (ex.: uma página da listagem) são lidas
+     * em lote, com uma consulta por coleção em vez de uma por usuário.
+     */
+    private static final int TAMANHO_LOTE = 50;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -21,24 +29,42 @@ public class User {
 
     private String nomeCompleto;
 
-    @ManyToMany(fetch = FetchType.EAGER)
+    /**
+     * Papéis, campus e departamentos administrados são conjuntos, e não listas (bags), para
+     * que as três coleções possam ser buscadas em um único fetch join
+     * ({@code UserRepository#findComEscopoById}).
+     */
+    @ManyToMany
+    @BatchSize(size = TAMANHO_LOTE)
     @JoinTable(
             name = "users_roles",
             joinColumns = @JoinColumn(name = "user_id"),
             inverseJoinColumns = @JoinColumn(name = "role_id"))
-    private List<Role> roles = new ArrayList<>();
+    private Set<Role> roles = new HashSet<>();
+
+    /**
+     * Papéis administrativos em bits ({@link br.edu.ifg.event_system.util.EscopoAutorizacao}),
+     * copiados de {@link #roles} pelo {@code UserService} a cada alteração, para checar
+     * permissões sem carregar a coleção.
+     */
+    @JsonIgnore
+    @ColumnDefault("0")
+    @Column(name = "roles_mask", nullable = false)
+    private int rolesMask;
 
     @ManyToMany
+    @BatchSize(size = TAMANHO_LOTE)
     @JoinTable(name = "user_campus",
             joinColumns = @JoinColumn(name = "user_id"),
             inverseJoinColumns = @JoinColumn(name = "campus_id"))
-    private List<Campus> campusQueAdministro = new ArrayList<>();
+    private Set<Campus> campusQueAdministro = new HashSet<>();
 
     @ManyToMany
+    @BatchSize(size = TAMANHO_LOTE)
     @JoinTable(name = "user_departamento",
             joinColumns = @JoinColumn(name = "user_id"),
             inverseJoinColumns = @JoinColumn(name = "departamento_id"))
-    private List<Departamento> departamentosQueAdministro = new ArrayList<>();
+    private Set<Departamento> departamentosQueAdministro = new HashSet<>();
 
     public User() {
     }
@@ -81,27 +107,35 @@ public class User {
         this.password = password;
     }
 
-    public List<Role> getRoles() {
+    public Set<Role> getRoles() {
         return roles;
     }
 
-    public void setRoles(List<Role> roles) {
+    public void setRoles(Set<Role> roles) {
         this.roles = roles;
     }
 
-    public List<Campus> getCampusQueAdministro() {
+    public int getRolesMask() {
+        return rolesMask;
+    }
+
+    public void setRolesMask(int rolesMask) {
+        this.rolesMask = rolesMask;
+    }
+
+    public Set<Campus> getCampusQueAdministro() {
         return campusQueAdministro;
     }
 
-    public void setCampusQueAdministro(List<Campus> campusQueAdministro) {
+    public void setCampusQueAdministro(Set<Campus> campusQueAdministro) {
         this.campusQueAdministro = campusQueAdministro;
     }
 
-    public List<Departamento> getDepartamentosQueAdministro() {
+    public Set<Departamento> getDepartamentosQueAdministro() {
         return departamentosQueAdministro;
     }
 
-    public void setDepartamentosQueAdministro(List<Departamento> departamentosQueAdministro) {
+    public void setDepartamentosQueAdministro(Set<Departamento> departamentosQueAdministro) {
         this.departamentosQueAdministro = departamentosQueAdministro;
     }
 
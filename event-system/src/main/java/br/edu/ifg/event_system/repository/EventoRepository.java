@@ -1,25 +1,89 @@
 package br.edu.ifg.event_system.repository;
 
+import br.edu.ifg.event_system.dto.ReferenciaDTO;
 import br.edu.ifg.event_system.model.Evento;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-public interface EventoRepository extends JpaRepository<Evento, Long> {
+public interface EventoRepository extends JpaRepository<Evento, Long>, JpaSpecificationExecutor<Evento>, EventoRepositoryCustom {
 
     List<Evento> findByCampusId(Long campusId);
     List<Evento> findByDepartamentoId(Long departamentoId);
     List<Evento> findByCampusIdAndDepartamentoId(Long campusId, Long departamentoId);
 
-    @Query("SELECT e FROM Evento e " +
-            "WHERE LOWER(e.titulo) LIKE LOWER(CONCAT('%', :texto, '%')) " +
-            "   OR LOWER(e.descricao) LIKE LOWER(CONCAT('%', :texto, '%'))")
-    List<Evento> searchByTituloOrDescricao(@Param("texto") String texto);
-
     @Query("SELECT e FROM Evento e WHERE e.dataFim IS NULL OR e.dataFim > :agora")
     List<Evento> findEventosFuturos(@Param("agora") LocalDateTime agora);
 
-}
\ No newline at end of file
+    /**
+     * Eventos sem data limite de inscrição (anteriores à validação que a exige) são
+     * sorteados no início do evento, para que não fiquem aguardando sorteio para sempre.
+     */
+    @Query("SELECT e.id FROM Evento e " +
+            "WHERE e.modoAlocacao = :modo AND e.status = :status " +
+            "  AND e.sorteioRealizadoEm IS NULL " +
+            "  AND COALESCE(e.dataLimiteInscricao, e.dataInicio) <= :agora")
+    List<Long> findIdsParaSorteio(@Param("modo") Evento.ModoAlocacao modo,
+                                  @Param("status") Evento.EventoStatus status,
+                                  @Param("agora") LocalDateTime agora);
+
+    @Query("SELECT DISTINCT e FROM Evento e LEFT JOIN FETCH e.camposAdicionais WHERE e.id IN :ids ORDER BY e.id")
+    List<Evento> findComCamposByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT e.id FROM Evento e WHERE e.status = :status")
+    List<Long> findIdsByStatus(@Param("status") Evento.EventoStatus status);
+
+    @Query("SELECT new br.edu.ifg.event_system.dto.ReferenciaDTO(e.id, e.titulo) FROM Evento e WHERE e.status = :status")
+    List<ReferenciaDTO> findTitulosByStatus(@Param("status") Evento.EventoStatus status);
+
+    @Modifying
+    @Query("UPDATE Evento e SET e.vagasOcupadas = e.vagasOcupadas + 1 " +
+            "WHERE e.id = :eventoId AND (e.vagas IS NULL OR e.vagasOcupadas < e.vagas)")
+    int reservarVaga(@Param("eventoId") Long eventoId);
+
+    @Modifying
+    @Query("UPDATE Evento e SET e.vagasOcupadas = " +
+            "CASE WHEN e.vagasOcupadas > :quantidade THEN e.vagasOcupadas - :quantidade ELSE 0 END " +
+            "WHERE e.id = :eventoId")
+    int liberarVagas(@Param("eventoId") Long eventoId, @Param("quantidade") int quantidade);
+
+    @Modifying
+    @Query("UPDATE Evento e SET e.vagasOcupadas = e.vagasOcupadas + :quantidade WHERE e.id = :eventoId")
+    int ocuparVagas(@Param("eventoId") Long eventoId, @Param("quantidade") int quantidade);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM Evento e WHERE e.id = :eventoId")
+    Optional<Evento> findByIdParaAtualizacao(@Param("eventoId") Long eventoId);
+
+    @Query(value = "SELECT vagas_ocupadas FROM evento WHERE id = :eventoId FOR UPDATE", nativeQuery = true)
+    Integer bloquearVagasOcupadas(@Param("eventoId") Long eventoId);
+
+    /**
+     * Recalcula em um único comando o contador de todos os eventos ativos a partir das
+     * inscrições ATIVAS e das reservas de vaga, alterando apenas as linhas divergentes.
+     *
+     * @return quantidade de eventos corrigidos
+     */
+    @Modifying
+    @Query(value = "UPDATE evento e SET vagas_ocupadas = c.total " +
+            "FROM (SELECT ev.id, " +
+            "             (SELECT COUNT(*) FROM inscricao i WHERE i.evento_id = ev.id AND i.status = 'ATIVA') " +
+            "           + (SELECT COUNT(*) FROM reserva_vaga r WHERE r.evento_id = ev.id) AS total " +
+            "      FROM evento ev WHERE ev.status = 'ATIVO') c " +
+            "WHERE e.id = c.id AND e.vagas_ocupadas IS DISTINCT FROM c.total", nativeQuery = true)
+    int recalcularVagasOcupadas();
+
+    @Modifying
+    @Query("UPDATE Evento e SET e.vagasOcupadas = :vagasOcupadas WHERE e.id = :eventoId")
+    int definirVagasOcupadas(@Param("eventoId") Long eventoId, @Param("vagasOcupadas") int vagasOcupadas);
+
+}
@@ -0,0 +1,19 @@
+package br.edu.ifg.event_system.repository;
+
+import br.edu.ifg.event_system.dto.EventoResumoDTO;
+import br.edu.ifg.event_system.model.Evento;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface EventoRepositoryCustom {
+
+    /**
+     * Busca resumos de eventos por projeção de construtor, aplicando filtro, ordem e limite.
+     */
+    List<EventoResumoDTO> buscarResumos(Specification<Evento> spec, Sort ordem, int limite);
+
+    List<EventoResumoDTO> buscarResumos(Specification<Evento> spec, Sort ordem);
+
+}
@@ -0,0 +1,57 @@
+package br.edu.ifg.event_system.repository;
+
+import br.edu.ifg.event_system.dto.EventoResumoDTO;
+import br.edu.ifg.event_system.model.Campus;
+import br.edu.ifg.event_system.model.Departamento;
+import br.edu.ifg.event_system.model.Evento;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.List;
+
+public class EventoRepositoryCustomImpl implements EventoRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<EventoResumoDTO> buscarResumos(Specification<Evento> spec, Sort ordem, int limite) {
+        return criarConsulta(spec, ordem)
+                .setMaxResults(limite)
+                .getResultList();
+    }
+
+    @Override
+    public List<EventoResumoDTO> buscarResumos(Specification<Evento> spec, Sort ordem) {
+        return criarConsulta(spec, ordem).getResultList();
+    }
+
+    private TypedQuery<EventoResumoDTO> criarConsulta(Specification<Evento> spec, Sort ordem) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<EventoResumoDTO> query = cb.createQuery(EventoResumoDTO.class);
+        Root<Evento> e = query.from(Evento.class);
+        Join<Evento, Campus> c = e.join("campus");
+        Join<Evento, Departamento> d = e.join("departamento");
+
+        query.select(cb.construct(EventoResumoDTO.class,
+                e.get("id"), e.get("titulo"),
+                cb.substring(e.get("descricao"), 1, EventoResumoDTO.TAMANHO_DESCRICAO),
+                e.get("local"), e.get("dataInicio"), e.get("dataFim"), e.get("dataLimiteInscricao"),
+                e.get("vagas"), e.get("vagasOcupadas"), e.get("estudanteIfg"),
+                e.get("status"), e.get("filaVirtual"), e.get("modoAlocacao"),
+                c.get("id"), c.get("nome"), d.get("id"), d.get("nome")));
+        query.where(spec.toPredicate(e, query, cb));
+        query.orderBy(QueryUtils.toOrders(ordem, e, cb));
+
+        return entityManager.createQuery(query);
+    }
+
+}
@@ -0,0 +1,121 @@
+package br.edu.ifg.event_system.repository;
+
+import br.edu.ifg.event_system.dto.FiltroEventoDTO;
+import br.edu.ifg.event_system.model.Evento;
+import jakarta.persistence.criteria.Path;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Filtros da listagem paginada de eventos. A ordenação é sempre {@code (dataInicio, id)},
+ * coberta pelos índices compostos declarados em {@link Evento}; no PostgreSQL, eventos
+ * sem data de início ficam no fim da ordem crescente e no início da decrescente.
+ */
+public final class EventoSpecifications {
+
+    private EventoSpecifications() {
+    }
+
+    public static Specification<Evento> filtro(FiltroEventoDTO filtro) {
+        return (root, query, cb) -> {
+            var predicados = cb.conjunction();
+            if (filtro.getCampusId() != null) {
+                predicados = cb.and(predicados, cb.equal(root.get("campus").get("id"), filtro.getCampusId()));
+            }
+            if (filtro.getDepartamentoId() != null) {
+                predicados = cb.and(predicados, cb.equal(root.get("departamento").get("id"), filtro.getDepartamentoId()));
+            }
+            if (filtro.getStatus() != null) {
+                predicados = cb.and(predicados, cb.equal(root.get("status"), filtro.getStatus()));
+            }
+            if (filtro.getDataInicioDe() != null) {
+                predicados = cb.and(predicados, cb.greaterThanOrEqualTo(root.get("dataInicio"), filtro.getDataInicioDe()));
+            }
+            if (filtro.getDataInicioAte() != null) {
+                predicados = cb.and(predicados, cb.lessThan(root.get("dataInicio"), filtro.getDataInicioAte()));
+            }
+            return predicados;
+        };
+    }
+
+    /**
+     * Eventos de um dos campus ou de um dos departamentos informados. Com as duas listas
+     * vazias, nenhum evento é selecionado.
+     */
+    public static Specification<Evento> gerenciaveis(Collection<Long> campusIds, Collection<Long> departamentoIds) {
+        return (root, query, cb) -> {
+            var predicados = cb.disjunction();
+            if (!campusIds.isEmpty()) {
+                predicados = cb.or(predicados, root.get("campus").get("id").in(campusIds));
+            }
+            if (!departamentoIds.isEmpty()) {
+                predicados = cb.or(predicados, root.get("departamento").get("id").in(departamentoIds));
+            }
+            return predicados;
+        };
+    }
+
+    public static Specification<Evento> naoEncerradosEm(LocalDateTime agora) {
+        return (root, query, cb) -> cb.or(
+                cb.isNull(root.get("dataFim")),
+                cb.greaterThan(root.get("dataFim"), agora));
+    }
+
+    public static Specification<Evento> idEm(Collection<Long> ids) {
+        return (root, query, cb) -> root.get("id").in(ids);
+    }
+
+    public static Specification<Evento> textoContem(String texto) {
+        return (root, query, cb) -> {
+            String padrao = "%" + texto.toLowerCase() + "%";
+            return cb.or(
+                    cb.like(cb.lower(root.get("titulo")), padrao),
+                    cb.like(cb.lower(root.get("descricao")), padrao));
+        };
+    }
+
+    /**
+     * Restringe aos eventos posteriores ao cursor {@code (dataInicio, id)} na ordem pedida,
+     * dentro do mesmo trecho da ordem: eventos com data ou eventos sem data. Os predicados
+     * usam a data como limite de intervalo ({@code data >= X AND (data > X OR id > Y)}), então
+     * o índice {@code (data_inicio, id)} começa a varredura no cursor. O trecho seguinte,
+     * quando existe, vem de {@link #caudaAposCursor}.
+     */
+    public static Specification<Evento> aposCursor(LocalDateTime dataInicio, Long id, boolean decrescente) {
+        return (root, query, cb) -> {
+            Path<LocalDateTime> data = root.get("dataInicio");
+            Path<Long> chave = root.get("id");
+
+            if (dataInicio == null) {
+                return cb.and(cb.isNull(data),
+                        decrescente ? cb.lessThan(chave, id) : cb.greaterThan(chave, id));
+            }
+            if (!decrescente) {
+                return cb.and(cb.greaterThanOrEqualTo(data, dataInicio),
+                        cb.or(cb.greaterThan(data, dataInicio), cb.greaterThan(chave, id)));
+            }
+            return cb.and(cb.lessThanOrEqualTo(data, dataInicio),
+                    cb.or(cb.lessThan(data, dataInicio), cb.lessThan(chave, id)));
+        };
+    }
+
+    /**
+     * Trecho da ordem que vem depois do trecho do cursor, consultado à parte quando a página
+     * não foi completada por {@link #aposCursor}. Como no PostgreSQL, eventos sem data ficam
+     * depois dos demais na ordem crescente e antes deles na decrescente.
+     *
+     * @return a especificação do trecho seguinte, ou null se o cursor já está no último
+     */
+    public static Specification<Evento> caudaAposCursor(LocalDateTime dataInicio, boolean decrescente) {
+        if (!decrescente && dataInicio != null) {
+            return (root, query, cb) -> cb.isNull(root.get("dataInicio"));
+        }
+        if (decrescente && dataInicio == null) {
+            return (root, query, cb) -> cb.isNotNull(root.get("dataInicio"));
+        }
+        return null;
+    }
+
+}
@@ -1,8 +1,15 @@
 package br.edu.ifg.event_system.repository;
 
+import br.edu.ifg.event_system.model.Evento;
 import br.edu.ifg.event_system.model.Inscricao;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,6 +21,78 @@ public interface InscricaoRepository extends JpaRepository<Inscricao, Long> {
 
     Optional<Inscricao> findByUserIdAndEventoId(Long userId, Long eventoId);
 
+    List<Inscricao> findByUserIdAndEventoIdIn(Long userId, Collection<Long> eventoIds);
+
     long countByEventoId(Long eventoId);
 
+    long countByEventoIdAndStatus(Long eventoId, String status);
+
+    @Query("SELECT i.user.id, i.status FROM Inscricao i WHERE i.evento.id = :eventoId AND i.user.id IN :userIds")
+    List<Object[]> findStatusPorUsuario(@Param("eventoId") Long eventoId, @Param("userIds") Collection<Long> userIds);
+
+    @Query("SELECT i.id FROM Inscricao i WHERE i.evento.id = :eventoId AND i.status = :status ORDER BY i.id")
+    List<Long> findIdsByEventoIdAndStatus(@Param("eventoId") Long eventoId, @Param("status") String status);
+
+    @Query("SELECT i.id FROM Inscricao i " +
+            "WHERE i.evento.id = :eventoId AND i.status = :status " +
+            "ORDER BY CASE WHEN i.posicaoSorteio IS NULL THEN 1 ELSE 0 END, i.posicaoSorteio, i.dataInscricao, i.id")
+    List<Long> findIdsByEventoIdAndStatusOrdenados(@Param("eventoId") Long eventoId,
+                                                  @Param("status") String status,
+                                                  Pageable pageable);
+
+    @Query("SELECT DISTINCT i.evento.id FROM Inscricao i " +
+            "WHERE i.status = :status AND i.evento.sorteioRealizadoEm IS NOT NULL")
+    List<Long> findEventoIdsSorteadosComStatus(@Param("status") String status);
+
+    @Query("SELECT DISTINCT i.evento.id FROM Inscricao i " +
+            "WHERE i.status = :status " +
+            "  AND i.evento.status = :eventoStatus " +
+            "  AND (i.evento.vagas IS NULL OR i.evento.vagasOcupadas < i.evento.vagas)")
+    List<Long> findEventoIdsComVagaEStatus(@Param("status") String status,
+                                           @Param("eventoStatus") Evento.EventoStatus eventoStatus);
+
+    /**
+     * Inscrição em um único comando no PostgreSQL: consome a reserva de vaga do usuário, se
+     * houver, ocupa a vaga no contador do evento (quem tinha reserva já a tem contabilizada),
+     * insere a inscrição ou reativa uma CANCELADA via {@code ON CONFLICT} (sem a posição de
+     * sorteio antiga, como nos demais caminhos de reativação) e devolve uma linha
+     * {@code [vaga_reservada, inscricao_id]}. {@code vaga_reservada = 0} indica evento
+     * lotado ou inscrição já existente; {@code inscricao_id} nulo com vaga reservada indica
+     * corrida com outra inscrição do mesmo usuário.
+     */
+    @Query(value = "WITH reserva AS ( " +
+            "    DELETE FROM reserva_vaga WHERE user_id = :userId AND evento_id = :eventoId " +
+            "    RETURNING id " +
+            "), vaga AS ( " +
+            "    UPDATE evento SET vagas_ocupadas = vagas_ocupadas " +
+            "        + CASE WHEN EXISTS (SELECT 1 FROM reserva) THEN 0 ELSE 1 END " +
+            "    WHERE id = :eventoId " +
+            "      AND (EXISTS (SELECT 1 FROM reserva) OR vagas IS NULL OR vagas_ocupadas < vagas) " +
+            "      AND NOT EXISTS (SELECT 1 FROM inscricao " +
+            "                      WHERE user_id = :userId AND evento_id = :eventoId AND status <> 'CANCELADA') " +
+            "    RETURNING id " +
+            "), inscrita AS ( " +
+            "    INSERT INTO inscricao (user_id, evento_id, data_inscricao, status) " +
+            "    SELECT :userId, vaga.id, :agora, 'ATIVA' FROM vaga " +
+            "    ON CONFLICT (user_id, evento_id) DO UPDATE " +
+            "        SET status = 'ATIVA', data_inscricao = EXCLUDED.data_inscricao, posicao_sorteio = NULL " +
+            "        WHERE inscricao.status = 'CANCELADA' " +
+            "    RETURNING id " +
+            ") " +
+            "SELECT (SELECT COUNT(*) FROM vaga) AS vaga_reservada, (SELECT id FROM inscrita) AS inscricao_id",
+            nativeQuery = true)
+    List<Object[]> upsertInscricaoAtiva(@Param("userId") Long userId,
+                                        @Param("eventoId") Long eventoId,
+                                        @Param("agora") LocalDateTime agora);
+
+    @Modifying
+    @Query("UPDATE Inscricao i SET i.status = :novoStatus WHERE i.evento.id = :eventoId AND i.status = :status")
+    int atualizarStatusDoEvento(@Param("eventoId") Long eventoId,
+                                @Param("status") String status,
+                                @Param("novoStatus") String novoStatus);
+
+    @Modifying
+    @Query("UPDATE Inscricao i SET i.status = :status WHERE i.id IN :ids")
+    int atualizarStatus(@Param("ids") List<Long> ids, @Param("status") String status);
+
 }
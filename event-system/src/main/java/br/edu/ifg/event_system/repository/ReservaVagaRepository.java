@@ -0,0 +1,51 @@
+package br.edu.ifg.event_system.repository;
+
+import br.edu.ifg.event_system.model.ReservaVaga;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface ReservaVagaRepository extends JpaRepository<ReservaVaga, Long> {
+
+    Optional<ReservaVaga> findByUserIdAndEventoId(Long userId, Long eventoId);
+
+    long countByEventoId(Long eventoId);
+
+    @Modifying
+    @Query(value = "INSERT INTO reserva_vaga (user_id, evento_id, expira_em) " +
+            "VALUES (:userId, :eventoId, :expiraEm) " +
+            "ON CONFLICT (user_id, evento_id) DO NOTHING", nativeQuery = true)
+    int inserirSeAusente(@Param("userId") Long userId,
+                         @Param("eventoId") Long eventoId,
+                         @Param("expiraEm") LocalDateTime expiraEm);
+
+    @Modifying
+    @Query("DELETE FROM ReservaVaga r WHERE r.user.id = :userId AND r.evento.id = :eventoId")
+    int deleteByUserIdAndEventoId(@Param("userId") Long userId, @Param("eventoId") Long eventoId);
+
+    /**
+     * Apaga as reservas dos usuários no evento em um único comando.
+     *
+     * @return os ids dos usuários que tinham reserva
+     */
+    @Query(value = "WITH consumidas AS ( " +
+            "    DELETE FROM reserva_vaga WHERE evento_id = :eventoId AND user_id IN (:userIds) " +
+            "    RETURNING user_id " +
+            ") " +
+            "SELECT user_id FROM consumidas", nativeQuery = true)
+    List<Long> consumirDoEvento(@Param("eventoId") Long eventoId, @Param("userIds") Collection<Long> userIds);
+
+    @Query("SELECT DISTINCT r.evento.id FROM ReservaVaga r WHERE r.expiraEm <= :agora")
+    List<Long> findEventoIdsComReservasExpiradas(@Param("agora") LocalDateTime agora);
+
+    @Modifying
+    @Query("DELETE FROM ReservaVaga r WHERE r.evento.id = :eventoId AND r.expiraEm <= :agora")
+    int deleteExpiradasDoEvento(@Param("eventoId") Long eventoId, @Param("agora") LocalDateTime agora);
+
+}
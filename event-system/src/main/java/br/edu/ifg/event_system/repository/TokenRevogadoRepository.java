@@ -0,0 +1,44 @@
+package br.edu.ifg.event_system.repository;
+
+import br.edu.ifg.event_system.model.TokenRevogado;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface TokenRevogadoRepository extends JpaRepository<TokenRevogado, Long> {
+
+    List<TokenRevogado> findByExpiraEmGreaterThan(long agora);
+
+    /**
+     * Registra a revogação ou, se a chave já existir, estende a linha para o instante mais
+     * recente.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO token_revogado (chave, revogado_em, expira_em) " +
+            "VALUES (:chave, :revogadoEm, :expiraEm) " +
+            "ON CONFLICT (chave) DO UPDATE SET " +
+            "revogado_em = GREATEST(token_revogado.revogado_em, EXCLUDED.revogado_em), " +
+            "expira_em = GREATEST(token_revogado.expira_em, EXCLUDED.expira_em)", nativeQuery = true)
+    int registrar(@Param("chave") String chave,
+                  @Param("revogadoEm") long revogadoEm,
+                  @Param("expiraEm") long expiraEm);
+
+    /**
+     * @return 0 se a chave já estava revogada
+     */
+    @Modifying
+    @Query(value = "INSERT INTO token_revogado (chave, revogado_em, expira_em) " +
+            "VALUES (:chave, :revogadoEm, :expiraEm) " +
+            "ON CONFLICT (chave) DO NOTHING", nativeQuery = true)
+    int inserirSeAusente(@Param("chave") String chave,
+                         @Param("revogadoEm") long revogadoEm,
+                         @Param("expiraEm") long expiraEm);
+
+    @Modifying
+    @Query("DELETE FROM TokenRevogado t WHERE t.expiraEm <= :agora")
+    int deleteExpirados(@Param("agora") long agora);
+
+}
@@ -4,15 +4,68 @@ import br.edu.ifg.event_system.model.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
+
 public interface UserRepository extends JpaRepository<User, Long> {
 
     User findByUsername(String username);
 
+    /**
+     * Usuário com os papéis já carregados, para o login, que não precisa do escopo administrativo.
+     */
+    @Query("SELECT u FROM User u LEFT JOIN FETCH u.roles WHERE u.username = :username")
+    User findComRolesByUsername(@Param("username") String username);
+
+    /**
+     * Usuário com papéis, campus e departamentos administrados (e o campus de cada
+     * departamento) carregados em uma única consulta.
+     */
+    @Query("SELECT u FROM User u LEFT JOIN FETCH u.roles LEFT JOIN FETCH u.campusQueAdministro " +
+            "LEFT JOIN FETCH u.departamentosQueAdministro d LEFT JOIN FETCH d.campus WHERE u.id = :id")
+    User findComEscopoById(@Param("id") Long id);
+
+    @Query("SELECT u FROM User u LEFT JOIN FETCH u.roles LEFT JOIN FETCH u.campusQueAdministro " +
+            "LEFT JOIN FETCH u.departamentosQueAdministro d LEFT JOIN FETCH d.campus WHERE u.username = :username")
+    User findComEscopoByUsername(@Param("username") String username);
+
+    List<Resumo> findResumoByIdIn(Collection<Long> ids);
+
+    List<Resumo> findResumoByUsernameIn(Collection<String> usernames);
+
+    /**
+     * Recalcula {@code roles_mask} a partir de {@code users_roles}, com os mesmos bits de
+     * {@code EscopoAutorizacao#bitDoPapel}, gravando apenas as linhas divergentes.
+     *
+     * @return quantidade de usuários atualizados
+     */
+    @Modifying
+    @Query(value = "UPDATE users u SET roles_mask = m.mascara FROM (" +
+            "SELECT us.id, COALESCE(BIT_OR(CASE r.name " +
+            "WHEN 'ADMIN_GERAL' THEN 1 WHEN 'ADMIN_CAMPUS' THEN 2 WHEN 'ADMIN_DEPARTAMENTO' THEN 4 " +
+            "ELSE 0 END), 0) AS mascara " +
+            "FROM users us " +
+            "LEFT JOIN users_roles ur ON ur.user_id = us.id " +
+            "LEFT JOIN role r ON r.id = ur.role_id " +
+            "GROUP BY us.id) m " +
+            "WHERE u.id = m.id AND u.roles_mask <> m.mascara", nativeQuery = true)
+    int recalcularMascarasDePapeis();
+
     @Query("SELECT u FROM User u WHERE LOWER(u.username) LIKE LOWER(CONCAT('%', :search, '%')) " +
             "OR LOWER(u.nomeCompleto) LIKE LOWER(CONCAT('%', :search, '%'))")
     Page<User> searchUsers(@Param("search") String search, Pageable pageable);
 
-}
\ No newline at end of file
+    /**
+     * Projeção com apenas id e username, para validar usuários em lote sem carregar papéis.
+     */
+    interface Resumo {
+        Long getId();
+
+        String getUsername();
+    }
+
+}
@@ -0,0 +1,97 @@
+package br.edu.ifg.event_system.service;
+
+import br.edu.ifg.event_system.config.UsuarioAutenticado;
+import br.edu.ifg.event_system.model.Role;
+import br.edu.ifg.event_system.model.User;
+import br.edu.ifg.event_system.repository.UserRepository;
+import br.edu.ifg.event_system.util.CacheExpiravel;
+import br.edu.ifg.event_system.util.EscopoAutorizacao;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Transforma o token {@code Bearer} no principal da requisição sem consultar o banco: roles,
+ * id e escopo administrativo vêm das claims assinadas em {@link JwtService#generateToken(User)},
+ * já verificadas e guardadas em cache pelo {@link JwtService}.
+ * <p>
+ * A revogação é conferida na memória pelo {@link RevogacaoTokenService}. Tokens antigos,
+ * sem a claim {@code uid}, ainda são conferidos no banco; o principal lido do banco fica em
+ * cache por pouco tempo para não repetir a consulta a cada requisição. Tokens de renovação
+ * não autenticam requisições.
+ */
+@Service
+public class AutenticacaoTokenService {
+
+    private final JwtService jwtService;
+    private final UserRepository userRepository;
+    private final RevogacaoTokenService revogacaoTokenService;
+    private final TransactionTemplate transactionTemplate;
+    private final CacheExpiravel<String, UsuarioAutenticado> carregadosDoBanco;
+
+    public AutenticacaoTokenService(JwtService jwtService,
+                                    UserRepository userRepository,
+                                    RevogacaoTokenService revogacaoTokenService,
+                                    TransactionTemplate transactionTemplate,
+                                    @Value("${eventos.auth.principais.capacidade:10000}") int capacidade,
+                                    @Value("${eventos.auth.principais.ttl:PT1M}") Duration ttl) {
+        this.jwtService = jwtService;
+        this.userRepository = userRepository;
+        this.revogacaoTokenService = revogacaoTokenService;
+        this.transactionTemplate = transactionTemplate;
+        this.carregadosDoBanco = new CacheExpiravel<>(capacidade, ttl);
+    }
+
+    /**
+     * @return o principal do token de acesso, ou null se o token for inválido, estiver
+     * expirado, tiver sido revogado, for de renovação ou pertencer a um usuário que não existe mais
+     */
+    public UsuarioAutenticado autenticar(String token) {
+        JwtService.TokenVerificado verificado = jwtService.verificar(token);
+        if (verificado == null || verificado.isRenovacao()
+                || revogacaoTokenService.isUsuarioRevogado(verificado.userId(), verificado.emitidoEm())) {
+            return null;
+        }
+
+        if (verificado.userId() != null) {
+            EscopoAutorizacao escopo = EscopoAutorizacao.compilar(verificado.userId(), verificado.roles(),
+                    verificado.campusIds(), verificado.departamentoIds(), verificado.campusDosDepartamentos());
+            return new UsuarioAutenticado(verificado.userId(), verificado.username(), verificado.nomeCompleto(),
+                    verificado.roles(), escopo, verificado.emitidoEm(), verificado.expiraEm());
+        }
+
+        UsuarioAutenticado principal = carregadosDoBanco.obter(token);
+        if (principal == null) {
+            principal = carregarDoBanco(verificado);
+            if (principal == null) {
+                return null;
+            }
+            carregadosDoBanco.colocar(token, principal);
+        }
+        if (revogacaoTokenService.isUsuarioRevogado(principal.getId(), principal.getEmitidoEm())) {
+            carregadosDoBanco.remover(token);
+            return null;
+        }
+        return principal;
+    }
+
+    /**
+     * Caminho anterior ao token com claims: roles e escopo lidos do banco. As coleções de
+     * campus e departamentos são lazy, por isso a leitura acontece dentro de uma transação.
+     */
+    private UsuarioAutenticado carregarDoBanco(JwtService.TokenVerificado verificado) {
+        return transactionTemplate.execute(status -> {
+            User user = userRepository.findByUsername(verificado.username());
+            if (user == null) {
+                return null;
+            }
+            List<String> roles = user.getRoles().stream().map(Role::getName).toList();
+            return new UsuarioAutenticado(user.getId(), user.getUsername(), user.getNomeCompleto(), roles,
+                    EscopoAutorizacao.de(user), verificado.emitidoEm(), verificado.expiraEm());
+        });
+    }
+
+}
@@ -0,0 +1,201 @@
+package br.edu.ifg.event_system.service;
+
+import br.edu.ifg.event_system.dto.EventoResumoDTO;
+import br.edu.ifg.event_system.dto.PaginaDTO;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Pesquisa textual de eventos sobre um índice invertido do PostgreSQL: a coluna gerada
+ * {@code evento.busca} guarda o {@code tsvector} de título (peso A) e descrição (peso B)
+ * e é recalculada pelo próprio banco a cada INSERT/UPDATE, coberta por um índice GIN.
+ * A configuração {@code portugues_sem_acento} aplica {@code unaccent} antes do stemmer,
+ * então "programação", "programacao" e "programar" se encontram.
+ * <p>
+ * Se o índice não puder ser criado (ex.: sem permissão para a extensão {@code unaccent}),
+ * a pesquisa volta ao LIKE de {@link EventoService#pesquisarPaginado}.
+ */
+@Service
+public class BuscaEventosService {
+
+    private static final Logger logger = LogManager.getLogger(BuscaEventosService.class);
+
+    private static final int LIMITE_MAXIMO_PAGINA = 100;
+    private static final int MAXIMO_TERMOS = 8;
+    private static final Pattern SEPARADOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final String CONFIGURACAO = "public.portugues_sem_acento";
+
+    private static final String SQL_CONFIGURACAO =
+            "DO $$ BEGIN " +
+            "IF NOT EXISTS (SELECT 1 FROM pg_ts_config WHERE cfgname = 'portugues_sem_acento') THEN " +
+            "CREATE TEXT SEARCH CONFIGURATION " + CONFIGURACAO + " (COPY = pg_catalog.portuguese); " +
+            "ALTER TEXT SEARCH CONFIGURATION " + CONFIGURACAO +
+            " ALTER MAPPING FOR hword, hword_part, word WITH unaccent, portuguese_stem; " +
+            "END IF; END $$";
+
+    private static final String SQL_COLUNA =
+            "ALTER TABLE evento ADD COLUMN IF NOT EXISTS busca tsvector GENERATED ALWAYS AS (" +
+            "setweight(to_tsvector('" + CONFIGURACAO + "', coalesce(titulo, '')), 'A') || " +
+            "setweight(to_tsvector('" + CONFIGURACAO + "', coalesce(descricao, '')), 'B')) STORED";
+
+    private static final String SQL_BUSCA =
+            "SELECT e.id, ts_rank_cd(e.busca, q) AS relevancia " +
+            "FROM evento e, to_tsquery('" + CONFIGURACAO + "', ?) q " +
+            "WHERE e.busca @@ q ";
+
+    private static final String SQL_ORDEM = "ORDER BY relevancia DESC, e.id DESC LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EventoService eventoService;
+    private volatile boolean indiceDisponivel;
+
+    public BuscaEventosService(JdbcTemplate jdbcTemplate, EventoService eventoService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventoService = eventoService;
+    }
+
+    /**
+     * Cria (se ainda não existirem) a extensão, a configuração de busca, a coluna gerada e
+     * o índice GIN. Roda depois que o Hibernate já criou a tabela {@code evento}.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void prepararIndice() {
+        try {
+            jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS unaccent");
+            jdbcTemplate.execute(SQL_CONFIGURACAO);
+            jdbcTemplate.execute(SQL_COLUNA);
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_evento_busca ON evento USING GIN (busca)");
+            indiceDisponivel = true;
+        } catch (DataAccessException e) {
+            logger.warn("Índice de busca textual indisponível; a pesquisa usará LIKE.", e);
+        }
+    }
+
+    public boolean isIndiceDisponivel() {
+        return indiceDisponivel;
+    }
+
+    /**
+     * Eventos que contêm todos os termos (cada termo também casa como prefixo), do mais
+     * relevante para o menos relevante. A paginação segue {@code (relevancia, id)}, sem OFFSET.
+     *
+     * @param cursor valor de {@link PaginaDTO#getProximoCursor()} da página anterior, ou nulo
+     * @throws IllegalArgumentException se o cursor for inválido
+     */
+    public PaginaDTO<EventoResumoDTO> buscar(String texto, String cursor, int limite) {
+        if (!indiceDisponivel) {
+            return eventoService.pesquisarPaginado(texto, cursor, limite);
+        }
+
+        String consulta = montarConsulta(texto);
+        if (consulta == null) {
+            return new PaginaDTO<>(new ArrayList<>(), null);
+        }
+
+        int tamanho = Math.max(1, Math.min(limite, LIMITE_MAXIMO_PAGINA));
+        List<Resultado> resultados;
+        if (cursor != null && !cursor.isBlank()) {
+            Cursor posicao = Cursor.decodificar(cursor);
+            resultados = jdbcTemplate.query(
+                    SQL_BUSCA + "AND (ts_rank_cd(e.busca, q), e.id) < (CAST(? AS real), ?) " + SQL_ORDEM,
+                    (rs, i) -> new Resultado(rs.getLong("id"), rs.getFloat("relevancia")),
+                    consulta, posicao.relevancia(), posicao.id(), tamanho + 1);
+        } else {
+            resultados = jdbcTemplate.query(SQL_BUSCA + SQL_ORDEM,
+                    (rs, i) -> new Resultado(rs.getLong("id"), rs.getFloat("relevancia")),
+                    consulta, tamanho + 1);
+        }
+
+        String proximoCursor = null;
+        if (resultados.size() > tamanho) {
+            resultados = resultados.subList(0, tamanho);
+            Resultado ultimo = resultados.get(tamanho - 1);
+            proximoCursor = Cursor.codificar(ultimo.relevancia(), ultimo.id());
+        }
+
+        return new PaginaDTO<>(carregarNaOrdem(resultados), proximoCursor);
+    }
+
+    private List<EventoResumoDTO> carregarNaOrdem(List<Resultado> resultados) {
+        if (resultados.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<Long, EventoResumoDTO> porId = eventoService
+                .buscarResumosPorIds(resultados.stream().map(Resultado::id).toList())
+                .stream()
+                .collect(Collectors.toMap(EventoResumoDTO::getId, Function.identity()));
+
+        List<EventoResumoDTO> eventos = new ArrayList<>(resultados.size());
+        for (Resultado resultado : resultados) {
+            EventoResumoDTO evento = porId.get(resultado.id());
+            if (evento != null) {
+                eventos.add(evento);
+            }
+        }
+        return eventos;
+    }
+
+    /**
+     * Converte o texto digitado em uma tsquery {@code termo1:* & termo2:*}. Só letras e
+     * dígitos chegam à consulta, então operadores da tsquery nunca vêm do usuário.
+     *
+     * @return a consulta, ou nulo se o texto não tiver nenhum termo
+     */
+    static String montarConsulta(String texto) {
+        if (texto == null) {
+            return null;
+        }
+
+        String consulta = Arrays.stream(SEPARADOR.split(texto.toLowerCase(Locale.ROOT)))
+                .filter(termo -> !termo.isEmpty())
+                .distinct()
+                .limit(MAXIMO_TERMOS)
+                .map(termo -> termo + ":*")
+                .collect(Collectors.joining(" & "));
+        return consulta.isEmpty() ? null : consulta;
+    }
+
+    record Resultado(long id, float relevancia) {}
+
+    /**
+     * Posição opaca na pesquisa: {@code relevancia|id} em base64url.
+     */
+    record Cursor(float relevancia, long id) {
+
+        static String codificar(float relevancia, long id) {
+            String valor = relevancia + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decodificar(String cursor) {
+            try {
+                String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separador = valor.indexOf('|');
+                return new Cursor(Float.parseFloat(valor.substring(0, separador)),
+                        Long.parseLong(valor.substring(separador + 1)));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Cursor inválido.", e);
+            }
+        }
+
+    }
+
+}
@@ -14,10 +14,12 @@ public class CampusService {
 
     private final CampusRepository campusRepository;
     private final UserRepository userRepository;
+    private final UserService userService;
 
-    public CampusService(CampusRepository campusRepository, UserRepository userRepository) {
+    public CampusService(CampusRepository campusRepository, UserRepository userRepository, UserService userService) {
         this.campusRepository = campusRepository;
         this.userRepository = userRepository;
+        this.userService = userService;
     }
 
     public Campus criarOuAtualizar(Campus campus) {
@@ -50,9 +52,11 @@ public class CampusService {
 
             if (user.getCampusQueAdministro().isEmpty()) {
                 user.getRoles().removeIf(r -> r.getName().equals("ADMIN_CAMPUS"));
+                userService.sincronizarMascaraDePapeis(user);
             }
 
             userRepository.save(user);
+            userService.publicarAlteracaoDePermissoes(user);
         }
 
         campusRepository.deleteById(id);
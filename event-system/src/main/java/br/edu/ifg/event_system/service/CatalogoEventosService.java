@@ -0,0 +1,201 @@
+package br.edu.ifg.event_system.service;
+
+import br.edu.ifg.event_system.dto.EstatisticasCacheDTO;
+import br.edu.ifg.event_system.dto.EventoDetalheDTO;
+import br.edu.ifg.event_system.dto.EventoResumoDTO;
+import br.edu.ifg.event_system.dto.FiltroEventoDTO;
+import br.edu.ifg.event_system.dto.PaginaDTO;
+import br.edu.ifg.event_system.util.CacheFrequencia;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.DigestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Cache das leituras públicas do catálogo de eventos (detalhe, listagens e pesquisa), na
+ * frente do {@link EventoService}. Toda alteração de evento publica um
+ * {@link EventoService.CatalogoAlteradoEvent}; após o commit, a versão do catálogo avança
+ * e as entradas calculadas em versões anteriores deixam de ser servidas. O TTL curto
+ * limita a defasagem de {@code vagasOcupadas}, que muda a cada inscrição sem invalidar
+ * o catálogo.
+ * <p>
+ * Cada entrada guarda a ETag da sua representação: um hash do JSON, calculado uma vez ao
+ * entrar no cache. Como depende só dos dados, instâncias diferentes atribuem a mesma ETag
+ * ao mesmo conteúdo, e ela muda assim que o conteúdo muda (inclusive as vagas ocupadas).
+ */
+@Service
+public class CatalogoEventosService {
+
+    private static final int TAMANHO_PAGINA_PESQUISA = 100;
+
+    private final EventoService eventoService;
+    private final BuscaEventosService buscaEventosService;
+    private final ObjectMapper objectMapper;
+    private final CacheFrequencia<Long, Versionado<EventoDetalheDTO>> detalhes;
+    private final CacheFrequencia<String, Versionado<Object>> listagens;
+    private final AtomicLong versao = new AtomicLong();
+
+    public CatalogoEventosService(EventoService eventoService,
+                                  BuscaEventosService buscaEventosService,
+                                  ObjectMapper objectMapper,
+                                  @Value("${eventos.catalogo.cache.capacidade-detalhes:10000}") int capacidadeDetalhes,
+                                  @Value("${eventos.catalogo.cache.capacidade-listagens:1000}") int capacidadeListagens,
+                                  @Value("${eventos.catalogo.cache.ttl:PT30S}") Duration ttl) {
+        this.eventoService = eventoService;
+        this.buscaEventosService = buscaEventosService;
+        this.objectMapper = objectMapper;
+        this.detalhes = new CacheFrequencia<>(capacidadeDetalhes, ttl);
+        this.listagens = new CacheFrequencia<>(capacidadeListagens, ttl);
+    }
+
+    /**
+     * @return versão atual do catálogo; avança a cada alteração de evento
+     */
+    public long getVersao() {
+        return versao.get();
+    }
+
+    /**
+     * Compara o cabeçalho {@code If-None-Match} com a ETag atual, aceitando listas,
+     * {@code *} e o prefixo {@code W/} (a comparação de If-None-Match é fraca).
+     */
+    public static boolean naoModificado(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidata : ifNoneMatch.split(",")) {
+            String tag = candidata.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Acertos no cache não abrem transação nem tocam o pool de conexões; só a carga, em
+     * {@link EventoService#buscarDetalhe}, é transacional.
+     *
+     * @return o detalhe com a sua ETag, ou null se o evento não existir
+     */
+    public Entrada<EventoDetalheDTO> buscarDetalhe(Long id) {
+        return buscar(detalhes, id, () -> eventoService.buscarDetalhe(id));
+    }
+
+    @SuppressWarnings("unchecked")
+    public Entrada<List<EventoResumoDTO>> listarResumos(FiltroEventoDTO filtro) {
+        String chave = "lista:" + filtro.getCampusId() + ":" + filtro.getDepartamentoId();
+        return (Entrada<List<EventoResumoDTO>>) (Entrada<?>) buscar(listagens, chave,
+                () -> eventoService.listarResumos(filtro));
+    }
+
+    @SuppressWarnings("unchecked")
+    public Entrada<PaginaDTO<EventoResumoDTO>> listarPaginado(FiltroEventoDTO filtro, String cursor, int limite,
+                                                              boolean decrescente) {
+        String chave = String.join(":", "pagina",
+                Objects.toString(filtro.getCampusId()), Objects.toString(filtro.getDepartamentoId()),
+                Objects.toString(filtro.getStatus()), Objects.toString(filtro.getDataInicioDe()),
+                Objects.toString(filtro.getDataInicioAte()), Objects.toString(cursor),
+                Integer.toString(limite), Boolean.toString(decrescente));
+        return (Entrada<PaginaDTO<EventoResumoDTO>>) (Entrada<?>) buscar(listagens, chave,
+                () -> eventoService.listarPaginado(filtro, cursor, limite, decrescente));
+    }
+
+    /**
+     * Pesquisa textual de {@link BuscaEventosService#buscar}, guardada como as listagens.
+     *
+     * @throws IllegalArgumentException se o cursor for inválido
+     */
+    @SuppressWarnings("unchecked")
+    public Entrada<PaginaDTO<EventoResumoDTO>> pesquisar(String texto, String cursor, int limite) {
+        String chave = String.join(":", "busca", Integer.toString(limite), Objects.toString(cursor), texto);
+        return (Entrada<PaginaDTO<EventoResumoDTO>>) (Entrada<?>) buscar(listagens, chave,
+                () -> buscaEventosService.buscar(texto, cursor, limite));
+    }
+
+    /**
+     * Todos os resultados da pesquisa, do mais relevante para o menos relevante. Percorre as
+     * páginas de {@link BuscaEventosService#buscar} pelo cursor, já que cada página tem no
+     * máximo {@value #TAMANHO_PAGINA_PESQUISA} eventos.
+     */
+    @SuppressWarnings("unchecked")
+    public Entrada<List<EventoResumoDTO>> pesquisarTodos(String texto) {
+        return (Entrada<List<EventoResumoDTO>>) (Entrada<?>) buscar(listagens, "busca-todos:" + texto, () -> {
+            List<EventoResumoDTO> itens = new ArrayList<>();
+            String cursor = null;
+            do {
+                PaginaDTO<EventoResumoDTO> pagina = buscaEventosService.buscar(texto, cursor, TAMANHO_PAGINA_PESQUISA);
+                itens.addAll(pagina.getItens());
+                cursor = pagina.getProximoCursor();
+            } while (cursor != null);
+            return itens;
+        });
+    }
+
+    /**
+     * Lê do cache ou calcula e armazena. A versão é lida antes do cálculo: se o catálogo
+     * mudar durante a consulta, o valor fica marcado com a versão antiga e nunca é servido.
+     */
+    private <K, V> Entrada<V> buscar(CacheFrequencia<K, Versionado<V>> cache, K chave, Supplier<V> carregar) {
+        long atual = versao.get();
+        Versionado<V> emCache = cache.obter(chave, v -> v.versao() == versao.get());
+        if (emCache != null) {
+            return emCache.entrada();
+        }
+
+        V valor = carregar.get();
+        if (valor == null) {
+            return null;
+        }
+        Entrada<V> entrada = new Entrada<>(valor, etag(valor));
+        cache.colocar(chave, new Versionado<>(atual, entrada));
+        return entrada;
+    }
+
+    /**
+     * ETag forte: hash do JSON que será enviado ao cliente.
+     */
+    private String etag(Object valor) {
+        try {
+            return "\"" + DigestUtils.md5DigestAsHex(objectMapper.writeValueAsBytes(valor)) + "\"";
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Não foi possível serializar a resposta do catálogo.", e);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarCatalogo(EventoService.CatalogoAlteradoEvent evento) {
+        versao.incrementAndGet();
+        detalhes.limpar();
+        listagens.limpar();
+    }
+
+    public List<EstatisticasCacheDTO> estatisticas() {
+        return List.of(estatisticas("detalhes", detalhes), estatisticas("listagens", listagens));
+    }
+
+    private static EstatisticasCacheDTO estatisticas(String nome, CacheFrequencia<?, ?> cache) {
+        return new EstatisticasCacheDTO(nome, cache.capacidade(), cache.tamanho(),
+                cache.acertos(), cache.falhas(), cache.rejeicoes());
+    }
+
+    /**
+     * Resposta do catálogo e a ETag da sua representação.
+     */
+    public record Entrada<T>(T valor, String etag) {}
+
+    private record Versionado<V>(long versao, Entrada<V> entrada) {}
+
+}
@@ -1,29 +1,55 @@
 package br.edu.ifg.event_system.service;
 
+import br.edu.ifg.event_system.dto.EventoDetalheDTO;
+import br.edu.ifg.event_system.dto.EventoResumoDTO;
+import br.edu.ifg.event_system.dto.FiltroEventoDTO;
+import br.edu.ifg.event_system.dto.PaginaDTO;
 import br.edu.ifg.event_system.model.Evento;
 import br.edu.ifg.event_system.repository.EventoRepository;
+import br.edu.ifg.event_system.repository.EventoSpecifications;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
 import java.util.List;
 
 @Service
 public class EventoService {
 
+    private static final int LIMITE_MAXIMO_PAGINA = 100;
+
     private final EventoRepository eventoRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @PersistenceContext
     private EntityManager entityManager;
 
-    public EventoService(EventoRepository eventoRepository) {
+    public EventoService(EventoRepository eventoRepository, ApplicationEventPublisher eventPublisher) {
         this.eventoRepository = eventoRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     public Evento criarOuAtualizar(Evento evento) {
-        return eventoRepository.save(evento);
+        Evento salvo = eventoRepository.save(evento);
+        publicarAlteracao(salvo.getId());
+        return salvo;
+    }
+
+    /**
+     * Avisa que o evento mudou, para que o {@link CatalogoEventosService} descarte o que
+     * tem em cache. Dentro de uma transação, o aviso é processado após o commit.
+     */
+    public void publicarAlteracao(Long eventoId) {
+        eventPublisher.publishEvent(new CatalogoAlteradoEvent(eventoId));
     }
 
     public List<Evento> listarTodos() {
@@ -34,8 +60,124 @@ public class EventoService {
         return eventoRepository.findById(id).orElse(null);
     }
 
-    public List<Evento> buscarPorTituloOuDescricao(String texto) {
-        return eventoRepository.searchByTituloOrDescricao(texto);
+    /**
+     * Detalhe público do evento, montado dentro de uma transação somente leitura para que
+     * os campos adicionais sejam carregados. Chamado pelo {@link CatalogoEventosService}
+     * apenas quando o detalhe não está em cache.
+     *
+     * @return o detalhe, ou null se o evento não existir
+     */
+    @Transactional(readOnly = true)
+    public EventoDetalheDTO buscarDetalhe(Long id) {
+        return eventoRepository.findById(id).map(EventoDetalheDTO::new).orElse(null);
+    }
+
+    /**
+     * Carrega vários eventos, já com seus campos adicionais, em uma única consulta.
+     * A lista vem ordenada por id.
+     */
+    public List<Evento> buscarPorIds(Collection<Long> ids) {
+        return eventoRepository.findComCamposByIdIn(ids);
+    }
+
+    /**
+     * Listagem paginada por cursor sobre {@code (dataInicio, id)}: cada página é uma busca
+     * no índice a partir do último evento entregue, sem OFFSET nem COUNT, então o custo
+     * não cresce com o tamanho da tabela.
+     *
+     * @param cursor valor de {@link PaginaDTO#getProximoCursor()} da página anterior, ou nulo
+     * @throws IllegalArgumentException se o cursor for inválido
+     */
+    public PaginaDTO<EventoResumoDTO> listarPaginado(FiltroEventoDTO filtro, String cursor, int limite, boolean decrescente) {
+        return paginar(EventoSpecifications.filtro(filtro), cursor, limite, decrescente);
+    }
+
+    /**
+     * Pesquisa por trecho de título ou descrição, paginada como {@link #listarPaginado}.
+     * É o caminho usado quando o índice textual de {@link BuscaEventosService} não está disponível.
+     */
+    public PaginaDTO<EventoResumoDTO> pesquisarPaginado(String texto, String cursor, int limite) {
+        return paginar(EventoSpecifications.textoContem(texto), cursor, limite, false);
+    }
+
+    private PaginaDTO<EventoResumoDTO> paginar(Specification<Evento> spec, String cursor, int limite, boolean decrescente) {
+        int tamanho = Math.max(1, Math.min(limite, LIMITE_MAXIMO_PAGINA));
+
+        Sort ordem = ordemCronologica(decrescente ? Sort.Direction.DESC : Sort.Direction.ASC);
+        Specification<Evento> cauda = null;
+
+        if (cursor != null && !cursor.isBlank()) {
+            Cursor posicao = Cursor.decodificar(cursor);
+            cauda = EventoSpecifications.caudaAposCursor(posicao.dataInicio(), decrescente);
+            if (cauda != null) {
+                cauda = spec.and(cauda);
+            }
+            spec = spec.and(EventoSpecifications.aposCursor(posicao.dataInicio(), posicao.id(), decrescente));
+        }
+
+        List<EventoResumoDTO> eventos = eventoRepository.buscarResumos(spec, ordem, tamanho + 1);
+        if (cauda != null && eventos.size() <= tamanho) {
+            eventos = new ArrayList<>(eventos);
+            eventos.addAll(eventoRepository.buscarResumos(cauda, ordem, tamanho + 1 - eventos.size()));
+        }
+
+        if (eventos.size() <= tamanho) {
+            return new PaginaDTO<>(eventos, null);
+        }
+
+        List<EventoResumoDTO> pagina = eventos.subList(0, tamanho);
+        EventoResumoDTO ultimo = pagina.get(tamanho - 1);
+        return new PaginaDTO<>(new ArrayList<>(pagina), Cursor.codificar(ultimo.getDataInicio(), ultimo.getId()));
+    }
+
+    /**
+     * Eventos que o usuário pode gerenciar, filtrados pelo banco com os índices
+     * {@code (campus_id, data_inicio, id)} e {@code (departamento_id, data_inicio, id)}.
+     *
+     * @param somenteFuturos restringe aos eventos ainda não encerrados
+     */
+    public List<EventoResumoDTO> listarQueGerencio(EscopoGerencia escopo, boolean somenteFuturos) {
+        if (escopo.isVazio()) {
+            return new ArrayList<>();
+        }
+        return eventoRepository.buscarResumos(especificacaoGerencia(escopo, somenteFuturos),
+                ordemCronologica(Sort.Direction.ASC));
+    }
+
+    public PaginaDTO<EventoResumoDTO> listarQueGerencioPaginado(EscopoGerencia escopo, boolean somenteFuturos,
+                                                                String cursor, int limite) {
+        if (escopo.isVazio()) {
+            return new PaginaDTO<>(new ArrayList<>(), null);
+        }
+        return paginar(especificacaoGerencia(escopo, somenteFuturos), cursor, limite, false);
+    }
+
+    private static Specification<Evento> especificacaoGerencia(EscopoGerencia escopo, boolean somenteFuturos) {
+        Specification<Evento> spec = escopo.irrestrito()
+                ? Specification.where(null)
+                : EventoSpecifications.gerenciaveis(escopo.campusIds(), escopo.departamentoIds());
+        if (somenteFuturos) {
+            spec = spec.and(EventoSpecifications.naoEncerradosEm(LocalDateTime.now()));
+        }
+        return spec;
+    }
+
+    /**
+     * Lista completa (sem paginação) em forma de resumo, montada por projeção.
+     */
+    public List<EventoResumoDTO> listarResumos(FiltroEventoDTO filtro) {
+        return eventoRepository.buscarResumos(EventoSpecifications.filtro(filtro), ordemCronologica(Sort.Direction.ASC));
+    }
+
+    /**
+     * Resumos dos eventos informados, em ordem de id; ids inexistentes são ignorados.
+     */
+    public List<EventoResumoDTO> buscarResumosPorIds(Collection<Long> ids) {
+        return eventoRepository.buscarResumos(EventoSpecifications.idEm(ids), Sort.by("id"));
+    }
+
+    private static Sort ordemCronologica(Sort.Direction direcao) {
+        return Sort.by(direcao, "dataInicio").and(Sort.by(direcao, "id"));
     }
 
     @Transactional
@@ -50,6 +192,11 @@ public class EventoService {
                 .setParameter(1, id)
                 .executeUpdate();
 
+        entityManager.createNativeQuery(
+                        "DELETE FROM reserva_vaga WHERE evento_id = ?")
+                .setParameter(1, id)
+                .executeUpdate();
+
         entityManager.createNativeQuery(
                         "DELETE FROM inscricao WHERE evento_id = ?")
                 .setParameter(1, id)
@@ -64,6 +211,8 @@ public class EventoService {
                         "DELETE FROM evento WHERE id = ?")
                 .setParameter(1, id)
                 .executeUpdate();
+
+        publicarAlteracao(id);
     }
 
     public List<Evento> listarEventosFuturos() {
@@ -83,4 +232,46 @@ public class EventoService {
         return eventoRepository.findByCampusIdAndDepartamentoId(campusId, departamentoId);
     }
 
-}
\ No newline at end of file
+    public record CatalogoAlteradoEvent(Long eventoId) {}
+
+    /**
+     * Campus e departamentos administrados por um usuário; {@code irrestrito} vale para o
+     * administrador geral, que gerencia todos os eventos.
+     */
+    public record EscopoGerencia(boolean irrestrito, Collection<Long> campusIds, Collection<Long> departamentoIds) {
+
+        public static EscopoGerencia todos() {
+            return new EscopoGerencia(true, List.of(), List.of());
+        }
+
+        public boolean isVazio() {
+            return !irrestrito && campusIds.isEmpty() && departamentoIds.isEmpty();
+        }
+
+    }
+
+    /**
+     * Posição opaca na listagem paginada: {@code dataInicio|id} em base64url.
+     */
+    record Cursor(LocalDateTime dataInicio, Long id) {
+
+        static String codificar(LocalDateTime dataInicio, Long id) {
+            String valor = (dataInicio == null ? "" : dataInicio.toString()) + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decodificar(String cursor) {
+            try {
+                String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separador = valor.lastIndexOf('|');
+                String data = valor.substring(0, separador);
+                return new Cursor(data.isEmpty() ? null : LocalDateTime.parse(data),
+                        Long.parseLong(valor.substring(separador + 1)));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Cursor inválido.", e);
+            }
+        }
+
+    }
+
+}
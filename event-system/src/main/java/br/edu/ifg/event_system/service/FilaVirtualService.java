@@ -0,0 +1,242 @@
+package br.edu.ifg.event_system.service;
+
+import br.edu.ifg.event_system.dto.FilaVirtualDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Sala de espera virtual para eventos com {@code filaVirtual} ativo. Cada usuário recebe
+ * um ticket assinado (HMAC-SHA256) com sua posição na fila do evento, e as posições são
+ * liberadas a uma taxa fixa por segundo. Apenas tickets já liberados podem se inscrever.
+ * <p>
+ * O estado da fila fica em memória; com mais de uma instância, cada uma aplica a taxa
+ * de forma independente e todas precisam compartilhar o mesmo segredo. Posições sem
+ * entrada há mais que a validade do ticket são descartadas periodicamente, assim como
+ * as salas que ficam vazias (eventos encerrados ou que já passaram).
+ */
+@Service
+public class FilaVirtualService {
+
+    public static final String CABECALHO_TOKEN = "X-Fila-Token";
+
+    private static final String ALGORITMO = "HmacSHA256";
+    private static final Base64.Encoder CODIFICADOR = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODIFICADOR = Base64.getUrlDecoder();
+
+    public enum Admissao {
+        ADMITIDO,
+        AGUARDANDO,
+        INVALIDO
+    }
+
+    private final Map<Long, Sala> salas = new ConcurrentHashMap<>();
+    private final byte[] segredo;
+    private final double admissoesPorSegundo;
+    private final long validadeMs;
+    private final LongSupplier relogio;
+
+    @Autowired
+    public FilaVirtualService(@Value("${eventos.fila-virtual.segredo:}") String segredo,
+                              @Value("${eventos.fila-virtual.admissoes-por-segundo:20}") double admissoesPorSegundo,
+                              @Value("${eventos.fila-virtual.validade:PT30M}") Duration validade) {
+        this(segredo, admissoesPorSegundo, validade, System::currentTimeMillis);
+    }
+
+    FilaVirtualService(String segredo, double admissoesPorSegundo, Duration validade, LongSupplier relogio) {
+        if (segredo == null || segredo.isBlank()) {
+            this.segredo = new byte[32];
+            new SecureRandom().nextBytes(this.segredo);
+        } else {
+            this.segredo = segredo.getBytes(StandardCharsets.UTF_8);
+        }
+        this.admissoesPorSegundo = admissoesPorSegundo;
+        this.validadeMs = validade.toMillis();
+        this.relogio = relogio;
+    }
+
+    /**
+     * Coloca o usuário na fila do evento. Quem já está na fila mantém a posição original.
+     */
+    public FilaVirtualDTO entrar(Long eventoId, String username) {
+        long agora = relogio.getAsLong();
+        // compute serializa a entrada com a limpeza da mesma sala, que nunca descarta
+        // uma sala em que alguém acabou de entrar.
+        Sala sala = salas.compute(eventoId, (id, atual) -> {
+            Sala s = atual != null ? atual : new Sala(agora);
+            s.posicoes.computeIfAbsent(username, u -> new Posicao(s.emitir(agora, admissoesPorSegundo)))
+                    .ultimaEntrada = agora;
+            return s;
+        });
+        long posicao = sala.posicoes.get(username).numero;
+        String token = assinar(eventoId + ":" + posicao + ":" + agora + ":" + username);
+        return situacao(token, eventoId, posicao, sala.liberados(agora, admissoesPorSegundo));
+    }
+
+    /**
+     * @return a situação do ticket, ou null se ele for inválido, expirado ou de outro usuário
+     */
+    public FilaVirtualDTO consultar(Long eventoId, String username, String token) {
+        Long posicao = validar(eventoId, username, token);
+        Sala sala = salas.get(eventoId);
+        if (posicao == null || sala == null) {
+            return null;
+        }
+        return situacao(token, eventoId, posicao, sala.liberados(relogio.getAsLong(), admissoesPorSegundo));
+    }
+
+    public Admissao verificarAdmissao(Long eventoId, String username, String token) {
+        Long posicao = validar(eventoId, username, token);
+        Sala sala = salas.get(eventoId);
+        if (posicao == null || sala == null) {
+            return Admissao.INVALIDO;
+        }
+        return posicao <= sala.liberados(relogio.getAsLong(), admissoesPorSegundo)
+                ? Admissao.ADMITIDO
+                : Admissao.AGUARDANDO;
+    }
+
+    /**
+     * Indica se alguém já entrou na fila do evento. Só eventos com fila virtual ativa têm
+     * sala, então com a sala aberta a admissão pode ser checada antes de carregar o evento.
+     */
+    public boolean possuiSala(Long eventoId) {
+        return salas.containsKey(eventoId);
+    }
+
+    /**
+     * Descarta a sala de um evento que deixou de usar fila virtual.
+     */
+    public void encerrar(Long eventoId) {
+        salas.remove(eventoId);
+    }
+
+    /**
+     * Descarta as posições cujo último ticket já expirou, já que nenhuma delas pode mais
+     * ser admitida, e remove as salas que ficaram vazias.
+     */
+    @Scheduled(fixedDelayString = "${eventos.fila-virtual.limpeza-ms:60000}")
+    public void descartarExpiradas() {
+        long limite = relogio.getAsLong() - validadeMs;
+        for (Long eventoId : salas.keySet()) {
+            salas.computeIfPresent(eventoId, (id, sala) -> {
+                sala.posicoes.values().removeIf(posicao -> posicao.ultimaEntrada < limite);
+                return sala.posicoes.isEmpty() ? null : sala;
+            });
+        }
+    }
+
+    public int getQuantidadeSalas() {
+        return salas.size();
+    }
+
+    private FilaVirtualDTO situacao(String token, Long eventoId, long posicao, long liberados) {
+        long aFrente = Math.max(0, posicao - liberados);
+        long estimativa = (long) Math.ceil(aFrente / admissoesPorSegundo);
+        return new FilaVirtualDTO(token, eventoId, posicao, aFrente, aFrente == 0, estimativa);
+    }
+
+    private Long validar(Long eventoId, String username, String token) {
+        if (token == null) {
+            return null;
+        }
+
+        int separador = token.indexOf('.');
+        if (separador <= 0) {
+            return null;
+        }
+
+        try {
+            byte[] conteudo = DECODIFICADOR.decode(token.substring(0, separador));
+            byte[] assinatura = DECODIFICADOR.decode(token.substring(separador + 1));
+            if (!MessageDigest.isEqual(hmac(conteudo), assinatura)) {
+                return null;
+            }
+
+            String[] partes = new String(conteudo, StandardCharsets.UTF_8).split(":", 4);
+            long emitidoEm = Long.parseLong(partes[2]);
+            if (!partes[0].equals(String.valueOf(eventoId))
+                    || !partes[3].equals(username)
+                    || relogio.getAsLong() - emitidoEm > validadeMs) {
+                return null;
+            }
+            return Long.parseLong(partes[1]);
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            return null;
+        }
+    }
+
+    private String assinar(String conteudo) {
+        byte[] bytes = conteudo.getBytes(StandardCharsets.UTF_8);
+        return CODIFICADOR.encodeToString(bytes) + "." + CODIFICADOR.encodeToString(hmac(bytes));
+    }
+
+    private byte[] hmac(byte[] conteudo) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITMO);
+            mac.init(new SecretKeySpec(segredo, ALGORITMO));
+            return mac.doFinal(conteudo);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Não foi possível assinar o ticket da fila virtual.", e);
+        }
+    }
+
+    /**
+     * Fila de um evento: as posições liberadas crescem à taxa configurada desde a
+     * última consulta, nunca ultrapassando o total de tickets emitidos.
+     */
+    private static class Sala {
+
+        private final Map<String, Posicao> posicoes = new ConcurrentHashMap<>();
+        private long emitidos;
+        private double liberados;
+        private long ultimaAtualizacao;
+
+        Sala(long agora) {
+            this.ultimaAtualizacao = agora;
+        }
+
+        /**
+         * Atualiza as liberações antes de emitir, para que o tempo ocioso da fila
+         * não seja convertido em admissões imediatas para quem chega depois.
+         */
+        synchronized long emitir(long agora, double porSegundo) {
+            liberados(agora, porSegundo);
+            return ++emitidos;
+        }
+
+        synchronized long liberados(long agora, double porSegundo) {
+            if (agora > ultimaAtualizacao) {
+                liberados = Math.min(emitidos, liberados + porSegundo * (agora - ultimaAtualizacao) / 1000.0);
+                ultimaAtualizacao = agora;
+            }
+            return (long) liberados;
+        }
+
+    }
+
+    private static class Posicao {
+
+        private final long numero;
+        private volatile long ultimaEntrada;
+
+        Posicao(long numero) {
+            this.numero = numero;
+        }
+
+    }
+
+}
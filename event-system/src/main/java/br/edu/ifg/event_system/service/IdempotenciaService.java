@@ -0,0 +1,124 @@
+package br.edu.ifg.event_system.service;
+
+import br.edu.ifg.event_system.util.CacheExpiravel;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Garante que requisições repetidas com o mesmo cabeçalho {@code Idempotency-Key}
+ * sejam executadas uma única vez. A resposta da primeira execução fica guardada em
+ * memória e é devolvida às repetições sem acessar o banco; repetições que chegam
+ * enquanto a primeira ainda está em andamento aguardam o mesmo resultado.
+ * <p>
+ * Só são memorizados resultados definitivos: sucessos e recusas por regra de negócio.
+ * Recusas temporárias (autenticação, fila virtual) e falhas inesperadas liberam a chave,
+ * para que a mesma tentativa possa ser repetida depois que a situação mudar.
+ */
+@Service
+public class IdempotenciaService {
+
+    public static final String CABECALHO_CHAVE = "Idempotency-Key";
+    public static final String CABECALHO_REPETICAO = "Idempotency-Replayed";
+
+    private static final Logger logger = LogManager.getLogger(IdempotenciaService.class);
+
+    private final CacheExpiravel<String, Registro> respostas;
+    private final long esperaMs;
+
+    public IdempotenciaService(@Value("${eventos.idempotencia.capacidade:10000}") int capacidade,
+                               @Value("${eventos.idempotencia.ttl:PT24H}") Duration ttl,
+                               @Value("${eventos.idempotencia.espera-ms:10000}") long esperaMs) {
+        this.respostas = new CacheExpiravel<>(capacidade, ttl);
+        this.esperaMs = esperaMs;
+    }
+
+    /**
+     * Executa a operação uma única vez por usuário e chave.
+     *
+     * @param usuario   dono da chave; chaves de usuários diferentes nunca colidem
+     * @param impressao identifica a requisição original (ex.: rota e evento); a mesma
+     *                  chave reutilizada em outra requisição é rejeitada
+     * @param chave     valor do cabeçalho {@code Idempotency-Key}; se vazio, a operação é sempre executada
+     */
+    public ResponseEntity<Object> executar(String usuario, String impressao, String chave,
+                                           Supplier<ResponseEntity<Object>> operacao) {
+        if (chave == null || chave.isBlank()) {
+            return operacao.get();
+        }
+
+        String chaveCompleta = usuario + ":" + chave;
+        Registro novo = new Registro(impressao, new CompletableFuture<>());
+        Registro existente = respostas.colocarSeAusente(chaveCompleta, novo);
+
+        if (existente != null) {
+            return repetir(existente, impressao);
+        }
+
+        try {
+            ResponseEntity<Object> resposta = operacao.get();
+            if (!definitiva(resposta.getStatusCode())) {
+                respostas.remover(chaveCompleta, novo);
+            }
+            novo.resposta().complete(resposta);
+            return resposta;
+        } catch (RuntimeException e) {
+            respostas.remover(chaveCompleta, novo);
+            novo.resposta().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * 401, 403 e 429 dependem do token ou da vez na fila virtual, que mudam sem que a
+     * requisição mude; 5xx são falhas inesperadas. Nenhum deles deve ser repetido.
+     */
+    private static boolean definitiva(HttpStatusCode status) {
+        if (status.is2xxSuccessful()) {
+            return true;
+        }
+        return status.is4xxClientError()
+                && status.value() != HttpStatus.UNAUTHORIZED.value()
+                && status.value() != HttpStatus.FORBIDDEN.value()
+                && status.value() != HttpStatus.TOO_MANY_REQUESTS.value();
+    }
+
+    private ResponseEntity<Object> repetir(Registro existente, String impressao) {
+        if (!existente.impressao().equals(impressao)) {
+            return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY)
+                    .body("Esta Idempotency-Key já foi utilizada em outra requisição.");
+        }
+
+        try {
+            ResponseEntity<Object> original = existente.resposta().get(esperaMs, TimeUnit.MILLISECONDS);
+            return ResponseEntity.status(original.getStatusCode())
+                    .headers(original.getHeaders())
+                    .header(CABECALHO_REPETICAO, "true")
+                    .body(original.getBody());
+        } catch (TimeoutException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body("A requisição com esta Idempotency-Key ainda está em processamento.");
+        } catch (ExecutionException e) {
+            logger.debug(() -> "Requisição original falhou; repetição será reportada como erro.", e.getCause());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Erro ao processar a requisição original: " + e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record Registro(String impressao, CompletableFuture<ResponseEntity<Object>> resposta) {}
+
+}
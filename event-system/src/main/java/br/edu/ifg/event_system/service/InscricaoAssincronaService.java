@@ -0,0 +1,113 @@
+package br.edu.ifg.event_system.service;
+
+import br.edu.ifg.event_system.dto.CampoValorDTO;
+import br.edu.ifg.event_system.dto.TicketInscricaoDTO;
+import br.edu.ifg.event_system.exception.InscricaoException;
+import br.edu.ifg.event_system.model.Evento;
+import br.edu.ifg.event_system.model.Inscricao;
+import br.edu.ifg.event_system.model.User;
+import br.edu.ifg.event_system.util.CacheExpiravel;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Aceita inscrições sem bloquear a requisição: a inscrição é enfileirada na faixa do
+ * evento e o cliente recebe um ticket para acompanhar o resultado. Os tickets ficam
+ * apenas em memória: enquanto a faixa não conclui a inscrição, o ticket fica em um mapa
+ * próprio e nunca é descartado; só depois de concluído passa ao cache, que aplica a
+ * capacidade e o prazo de expiração.
+ */
+@Service
+public class InscricaoAssincronaService {
+
+    public static final String STATUS_PENDENTE = "PENDENTE";
+    public static final String STATUS_REJEITADA = "REJEITADA";
+
+    private final InscricaoService inscricaoService;
+    private final InscricaoExecutorService inscricaoExecutorService;
+    private final Map<String, Ticket> pendentes = new ConcurrentHashMap<>();
+    private final CacheExpiravel<String, Ticket> concluidos;
+
+    public InscricaoAssincronaService(InscricaoService inscricaoService,
+                                      InscricaoExecutorService inscricaoExecutorService,
+                                      @Value("${eventos.inscricao.tickets.capacidade:100000}") int capacidade,
+                                      @Value("${eventos.inscricao.tickets.ttl:PT1H}") Duration ttl) {
+        this.inscricaoService = inscricaoService;
+        this.inscricaoExecutorService = inscricaoExecutorService;
+        this.concluidos = new CacheExpiravel<>(capacidade, ttl);
+    }
+
+    /**
+     * Faz apenas as validações que não exigem escrita (prazo de inscrição) e enfileira
+     * a inscrição. Validação dos campos, vagas e duplicidade acontecem na faixa.
+     *
+     * @param username dono do ticket, vindo da autenticação: {@code user} costuma ser uma
+     *                 referência não carregada e ler o username dela consultaria o banco
+     * @throws InscricaoException se o prazo terminou ou a fila do evento está cheia
+     */
+    public TicketInscricaoDTO aceitar(String username, User user, Evento evento, List<CampoValorDTO> camposValores) {
+        inscricaoService.verificarPrazoInscricao(evento);
+
+        CompletableFuture<Inscricao> resultado = inscricaoExecutorService.submeter(user, evento, camposValores);
+        if (resultado.isCompletedExceptionally()) {
+            try {
+                resultado.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof InscricaoException ie) {
+                    throw ie;
+                }
+                throw e;
+            }
+        }
+
+        String id = UUID.randomUUID().toString();
+        Ticket ticket = new Ticket(username, resultado);
+        pendentes.put(id, ticket);
+        // Entra no cache antes de sair dos pendentes: a consulta sempre o encontra em um deles.
+        resultado.whenComplete((inscricao, erro) -> {
+            concluidos.colocar(id, ticket);
+            pendentes.remove(id);
+        });
+        return new TicketInscricaoDTO(id, STATUS_PENDENTE, null, null);
+    }
+
+    /**
+     * @return o estado do ticket, ou vazio se ele não existe, expirou ou pertence a outro usuário
+     */
+    public Optional<TicketInscricaoDTO> consultar(String ticketId, String username) {
+        Ticket ticket = pendentes.get(ticketId);
+        if (ticket == null) {
+            ticket = concluidos.obter(ticketId);
+        }
+        if (ticket == null || !ticket.username().equals(username)) {
+            return Optional.empty();
+        }
+
+        CompletableFuture<Inscricao> resultado = ticket.resultado();
+        if (!resultado.isDone()) {
+            return Optional.of(new TicketInscricaoDTO(ticketId, STATUS_PENDENTE, null, null));
+        }
+
+        try {
+            Inscricao inscricao = resultado.join();
+            return Optional.of(new TicketInscricaoDTO(ticketId, inscricao.getStatus(), inscricao.getId(), null));
+        } catch (CompletionException e) {
+            String mensagem = e.getCause() instanceof InscricaoException
+                    ? e.getCause().getMessage()
+                    : "Não foi possível processar a inscrição.";
+            return Optional.of(new TicketInscricaoDTO(ticketId, STATUS_REJEITADA, null, mensagem));
+        }
+    }
+
+    private record Ticket(String username, CompletableFuture<Inscricao> resultado) {}
+
+}
@@ -0,0 +1,292 @@
+package br.edu.ifg.event_system.service;
+
+import br.edu.ifg.event_system.dto.CampoValorDTO;
+import br.edu.ifg.event_system.exception.InscricaoException;
+import br.edu.ifg.event_system.model.Evento;
+import br.edu.ifg.event_system.model.Inscricao;
+import br.edu.ifg.event_system.model.User;
+import br.edu.ifg.event_system.repository.EventoRepository;
+import br.edu.ifg.event_system.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Encaminha inscrições para faixas de execução por evento: todas as inscrições de um
+ * mesmo evento caem na mesma faixa, que possui uma única thread escritora. Cada faixa
+ * drena sua fila em lotes e grava o lote inteiro em uma única transação, reduzindo a
+ * disputa pela linha do evento e pelo índice {@code UK_inscricao_user_evento}.
+ */
+@Service
+public class InscricaoExecutorService {
+
+    private static final Logger logger = LogManager.getLogger(InscricaoExecutorService.class);
+
+    private final InscricaoService inscricaoService;
+    private final EventoRepository eventoRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean habilitado;
+    private final int tamanhoLote;
+    private final long timeoutMs;
+    private final int quantidadeFaixas;
+    private final int capacidadeFila;
+    private volatile List<Faixa> faixas;
+
+    public InscricaoExecutorService(InscricaoService inscricaoService,
+                                    EventoRepository eventoRepository,
+                                    UserRepository userRepository,
+                                    TransactionTemplate transactionTemplate,
+                                    @Value("${eventos.inscricao.executor.habilitado:false}") boolean habilitado,
+                                    @Value("${eventos.inscricao.executor.faixas:4}") int quantidadeFaixas,
+                                    @Value("${eventos.inscricao.executor.tamanho-lote:32}") int tamanhoLote,
+                                    @Value("${eventos.inscricao.executor.capacidade-fila:1000}") int capacidadeFila,
+                                    @Value("${eventos.inscricao.executor.timeout-ms:10000}") long timeoutMs) {
+        this.inscricaoService = inscricaoService;
+        this.eventoRepository = eventoRepository;
+        this.userRepository = userRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.habilitado = habilitado;
+        this.tamanhoLote = tamanhoLote;
+        this.timeoutMs = timeoutMs;
+        this.quantidadeFaixas = quantidadeFaixas;
+        this.capacidadeFila = capacidadeFila;
+
+        if (habilitado) {
+            faixas();
+        }
+    }
+
+    /**
+     * @return true quando as inscrições síncronas devem ser roteadas pelas faixas
+     */
+    public boolean isHabilitado() {
+        return habilitado;
+    }
+
+    /**
+     * Enfileira a inscrição na faixa do evento e aguarda o processamento do lote. Se o
+     * tempo esgotar com o comando ainda na fila, ele é abandonado e a faixa o descarta,
+     * então o "tente novamente" devolvido ao cliente é verdadeiro. Se a faixa já o
+     * estiver gravando, aguardamos o desfecho por mais um intervalo antes de desistir.
+     */
+    public Inscricao inscrever(User user, Evento evento, List<CampoValorDTO> camposValores) {
+        Comando comando = enfileirar(user, evento, camposValores);
+        try {
+            Inscricao inscricao = aguardar(comando);
+            // A faixa usa uma referência ao usuário; devolvemos a instância já carregada
+            // pelo chamador para que a resposta não dependa de carregamento preguiçoso.
+            inscricao.setUser(user);
+            return inscricao;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Inscricao aguardar(Comando comando) throws ExecutionException, InterruptedException {
+        try {
+            return comando.resultado().get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            if (comando.abandonar()) {
+                comando.resultado().cancel(false);
+                throw new InscricaoException("Tempo esgotado ao processar a inscrição. Tente novamente.");
+            }
+        }
+
+        try {
+            return comando.resultado().get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new InscricaoException("A inscrição ainda está sendo processada. "
+                    + "Consulte suas inscrições antes de tentar novamente.");
+        }
+    }
+
+    public CompletableFuture<Inscricao> submeter(User user, Evento evento, List<CampoValorDTO> camposValores) {
+        return enfileirar(user, evento, camposValores).resultado();
+    }
+
+    private Comando enfileirar(User user, Evento evento, List<CampoValorDTO> camposValores) {
+        Comando comando = new Comando(user.getId(), evento.getId(), camposValores, new CompletableFuture<>());
+
+        if (!faixaDoEvento(evento.getId()).fila.offer(comando)) {
+            comando.resultado().completeExceptionally(new InscricaoException(
+                    "O sistema está recebendo muitas inscrições. Tente novamente em instantes."));
+        }
+
+        return comando;
+    }
+
+    private Faixa faixaDoEvento(Long eventoId) {
+        List<Faixa> atuais = faixas();
+        return atuais.get(Math.floorMod(eventoId.hashCode(), atuais.size()));
+    }
+
+    /**
+     * Com o roteamento síncrono desligado (padrão), as faixas e suas threads só são criadas
+     * na primeira inscrição assíncrona, que sempre passa por elas.
+     */
+    private List<Faixa> faixas() {
+        List<Faixa> atuais = faixas;
+        if (atuais == null) {
+            synchronized (this) {
+                atuais = faixas;
+                if (atuais == null) {
+                    List<Faixa> criadas = new ArrayList<>(quantidadeFaixas);
+                    for (int i = 0; i < quantidadeFaixas; i++) {
+                        criadas.add(new Faixa(i, capacidadeFila));
+                    }
+                    faixas = atuais = List.copyOf(criadas);
+                }
+            }
+        }
+        return atuais;
+    }
+
+    /**
+     * Processa o lote em uma única transação. Erros de validação ficam restritos ao
+     * comando que os causou; se a transação falhar (ex.: violação de unicidade), cada
+     * comando é reprocessado isoladamente pelo fluxo transacional padrão. Comandos
+     * abandonados por quem esperava são descartados sem tocar no banco.
+     */
+    void processarLote(List<Comando> recebidos) {
+        List<Comando> lote = recebidos.stream().filter(Comando::iniciar).toList();
+        if (lote.isEmpty()) {
+            return;
+        }
+
+        List<Object> resultados = new ArrayList<>(lote.size());
+
+        try {
+            transactionTemplate.execute(status -> {
+                for (Comando comando : lote) {
+                    resultados.add(executar(comando));
+                }
+                return null;
+            });
+        } catch (RuntimeException e) {
+            logger.warn(() -> "Lote de " + lote.size() + " inscrições falhou; reprocessando individualmente.", e);
+            reprocessarIndividualmente(lote);
+            return;
+        }
+
+        for (int i = 0; i < lote.size(); i++) {
+            Object resultado = resultados.get(i);
+            if (resultado instanceof Inscricao inscricao) {
+                lote.get(i).resultado().complete(inscricao);
+            } else {
+                lote.get(i).resultado().completeExceptionally((InscricaoException) resultado);
+            }
+        }
+    }
+
+    private Object executar(Comando comando) {
+        try {
+            Evento evento = eventoRepository.findById(comando.eventoId())
+                    .orElseThrow(() -> new InscricaoException("Evento inexistente."));
+            User user = userRepository.getReferenceById(comando.userId());
+            return inscricaoService.registrarInscricao(user, evento, comando.camposValores());
+        } catch (InscricaoException e) {
+            return e;
+        }
+    }
+
+    private void reprocessarIndividualmente(List<Comando> lote) {
+        for (Comando comando : lote) {
+            try {
+                Inscricao inscricao = transactionTemplate.execute(status -> {
+                    Object resultado = executar(comando);
+                    if (resultado instanceof InscricaoException e) {
+                        throw e;
+                    }
+                    return (Inscricao) resultado;
+                });
+                comando.resultado().complete(inscricao);
+            } catch (RuntimeException e) {
+                comando.resultado().completeExceptionally(e);
+            }
+        }
+    }
+
+    @PreDestroy
+    public synchronized void encerrar() {
+        if (faixas == null) {
+            return;
+        }
+        for (Faixa faixa : faixas) {
+            faixa.executor.shutdownNow();
+        }
+    }
+
+    enum EstadoComando { NA_FILA, EM_EXECUCAO, ABANDONADO }
+
+    record Comando(Long userId, Long eventoId, List<CampoValorDTO> camposValores,
+                   CompletableFuture<Inscricao> resultado, AtomicReference<EstadoComando> estado) {
+
+        Comando(Long userId, Long eventoId, List<CampoValorDTO> camposValores,
+                CompletableFuture<Inscricao> resultado) {
+            this(userId, eventoId, camposValores, resultado, new AtomicReference<>(EstadoComando.NA_FILA));
+        }
+
+        /**
+         * @return true se a faixa assumiu o comando, false se ele já foi abandonado
+         */
+        boolean iniciar() {
+            return estado.compareAndSet(EstadoComando.NA_FILA, EstadoComando.EM_EXECUCAO);
+        }
+
+        /**
+         * @return true se o comando ainda não tinha sido assumido pela faixa e não será gravado
+         */
+        boolean abandonar() {
+            return estado.compareAndSet(EstadoComando.NA_FILA, EstadoComando.ABANDONADO);
+        }
+
+    }
+
+    private class Faixa {
+
+        private final BlockingQueue<Comando> fila;
+        private final ExecutorService executor;
+
+        Faixa(int indice, int capacidadeFila) {
+            this.fila = new LinkedBlockingQueue<>(capacidadeFila);
+            this.executor = Executors.newSingleThreadExecutor(r -> {
+                Thread thread = new Thread(r, "inscricao-faixa-" + indice);
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.executor.execute(this::drenar);
+        }
+
+        private void drenar() {
+            while (!Thread.currentThread().isInterrupted()) {
+                try {
+                    List<Comando> lote = new ArrayList<>(tamanhoLote);
+                    lote.add(fila.take());
+                    fila.drainTo(lote, tamanhoLote - 1);
+                    processarLote(lote);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (RuntimeException e) {
+                    logger.error("Erro inesperado na faixa de inscrições.", e);
+                }
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,237 @@
+package br.edu.ifg.event_system.service;
+
+import br.edu.ifg.event_system.dto.InscricaoEmLoteRequestDTO;
+import br.edu.ifg.event_system.dto.ItemInscricaoEmLoteDTO;
+import br.edu.ifg.event_system.dto.ResultadoInscricaoEmLoteDTO;
+import br.edu.ifg.event_system.exception.InscricaoException;
+import br.edu.ifg.event_system.model.Evento;
+import br.edu.ifg.event_system.repository.EventoRepository;
+import br.edu.ifg.event_system.repository.InscricaoRepository;
+import br.edu.ifg.event_system.repository.UserRepository;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Inscrição de muitos usuários em um evento por um administrador. Os usuários e as
+ * inscrições existentes são validados com uma consulta cada, a capacidade é verificada
+ * uma única vez com a linha do evento bloqueada e as inscrições são gravadas em lotes JDBC.
+ * Reservas de vaga dos usuários do lote são consumidas na mesma transação: quem segurava
+ * uma vaga é inscrito nela, sem ocupar outra. Campos adicionais obrigatórios não são
+ * exigidos nessa modalidade.
+ */
+@Service
+public class InscricaoLoteService {
+
+    public static final String RESULTADO_JA_INSCRITO = "JA_INSCRITO";
+    public static final String RESULTADO_USUARIO_INEXISTENTE = "USUARIO_INEXISTENTE";
+    public static final String RESULTADO_DUPLICADO = "DUPLICADO";
+
+    private static final String STATUS_ATIVA = "ATIVA";
+    private static final String STATUS_CANCELADA = "CANCELADA";
+    private static final String STATUS_LISTA_ESPERA = "LISTA_ESPERA";
+    private static final String STATUS_PENDENTE_SORTEIO = "PENDENTE_SORTEIO";
+
+    /**
+     * Insere a inscrição ou reativa uma cancelada; se o usuário se inscreveu por conta
+     * própria no meio tempo, nenhuma linha é afetada e o item é reportado como já inscrito.
+     */
+    private static final String SQL_INSCRICAO =
+            "INSERT INTO inscricao (user_id, evento_id, data_inscricao, status) VALUES (?, ?, ?, ?) " +
+                    "ON CONFLICT (user_id, evento_id) DO UPDATE " +
+                    "SET status = EXCLUDED.status, data_inscricao = EXCLUDED.data_inscricao, posicao_sorteio = NULL " +
+                    "WHERE inscricao.status = 'CANCELADA'";
+    private static final String SQL_LIMPAR_CAMPOS =
+            "DELETE FROM campo_valor WHERE inscricao_id IN " +
+                    "(SELECT id FROM inscricao WHERE user_id = ? AND evento_id = ?)";
+
+    private static final Logger logger = LogManager.getLogger(InscricaoLoteService.class);
+
+    private final EventoRepository eventoRepository;
+    private final InscricaoRepository inscricaoRepository;
+    private final UserRepository userRepository;
+    private final ReservaVagaService reservaVagaService;
+    private final VagaService vagaService;
+    private final JdbcTemplate jdbcTemplate;
+    private final int maximo;
+    private final int tamanhoLote;
+
+    public InscricaoLoteService(EventoRepository eventoRepository,
+                                InscricaoRepository inscricaoRepository,
+                                UserRepository userRepository,
+                                ReservaVagaService reservaVagaService,
+                                VagaService vagaService,
+                                JdbcTemplate jdbcTemplate,
+                                @Value("${eventos.inscricao.lote.maximo:5000}") int maximo,
+                                @Value("${eventos.inscricao.lote.tamanho-lote:500}") int tamanhoLote) {
+        this.eventoRepository = eventoRepository;
+        this.inscricaoRepository = inscricaoRepository;
+        this.userRepository = userRepository;
+        this.reservaVagaService = reservaVagaService;
+        this.vagaService = vagaService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.maximo = maximo;
+        this.tamanhoLote = tamanhoLote;
+    }
+
+    /**
+     * @return um item por identificador recebido, na ordem do pedido
+     * @throws InscricaoException se o pedido está vazio, excede o limite ou o evento não existe
+     */
+    @Transactional
+    public ResultadoInscricaoEmLoteDTO inscrever(Long eventoId, InscricaoEmLoteRequestDTO request) {
+        List<Long> userIds = request.getUserIds() == null ? List.of() : request.getUserIds();
+        List<String> usernames = request.getUsernames() == null ? List.of() : request.getUsernames();
+        int total = userIds.size() + usernames.size();
+        if (total == 0) {
+            throw new InscricaoException("Informe ao menos um usuário para inscrever.");
+        }
+        if (total > maximo) {
+            throw new InscricaoException("O lote excede o limite de " + maximo + " inscrições.");
+        }
+
+        Evento evento = eventoRepository.findByIdParaAtualizacao(eventoId)
+                .orElseThrow(() -> new InscricaoException("Evento inexistente."));
+
+        List<ItemInscricaoEmLoteDTO> itens = new ArrayList<>(total);
+        Map<Long, ItemInscricaoEmLoteDTO> candidatos = new LinkedHashMap<>();
+        resolverUsuarios(userIds, usernames, itens, candidatos);
+
+        if (!candidatos.isEmpty()) {
+            gravar(evento, candidatos);
+        }
+
+        ResultadoInscricaoEmLoteDTO resultado = new ResultadoInscricaoEmLoteDTO(eventoId, itens);
+        logger.info(() -> "Inscrição em lote no evento " + eventoId + ": " + resultado.getTotais());
+        return resultado;
+    }
+
+    private void resolverUsuarios(List<Long> userIds, List<String> usernames,
+                                  List<ItemInscricaoEmLoteDTO> itens,
+                                  Map<Long, ItemInscricaoEmLoteDTO> candidatos) {
+        Set<Long> idsExistentes = new HashSet<>();
+        if (!userIds.isEmpty()) {
+            userRepository.findResumoByIdIn(new HashSet<>(userIds))
+                    .forEach(u -> idsExistentes.add(u.getId()));
+        }
+
+        Map<String, Long> idsPorUsername = new HashMap<>();
+        if (!usernames.isEmpty()) {
+            userRepository.findResumoByUsernameIn(new HashSet<>(usernames))
+                    .forEach(u -> idsPorUsername.put(u.getUsername(), u.getId()));
+        }
+
+        for (Long userId : userIds) {
+            adicionar(String.valueOf(userId), idsExistentes.contains(userId) ? userId : null, itens, candidatos);
+        }
+        for (String username : usernames) {
+            adicionar(username, idsPorUsername.get(username), itens, candidatos);
+        }
+    }
+
+    private void adicionar(String identificador, Long userId,
+                           List<ItemInscricaoEmLoteDTO> itens,
+                           Map<Long, ItemInscricaoEmLoteDTO> candidatos) {
+        ItemInscricaoEmLoteDTO item = new ItemInscricaoEmLoteDTO(identificador, userId, null);
+        if (userId == null) {
+            item.setResultado(RESULTADO_USUARIO_INEXISTENTE);
+        } else if (candidatos.containsKey(userId)) {
+            item.setResultado(RESULTADO_DUPLICADO);
+        } else {
+            candidatos.put(userId, item);
+        }
+        itens.add(item);
+    }
+
+    private void gravar(Evento evento, Map<Long, ItemInscricaoEmLoteDTO> candidatos) {
+        Long eventoId = evento.getId();
+
+        List<Long> reativados = new ArrayList<>();
+        for (Object[] linha : inscricaoRepository.findStatusPorUsuario(eventoId, candidatos.keySet())) {
+            Long userId = (Long) linha[0];
+            if (STATUS_CANCELADA.equalsIgnoreCase((String) linha[1])) {
+                reativados.add(userId);
+            } else {
+                candidatos.remove(userId).setResultado(RESULTADO_JA_INSCRITO);
+            }
+        }
+        if (candidatos.isEmpty()) {
+            return;
+        }
+
+        int livres;
+        if (evento.isAguardandoSorteio()) {
+            livres = 0;
+        } else if (evento.getVagas() == null) {
+            livres = Integer.MAX_VALUE;
+        } else {
+            livres = Math.max(0, evento.getVagas() - evento.getVagasOcupadas());
+        }
+        String statusSemVaga = evento.isAguardandoSorteio() ? STATUS_PENDENTE_SORTEIO : STATUS_LISTA_ESPERA;
+
+        // Reservas só existem em eventos com limite de vagas e fora do sorteio.
+        Set<Long> comReserva = evento.getVagas() == null || evento.isAguardandoSorteio()
+                ? Set.of()
+                : reservaVagaService.consumir(eventoId, candidatos.keySet());
+
+        List<ItemInscricaoEmLoteDTO> aGravar = new ArrayList<>(candidatos.values());
+        for (ItemInscricaoEmLoteDTO item : aGravar) {
+            if (comReserva.contains(item.getUserId())) {
+                item.setResultado(STATUS_ATIVA);
+            } else if (livres > 0) {
+                item.setResultado(STATUS_ATIVA);
+                livres--;
+            } else {
+                item.setResultado(statusSemVaga);
+            }
+        }
+
+        if (!reativados.isEmpty()) {
+            jdbcTemplate.batchUpdate(SQL_LIMPAR_CAMPOS, reativados, tamanhoLote, (ps, userId) -> {
+                ps.setLong(1, userId);
+                ps.setLong(2, eventoId);
+            });
+        }
+
+        Timestamp agora = Timestamp.valueOf(LocalDateTime.now());
+        int[][] afetadas = jdbcTemplate.batchUpdate(SQL_INSCRICAO, aGravar, tamanhoLote, (ps, item) -> {
+            ps.setLong(1, item.getUserId());
+            ps.setLong(2, eventoId);
+            ps.setTimestamp(3, agora);
+            ps.setString(4, item.getResultado());
+        });
+
+        // Vagas a ocupar além das já seguradas pelas reservas; a reserva de quem acabou
+        // não sendo inscrito devolve a vaga ao evento.
+        int vagas = 0;
+        int indice = 0;
+        for (int[] lote : afetadas) {
+            for (int linhas : lote) {
+                ItemInscricaoEmLoteDTO item = aGravar.get(indice++);
+                boolean reservada = comReserva.contains(item.getUserId());
+                if (linhas == 0) {
+                    item.setResultado(RESULTADO_JA_INSCRITO);
+                    if (reservada) {
+                        vagas--;
+                    }
+                } else if (STATUS_ATIVA.equals(item.getResultado()) && !reservada) {
+                    vagas++;
+                }
+            }
+        }
+
+        if (vagas > 0) {
+            eventoRepository.ocuparVagas(eventoId, vagas);
+        } else if (vagas < 0) {
+            vagaService.liberar(eventoId, -vagas);
+        }
+    }
+
+}
@@ -18,14 +18,22 @@ public class InscricaoService {
 
     private static final String STATUS_ATIVA = "ATIVA";
     private static final String STATUS_CANCELADA = "CANCELADA";
+    private static final String STATUS_LISTA_ESPERA = "LISTA_ESPERA";
+    private static final String STATUS_PENDENTE_SORTEIO = "PENDENTE_SORTEIO";
 
     private final InscricaoRepository inscricaoRepository;
+    private final VagaService vagaService;
+    private final ReservaVagaService reservaVagaService;
     private final ApplicationContext applicationContext;
 
     public InscricaoService(
             InscricaoRepository inscricaoRepository,
+            VagaService vagaService,
+            ReservaVagaService reservaVagaService,
             ApplicationContext applicationContext) {
         this.inscricaoRepository = inscricaoRepository;
+        this.vagaService = vagaService;
+        this.reservaVagaService = reservaVagaService;
         this.applicationContext = applicationContext;
     }
 
@@ -39,48 +47,153 @@ public class InscricaoService {
         return applicationContext.getBean(InscricaoService.class);
     }
 
+    /**
+     * Inscrição sem campos adicionais. Quando o evento não possui campos, tenta o caminho
+     * de um único comando ({@link InscricaoRepository#upsertInscricaoAtiva}); se o evento
+     * estiver lotado ou o usuário já tiver inscrição, cai no fluxo completo, que decide
+     * entre lista de espera e erro. O próprio comando consome a reserva de vaga do usuário,
+     * se houver, sem ocupar uma segunda vaga. Eventos aguardando sorteio usam o fluxo completo.
+     */
     @Transactional
     public Inscricao inscreverUsuarioEmEvento(User user, Evento evento) {
+        boolean semCampos = evento.getCamposAdicionais() == null || evento.getCamposAdicionais().isEmpty();
+        if (semCampos && !evento.isAguardandoSorteio()) {
+            verificarPrazoInscricao(evento);
+
+            Inscricao inscricao = inscreverComUpsert(user, evento);
+            if (inscricao != null) {
+                return inscricao;
+            }
+        }
+
         return getProxy().inscreverUsuarioEmEvento(user, evento, null);
     }
 
-    @Transactional
-    public Inscricao inscreverUsuarioEmEvento(User user, Evento evento, List<CampoValorDTO> camposValores) {
+    private Inscricao inscreverComUpsert(User user, Evento evento) {
+        LocalDateTime agora = LocalDateTime.now();
+        Object[] resultado = inscricaoRepository.upsertInscricaoAtiva(user.getId(), evento.getId(), agora).get(0);
+
+        boolean vagaReservada = ((Number) resultado[0]).longValue() > 0;
+        if (!vagaReservada) {
+            return null;
+        }
+        if (resultado[1] == null) {
+            // Outra requisição do mesmo usuário venceu a corrida; a exceção desfaz a vaga reservada.
+            throw new InscricaoException("Você já está inscrito neste evento!");
+        }
+
+        Inscricao inscricao = new Inscricao(user, evento, agora, STATUS_ATIVA);
+        inscricao.setId(((Number) resultado[1]).longValue());
+        return inscricao;
+    }
+
+    public void verificarPrazoInscricao(Evento evento) {
         if (evento.getDataLimiteInscricao() != null && LocalDateTime.now().isAfter(evento.getDataLimiteInscricao())) {
             throw new InscricaoException("As inscrições para este evento já foram encerradas!");
         }
+    }
+
+    @Transactional
+    public Inscricao inscreverUsuarioEmEvento(User user, Evento evento, List<CampoValorDTO> camposValores) {
+        return registrarInscricao(user, evento, camposValores);
+    }
+
+    /**
+     * Núcleo da inscrição, sem {@code @Transactional} próprio: é executado dentro da
+     * transação de quem chama. Usado pelo {@link InscricaoExecutorService} para agrupar
+     * várias inscrições em uma única transação; as validações ocorrem antes de qualquer
+     * escrita, então uma {@link InscricaoException} não compromete o restante do lote.
+     */
+    public Inscricao registrarInscricao(User user, Evento evento, List<CampoValorDTO> camposValores) {
+        verificarPrazoInscricao(evento);
 
         Optional<Inscricao> existente = inscricaoRepository.findByUserIdAndEventoId(user.getId(), evento.getId());
-        if (existente.isPresent() && STATUS_ATIVA.equalsIgnoreCase(existente.get().getStatus())) {
+        return inscricaoRepository.save(montarInscricao(user, evento, existente.orElse(null), camposValores));
+    }
+
+    /**
+     * Inscreve o usuário em vários eventos de uma só vez (carrinho). As inscrições já
+     * existentes do usuário são carregadas em uma única consulta e todas as novas são
+     * gravadas juntas; qualquer {@link InscricaoException} desfaz o carrinho inteiro.
+     * Os eventos são processados em ordem de id para que carrinhos concorrentes
+     * bloqueiem as linhas de evento sempre na mesma ordem.
+     *
+     * @param eventos eventos do carrinho, já carregados com seus campos adicionais
+     * @param camposPorEvento valores dos campos adicionais, por id de evento
+     */
+    @Transactional
+    public List<Inscricao> inscreverEmEventos(User user, List<Evento> eventos,
+                                              Map<Long, List<CampoValorDTO>> camposPorEvento) {
+        List<Evento> ordenados = eventos.stream()
+                .sorted(Comparator.comparing(Evento::getId))
+                .toList();
+
+        Map<Long, Inscricao> existentes = inscricaoRepository
+                .findByUserIdAndEventoIdIn(user.getId(), ordenados.stream().map(Evento::getId).toList())
+                .stream()
+                .collect(Collectors.toMap(i -> i.getEvento().getId(), i -> i));
+
+        List<Inscricao> inscricoes = new ArrayList<>(ordenados.size());
+        for (Evento evento : ordenados) {
+            try {
+                verificarPrazoInscricao(evento);
+                inscricoes.add(montarInscricao(user, evento, existentes.get(evento.getId()),
+                        camposPorEvento.get(evento.getId())));
+            } catch (InscricaoException e) {
+                throw new InscricaoException(evento.getTitulo() + ": " + e.getMessage());
+            }
+        }
+
+        return inscricaoRepository.saveAll(inscricoes);
+    }
+
+    private Inscricao montarInscricao(User user, Evento evento, Inscricao existente, List<CampoValorDTO> camposValores) {
+        if (existente != null && STATUS_ATIVA.equalsIgnoreCase(existente.getStatus())) {
             throw new InscricaoException("Você já está inscrito neste evento!");
         }
+        if (existente != null && STATUS_LISTA_ESPERA.equalsIgnoreCase(existente.getStatus())) {
+            throw new InscricaoException("Você já está na lista de espera deste evento!");
+        }
+        if (existente != null && STATUS_PENDENTE_SORTEIO.equalsIgnoreCase(existente.getStatus())) {
+            throw new InscricaoException("Você já está participando do sorteio deste evento!");
+        }
 
-        if (evento.getVagas() != null) {
-            long inscritosNoEvento = inscricaoRepository.countByEventoId(evento.getId());
-            if (inscritosNoEvento >= evento.getVagas()) {
-                throw new InscricaoException("Não há vagas disponíveis neste evento!");
-            }
+        Map<Long, CampoAdicional> camposMap = Collections.emptyMap();
+        if (camposValores != null && !camposValores.isEmpty()) {
+            camposMap = validarCamposValores(evento, camposValores);
+        }
+
+        String status;
+        if (evento.isAguardandoSorteio()) {
+            // Durante o período de sorteio a inscrição é apenas registrada; as vagas
+            // são distribuídas de uma vez pelo SorteioService.
+            status = STATUS_PENDENTE_SORTEIO;
+        } else {
+            boolean vagaGarantida = reservaVagaService.consumir(user.getId(), evento.getId())
+                    || vagaService.reservar(evento.getId());
+            status = vagaGarantida ? STATUS_ATIVA : STATUS_LISTA_ESPERA;
         }
 
         Inscricao inscricao;
-        if (existente.isPresent()) {
-            inscricao = existente.get();
-            inscricao.setStatus(STATUS_ATIVA);
+        if (existente != null) {
+            inscricao = existente;
+            inscricao.setStatus(status);
             inscricao.setDataInscricao(LocalDateTime.now());
+            inscricao.setPosicaoSorteio(null);
 
             inscricao.getCamposValores().clear();
         } else {
-            inscricao = new Inscricao(user, evento, LocalDateTime.now(), STATUS_ATIVA);
+            inscricao = new Inscricao(user, evento, LocalDateTime.now(), status);
         }
 
         if (camposValores != null && !camposValores.isEmpty()) {
-            processarCamposValores(inscricao, evento, camposValores);
+            preencherCamposValores(inscricao, camposMap, camposValores);
         }
 
-        return inscricaoRepository.save(inscricao);
+        return inscricao;
     }
 
-    private void processarCamposValores(Inscricao inscricao, Evento evento, List<CampoValorDTO> camposValores) {
+    private Map<Long, CampoAdicional> validarCamposValores(Evento evento, List<CampoValorDTO> camposValores) {
         List<CampoAdicional> camposEvento = evento.getCamposAdicionais();
 
         Map<Long, CampoAdicional> camposMap = new HashMap<>();
@@ -107,6 +220,12 @@ public class InscricaoService {
                     String.join(", ", camposFaltantes));
         }
 
+        return camposMap;
+    }
+
+    private void preencherCamposValores(Inscricao inscricao,
+                                        Map<Long, CampoAdicional> camposMap,
+                                        List<CampoValorDTO> camposValores) {
         for (CampoValorDTO valorDTO : camposValores) {
             CampoAdicional campo = camposMap.get(valorDTO.getCampoId());
             if (campo != null) {
@@ -128,8 +247,14 @@ public class InscricaoService {
     public void cancelarInscricao(Long inscricaoId) {
         Inscricao insc = inscricaoRepository.findById(inscricaoId)
                 .orElseThrow(() -> new InscricaoException("Inscrição não encontrada!"));
+
+        boolean ocupavaVaga = STATUS_ATIVA.equalsIgnoreCase(insc.getStatus());
         insc.setStatus(STATUS_CANCELADA);
         inscricaoRepository.save(insc);
+
+        if (ocupavaVaga) {
+            vagaService.liberar(insc.getEvento().getId());
+        }
     }
 
     public List<Inscricao> listarInscricoesDoUsuario(Long userId) {
@@ -1,59 +1,257 @@
 package br.edu.ifg.event_system.service;
 
+import br.edu.ifg.event_system.model.Role;
+import br.edu.ifg.event_system.model.User;
+import br.edu.ifg.event_system.util.EscopoAutorizacao;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
+/**
+ * Emissão e verificação dos tokens JWT. A chave HMAC e o parser são montados uma única vez
+ * (ambos são imutáveis e seguros entre threads) e os tokens já verificados ficam em um
+ * mapa concorrente indexado pelo próprio token, então o mesmo token apresentado de novo
+ * dentro da sua validade não passa outra vez pelo HMAC nem pela leitura do JSON, e as
+ * requisições não disputam um lock global. Com o mapa cheio, tokens novos são verificados
+ * sem entrar nele até a próxima limpeza dos expirados.
+ * <p>
+ * O login emite um par: um token de acesso curto, enviado em cada requisição, e um token de
+ * renovação longo, aceito apenas por {@code /api/auth/refresh} e revogável pelo seu
+ * {@code jti}.
+ */
 @Service
 public class JwtService {
 
     private static final String SECRET_KEY = "MINHA_CHAVE_SECRETA_GRANDE_O_SUFICIENTE_PARA_256BITS";
 
-    private static final long EXPIRATION_TIME = TimeUnit.HOURS.toMillis(2);
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_NOME = "nome";
+    public static final String CLAIM_ROLES = "roles";
+    public static final String CLAIM_CAMPUS = "campus";
+    public static final String CLAIM_DEPARTAMENTOS = "departamentos";
+    public static final String CLAIM_CAMPUS_DEPARTAMENTOS = "campusDepartamentos";
+    public static final String CLAIM_TIPO = "tipo";
+
+    public static final String TIPO_ACESSO = "acesso";
+    public static final String TIPO_RENOVACAO = "renovacao";
+
+    private final Key key = Keys.hmacShaKeyFor(SECRET_KEY.getBytes(StandardCharsets.UTF_8));
+    private final JwtParser parser = Jwts.parserBuilder().setSigningKey(key).build();
+    private final Map<String, TokenVerificado> verificados = new ConcurrentHashMap<>();
+    private final int capacidade;
+    private final Duration validadeAcesso;
+    private final Duration validadeRenovacao;
+
+    public JwtService(@Value("${eventos.auth.tokens.capacidade:10000}") int capacidade,
+                      @Value("${eventos.auth.acesso.validade:PT15M}") Duration validadeAcesso,
+                      @Value("${eventos.auth.renovacao.validade:P7D}") Duration validadeRenovacao) {
+        this.validadeAcesso = validadeAcesso;
+        this.validadeRenovacao = validadeRenovacao;
+        this.capacidade = capacidade;
+    }
+
+    public Duration getValidadeAcesso() {
+        return validadeAcesso;
+    }
+
+    public Duration getValidadeRenovacao() {
+        return validadeRenovacao;
+    }
+
+    /**
+     * Token de acesso com tudo o que o {@code JwtAuthFilter} precisa para montar o principal
+     * sem consultar o banco: id, nome, roles e os ids de campus e departamentos administrados.
+     */
+    public String generateToken(User user) {
+        List<String> roles = user.getRoles().stream().map(Role::getName).toList();
+        EscopoAutorizacao escopo = EscopoAutorizacao.de(user);
 
-    public String generateToken(String username, List<String> roles) {
         Date agora = new Date();
-        Date expiracao = new Date(agora.getTime() + EXPIRATION_TIME);
+        Date expiracao = new Date(agora.getTime() + validadeAcesso.toMillis());
+
+        return Jwts.builder()
+                .setSubject(user.getUsername())
+                .claim(CLAIM_TIPO, TIPO_ACESSO)
+                .claim(CLAIM_USER_ID, user.getId())
+                .claim(CLAIM_NOME, user.getNomeCompleto())
+                .claim(CLAIM_ROLES, roles)
+                .claim(CLAIM_CAMPUS, escopo.getCampusIds())
+                .claim(CLAIM_DEPARTAMENTOS, escopo.getDepartamentoIds())
+                .claim(CLAIM_CAMPUS_DEPARTAMENTOS, escopo.getCampusDosDepartamentos())
+                .setIssuedAt(agora)
+                .setExpiration(expiracao)
+                .signWith(key, SignatureAlgorithm.HS256)
+                .compact();
+    }
 
-        Key key = Keys.hmacShaKeyFor(SECRET_KEY.getBytes());
+    /**
+     * Token de renovação: só identifica o usuário e a si mesmo ({@code jti}). Roles e escopo
+     * são lidos de novo do banco a cada renovação.
+     */
+    public String generateRefreshToken(User user) {
+        Date agora = new Date();
+        Date expiracao = new Date(agora.getTime() + validadeRenovacao.toMillis());
 
         return Jwts.builder()
-                .setSubject(username)
-                .claim("roles", roles)
+                .setId(UUID.randomUUID().toString())
+                .setSubject(user.getUsername())
+                .claim(CLAIM_TIPO, TIPO_RENOVACAO)
+                .claim(CLAIM_USER_ID, user.getId())
                 .setIssuedAt(agora)
                 .setExpiration(expiracao)
                 .signWith(key, SignatureAlgorithm.HS256)
                 .compact();
     }
 
+    /**
+     * Verifica assinatura e expiração uma única vez e devolve as claims já convertidas.
+     *
+     * @return o token verificado, ou null se o token for inválido ou estiver expirado
+     */
+    public TokenVerificado verificar(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+
+        TokenVerificado verificado = verificados.get(token);
+        if (verificado != null) {
+            if (!verificado.isExpirado(System.currentTimeMillis())) {
+                return verificado;
+            }
+            verificados.remove(token);
+            return null;
+        }
+
+        try {
+            verificado = TokenVerificado.de(parser.parseClaimsJws(token).getBody());
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+        if (verificado.username() == null) {
+            return null;
+        }
+        if (verificados.size() < capacidade) {
+            verificados.put(token, verificado);
+        }
+        return verificado;
+    }
+
+    /**
+     * Descarta os tokens já expirados, que nunca mais seriam aceitos.
+     */
+    @Scheduled(fixedDelayString = "${eventos.auth.tokens.limpeza-ms:60000}")
+    public void descartarExpirados() {
+        descartarExpirados(System.currentTimeMillis());
+    }
+
+    void descartarExpirados(long agoraMs) {
+        verificados.values().removeIf(verificado -> verificado.isExpirado(agoraMs));
+    }
+
+    int getQuantidadeVerificados() {
+        return verificados.size();
+    }
+
     public String getUsernameFromToken(String token) {
-        Key key = Keys.hmacShaKeyFor(SECRET_KEY.getBytes());
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+        TokenVerificado verificado = verificar(token);
+        if (verificado == null) {
+            throw new JwtException("Token inválido ou expirado.");
+        }
+        return verificado.username();
     }
 
     public boolean validateToken(String token) {
-        try {
-            Key key = Keys.hmacShaKeyFor(SECRET_KEY.getBytes());
-            Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(token);
-            return true;
-        } catch (JwtException | IllegalArgumentException e) {
-            return false;
+        return verificar(token) != null;
+    }
+
+    /**
+     * Claims de um token com assinatura válida.
+     *
+     * @param id        claim {@code jti}; presente apenas nos tokens de renovação
+     * @param tipo      {@link #TIPO_ACESSO} ou {@link #TIPO_RENOVACAO}; tokens sem a claim são de acesso
+     * @param userId    nulo em tokens emitidos antes de {@link #generateToken(User)} incluir a claim
+     * @param nomeCompleto nulo em tokens de renovação e nos emitidos antes da claim {@code nome}
+     * @param emitidoEm claim {@code iat}, em segundos (0 se ausente)
+     * @param expiraEm  claim {@code exp}, em milissegundos
+     */
+    public record TokenVerificado(String id,
+                                  String tipo,
+                                  String username,
+                                  Long userId,
+                                  String nomeCompleto,
+                                  List<String> roles,
+                                  List<Long> campusIds,
+                                  List<Long> departamentoIds,
+                                  List<Long> campusDosDepartamentos,
+                                  long emitidoEm,
+                                  long expiraEm) {
+
+        public boolean isExpirado(long agoraMs) {
+            return agoraMs >= expiraEm;
+        }
+
+        public boolean isRenovacao() {
+            return TIPO_RENOVACAO.equals(tipo);
         }
+
+        static TokenVerificado de(Claims claims) {
+            Number userId = claims.get(CLAIM_USER_ID, Number.class);
+            Date emissao = claims.getIssuedAt();
+            Date expiracao = claims.getExpiration();
+
+            List<String> roles = new ArrayList<>();
+            for (Object role : lista(claims, CLAIM_ROLES)) {
+                roles.add(String.valueOf(role));
+            }
+
+            String tipo = claims.get(CLAIM_TIPO, String.class);
+
+            return new TokenVerificado(
+                    claims.getId(),
+                    tipo == null ? TIPO_ACESSO : tipo,
+                    claims.getSubject(),
+                    userId == null ? null : userId.longValue(),
+                    claims.get(CLAIM_NOME, String.class),
+                    List.copyOf(roles),
+                    ids(claims, CLAIM_CAMPUS),
+                    ids(claims, CLAIM_DEPARTAMENTOS),
+                    ids(claims, CLAIM_CAMPUS_DEPARTAMENTOS),
+                    emissao == null ? 0 : TimeUnit.MILLISECONDS.toSeconds(emissao.getTime()),
+                    expiracao == null ? Long.MAX_VALUE : expiracao.getTime());
+        }
+
+        private static List<Long> ids(Claims claims, String nome) {
+            List<Long> ids = new ArrayList<>();
+            for (Object valor : lista(claims, nome)) {
+                if (valor instanceof Number numero) {
+                    ids.add(numero.longValue());
+                }
+            }
+            return List.copyOf(ids);
+        }
+
+        private static List<?> lista(Claims claims, String nome) {
+            Object valor = claims.get(nome);
+            return valor instanceof List<?> lista ? lista : List.of();
+        }
+
     }
 
-}
\ No newline at end of file
+}
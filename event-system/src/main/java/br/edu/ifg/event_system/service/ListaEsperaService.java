@@ -0,0 +1,103 @@
+package br.edu.ifg.event_system.service;
+
+import br.edu.ifg.event_system.model.Evento;
+import br.edu.ifg.event_system.repository.EventoRepository;
+import br.edu.ifg.event_system.repository.InscricaoRepository;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+/**
+ * Promove inscrições em LISTA_ESPERA para ATIVA quando vagas são liberadas.
+ */
+@Service
+public class ListaEsperaService {
+
+    private static final String STATUS_ATIVA = "ATIVA";
+    private static final String STATUS_LISTA_ESPERA = "LISTA_ESPERA";
+    private static final int TAMANHO_LOTE = 500;
+    private static final Logger logger = LogManager.getLogger(ListaEsperaService.class);
+
+    private final EventoRepository eventoRepository;
+    private final InscricaoRepository inscricaoRepository;
+    private final ApplicationContext applicationContext;
+
+    public ListaEsperaService(EventoRepository eventoRepository,
+                              InscricaoRepository inscricaoRepository,
+                              ApplicationContext applicationContext) {
+        this.eventoRepository = eventoRepository;
+        this.inscricaoRepository = inscricaoRepository;
+        this.applicationContext = applicationContext;
+    }
+
+    private ListaEsperaService getProxy() {
+        return applicationContext.getBean(ListaEsperaService.class);
+    }
+
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoLiberarVaga(VagaService.VagaLiberadaEvent evento) {
+        try {
+            getProxy().promover(evento.eventoId());
+        } catch (Exception e) {
+            logger.error(() -> "Erro ao promover lista de espera do evento " + evento.eventoId(), e);
+        }
+    }
+
+    /**
+     * Varredura periódica que cobre promoções perdidas (ex.: reinício da aplicação
+     * entre o cancelamento e a execução assíncrona).
+     */
+    @Scheduled(fixedDelayString = "${eventos.lista-espera.varredura-ms:60000}")
+    public void promoverPendentes() {
+        List<Long> eventoIds = inscricaoRepository.findEventoIdsComVagaEStatus(
+                STATUS_LISTA_ESPERA, Evento.EventoStatus.ATIVO);
+
+        for (Long eventoId : eventoIds) {
+            getProxy().promover(eventoId);
+        }
+    }
+
+    /**
+     * Ocupa as vagas livres do evento com os primeiros da lista de espera (ordem do
+     * sorteio, quando houver, e depois ordem de chegada), em uma única transação com a
+     * linha do evento bloqueada.
+     *
+     * @return quantidade de inscrições promovidas
+     */
+    @Transactional
+    public int promover(Long eventoId) {
+        Evento evento = eventoRepository.findByIdParaAtualizacao(eventoId).orElse(null);
+        if (evento == null || evento.getStatus() != Evento.EventoStatus.ATIVO) {
+            return 0;
+        }
+
+        int livres = evento.getVagas() == null
+                ? TAMANHO_LOTE
+                : Math.min(TAMANHO_LOTE, evento.getVagas() - evento.getVagasOcupadas());
+        if (livres <= 0) {
+            return 0;
+        }
+
+        List<Long> promovidos = inscricaoRepository.findIdsByEventoIdAndStatusOrdenados(
+                eventoId, STATUS_LISTA_ESPERA, PageRequest.of(0, livres));
+        if (promovidos.isEmpty()) {
+            return 0;
+        }
+
+        inscricaoRepository.atualizarStatus(promovidos, STATUS_ATIVA);
+        eventoRepository.ocuparVagas(eventoId, promovidos.size());
+
+        logger.info(() -> promovidos.size() + " inscrições promovidas da lista de espera do evento " + eventoId + ".");
+        return promovidos.size();
+    }
+
+}
@@ -0,0 +1,92 @@
+package br.edu.ifg.event_system.service;
+
+import br.edu.ifg.event_system.model.Role;
+import br.edu.ifg.event_system.repository.RoleRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Roles indexadas pelo nome, lidas do banco uma vez e mantidas em um mapa imutável. As
+ * roles praticamente não mudam, então atribuir papéis deixa de consultar
+ * {@code role} a cada usuário; só um nome ainda desconhecido vai ao banco, e o mapa é
+ * trocado por uma cópia que o inclui.
+ * <p>
+ * As instâncias devolvidas são compartilhadas e ficam fora de qualquer contexto de
+ * persistência: servem para montar associações, não devem ser alteradas.
+ */
+@Service
+public class RegistroRoles {
+
+    private final RoleRepository roleRepository;
+    private volatile Map<String, Role> porNome;
+
+    public RegistroRoles(RoleRepository roleRepository) {
+        this.roleRepository = roleRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void carregar() {
+        Map<String, Role> roles = new HashMap<>();
+        for (Role role : roleRepository.findAll()) {
+            roles.put(role.getName(), role);
+        }
+        porNome = Map.copyOf(roles);
+    }
+
+    /**
+     * @return a role com o nome informado, criada no banco se ainda não existir
+     */
+    public Role obterOuCriar(String nome) {
+        Role role = mapa().get(nome);
+        return role != null ? role : registrar(nome);
+    }
+
+    private synchronized Role registrar(String nome) {
+        Role role = mapa().get(nome);
+        if (role != null) {
+            return role;
+        }
+
+        role = roleRepository.findByName(nome);
+        if (role != null) {
+            guardar(role);
+            return role;
+        }
+
+        // Só entra no mapa após o commit: se a transação for desfeita, a role não existe.
+        Role criada = roleRepository.save(new Role(nome));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    guardar(criada);
+                }
+            });
+        } else {
+            guardar(criada);
+        }
+        return criada;
+    }
+
+    private synchronized void guardar(Role role) {
+        Map<String, Role> novo = new HashMap<>(mapa());
+        novo.putIfAbsent(role.getName(), role);
+        porNome = Map.copyOf(novo);
+    }
+
+    private Map<String, Role> mapa() {
+        Map<String, Role> atual = porNome;
+        if (atual == null) {
+            carregar();
+            atual = porNome;
+        }
+        return atual;
+    }
+
+}
@@ -0,0 +1,155 @@
+package br.edu.ifg.event_system.service;
+
+import br.edu.ifg.event_system.model.Evento;
+import br.edu.ifg.event_system.model.Inscricao;
+import br.edu.ifg.event_system.model.ReservaVaga;
+import br.edu.ifg.event_system.model.User;
+import br.edu.ifg.event_system.repository.InscricaoRepository;
+import br.edu.ifg.event_system.repository.ReservaVagaRepository;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationContext;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Segura uma vaga enquanto o usuário preenche o formulário de inscrição. A reserva é
+ * criada ao abrir o formulário, consumida na confirmação e, se expirar, devolvida ao
+ * evento pela varredura periódica.
+ */
+@Service
+public class ReservaVagaService {
+
+    public static final String CABECALHO_EXPIRACAO = "X-Reserva-Expira-Em";
+
+    private static final String STATUS_CANCELADA = "CANCELADA";
+    private static final Logger logger = LogManager.getLogger(ReservaVagaService.class);
+
+    private final ReservaVagaRepository reservaVagaRepository;
+    private final InscricaoRepository inscricaoRepository;
+    private final VagaService vagaService;
+    private final ApplicationContext applicationContext;
+    private final Duration duracao;
+
+    public ReservaVagaService(ReservaVagaRepository reservaVagaRepository,
+                              InscricaoRepository inscricaoRepository,
+                              VagaService vagaService,
+                              ApplicationContext applicationContext,
+                              @Value("${eventos.reservas.duracao:PT10M}") Duration duracao) {
+        this.reservaVagaRepository = reservaVagaRepository;
+        this.inscricaoRepository = inscricaoRepository;
+        this.vagaService = vagaService;
+        this.applicationContext = applicationContext;
+        this.duracao = duracao;
+    }
+
+    private ReservaVagaService getProxy() {
+        return applicationContext.getBean(ReservaVagaService.class);
+    }
+
+    /**
+     * Segura uma vaga para o usuário, ou devolve a reserva que ele já possui. Abrir o
+     * formulário novamente não prorroga a reserva.
+     *
+     * @return o instante em que a reserva expira, ou vazio se o evento não tem campos
+     * adicionais, não limita vagas, aguarda sorteio, está lotado ou o usuário já está inscrito
+     */
+    @Transactional
+    public Optional<LocalDateTime> reservar(User user, Evento evento) {
+        if (evento.getVagas() == null
+                || evento.getStatus() != Evento.EventoStatus.ATIVO
+                || evento.isAguardandoSorteio()
+                || evento.getCamposAdicionais() == null
+                || evento.getCamposAdicionais().isEmpty()) {
+            return Optional.empty();
+        }
+
+        Optional<ReservaVaga> atual = reservaVagaRepository.findByUserIdAndEventoId(user.getId(), evento.getId());
+        if (atual.isPresent()) {
+            return Optional.of(atual.get().getExpiraEm());
+        }
+
+        Optional<Inscricao> inscricao = inscricaoRepository.findByUserIdAndEventoId(user.getId(), evento.getId());
+        if (inscricao.isPresent() && !STATUS_CANCELADA.equalsIgnoreCase(inscricao.get().getStatus())) {
+            return Optional.empty();
+        }
+
+        LocalDateTime expiraEm = LocalDateTime.now().plus(duracao);
+        if (reservaVagaRepository.inserirSeAusente(user.getId(), evento.getId(), expiraEm) == 0) {
+            // Outra requisição do mesmo usuário criou a reserva primeiro.
+            return reservaVagaRepository.findByUserIdAndEventoId(user.getId(), evento.getId())
+                    .map(ReservaVaga::getExpiraEm);
+        }
+
+        if (!vagaService.reservar(evento.getId())) {
+            reservaVagaRepository.deleteByUserIdAndEventoId(user.getId(), evento.getId());
+            return Optional.empty();
+        }
+
+        return Optional.of(expiraEm);
+    }
+
+    /**
+     * Consome a reserva do usuário, se houver, dentro da transação de quem chama. A vaga
+     * continua contabilizada e passa a pertencer à inscrição; uma reserva já expirada
+     * ainda é honrada enquanto a varredura não a tiver devolvido.
+     *
+     * @return true se havia reserva e a vaga já está garantida
+     */
+    public boolean consumir(Long userId, Long eventoId) {
+        return reservaVagaRepository.deleteByUserIdAndEventoId(userId, eventoId) > 0;
+    }
+
+    /**
+     * Consome, em um único comando e dentro da transação de quem chama, as reservas de
+     * vários usuários no mesmo evento. As vagas continuam contabilizadas e passam às
+     * inscrições.
+     *
+     * @return os ids dos usuários que tinham reserva
+     */
+    public Set<Long> consumir(Long eventoId, Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(reservaVagaRepository.consumirDoEvento(eventoId, userIds));
+    }
+
+    @Scheduled(fixedDelayString = "${eventos.reservas.varredura-ms:5000}")
+    public void liberarExpiradas() {
+        LocalDateTime agora = LocalDateTime.now();
+        List<Long> eventoIds = reservaVagaRepository.findEventoIdsComReservasExpiradas(agora);
+
+        for (Long eventoId : eventoIds) {
+            try {
+                getProxy().liberarExpiradas(eventoId, agora);
+            } catch (RuntimeException e) {
+                logger.error("Erro ao liberar reservas expiradas do evento " + eventoId, e);
+            }
+        }
+    }
+
+    /**
+     * Apaga as reservas expiradas do evento e devolve ao contador exatamente a
+     * quantidade apagada, avisando a lista de espera após o commit.
+     */
+    @Transactional
+    public int liberarExpiradas(Long eventoId, LocalDateTime agora) {
+        int expiradas = reservaVagaRepository.deleteExpiradasDoEvento(eventoId, agora);
+        if (expiradas > 0) {
+            vagaService.liberar(eventoId, expiradas);
+            logger.debug(() -> expiradas + " reservas expiradas liberadas no evento " + eventoId + ".");
+        }
+        return expiradas;
+    }
+
+}
@@ -0,0 +1,226 @@
+package br.edu.ifg.event_system.service;
+
+import br.edu.ifg.event_system.model.TokenRevogado;
+import br.edu.ifg.event_system.repository.TokenRevogadoRepository;
+import br.edu.ifg.event_system.util.FiltroBloom;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+/**
+ * Revogação de tokens consultada a cada requisição sem acessar o banco.
+ * <p>
+ * As revogações são gravadas na tabela {@code token_revogado}, compartilhada entre as
+ * instâncias, e copiadas para a memória: um {@link FiltroBloom} responde em tempo constante
+ * que a grande maioria dos tokens não foi revogada, e só as chaves que passam por ele são
+ * conferidas no mapa exato. Cada instância relê a tabela a cada poucos segundos, então uma
+ * revogação feita em outra instância passa a valer aqui dentro desse intervalo.
+ * <p>
+ * Mudanças de permissões revogam os tokens de acesso do usuário emitidos até o momento;
+ * como os tokens de acesso são curtos, a marca só precisa durar a validade deles. Tokens de
+ * renovação são revogados individualmente pelo {@code jti} (logout e rotação).
+ * <p>
+ * Até a primeira leitura bem-sucedida da tabela (ex.: banco fora do ar na subida), a
+ * consulta falha aberta: só as revogações feitas nesta instância são conhecidas e as demais
+ * passam a valer na primeira sincronização agendada. A requisição nunca acessa o banco nem
+ * espera pela sincronização. A rotação de tokens de renovação continua segura nesse
+ * intervalo, pois {@link #revogarToken} decide pelo banco.
+ */
+@Service
+public class RevogacaoTokenService {
+
+    private static final Logger logger = LogManager.getLogger(RevogacaoTokenService.class);
+
+    private static final double TAXA_FALSO_POSITIVO = 0.01;
+    private static final int CAPACIDADE_MINIMA = 1024;
+
+    private final TokenRevogadoRepository tokenRevogadoRepository;
+    private final ApplicationContext applicationContext;
+    private final long validadeAcessoSeg;
+    private final LongSupplier relogioSeg;
+    private volatile Estado estado = new Estado(CAPACIDADE_MINIMA);
+    private volatile boolean carregado;
+    private final AtomicBoolean avisadoSemCarga = new AtomicBoolean();
+
+    @Autowired
+    public RevogacaoTokenService(TokenRevogadoRepository tokenRevogadoRepository,
+                                 JwtService jwtService,
+                                 ApplicationContext applicationContext) {
+        this(tokenRevogadoRepository, jwtService, applicationContext,
+                () -> TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis()));
+    }
+
+    RevogacaoTokenService(TokenRevogadoRepository tokenRevogadoRepository,
+                          JwtService jwtService,
+                          ApplicationContext applicationContext,
+                          LongSupplier relogioSeg) {
+        this.tokenRevogadoRepository = tokenRevogadoRepository;
+        this.applicationContext = applicationContext;
+        this.validadeAcessoSeg = jwtService.getValidadeAcesso().toSeconds();
+        this.relogioSeg = relogioSeg;
+    }
+
+    private RevogacaoTokenService getProxy() {
+        return applicationContext.getBean(RevogacaoTokenService.class);
+    }
+
+    /**
+     * @param emitidoEmSeg claim {@code iat} do token de acesso, em segundos
+     */
+    public boolean isUsuarioRevogado(Long userId, long emitidoEmSeg) {
+        return userId != null && isRevogado(chaveUsuario(userId), emitidoEmSeg);
+    }
+
+    public boolean isTokenRevogado(String jti) {
+        return jti != null && isRevogado(chaveToken(jti), Long.MIN_VALUE);
+    }
+
+    /**
+     * Recusa os tokens de acesso do usuário emitidos até o segundo atual. O {@code iat} tem
+     * resolução de segundos, então um login no mesmo segundo da revogação também precisa
+     * ser refeito.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void revogarUsuario(Long userId) {
+        long agora = relogioSeg.getAsLong();
+        String chave = chaveUsuario(userId);
+        tokenRevogadoRepository.registrar(chave, agora + 1, agora + validadeAcessoSeg);
+        marcar(chave, new Marca(agora + 1, agora + validadeAcessoSeg));
+    }
+
+    /**
+     * Revoga um token de renovação.
+     *
+     * @param expiraEmMs expiração do token; a marca não precisa durar além dela
+     * @return false se o token já estava revogado (ex.: renovação repetida com o mesmo token)
+     */
+    @Transactional
+    public boolean revogarToken(String jti, long expiraEmMs) {
+        long agora = relogioSeg.getAsLong();
+        long expiraEm = TimeUnit.MILLISECONDS.toSeconds(expiraEmMs) + 1;
+        String chave = chaveToken(jti);
+        boolean revogadoAgora = tokenRevogadoRepository.inserirSeAusente(chave, agora + 1, expiraEm) > 0;
+        marcar(chave, new Marca(Long.MAX_VALUE, expiraEm));
+        return revogadoAgora;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarPermissoes(UserService.PermissoesAlteradasEvent evento) {
+        if (evento.userId() != null) {
+            getProxy().revogarUsuario(evento.userId());
+        }
+    }
+
+    /**
+     * Relê as revogações vigentes e reconstrói o filtro. Marcas locais ainda não vistas no
+     * banco (transação em andamento) são mantidas até a próxima leitura.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${eventos.auth.revogacao.sincronizacao-ms:5000}",
+            fixedDelayString = "${eventos.auth.revogacao.sincronizacao-ms:5000}")
+    public synchronized void sincronizar() {
+        long agora = relogioSeg.getAsLong();
+        List<TokenRevogado> vigentes;
+        try {
+            vigentes = tokenRevogadoRepository.findByExpiraEmGreaterThan(agora);
+        } catch (DataAccessException e) {
+            logger.warn("Não foi possível ler as revogações de tokens; mantendo as atuais.", e);
+            return;
+        }
+
+        Estado atual = estado;
+        Estado novo = new Estado(Math.max(CAPACIDADE_MINIMA, 2 * (vigentes.size() + atual.marcas.size())));
+        for (TokenRevogado revogado : vigentes) {
+            long revogadoEm = revogado.getChave().startsWith("j:") ? Long.MAX_VALUE : revogado.getRevogadoEm();
+            novo.colocar(revogado.getChave(), new Marca(revogadoEm, revogado.getExpiraEm()));
+        }
+        atual.marcas.forEach((chave, marca) -> {
+            if (marca.expiraEm() > agora) {
+                novo.colocar(chave, marca);
+            }
+        });
+        estado = novo;
+        carregado = true;
+    }
+
+    /**
+     * Apaga as revogações cujos tokens já expiraram.
+     */
+    @Scheduled(fixedDelayString = "${eventos.auth.revogacao.varredura-ms:600000}")
+    @Transactional
+    public void descartarExpiradas() {
+        int removidas = tokenRevogadoRepository.deleteExpirados(relogioSeg.getAsLong());
+        if (removidas > 0) {
+            logger.info(() -> removidas + " revogações de tokens expiradas removidas.");
+        }
+    }
+
+    public int getTamanho() {
+        return estado.marcas.size();
+    }
+
+    private boolean isRevogado(String chave, long emitidoEmSeg) {
+        if (!carregado && avisadoSemCarga.compareAndSet(false, true)) {
+            logger.warn("Revogações de tokens ainda não carregadas do banco; considerando apenas as desta instância.");
+        }
+        Estado atual = estado;
+        if (!atual.filtro.talvezContenha(chave)) {
+            return false;
+        }
+        Marca marca = atual.marcas.get(chave);
+        return marca != null && emitidoEmSeg < marca.revogadoEm() && marca.expiraEm() > relogioSeg.getAsLong();
+    }
+
+    private synchronized void marcar(String chave, Marca marca) {
+        estado.colocar(chave, marca);
+    }
+
+    private static String chaveUsuario(Long userId) {
+        return "u:" + userId;
+    }
+
+    private static String chaveToken(String jti) {
+        return "j:" + jti;
+    }
+
+    private record Marca(long revogadoEm, long expiraEm) {
+
+        Marca combinar(Marca outra) {
+            return new Marca(Math.max(revogadoEm, outra.revogadoEm), Math.max(expiraEm, outra.expiraEm));
+        }
+
+    }
+
+    private static final class Estado {
+
+        private final FiltroBloom filtro;
+        private final Map<String, Marca> marcas = new ConcurrentHashMap<>();
+
+        Estado(int capacidade) {
+            this.filtro = new FiltroBloom(capacidade, TAXA_FALSO_POSITIVO);
+        }
+
+        void colocar(String chave, Marca marca) {
+            marcas.merge(chave, marca, Marca::combinar);
+            filtro.adicionar(chave);
+        }
+
+    }
+
+}
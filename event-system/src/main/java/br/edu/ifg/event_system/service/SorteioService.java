@@ -0,0 +1,149 @@
+package br.edu.ifg.event_system.service;
+
+import br.edu.ifg.event_system.dto.ResultadoSorteioDTO;
+import br.edu.ifg.event_system.exception.InscricaoException;
+import br.edu.ifg.event_system.model.Evento;
+import br.edu.ifg.event_system.repository.EventoRepository;
+import br.edu.ifg.event_system.repository.InscricaoRepository;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Distribui as vagas de eventos em {@link Evento.ModoAlocacao#SORTEIO}. Durante o período de
+ * inscrição as inscrições ficam como PENDENTE_SORTEIO, sem verificação de vagas; após a data
+ * limite (ou por solicitação de um administrador) os participantes são embaralhados e
+ * gravados como ATIVA ou LISTA_ESPERA em lotes.
+ */
+@Service
+public class SorteioService {
+
+    private static final String STATUS_ATIVA = "ATIVA";
+    private static final String STATUS_LISTA_ESPERA = "LISTA_ESPERA";
+    private static final String STATUS_PENDENTE_SORTEIO = "PENDENTE_SORTEIO";
+    private static final String SQL_RESULTADO =
+            "UPDATE inscricao SET status = ?, posicao_sorteio = ? WHERE id = ?";
+    private static final Logger logger = LogManager.getLogger(SorteioService.class);
+
+    private final EventoRepository eventoRepository;
+    private final InscricaoRepository inscricaoRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationContext applicationContext;
+    private final SecureRandom random = new SecureRandom();
+    private final int tamanhoLote;
+
+    public SorteioService(EventoRepository eventoRepository,
+                          InscricaoRepository inscricaoRepository,
+                          JdbcTemplate jdbcTemplate,
+                          ApplicationContext applicationContext,
+                          @Value("${eventos.sorteio.tamanho-lote:1000}") int tamanhoLote) {
+        this.eventoRepository = eventoRepository;
+        this.inscricaoRepository = inscricaoRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.applicationContext = applicationContext;
+        this.tamanhoLote = tamanhoLote;
+    }
+
+    private SorteioService getProxy() {
+        return applicationContext.getBean(SorteioService.class);
+    }
+
+    @Scheduled(fixedDelayString = "${eventos.sorteio.varredura-ms:60000}")
+    public void sortearPendentes() {
+        List<Long> eventoIds = eventoRepository.findIdsParaSorteio(
+                Evento.ModoAlocacao.SORTEIO, Evento.EventoStatus.ATIVO, LocalDateTime.now());
+        for (Long eventoId : eventoIds) {
+            try {
+                getProxy().sortear(eventoId);
+            } catch (RuntimeException e) {
+                logger.error(() -> "Erro ao realizar o sorteio do evento " + eventoId, e);
+            }
+        }
+
+        for (Long eventoId : inscricaoRepository.findEventoIdsSorteadosComStatus(STATUS_PENDENTE_SORTEIO)) {
+            getProxy().encaminharRetardatarios(eventoId);
+        }
+    }
+
+    /**
+     * Realiza o sorteio do evento com a linha do evento bloqueada. Os contemplados
+     * ocupam as vagas livres; os demais vão para a lista de espera na ordem sorteada.
+     *
+     * @throws InscricaoException se o evento não existe, não usa sorteio ou já foi sorteado
+     */
+    @Transactional
+    public ResultadoSorteioDTO sortear(Long eventoId) {
+        Evento evento = eventoRepository.findByIdParaAtualizacao(eventoId)
+                .orElseThrow(() -> new InscricaoException("Evento inexistente."));
+        if (evento.getModoAlocacao() != Evento.ModoAlocacao.SORTEIO) {
+            throw new InscricaoException("Este evento não utiliza sorteio.");
+        }
+        if (evento.getSorteioRealizadoEm() != null) {
+            throw new InscricaoException("O sorteio deste evento já foi realizado.");
+        }
+
+        List<Long> participantes = new ArrayList<>(
+                inscricaoRepository.findIdsByEventoIdAndStatus(eventoId, STATUS_PENDENTE_SORTEIO));
+        Collections.shuffle(participantes, random);
+
+        int livres = evento.getVagas() == null
+                ? participantes.size()
+                : Math.max(0, evento.getVagas() - evento.getVagasOcupadas());
+        int contemplados = Math.min(livres, participantes.size());
+
+        List<Sorteado> resultado = new ArrayList<>(participantes.size());
+        for (int i = 0; i < participantes.size(); i++) {
+            String status = i < contemplados ? STATUS_ATIVA : STATUS_LISTA_ESPERA;
+            resultado.add(new Sorteado(participantes.get(i), i + 1, status));
+        }
+
+        jdbcTemplate.batchUpdate(SQL_RESULTADO, resultado, tamanhoLote, (ps, sorteado) -> {
+            ps.setString(1, sorteado.status());
+            ps.setInt(2, sorteado.posicao());
+            ps.setLong(3, sorteado.inscricaoId());
+        });
+
+        if (contemplados > 0) {
+            eventoRepository.ocuparVagas(eventoId, contemplados);
+        }
+
+        LocalDateTime agora = LocalDateTime.now();
+        evento.setSorteioRealizadoEm(agora);
+        eventoRepository.save(evento);
+        applicationContext.publishEvent(new EventoService.CatalogoAlteradoEvent(eventoId));
+
+        ResultadoSorteioDTO dto = new ResultadoSorteioDTO(eventoId, participantes.size(), contemplados,
+                participantes.size() - contemplados, agora);
+        logger.info(() -> "Sorteio do evento " + eventoId + ": " + dto.getParticipantes() + " participantes, "
+                + dto.getContemplados() + " contemplados, " + dto.getListaEspera() + " na lista de espera.");
+        return dto;
+    }
+
+    /**
+     * Inscrições que chegaram a PENDENTE_SORTEIO enquanto o sorteio era gravado vão
+     * para o fim da lista de espera, que as promove se ainda houver vagas.
+     */
+    @Transactional
+    public int encaminharRetardatarios(Long eventoId) {
+        int encaminhadas = inscricaoRepository.atualizarStatusDoEvento(
+                eventoId, STATUS_PENDENTE_SORTEIO, STATUS_LISTA_ESPERA);
+        if (encaminhadas > 0) {
+            applicationContext.publishEvent(new VagaService.VagaLiberadaEvent(eventoId));
+        }
+        return encaminhadas;
+    }
+
+    private record Sorteado(Long inscricaoId, int posicao, String status) {}
+
+}
@@ -0,0 +1,159 @@
+package br.edu.ifg.event_system.service;
+
+import br.edu.ifg.event_system.dto.ReferenciaDTO;
+import br.edu.ifg.event_system.model.Evento;
+import br.edu.ifg.event_system.repository.EventoRepository;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+/**
+ * Autocompletar de títulos dos eventos ATIVOS, servido inteiramente da memória.
+ * <p>
+ * O índice é um mapa ordenado cujas chaves são o título sem acentos e em minúsculas a
+ * partir do início de cada palavra ({@code "semana de java"}, {@code "de java"},
+ * {@code "java"}), seguidas do id. Uma sugestão é a faixa de chaves que começa com o
+ * prefixo digitado, então "jav" encontra "Semana de Java" sem varrer o mapa.
+ * <p>
+ * Cada alteração publicada por {@link EventoService#publicarAlteracao} atualiza apenas o
+ * evento alterado; uma reconstrução periódica cobre mudanças feitas fora desse fluxo.
+ */
+@Service
+public class SugestaoEventosService {
+
+    private static final Logger logger = LogManager.getLogger(SugestaoEventosService.class);
+
+    private static final int LIMITE_MAXIMO = 20;
+    private static final char SEPARADOR_ID = '\u0000';
+    private static final Pattern ACENTOS = Pattern.compile("\\p{M}+");
+    private static final Pattern NAO_ALFANUMERICO = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final EventoRepository eventoRepository;
+    private volatile Indice indice = new Indice();
+
+    public SugestaoEventosService(EventoRepository eventoRepository) {
+        this.eventoRepository = eventoRepository;
+    }
+
+    /**
+     * Títulos cujo início de alguma palavra casa com {@code prefixo}, ignorando acentos e
+     * maiúsculas, em ordem alfabética.
+     */
+    public List<ReferenciaDTO> sugerir(String prefixo, int limite) {
+        String chave = dobrar(prefixo);
+        List<ReferenciaDTO> sugestoes = new ArrayList<>();
+        if (chave.isEmpty()) {
+            return sugestoes;
+        }
+
+        int maximo = Math.max(1, Math.min(limite, LIMITE_MAXIMO));
+        Set<Long> vistos = new LinkedHashSet<>();
+        Indice atual = indice;
+        for (ReferenciaDTO evento : atual.chaves.subMap(chave, chave + Character.MAX_VALUE).values()) {
+            if (vistos.add(evento.getId())) {
+                sugestoes.add(evento);
+                if (sugestoes.size() == maximo) {
+                    break;
+                }
+            }
+        }
+        return sugestoes;
+    }
+
+    public int getTamanho() {
+        return indice.chavesPorEvento.size();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${eventos.sugestoes.reconstrucao-ms:600000}",
+            fixedDelayString = "${eventos.sugestoes.reconstrucao-ms:600000}")
+    public synchronized void reconstruir() {
+        Indice novo = new Indice();
+        for (ReferenciaDTO evento : eventoRepository.findTitulosByStatus(Evento.EventoStatus.ATIVO)) {
+            novo.colocar(evento.getId(), evento.getNome());
+        }
+        indice = novo;
+        logger.info(() -> "Índice de sugestões reconstruído com " + novo.chavesPorEvento.size() + " eventos.");
+    }
+
+    /**
+     * Reindexa só o evento alterado, depois do commit. A leitura do evento acontece aqui,
+     * no caminho de escrita; as sugestões continuam sem tocar no banco.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void aoAlterarCatalogo(EventoService.CatalogoAlteradoEvent evento) {
+        Long id = evento.eventoId();
+        if (id == null) {
+            return;
+        }
+
+        Evento atual = eventoRepository.findById(id).orElse(null);
+        if (atual == null || atual.getStatus() != Evento.EventoStatus.ATIVO) {
+            indice.remover(id);
+        } else {
+            indice.colocar(id, atual.getTitulo());
+        }
+    }
+
+    /**
+     * Remove acentos, passa para minúsculas e reduz qualquer pontuação a um espaço.
+     */
+    static String dobrar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        String semAcentos = ACENTOS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return NAO_ALFANUMERICO.matcher(semAcentos.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    private static final class Indice {
+
+        private final ConcurrentNavigableMap<String, ReferenciaDTO> chaves = new ConcurrentSkipListMap<>();
+        private final Map<Long, List<String>> chavesPorEvento = new ConcurrentHashMap<>();
+
+        void colocar(Long id, String titulo) {
+            remover(id);
+
+            String dobrado = dobrar(titulo);
+            if (dobrado.isEmpty()) {
+                return;
+            }
+
+            ReferenciaDTO evento = new ReferenciaDTO(id, titulo);
+            List<String> chavesDoEvento = new ArrayList<>();
+            for (int i = 0; i < dobrado.length(); i++) {
+                if (i == 0 || dobrado.charAt(i - 1) == ' ') {
+                    String chave = dobrado.substring(i) + SEPARADOR_ID + id;
+                    chaves.put(chave, evento);
+                    chavesDoEvento.add(chave);
+                }
+            }
+            chavesPorEvento.put(id, chavesDoEvento);
+        }
+
+        void remover(Long id) {
+            List<String> anteriores = chavesPorEvento.remove(id);
+            if (anteriores != null) {
+                anteriores.forEach(chaves::remove);
+            }
+        }
+
+    }
+
+}
@@ -2,10 +2,14 @@ package br.edu.ifg.event_system.service;
 
 import br.edu.ifg.event_system.model.Campus;
 import br.edu.ifg.event_system.model.Departamento;
-import br.edu.ifg.event_system.model.Role;
 import br.edu.ifg.event_system.model.User;
-import br.edu.ifg.event_system.repository.RoleRepository;
 import br.edu.ifg.event_system.repository.UserRepository;
+import br.edu.ifg.event_system.util.EscopoAutorizacao;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -13,24 +17,30 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Set;
 
 @Service
 @Transactional
 public class UserService {
 
+    private static final Logger logger = LogManager.getLogger(UserService.class);
+
     private static final String ROLE_ADMIN_DEPARTAMENTO = "ADMIN_DEPARTAMENTO";
     private static final String ROLE_ADMIN_CAMPUS = "ADMIN_CAMPUS";
 
     private final UserRepository userRepository;
-    private final RoleRepository roleRepository;
+    private final RegistroRoles registroRoles;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
 
     public UserService(UserRepository userRepository,
-                       RoleRepository roleRepository,
-                       PasswordEncoder passwordEncoder) {
+                       RegistroRoles registroRoles,
+                       PasswordEncoder passwordEncoder,
+                       ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
-        this.roleRepository = roleRepository;
+        this.registroRoles = registroRoles;
         this.passwordEncoder = passwordEncoder;
+        this.eventPublisher = eventPublisher;
     }
 
     public Page<User> listarPaginado(Pageable pageable, String search) {
@@ -56,12 +66,8 @@ public class UserService {
         newUser.setPassword(passwordEncoder.encode(senha));
         newUser.setNomeCompleto(nomeCompleto);
 
-        Role userRole = roleRepository.findByName("USER");
-        if (userRole == null) {
-            userRole = new Role("USER");
-            roleRepository.save(userRole);
-        }
-        newUser.setRoles(List.of(userRole));
+        newUser.setRoles(Set.of(registroRoles.obterOuCriar("USER")));
+        sincronizarMascaraDePapeis(newUser);
 
         return userRepository.save(newUser);
     }
@@ -79,6 +85,7 @@ public class UserService {
     public void atualizarRolesDoUsuario(User user, List<String> rolesStr) {
         user.getRoles().clear();
         atribuirRoles(user, rolesStr);
+        publicarAlteracaoDePermissoes(user);
     }
 
     public void adicionarCampusAoUsuario(User user, Campus campus) {
@@ -89,14 +96,17 @@ public class UserService {
         }
 
         userRepository.save(user);
+        publicarAlteracaoDePermissoes(user);
     }
 
     public void removerCampusDoUsuario(User user, Campus campus) {
         user.getCampusQueAdministro().remove(campus);
         if (user.getCampusQueAdministro().isEmpty()) {
             user.getRoles().removeIf(r -> r.getName().equals(ROLE_ADMIN_CAMPUS));
+            sincronizarMascaraDePapeis(user);
         }
         userRepository.save(user);
+        publicarAlteracaoDePermissoes(user);
     }
 
     public void adicionarDepartamentoAoUsuario(User user, Departamento departamento) {
@@ -107,14 +117,17 @@ public class UserService {
         }
 
         userRepository.save(user);
+        publicarAlteracaoDePermissoes(user);
     }
 
     public void removerDepartamentoDoUsuario(User user, Departamento departamento) {
         user.getDepartamentosQueAdministro().remove(departamento);
         if (user.getDepartamentosQueAdministro().isEmpty()) {
             user.getRoles().removeIf(r -> r.getName().equals(ROLE_ADMIN_DEPARTAMENTO));
+            sincronizarMascaraDePapeis(user);
         }
         userRepository.save(user);
+        publicarAlteracaoDePermissoes(user);
     }
 
     public User buscarPorId(Long id) {
@@ -125,15 +138,48 @@ public class UserService {
         return userRepository.findByUsername(username);
     }
 
+    /**
+     * Usuário com roles, campus e departamentos administrados já carregados, para emitir o token
+     * fora da thread da requisição (sem sessão aberta para carregamento preguiçoso).
+     */
+    public User buscarComEscopoPorUsername(String username) {
+        return userRepository.findComEscopoByUsername(username);
+    }
+
+    /**
+     * Avisa que os papéis ou o escopo administrativo do usuário mudaram, para que os tokens
+     * já emitidos com as permissões antigas deixem de ser aceitos. Dentro de uma transação,
+     * o aviso é processado após o commit.
+     */
+    public void publicarAlteracaoDePermissoes(User user) {
+        eventPublisher.publishEvent(new PermissoesAlteradasEvent(user.getId()));
+    }
+
+    /**
+     * Copia os papéis administrativos para {@code roles_mask}. Deve ser chamado sempre que
+     * a lista de roles do usuário mudar.
+     */
+    public void sincronizarMascaraDePapeis(User user) {
+        user.setRolesMask(EscopoAutorizacao.mascaraDe(user.getRoles()));
+    }
+
+    /**
+     * Preenche {@code roles_mask} dos usuários gravados antes da coluna existir ou alterados
+     * fora desta aplicação.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recalcularMascarasDePapeis() {
+        int atualizados = userRepository.recalcularMascarasDePapeis();
+        if (atualizados > 0) {
+            logger.info(() -> "Máscara de papéis recalculada para " + atualizados + " usuários.");
+        }
+    }
+
     private void atribuirRoles(User user, List<String> rolesStr) {
         for (String roleName : rolesStr) {
-            Role role = roleRepository.findByName(roleName);
-            if (role == null) {
-                role = new Role(roleName);
-                roleRepository.save(role);
-            }
-            user.getRoles().add(role);
+            user.getRoles().add(registroRoles.obterOuCriar(roleName));
         }
+        sincronizarMascaraDePapeis(user);
         userRepository.save(user);
     }
 
@@ -142,13 +188,11 @@ public class UserService {
                 .anyMatch(r -> r.getName().equals(roleName));
 
         if (!jaTemRole) {
-            Role role = roleRepository.findByName(roleName);
-            if (role == null) {
-                role = new Role(roleName);
-                roleRepository.save(role);
-            }
-            user.getRoles().add(role);
+            user.getRoles().add(registroRoles.obterOuCriar(roleName));
+            sincronizarMascaraDePapeis(user);
         }
     }
 
-}
\ No newline at end of file
+    public record PermissoesAlteradasEvent(Long userId) {}
+
+}
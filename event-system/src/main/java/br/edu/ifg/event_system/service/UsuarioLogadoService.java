@@ -0,0 +1,118 @@
+package br.edu.ifg.event_system.service;
+
+import br.edu.ifg.event_system.config.UsuarioAutenticado;
+import br.edu.ifg.event_system.model.User;
+import br.edu.ifg.event_system.repository.UserRepository;
+import br.edu.ifg.event_system.util.EscopoAutorizacao;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.annotation.RequestScope;
+
+/**
+ * Usuário da requisição atual, carregado uma única vez com papéis, campus e departamentos
+ * administrados e reaproveitado pelos controllers e utilitários até o fim da requisição.
+ * Antes, a validação e a checagem de permissão de um mesmo endpoint administrativo
+ * buscavam o usuário de novo a cada passo.
+ * <p>
+ * Endpoints que só precisam do id do usuário (inscrições) usam {@link #obterReferencia()},
+ * que não consulta o banco.
+ */
+@Service
+@RequestScope
+public class UsuarioLogadoService {
+
+    private final UserRepository userRepository;
+    private User usuario;
+    private boolean carregado;
+    private EscopoAutorizacao escopo;
+
+    public UsuarioLogadoService(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * @return o usuário autenticado, ou null se a requisição for anônima ou o usuário não
+     * existir mais
+     */
+    @Transactional
+    public User obter() {
+        if (!carregado) {
+            usuario = carregar();
+            carregado = true;
+        }
+        return usuario;
+    }
+
+    /**
+     * Escopo administrativo do usuário, reaproveitado por todas as checagens de permissão.
+     * Em requisições autenticadas por JWT é o escopo já compilado das claims do token, sem
+     * consulta ao banco; nas demais é compilado do usuário carregado, uma única vez por
+     * requisição.
+     *
+     * @return o escopo, ou null se a requisição for anônima ou o usuário não existir mais
+     */
+    public EscopoAutorizacao obterEscopo() {
+        if (escopo == null) {
+            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+            if (auth != null && auth.getPrincipal() instanceof UsuarioAutenticado principal
+                    && principal.getEscopo() != null) {
+                escopo = principal.getEscopo();
+            } else {
+                User user = obter();
+                escopo = user == null ? null : EscopoAutorizacao.de(user);
+            }
+        }
+        return escopo;
+    }
+
+    /**
+     * Referência ao usuário autenticado montada a partir do id do token, sem consultar o
+     * banco; os dados só são lidos se algum atributo além do id for acessado. Sem o id no
+     * principal, cai em {@link #obter()}.
+     *
+     * @return a referência, ou null se a requisição for anônima
+     */
+    public User obterReferencia() {
+        if (usuario != null) {
+            return usuario;
+        }
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.getPrincipal() instanceof UsuarioAutenticado principal) {
+            return userRepository.getReferenceById(principal.getId());
+        }
+        return obter();
+    }
+
+    /**
+     * Nome do usuário autenticado, lido da claim do token para que as respostas das
+     * inscrições não carreguem a referência de {@link #obterReferencia()}. Tokens sem a
+     * claim caem nos dados do usuário, e aí a consulta acontece.
+     *
+     * @return o nome, ou null se a requisição for anônima
+     */
+    public String obterNomeCompleto() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.getPrincipal() instanceof UsuarioAutenticado principal
+                && principal.getNomeCompleto() != null) {
+            return principal.getNomeCompleto();
+        }
+        User user = obterReferencia();
+        return user == null ? null : user.getNomeCompleto();
+    }
+
+    private User carregar() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || auth instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+
+        if (auth.getPrincipal() instanceof UsuarioAutenticado principal) {
+            return userRepository.findComEscopoById(principal.getId());
+        }
+        return userRepository.findComEscopoByUsername(auth.getName());
+    }
+
+}
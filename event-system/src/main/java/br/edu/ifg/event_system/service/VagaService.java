@@ -0,0 +1,144 @@
+package br.edu.ifg.event_system.service;
+
+import br.edu.ifg.event_system.model.Evento;
+import br.edu.ifg.event_system.repository.EventoRepository;
+import br.edu.ifg.event_system.repository.InscricaoRepository;
+import br.edu.ifg.event_system.repository.ReservaVagaRepository;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.ApplicationContext;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Controla o inventário de vagas de cada evento através do contador
+ * {@code evento.vagas_ocupadas}, evitando o COUNT sobre {@code inscricao}
+ * a cada tentativa de inscrição.
+ */
+@Service
+public class VagaService implements SmartInitializingSingleton {
+
+    private static final String STATUS_ATIVA = "ATIVA";
+    private static final Logger logger = LogManager.getLogger(VagaService.class);
+
+    private final EventoRepository eventoRepository;
+    private final InscricaoRepository inscricaoRepository;
+    private final ReservaVagaRepository reservaVagaRepository;
+    private final ApplicationContext applicationContext;
+
+    public VagaService(EventoRepository eventoRepository,
+                       InscricaoRepository inscricaoRepository,
+                       ReservaVagaRepository reservaVagaRepository,
+                       ApplicationContext applicationContext) {
+        this.eventoRepository = eventoRepository;
+        this.inscricaoRepository = inscricaoRepository;
+        this.reservaVagaRepository = reservaVagaRepository;
+        this.applicationContext = applicationContext;
+    }
+
+    private VagaService getProxy() {
+        return applicationContext.getBean(VagaService.class);
+    }
+
+    /**
+     * Ocupa uma vaga do evento com um único UPDATE condicional. A linha do evento
+     * fica bloqueada até o fim da transação, então duas inscrições concorrentes
+     * nunca ultrapassam o limite de vagas.
+     *
+     * @return true se a vaga foi reservada, false se o evento está lotado
+     */
+    @Transactional
+    public boolean reservar(Long eventoId) {
+        return eventoRepository.reservarVaga(eventoId) > 0;
+    }
+
+    /**
+     * Devolve uma vaga ao evento e avisa a lista de espera, que é promovida
+     * após o commit da transação corrente.
+     */
+    @Transactional
+    public void liberar(Long eventoId) {
+        liberar(eventoId, 1);
+    }
+
+    @Transactional
+    public void liberar(Long eventoId, int quantidade) {
+        eventoRepository.liberarVagas(eventoId, quantidade);
+        applicationContext.publishEvent(new VagaLiberadaEvent(eventoId));
+    }
+
+    /**
+     * Preenche o contador ao subir a aplicação, depois que o Hibernate atualizou o esquema
+     * e antes de o servidor web começar a aceitar requisições: após a criação da coluna
+     * {@code vagas_ocupadas}, os eventos existentes começam zerados e aceitariam inscrições
+     * além do limite. Roda após a criação de todos os singletons para que a chamada passe
+     * pelo proxy transacional, o que não acontece em um {@code @PostConstruct}.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        getProxy().preencherVagasOcupadas();
+    }
+
+    /**
+     * Recalcula o contador de todos os eventos ativos com um único UPDATE.
+     *
+     * @return quantidade de eventos corrigidos
+     */
+    @Transactional
+    public int preencherVagasOcupadas() {
+        int corrigidos = eventoRepository.recalcularVagasOcupadas();
+        logger.info(() -> "Contador de vagas preenchido: " + corrigidos + " eventos corrigidos.");
+        return corrigidos;
+    }
+
+    /**
+     * Roda toda madrugada, evento a evento, para corrigir divergências sem bloquear
+     * todos os eventos ativos de uma vez.
+     */
+    @Scheduled(cron = "${eventos.vagas.reconciliacao-cron:0 0 3 * * *}")
+    public void reconciliarTodas() {
+        List<Long> eventoIds = eventoRepository.findIdsByStatus(Evento.EventoStatus.ATIVO);
+
+        int corrigidos = 0;
+        for (Long eventoId : eventoIds) {
+            if (getProxy().reconciliar(eventoId)) {
+                corrigidos++;
+            }
+        }
+
+        int total = corrigidos;
+        logger.info(() -> "Reconciliação de vagas concluída: " + total + " de " + eventoIds.size() + " eventos corrigidos.");
+    }
+
+    /**
+     * Recalcula o contador de vagas a partir das inscrições ATIVAS e das reservas de
+     * vaga ainda não consumidas. A linha do evento é bloqueada antes da contagem para
+     * que nenhuma inscrição concorrente se perca.
+     *
+     * @return true se o contador estava divergente e foi corrigido
+     */
+    @Transactional
+    public boolean reconciliar(Long eventoId) {
+        Integer ocupadas = eventoRepository.bloquearVagasOcupadas(eventoId);
+        if (ocupadas == null) {
+            return false;
+        }
+
+        long ativas = inscricaoRepository.countByEventoIdAndStatus(eventoId, STATUS_ATIVA)
+                + reservaVagaRepository.countByEventoId(eventoId);
+        if (ocupadas == ativas) {
+            return false;
+        }
+
+        eventoRepository.definirVagasOcupadas(eventoId, (int) ativas);
+        logger.warn(() -> "Contador de vagas do evento " + eventoId + " corrigido de " + ocupadas + " para " + ativas + ".");
+        return true;
+    }
+
+    public record VagaLiberadaEvent(Long eventoId) {}
+
+}
@@ -0,0 +1,129 @@
+package br.edu.ifg.event_system.service;
+
+import jakarta.annotation.PreDestroy;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Verifica as senhas do login em um pool próprio e limitado. O BCrypt é caro de propósito;
+ * rodando nas threads do Tomcat, um pico de logins ocupa todas elas e trava o restante da
+ * API. Aqui o trabalho fica restrito a poucas threads com uma fila de tamanho fixo: com a
+ * fila cheia o login é recusado na hora (o controller responde 429) em vez de acumular.
+ */
+@Service
+public class VerificacaoSenhaService {
+
+    private static final Logger logger = LogManager.getLogger(VerificacaoSenhaService.class);
+
+    private static final int CUSTO_MINIMO = 4;
+    private static final int CUSTO_MAXIMO = 16;
+
+    private final AuthenticationManager authenticationManager;
+    private final ThreadPoolExecutor executor;
+    private final boolean calibrar;
+    private final Duration tempoAlvo;
+
+    public VerificacaoSenhaService(AuthenticationManager authenticationManager,
+                                   @Value("${eventos.auth.senhas.threads:4}") int threads,
+                                   @Value("${eventos.auth.senhas.capacidade-fila:200}") int capacidadeFila,
+                                   @Value("${eventos.auth.senhas.calibrar:false}") boolean calibrar,
+                                   @Value("${eventos.auth.senhas.tempo-alvo:PT0.25S}") Duration tempoAlvo) {
+        this.authenticationManager = authenticationManager;
+        this.calibrar = calibrar;
+        this.tempoAlvo = tempoAlvo;
+
+        AtomicInteger contador = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacidadeFila),
+                r -> {
+                    Thread thread = new Thread(r, "login-senha-" + contador.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Autentica usuário e senha fora da thread da requisição.
+     *
+     * @return futuro concluído com a autenticação; falha com {@link RejectedExecutionException}
+     * se a fila estiver cheia, ou com a {@code AuthenticationException} do Spring Security
+     */
+    public CompletableFuture<Authentication> autenticar(String username, String senha) {
+        try {
+            return CompletableFuture.supplyAsync(() -> authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(username, senha)), executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    public int getTamanhoFila() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * Com {@code eventos.auth.senhas.calibrar=true}, mede o BCrypt nesta máquina ao subir e
+     * registra o custo que mais se aproxima de {@code eventos.auth.senhas.tempo-alvo} sem
+     * ultrapassá-lo, para ajustar {@code eventos.auth.senhas.custo-bcrypt}.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void calibrarNaInicializacao() {
+        if (!calibrar) {
+            return;
+        }
+        executor.execute(() -> {
+            int custo = calibrarCusto(tempoAlvo, CUSTO_MINIMO, CUSTO_MAXIMO);
+            logger.info(() -> "Custo BCrypt sugerido para " + tempoAlvo.toMillis()
+                    + " ms por verificação nesta máquina: " + custo);
+        });
+    }
+
+    /**
+     * Maior custo entre {@code minimo} e {@code maximo} cuja verificação leva no máximo
+     * {@code alvo}. Cada custo é medido com um aquecimento e a menor de três execuções; como
+     * cada incremento dobra o tempo, a busca para no primeiro custo acima do alvo.
+     */
+    public static int calibrarCusto(Duration alvo, int minimo, int maximo) {
+        long alvoNs = alvo.toNanos();
+        int escolhido = minimo;
+        for (int custo = minimo; custo <= maximo; custo++) {
+            long tempoNs = medir(new BCryptPasswordEncoder(custo));
+            logger.debug("BCrypt custo {}: {} ms", custo, TimeUnit.NANOSECONDS.toMillis(tempoNs));
+            if (tempoNs > alvoNs) {
+                break;
+            }
+            escolhido = custo;
+        }
+        return escolhido;
+    }
+
+    private static long medir(BCryptPasswordEncoder encoder) {
+        String hash = encoder.encode("calibracao");
+        long melhor = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            long inicio = System.nanoTime();
+            encoder.matches("calibracao", hash);
+            melhor = Math.min(melhor, System.nanoTime() - inicio);
+        }
+        return melhor;
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        executor.shutdownNow();
+    }
+
+}
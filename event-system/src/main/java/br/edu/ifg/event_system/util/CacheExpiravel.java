@@ -0,0 +1,93 @@
+package br.edu.ifg.event_system.util;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Cache em memória com capacidade máxima e expiração por entrada. Quando a
+ * capacidade é atingida, a entrada usada há mais tempo é descartada (LRU);
+ * entradas expiradas são removidas no momento em que são consultadas.
+ */
+public class CacheExpiravel<K, V> {
+
+    private final int capacidade;
+    private final long ttlNanos;
+    private final LongSupplier relogio;
+    private final LinkedHashMap<K, Entrada<V>> entradas;
+
+    public CacheExpiravel(int capacidade, Duration ttl) {
+        this(capacidade, ttl, System::nanoTime);
+    }
+
+    public CacheExpiravel(int capacidade, Duration ttl, LongSupplier relogio) {
+        if (capacidade <= 0) {
+            throw new IllegalArgumentException("A capacidade do cache deve ser positiva.");
+        }
+        this.capacidade = capacidade;
+        this.ttlNanos = ttl.toNanos();
+        this.relogio = relogio;
+        this.entradas = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entrada<V>> maisAntiga) {
+                return size() > CacheExpiravel.this.capacidade;
+            }
+        };
+    }
+
+    public synchronized V obter(K chave) {
+        Entrada<V> entrada = entradas.get(chave);
+        if (entrada == null) {
+            return null;
+        }
+        if (entrada.expiraEm() - relogio.getAsLong() <= 0) {
+            entradas.remove(chave);
+            return null;
+        }
+        return entrada.valor();
+    }
+
+    public synchronized void colocar(K chave, V valor) {
+        entradas.put(chave, new Entrada<>(valor, relogio.getAsLong() + ttlNanos));
+    }
+
+    /**
+     * @return o valor já presente (e ainda válido) para a chave, ou null se o novo valor foi armazenado
+     */
+    public synchronized V colocarSeAusente(K chave, V valor) {
+        V atual = obter(chave);
+        if (atual != null) {
+            return atual;
+        }
+        colocar(chave, valor);
+        return null;
+    }
+
+    public synchronized void remover(K chave) {
+        entradas.remove(chave);
+    }
+
+    /**
+     * Remove a chave apenas se ela ainda estiver associada ao valor informado.
+     */
+    public synchronized boolean remover(K chave, V valor) {
+        Entrada<V> entrada = entradas.get(chave);
+        if (entrada != null && entrada.valor() == valor) {
+            entradas.remove(chave);
+            return true;
+        }
+        return false;
+    }
+
+    public synchronized int tamanho() {
+        return entradas.size();
+    }
+
+    public synchronized void limpar() {
+        entradas.clear();
+    }
+
+    private record Entrada<V>(V valor, long expiraEm) {}
+
+}
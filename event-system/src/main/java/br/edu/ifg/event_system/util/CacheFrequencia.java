@@ -0,0 +1,185 @@
+package br.edu.ifg.event_system.util;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+/**
+ * Cache em memória com capacidade máxima, expiração por entrada e admissão por
+ * frequência no estilo TinyLFU. As consultas alimentam um sketch de contagem (count-min)
+ * com contadores saturados em 15 e envelhecidos pela metade a cada {@code 10 × capacidade}
+ * registros. Com o cache cheio, uma chave nova só entra se tiver sido pedida mais vezes
+ * que a entrada menos recente, que então é descartada; chaves consultadas uma única vez
+ * (ex.: cursores de paginação) não expulsam as mais acessadas.
+ */
+public class CacheFrequencia<K, V> {
+
+    private static final int CONTADOR_MAXIMO = 15;
+    private static final long[] SEMENTES = {
+            0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L
+    };
+
+    private final int capacidade;
+    private final long ttlNanos;
+    private final LongSupplier relogio;
+    private final LinkedHashMap<K, Entrada<V>> entradas = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final int[] contadores;
+    private final int mascara;
+    private final int limiteAmostras;
+    private int amostras;
+
+    private long acertos;
+    private long falhas;
+    private long rejeicoes;
+
+    public CacheFrequencia(int capacidade, Duration ttl) {
+        this(capacidade, ttl, System::nanoTime);
+    }
+
+    public CacheFrequencia(int capacidade, Duration ttl, LongSupplier relogio) {
+        if (capacidade <= 0) {
+            throw new IllegalArgumentException("A capacidade do cache deve ser positiva.");
+        }
+        this.capacidade = capacidade;
+        this.ttlNanos = ttl.toNanos();
+        this.relogio = relogio;
+
+        int tamanhoSketch = Integer.highestOneBit(Math.max(16, capacidade * 4 - 1)) << 1;
+        this.contadores = new int[tamanhoSketch];
+        this.mascara = tamanhoSketch - 1;
+        this.limiteAmostras = 10 * capacidade;
+    }
+
+    public synchronized V obter(K chave) {
+        return obter(chave, valor -> true);
+    }
+
+    /**
+     * Consulta a chave, tratando como ausente um valor que não satisfaça {@code valido}
+     * (ex.: calculado antes da última invalidação).
+     */
+    public synchronized V obter(K chave, Predicate<V> valido) {
+        registrar(chave);
+
+        Entrada<V> entrada = entradas.get(chave);
+        if (entrada == null) {
+            falhas++;
+            return null;
+        }
+        if (expirada(entrada) || !valido.test(entrada.valor())) {
+            entradas.remove(chave);
+            falhas++;
+            return null;
+        }
+        acertos++;
+        return entrada.valor();
+    }
+
+    /**
+     * Armazena o valor se houver espaço ou se a chave for mais frequente que a entrada
+     * menos recente.
+     *
+     * @return true se o valor foi admitido
+     */
+    public synchronized boolean colocar(K chave, V valor) {
+        Entrada<V> nova = new Entrada<>(valor, relogio.getAsLong() + ttlNanos);
+        if (entradas.containsKey(chave) || entradas.size() < capacidade) {
+            entradas.put(chave, nova);
+            return true;
+        }
+
+        Iterator<Map.Entry<K, Entrada<V>>> iterador = entradas.entrySet().iterator();
+        Map.Entry<K, Entrada<V>> vitima = iterador.next();
+        if (!expirada(vitima.getValue()) && frequencia(chave) <= frequencia(vitima.getKey())) {
+            rejeicoes++;
+            return false;
+        }
+
+        iterador.remove();
+        entradas.put(chave, nova);
+        return true;
+    }
+
+    public synchronized void remover(K chave) {
+        entradas.remove(chave);
+    }
+
+    public synchronized void limpar() {
+        entradas.clear();
+    }
+
+    public synchronized int tamanho() {
+        return entradas.size();
+    }
+
+    public int capacidade() {
+        return capacidade;
+    }
+
+    public synchronized long acertos() {
+        return acertos;
+    }
+
+    public synchronized long falhas() {
+        return falhas;
+    }
+
+    /**
+     * @return quantas chaves novas deixaram de entrar por serem menos frequentes que a vítima
+     */
+    public synchronized long rejeicoes() {
+        return rejeicoes;
+    }
+
+    private boolean expirada(Entrada<V> entrada) {
+        return entrada.expiraEm() - relogio.getAsLong() <= 0;
+    }
+
+    private void registrar(K chave) {
+        int hash = espalhar(chave);
+        for (int i = 0; i < SEMENTES.length; i++) {
+            int indice = indice(hash, i);
+            if (contadores[indice] < CONTADOR_MAXIMO) {
+                contadores[indice]++;
+            }
+        }
+
+        if (++amostras >= limiteAmostras) {
+            envelhecer();
+        }
+    }
+
+    int frequencia(K chave) {
+        int hash = espalhar(chave);
+        int minimo = CONTADOR_MAXIMO;
+        for (int i = 0; i < SEMENTES.length; i++) {
+            minimo = Math.min(minimo, contadores[indice(hash, i)]);
+        }
+        return minimo;
+    }
+
+    private void envelhecer() {
+        for (int i = 0; i < contadores.length; i++) {
+            contadores[i] >>>= 1;
+        }
+        amostras /= 2;
+    }
+
+    private int indice(int hash, int linha) {
+        long h = (hash + SEMENTES[linha]) * SEMENTES[linha];
+        h += h >>> 32;
+        return (int) h & mascara;
+    }
+
+    private static int espalhar(Object chave) {
+        int h = chave.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private record Entrada<V>(V valor, long expiraEm) {}
+
+}
@@ -2,12 +2,9 @@ package br.edu.ifg.event_system.util;
 
 import br.edu.ifg.event_system.dto.DepartamentoRequestDTO;
 import br.edu.ifg.event_system.model.Campus;
-import br.edu.ifg.event_system.model.User;
 import br.edu.ifg.event_system.service.CampusService;
-import br.edu.ifg.event_system.service.UserService;
+import br.edu.ifg.event_system.service.UsuarioLogadoService;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 
 public class DepartamentoUtils {
 
@@ -17,7 +14,6 @@ public class DepartamentoUtils {
 
     public static class DepartamentoValidationData {
         private Campus campus;
-        private User usuarioLogado;
 
         public Campus getCampus() {
             return campus;
@@ -25,66 +21,42 @@ public class DepartamentoUtils {
         public void setCampus(Campus campus) {
             this.campus = campus;
         }
-        public User getUsuarioLogado() {
-            return usuarioLogado;
-        }
-        public void setUsuarioLogado(User usuarioLogado) {
-            this.usuarioLogado = usuarioLogado;
-        }
-
     }
 
     public static ResponseEntity<Object> validarCampusEPermissao(DepartamentoRequestDTO request,
                                                                  CampusService campusService,
-                                                                 UserService userService) {
+                                                                 UsuarioLogadoService usuarioLogadoService) {
         Campus campus = campusService.buscarPorId(request.getCampusId());
         if (campus == null) {
             return ResponseEntity.badRequest().body("Campus inválido ou não encontrado.");
         }
 
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        User usuarioLogado = userService.buscarPorUsername(auth.getName());
-
-        boolean isAdminGeral = usuarioLogado.getRoles().stream()
-                .anyMatch(r -> r.getName().equals("ADMIN_GERAL"));
-        if (isAdminGeral) {
-            DepartamentoValidationData data = new DepartamentoValidationData();
-            data.setCampus(campus);
-            data.setUsuarioLogado(usuarioLogado);
-            return ResponseEntity.ok(data);
+        EscopoAutorizacao escopo = usuarioLogadoService.obterEscopo();
+        if (escopo.isAdminGeral()) {
+            return ResponseEntity.ok(dadosValidados(campus));
         }
 
-        boolean isAdminCampus = usuarioLogado.getRoles().stream()
-                .anyMatch(r -> r.getName().equals("ADMIN_CAMPUS"));
-        if (isAdminCampus) {
-            boolean gerenciaEsteCampus = usuarioLogado.getCampusQueAdministro().stream()
-                    .anyMatch(c -> c.getId().equals(campus.getId()));
-            if (!gerenciaEsteCampus) {
+        if (escopo.isAdminCampus()) {
+            if (!escopo.administraCampus(campus.getId())) {
                 return ResponseEntity.status(403).body("Você não gerencia este campus.");
             }
-            DepartamentoValidationData data = new DepartamentoValidationData();
-            data.setCampus(campus);
-            data.setUsuarioLogado(usuarioLogado);
-            return ResponseEntity.ok(data);
+            return ResponseEntity.ok(dadosValidados(campus));
         }
 
-        boolean isAdminDepartamento = usuarioLogado.getRoles().stream()
-                .anyMatch(r -> r.getName().equals("ADMIN_DEPARTAMENTO"));
-        if (isAdminDepartamento) {
-            boolean gerenciaDepartamentoNesteCampus = usuarioLogado.getDepartamentosQueAdministro().stream()
-                    .anyMatch(d -> d.getCampus() != null && d.getCampus().getId().equals(campus.getId()));
-
-            if (!gerenciaDepartamentoNesteCampus) {
+        if (escopo.isAdminDepartamento()) {
+            if (!escopo.administraDepartamentoNoCampus(campus.getId())) {
                 return ResponseEntity.status(403).body("Você não administra departamentos neste campus.");
             }
-
-            DepartamentoValidationData data = new DepartamentoValidationData();
-            data.setCampus(campus);
-            data.setUsuarioLogado(usuarioLogado);
-            return ResponseEntity.ok(data);
+            return ResponseEntity.ok(dadosValidados(campus));
         }
 
         return ResponseEntity.status(403).body("Você não tem permissão para esta operação.");
     }
 
-}
\ No newline at end of file
+    private static DepartamentoValidationData dadosValidados(Campus campus) {
+        DepartamentoValidationData data = new DepartamentoValidationData();
+        data.setCampus(campus);
+        return data;
+    }
+
+}
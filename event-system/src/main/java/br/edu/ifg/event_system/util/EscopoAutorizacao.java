@@ -0,0 +1,210 @@
+package br.edu.ifg.event_system.util;
+
+import br.edu.ifg.event_system.model.Campus;
+import br.edu.ifg.event_system.model.Departamento;
+import br.edu.ifg.event_system.model.Evento;
+import br.edu.ifg.event_system.model.Role;
+import br.edu.ifg.event_system.model.User;
+import org.hibernate.Hibernate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Permissões administrativas de um usuário compiladas em estruturas primitivas: os papéis
+ * viram uma máscara de bits e os campus e departamentos administrados viram vetores
+ * ordenados de ids. A compilação percorre as coleções uma única vez; depois
+ * disso cada verificação é uma operação de bits ou uma busca binária, sem streams,
+ * comparações de strings ou alocação de objetos.
+ * <p>
+ * As regras reproduzem as verificações que existiam em {@link EventoUtils},
+ * {@link DepartamentoUtils} e nos controllers.
+ */
+public final class EscopoAutorizacao {
+
+    public static final int ADMIN_GERAL = 1;
+    public static final int ADMIN_CAMPUS = 1 << 1;
+    public static final int ADMIN_DEPARTAMENTO = 1 << 2;
+
+    private static final long[] VAZIO = new long[0];
+
+    private final int papeis;
+    private final Long userId;
+    private final long[] campusIds;
+    private final long[] departamentoIds;
+    private final long[] campusDosDepartamentos;
+
+    EscopoAutorizacao(int papeis, Long userId, long[] campusIds, long[] departamentoIds, long[] campusDosDepartamentos) {
+        this.papeis = papeis;
+        this.userId = userId;
+        this.campusIds = campusIds;
+        this.departamentoIds = departamentoIds;
+        this.campusDosDepartamentos = campusDosDepartamentos;
+    }
+
+    /**
+     * Com os papéis ainda não carregados (coleção lazy), usa a máscara gravada em
+     * {@code users.roles_mask} em vez de consultar {@code users_roles}.
+     */
+    public static EscopoAutorizacao de(User user) {
+        int mascara = Hibernate.isInitialized(user.getRoles())
+                ? mascaraDe(user.getRoles())
+                : user.getRolesMask();
+
+        List<Long> campusDosDepartamentos = new ArrayList<>();
+        for (Departamento departamento : user.getDepartamentosQueAdministro()) {
+            Campus campus = departamento.getCampus();
+            if (campus != null) {
+                campusDosDepartamentos.add(campus.getId());
+            }
+        }
+
+        return new EscopoAutorizacao(mascara, user.getId(),
+                idsOrdenados(user.getCampusQueAdministro().stream().map(Campus::getId).toList()),
+                idsOrdenados(user.getDepartamentosQueAdministro().stream().map(Departamento::getId).toList()),
+                idsOrdenados(campusDosDepartamentos));
+    }
+
+    /**
+     * Máscara dos papéis administrativos, no formato da coluna {@code users.roles_mask}.
+     */
+    public static int mascaraDe(Collection<Role> roles) {
+        int mascara = 0;
+        for (Role role : roles) {
+            mascara |= bitDoPapel(role.getName());
+        }
+        return mascara;
+    }
+
+    /**
+     * Compila o escopo a partir de valores já extraídos (ex.: claims de um token), sem
+     * precisar da entidade {@link User}.
+     */
+    public static EscopoAutorizacao compilar(Long userId,
+                                             Collection<String> papeis,
+                                             Collection<? extends Number> campusIds,
+                                             Collection<? extends Number> departamentoIds,
+                                             Collection<? extends Number> campusDosDepartamentos) {
+        int mascara = 0;
+        for (String papel : papeis) {
+            mascara |= bitDoPapel(papel);
+        }
+        return new EscopoAutorizacao(mascara, userId, idsOrdenados(campusIds),
+                idsOrdenados(departamentoIds), idsOrdenados(campusDosDepartamentos));
+    }
+
+    /**
+     * Os bits são gravados em {@code users.roles_mask} e repetidos na consulta que a
+     * preenche ({@code UserRepository#recalcularMascarasDePapeis}); não podem mudar.
+     *
+     * @return o bit do papel, ou 0 para papéis sem efeito administrativo (ex.: USER)
+     */
+    public static int bitDoPapel(String nome) {
+        if (nome == null) {
+            return 0;
+        }
+        return switch (nome) {
+            case "ADMIN_GERAL" -> ADMIN_GERAL;
+            case "ADMIN_CAMPUS" -> ADMIN_CAMPUS;
+            case "ADMIN_DEPARTAMENTO" -> ADMIN_DEPARTAMENTO;
+            default -> 0;
+        };
+    }
+
+    public int getPapeis() {
+        return papeis;
+    }
+
+    public boolean possui(int papel) {
+        return (papeis & papel) != 0;
+    }
+
+    public boolean isAdminGeral() {
+        return possui(ADMIN_GERAL);
+    }
+
+    public boolean isAdminCampus() {
+        return possui(ADMIN_CAMPUS);
+    }
+
+    public boolean isAdminDepartamento() {
+        return possui(ADMIN_DEPARTAMENTO);
+    }
+
+    public boolean isUsuario(Long id) {
+        return id != null && id.equals(userId);
+    }
+
+    /**
+     * @return true se o campus está entre os administrados, independentemente do papel
+     */
+    public boolean administraCampus(Long campusId) {
+        return contem(campusIds, campusId);
+    }
+
+    /**
+     * @return true se o departamento está entre os administrados, independentemente do papel
+     */
+    public boolean administraDepartamento(Long departamentoId) {
+        return contem(departamentoIds, departamentoId);
+    }
+
+    public boolean administraDepartamentoNoCampus(Long campusId) {
+        return contem(campusDosDepartamentos, campusId);
+    }
+
+    /**
+     * Pode gerenciar o evento o administrador geral, o administrador do campus do evento ou
+     * o administrador do departamento do evento.
+     */
+    public boolean podeGerenciarEvento(Long campusId, Long departamentoId) {
+        return isAdminGeral()
+                || (isAdminCampus() && administraCampus(campusId))
+                || (isAdminDepartamento() && administraDepartamento(departamentoId));
+    }
+
+    public boolean podeGerenciarEvento(Evento evento) {
+        Campus campus = evento.getCampus();
+        Departamento departamento = evento.getDepartamento();
+        return podeGerenciarEvento(campus == null ? null : campus.getId(),
+                departamento == null ? null : departamento.getId());
+    }
+
+    public long[] getCampusIds() {
+        return campusIds.clone();
+    }
+
+    public long[] getDepartamentoIds() {
+        return departamentoIds.clone();
+    }
+
+    public long[] getCampusDosDepartamentos() {
+        return campusDosDepartamentos.clone();
+    }
+
+    private static boolean contem(long[] ids, Long id) {
+        return id != null && Arrays.binarySearch(ids, id) >= 0;
+    }
+
+    private static long[] idsOrdenados(Collection<? extends Number> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return VAZIO;
+        }
+        long[] valores = new long[ids.size()];
+        int quantidade = 0;
+        for (Number id : ids) {
+            if (id != null) {
+                valores[quantidade++] = id.longValue();
+            }
+        }
+        return ordenar(Arrays.copyOf(valores, quantidade));
+    }
+
+    private static long[] ordenar(long[] ids) {
+        Arrays.sort(ids);
+        return ids;
+    }
+
+}
@@ -8,7 +8,7 @@ import br.edu.ifg.event_system.repository.CampoValorRepository;
 import br.edu.ifg.event_system.service.CampusService;
 import br.edu.ifg.event_system.service.DepartamentoService;
 import br.edu.ifg.event_system.service.EventoService;
-import br.edu.ifg.event_system.service.UserService;
+import br.edu.ifg.event_system.service.UsuarioLogadoService;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.http.HttpStatus;
@@ -18,6 +18,7 @@ import org.springframework.security.core.context.SecurityContextHolder;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -25,9 +26,6 @@ import java.util.stream.Collectors;
 
 public class EventoUtils {
 
-    private static final String ROLE_ADMIN_GERAL = "ADMIN_GERAL";
-    private static final String ROLE_ADMIN_CAMPUS = "ADMIN_CAMPUS";
-    private static final String ROLE_ADMIN_DEPARTAMENTO = "ADMIN_DEPARTAMENTO";
     private static final Logger logger = LogManager.getLogger(EventoUtils.class);
 
     private EventoUtils() {
@@ -37,7 +35,6 @@ public class EventoUtils {
     public static class EventoValidationData {
         private Campus campus;
         private Departamento departamento;
-        private User usuarioLogado;
 
         public Campus getCampus() {
             return campus;
@@ -52,19 +49,12 @@ public class EventoUtils {
         public void setDepartamento(Departamento departamento) {
             this.departamento = departamento;
         }
-
-        public User getUsuarioLogado() {
-            return usuarioLogado;
-        }
-        public void setUsuarioLogado(User usuarioLogado) {
-            this.usuarioLogado = usuarioLogado;
-        }
     }
 
     public static ResponseEntity<Object> validarDadosIniciais(EventoRequestDTO request,
                                                               CampusService campusService,
                                                               DepartamentoService departamentoService,
-                                                              UserService userService)
+                                                              UsuarioLogadoService usuarioLogadoService)
     {
         ResponseEntity<Object> validacaoCampusDepto = validarCampusEDepartamento(
                 request, campusService, departamentoService);
@@ -75,16 +65,15 @@ public class EventoUtils {
         Campus campus = campusService.buscarPorId(request.getCampusId());
         Departamento departamento = departamentoService.buscarPorId(request.getDepartamentoId());
 
-        ResponseEntity<Object> validacaoUsuario = obterUsuarioLogado(userService);
+        ResponseEntity<Object> validacaoUsuario = obterEscopo(usuarioLogadoService);
         if (validacaoUsuario.getStatusCode() != HttpStatus.OK) {
             return validacaoUsuario;
         }
-        User usuarioLogado = (User) validacaoUsuario.getBody();
+        EscopoAutorizacao escopo = (EscopoAutorizacao) validacaoUsuario.getBody();
 
-        ResponseEntity<Object> permissao = verificarPermissoesCampusEDepartamento(
-                usuarioLogado, campus, departamento);
-        if (permissao.getStatusCode() != HttpStatus.OK) {
-            return permissao;
+        String negacao = negarPermissaoCampusEDepartamento(escopo, campus, departamento);
+        if (negacao != null) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(negacao);
         }
 
         ResponseEntity<Object> validacaoDatas = validarDatas(request);
@@ -95,7 +84,6 @@ public class EventoUtils {
         EventoValidationData result = new EventoValidationData();
         result.setCampus(campus);
         result.setDepartamento(departamento);
-        result.setUsuarioLogado(usuarioLogado);
         return ResponseEntity.ok(result);
     }
 
@@ -119,48 +107,38 @@ public class EventoUtils {
         return ResponseEntity.ok().build();
     }
 
-    private static ResponseEntity<Object> obterUsuarioLogado(UserService userService) {
+    private static ResponseEntity<Object> obterEscopo(UsuarioLogadoService usuarioLogadoService) {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         if (auth == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Nenhum usuário logado.");
         }
 
-        User usuarioLogado = userService.buscarPorUsername(auth.getName());
-        if (usuarioLogado == null) {
+        EscopoAutorizacao escopo = usuarioLogadoService.obterEscopo();
+        if (escopo == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Usuário não encontrado.");
         }
 
-        return ResponseEntity.ok(usuarioLogado);
+        return ResponseEntity.ok(escopo);
     }
 
-    private static ResponseEntity<Object> verificarPermissoesCampusEDepartamento(
-            User usuario, Campus campus, Departamento departamento) {
-
-        if (isAdminGeral(usuario)) {
-            return ResponseEntity.ok().build();
-        }
-
-        boolean isAdminCampus = usuario.getRoles().stream()
-                .anyMatch(r -> r.getName().equals(ROLE_ADMIN_CAMPUS));
-
-        if (isAdminCampus) {
-            boolean gerenciaCampus = usuario.getCampusQueAdministro().stream()
-                    .anyMatch(c -> c.getId().equals(campus.getId()));
-            if (!gerenciaCampus) {
-                return ResponseEntity.status(HttpStatus.FORBIDDEN)
-                        .body("Você não gerencia o campus deste departamento.");
-            }
-            return ResponseEntity.ok().build();
+    /**
+     * @return o motivo da recusa, ou null se o usuário pode gerenciar eventos do departamento
+     */
+    private static String negarPermissaoCampusEDepartamento(EscopoAutorizacao escopo, Campus campus,
+                                                            Departamento departamento) {
+        if (escopo.isAdminGeral()) {
+            return null;
         }
 
-        boolean gerenciaDepto = usuario.getDepartamentosQueAdministro().stream()
-                .anyMatch(d -> d.getId().equals(departamento.getId()));
-        if (!gerenciaDepto) {
-            return ResponseEntity.status(HttpStatus.FORBIDDEN)
-                    .body("Você não gerencia este departamento.");
+        if (escopo.isAdminCampus()) {
+            return escopo.administraCampus(campus.getId())
+                    ? null
+                    : "Você não gerencia o campus deste departamento.";
         }
 
-        return ResponseEntity.ok().build();
+        return escopo.administraDepartamento(departamento.getId())
+                ? null
+                : "Você não gerencia este departamento.";
     }
 
     private static ResponseEntity<Object> validarDatas(EventoRequestDTO request) {
@@ -171,6 +149,10 @@ public class EventoUtils {
             return ResponseEntity.badRequest().body("Data fim não pode ser anterior à data início.");
         }
 
+        if (request.getModoAlocacao() == Evento.ModoAlocacao.SORTEIO && request.getDataLimiteInscricao() == null) {
+            return ResponseEntity.badRequest().body("Eventos com sorteio precisam de uma data limite de inscrição.");
+        }
+
         return ResponseEntity.ok().build();
     }
 
@@ -199,6 +181,8 @@ public class EventoUtils {
         } else {
             criarCamposAdicionais(salvo, request, campoAdicionalRepository);
         }
+        // Os campos adicionais são gravados depois do evento; avisa o catálogo de novo.
+        eventoService.publicarAlteracao(salvo.getId());
 
         return ResponseEntity.ok(eventoService.buscarPorId(salvo.getId()));
     }
@@ -214,6 +198,12 @@ public class EventoUtils {
         evento.setDataLimiteInscricao(request.getDataLimiteInscricao());
         evento.setVagas(request.getVagas());
         evento.setEstudanteIfg(request.getEstudanteIfg());
+        if (request.getFilaVirtual() != null) {
+            evento.setFilaVirtual(request.getFilaVirtual());
+        }
+        if (request.getModoAlocacao() != null && evento.getSorteioRealizadoEm() == null) {
+            evento.setModoAlocacao(request.getModoAlocacao());
+        }
     }
 
     private static void criarCamposAdicionais(Evento evento, EventoRequestDTO request,
@@ -336,66 +326,26 @@ public class EventoUtils {
         }
     }
 
-    public static ResponseEntity<Object> checarPermissaoEvento(User usuarioLogado, Evento evento) {
-        if (isAdminGeral(usuarioLogado)) {
-            return ResponseEntity.ok().build();
-        }
-
-        ResponseEntity<Object> permissaoCampus = checarPermissaoCampus(usuarioLogado, evento.getCampus());
-        if (permissaoCampus.getStatusCode() == HttpStatus.OK) {
-            return ResponseEntity.ok().build();
-        }
-
-        ResponseEntity<Object> permissaoDepartamento = checarPermissaoDepartamento(usuarioLogado, evento.getDepartamento());
-        if (permissaoDepartamento.getStatusCode() == HttpStatus.OK) {
-            return ResponseEntity.ok().build();
-        }
-
-        return ResponseEntity.status(HttpStatus.FORBIDDEN)
-                .body("Você não tem permissão para este evento.");
+    public static boolean podeGerenciarEvento(EscopoAutorizacao escopo, Evento evento) {
+        return escopo.podeGerenciarEvento(evento);
     }
 
-    private static ResponseEntity<Object> checarPermissaoCampus(User usuarioLogado, Campus campus) {
-        boolean isAdminCampus = usuarioLogado.getRoles().stream()
-                .anyMatch(r -> r.getName().equals(ROLE_ADMIN_CAMPUS));
-
-        if (!isAdminCampus) {
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
-        }
-
-        boolean gerenciaCampus = usuarioLogado.getCampusQueAdministro().stream()
-                .anyMatch(c -> c.getId().equals(campus.getId()));
-
-        if (!gerenciaCampus) {
-            return ResponseEntity.status(HttpStatus.FORBIDDEN)
-                    .body("Você não gerencia o campus deste evento.");
-        }
-
-        return ResponseEntity.ok().build();
-    }
-
-    private static ResponseEntity<Object> checarPermissaoDepartamento(User usuarioLogado, Departamento departamento) {
-        boolean isAdminDepartamento = usuarioLogado.getRoles().stream()
-                .anyMatch(r -> r.getName().equals(ROLE_ADMIN_DEPARTAMENTO));
-
-        if (!isAdminDepartamento) {
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
-        }
-
-        boolean gerenciaDepartamento = usuarioLogado.getDepartamentosQueAdministro().stream()
-                .anyMatch(d -> d.getId().equals(departamento.getId()));
-
-        if (!gerenciaDepartamento) {
-            return ResponseEntity.status(HttpStatus.FORBIDDEN)
-                    .body("Você não gerencia o departamento deste evento.");
-        }
-
-        return ResponseEntity.ok().build();
-    }
-
-    private static boolean isAdminGeral(User user) {
-        return user.getRoles().stream()
-                .anyMatch(r -> r.getName().equals(ROLE_ADMIN_GERAL));
+    /**
+     * Campus e departamentos cujos eventos o usuário pode gerenciar, com as mesmas regras de
+     * {@link EscopoAutorizacao#podeGerenciarEvento(Evento)}, para que o filtro seja feito na consulta.
+     */
+    public static EventoService.EscopoGerencia escopoGerencia(EscopoAutorizacao escopo) {
+        if (escopo.isAdminGeral()) {
+            return EventoService.EscopoGerencia.todos();
+        }
+
+        List<Long> campusIds = escopo.isAdminCampus()
+                ? Arrays.stream(escopo.getCampusIds()).boxed().toList()
+                : List.of();
+        List<Long> departamentoIds = escopo.isAdminDepartamento()
+                ? Arrays.stream(escopo.getDepartamentoIds()).boxed().toList()
+                : List.of();
+        return new EventoService.EscopoGerencia(false, campusIds, departamentoIds);
     }
 
-}
\ No newline at end of file
+}
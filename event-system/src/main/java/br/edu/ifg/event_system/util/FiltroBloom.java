@@ -0,0 +1,85 @@
+package br.edu.ifg.event_system.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom para chaves de texto: responde "com certeza não contém" ou "talvez
+ * contenha" consultando um número fixo de bits, sem guardar as chaves. Adições e consultas
+ * podem acontecer em paralelo; não há remoção, então quem usa reconstrói o filtro quando o
+ * conjunto muda.
+ */
+public final class FiltroBloom {
+
+    private final AtomicLongArray bits;
+    private final int quantidadeBits;
+    private final int quantidadeHashes;
+
+    /**
+     * @param capacidade        quantidade de chaves esperada
+     * @param taxaFalsoPositivo taxa de falsos positivos desejada com {@code capacidade} chaves
+     */
+    public FiltroBloom(int capacidade, double taxaFalsoPositivo) {
+        if (capacidade <= 0) {
+            throw new IllegalArgumentException("A capacidade do filtro deve ser positiva.");
+        }
+        if (taxaFalsoPositivo <= 0 || taxaFalsoPositivo >= 1) {
+            throw new IllegalArgumentException("A taxa de falsos positivos deve estar entre 0 e 1.");
+        }
+        double ln2 = Math.log(2);
+        long bitsNecessarios = (long) Math.ceil(-capacidade * Math.log(taxaFalsoPositivo) / (ln2 * ln2));
+        this.quantidadeBits = (int) Math.max(64, Math.min(bitsNecessarios, Integer.MAX_VALUE - 63L));
+        this.quantidadeHashes = Math.max(1, (int) Math.round((double) quantidadeBits / capacidade * ln2));
+        this.bits = new AtomicLongArray((quantidadeBits + 63) / 64);
+    }
+
+    public void adicionar(String chave) {
+        long hash = hash(chave);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < quantidadeHashes; i++) {
+            int bit = Math.floorMod(h1 + i * h2, quantidadeBits);
+            int posicao = bit >>> 6;
+            long mascara = 1L << bit;
+            long atual;
+            do {
+                atual = bits.get(posicao);
+            } while ((atual & mascara) == 0 && !bits.compareAndSet(posicao, atual, atual | mascara));
+        }
+    }
+
+    /**
+     * @return false se a chave certamente nunca foi adicionada
+     */
+    public boolean talvezContenha(String chave) {
+        long hash = hash(chave);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < quantidadeHashes; i++) {
+            int bit = Math.floorMod(h1 + i * h2, quantidadeBits);
+            if ((bits.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * FNV-1a de 64 bits seguido da mistura final do MurmurHash3, para espalhar bem chaves
+     * parecidas (ex.: {@code u:1}, {@code u:2}).
+     */
+    private static long hash(String chave) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : chave.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+}
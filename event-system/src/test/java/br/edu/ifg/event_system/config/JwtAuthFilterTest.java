@@ -1,9 +1,7 @@
 package br.edu.ifg.event_system.config;
 
-import br.edu.ifg.event_system.model.Role;
-import br.edu.ifg.event_system.model.User;
-import br.edu.ifg.event_system.repository.UserRepository;
-import br.edu.ifg.event_system.service.JwtService;
+import br.edu.ifg.event_system.service.AutenticacaoTokenService;
+import br.edu.ifg.event_system.util.EscopoAutorizacao;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -34,10 +32,7 @@ import static org.mockito.Mockito.*;
 class JwtAuthFilterTest {
 
     @Mock
-    private JwtService jwtService;
-
-    @Mock
-    private UserRepository userRepository;
+    private AutenticacaoTokenService autenticacaoTokenService;
 
     @Mock
     private HttpServletRequest request;
@@ -49,24 +44,17 @@ class JwtAuthFilterTest {
     private FilterChain filterChain;
 
     private JwtAuthFilter jwtAuthFilter;
-    private User testUser;
+    private UsuarioAutenticado principal;
     private SecurityContext securityContext;
 
     @BeforeEach
     void setUp() {
-        jwtAuthFilter = new JwtAuthFilter(jwtService, userRepository);
-
-        testUser = new User();
-        testUser.setUsername("test@ifg.edu.br");
-        testUser.setPassword("encoded_password");
-
-        Role adminRole = new Role();
-        adminRole.setName("ADMIN_GERAL");
+        jwtAuthFilter = new JwtAuthFilter(autenticacaoTokenService);
 
-        Role userRole = new Role();
-        userRole.setName("USER");
-
-        testUser.setRoles(List.of(adminRole, userRole));
+        List<String> roles = List.of("ADMIN_GERAL", "USER");
+        principal = new UsuarioAutenticado(1L, "test@ifg.edu.br", "Test", roles,
+                EscopoAutorizacao.compilar(1L, roles, List.of(), List.of(), List.of()),
+                0L, Long.MAX_VALUE);
 
         securityContext = new SecurityContextImpl();
         SecurityContextHolder.setContext(securityContext);
@@ -82,47 +70,27 @@ class JwtAuthFilterTest {
 
         assertNull(SecurityContextHolder.getContext().getAuthentication());
         verify(filterChain).doFilter(request, response);
-        verify(jwtService, never()).validateToken(anyString());
+        verify(autenticacaoTokenService, never()).autenticar(anyString());
     }
 
     @Test
     void doFilterInternal_WithInvalidToken_ShouldContinueFilterChainWithoutAuthentication() throws ServletException, IOException {
         String invalidToken = "invalid.jwt.token";
         when(request.getHeader("Authorization")).thenReturn("Bearer " + invalidToken);
-        when(jwtService.validateToken(invalidToken)).thenReturn(false);
-
-        jwtAuthFilter.doFilterInternal(request, response, filterChain);
-
-        assertNull(SecurityContextHolder.getContext().getAuthentication());
-        verify(filterChain).doFilter(request, response);
-        verify(jwtService).validateToken(invalidToken);
-        verify(jwtService, never()).getUsernameFromToken(anyString());
-    }
-
-    @Test
-    void doFilterInternal_WithValidTokenButUserNotFound_ShouldContinueFilterChainWithoutAuthentication() throws ServletException, IOException {
-        String validToken = "valid.jwt.token";
-        when(request.getHeader("Authorization")).thenReturn("Bearer " + validToken);
-        when(jwtService.validateToken(validToken)).thenReturn(true);
-        when(jwtService.getUsernameFromToken(validToken)).thenReturn("nonexistent@ifg.edu.br");
-        when(userRepository.findByUsername("nonexistent@ifg.edu.br")).thenReturn(null);
+        when(autenticacaoTokenService.autenticar(invalidToken)).thenReturn(null);
 
         jwtAuthFilter.doFilterInternal(request, response, filterChain);
 
         assertNull(SecurityContextHolder.getContext().getAuthentication());
         verify(filterChain).doFilter(request, response);
-        verify(jwtService).validateToken(validToken);
-        verify(jwtService).getUsernameFromToken(validToken);
-        verify(userRepository).findByUsername("nonexistent@ifg.edu.br");
+        verify(autenticacaoTokenService).autenticar(invalidToken);
     }
 
     @Test
     void doFilterInternal_WithValidTokenAndExistingUser_ShouldAuthenticateAndContinueFilterChain() throws ServletException, IOException {
         String validToken = "valid.jwt.token";
         when(request.getHeader("Authorization")).thenReturn("Bearer " + validToken);
-        when(jwtService.validateToken(validToken)).thenReturn(true);
-        when(jwtService.getUsernameFromToken(validToken)).thenReturn("test@ifg.edu.br");
-        when(userRepository.findByUsername("test@ifg.edu.br")).thenReturn(testUser);
+        when(autenticacaoTokenService.autenticar(validToken)).thenReturn(principal);
 
         jwtAuthFilter.doFilterInternal(request, response, filterChain);
 
@@ -134,10 +102,10 @@ class JwtAuthFilterTest {
         assertTrue(authentication.getAuthorities().contains(new SimpleGrantedAuthority("ROLE_ADMIN_GERAL")));
         assertTrue(authentication.getAuthorities().contains(new SimpleGrantedAuthority("ROLE_USER")));
 
+        assertSame(principal, authentication.getPrincipal());
+
         verify(filterChain).doFilter(request, response);
-        verify(jwtService).validateToken(validToken);
-        verify(jwtService).getUsernameFromToken(validToken);
-        verify(userRepository).findByUsername("test@ifg.edu.br");
+        verify(autenticacaoTokenService).autenticar(validToken);
     }
 
     @Test
@@ -148,16 +116,14 @@ class JwtAuthFilterTest {
 
         assertNull(SecurityContextHolder.getContext().getAuthentication());
         verify(filterChain).doFilter(request, response);
-        verify(jwtService).validateToken("");
+        verify(autenticacaoTokenService).autenticar("");
     }
 
     @Test
     void securityContext_ShouldBeProperlyPopulated() throws ServletException, IOException {
         String validToken = "valid.jwt.token";
         when(request.getHeader("Authorization")).thenReturn("Bearer " + validToken);
-        when(jwtService.validateToken(validToken)).thenReturn(true);
-        when(jwtService.getUsernameFromToken(validToken)).thenReturn("test@ifg.edu.br");
-        when(userRepository.findByUsername("test@ifg.edu.br")).thenReturn(testUser);
+        when(autenticacaoTokenService.autenticar(validToken)).thenReturn(principal);
 
         ArgumentCaptor<Authentication> authCaptor = ArgumentCaptor.forClass(Authentication.class);
 
@@ -3,18 +3,23 @@ package br.edu.ifg.event_system.config;
 import br.edu.ifg.event_system.model.Role;
 import br.edu.ifg.event_system.model.User;
 import br.edu.ifg.event_system.repository.UserRepository;
-import br.edu.ifg.event_system.service.JwtService;
+import br.edu.ifg.event_system.service.AutenticacaoTokenService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.HashSet;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -26,14 +31,14 @@ class SecurityConfigUserDetailsServiceTest {
     private UserRepository userRepository;
 
     @Mock
-    private JwtService jwtService;
+    private AutenticacaoTokenService autenticacaoTokenService;
 
     private SecurityConfig securityConfig;
     private UserDetailsService userDetailsService;
 
     @BeforeEach
     void setUp() {
-        securityConfig = new SecurityConfig(userRepository, jwtService);
+        securityConfig = new SecurityConfig(userRepository, autenticacaoTokenService, 4);
         userDetailsService = securityConfig.userDetailsService();
     }
 
@@ -50,12 +55,12 @@ class SecurityConfigUserDetailsServiceTest {
         Role userRole = new Role();
         userRole.setName("USER");
 
-        List<Role> roles = new ArrayList<>();
+        Set<Role> roles = new HashSet<>();
         roles.add(adminRole);
         roles.add(userRole);
         user.setRoles(roles);
 
-        when(userRepository.findByUsername("test@ifg.edu.br")).thenReturn(user);
+        when(userRepository.findComRolesByUsername("test@ifg.edu.br")).thenReturn(user);
 
         UserDetails userDetails = userDetailsService.loadUserByUsername("test@ifg.edu.br");
 
@@ -66,12 +71,12 @@ class SecurityConfigUserDetailsServiceTest {
         assertTrue(userDetails.getAuthorities().contains(new SimpleGrantedAuthority("ROLE_USER")));
         assertEquals(2, userDetails.getAuthorities().size());
 
-        verify(userRepository).findByUsername("test@ifg.edu.br");
+        verify(userRepository).findComRolesByUsername("test@ifg.edu.br");
     }
 
     @Test
     void loadUserByUsername_WhenUserDoesNotExist_ReturnsDummyUser() {
-        when(userRepository.findByUsername("nonexistent@ifg.edu.br")).thenReturn(null);
+        when(userRepository.findComRolesByUsername("nonexistent@ifg.edu.br")).thenReturn(null);
 
         UserDetails userDetails = userDetailsService.loadUserByUsername("nonexistent@ifg.edu.br");
 
@@ -81,19 +86,61 @@ class SecurityConfigUserDetailsServiceTest {
         assertTrue(userDetails.getAuthorities().contains(new SimpleGrantedAuthority("ROLE_USER")));
         assertEquals(1, userDetails.getAuthorities().size());
 
-        verify(userRepository).findByUsername("nonexistent@ifg.edu.br");
+        verify(userRepository).findComRolesByUsername("nonexistent@ifg.edu.br");
     }
 
     @Test
     void loadUserByUsername_WithNullUsername_StillQueriesRepository() {
-        when(userRepository.findByUsername(null)).thenReturn(null);
+        when(userRepository.findComRolesByUsername(null)).thenReturn(null);
 
         UserDetails userDetails = userDetailsService.loadUserByUsername(null);
 
         assertNotNull(userDetails);
         assertEquals("dummy_user", userDetails.getUsername());
 
-        verify(userRepository).findByUsername(null);
+        verify(userRepository).findComRolesByUsername(null);
+    }
+
+    @Test
+    void authenticate_WithLegacyHash_ShouldAcceptAndRehashWithCurrentEncoder() {
+        User user = new User();
+        user.setUsername("test@ifg.edu.br");
+        user.setPassword(new BCryptPasswordEncoder(4).encode("senha123"));
+        user.setRoles(new HashSet<>());
+        when(userRepository.findComRolesByUsername("test@ifg.edu.br")).thenReturn(user);
+        when(userRepository.findByUsername("test@ifg.edu.br")).thenReturn(user);
+
+        Authentication autenticacao = securityConfig.authenticationProvider()
+                .authenticate(new UsernamePasswordAuthenticationToken("test@ifg.edu.br", "senha123"));
+
+        assertTrue(autenticacao.isAuthenticated());
+        verify(userRepository).save(user);
+        assertTrue(user.getPassword().startsWith("{bcrypt}$2a$04$"));
+        assertTrue(securityConfig.passwordEncoder().matches("senha123", user.getPassword()));
+    }
+
+    @Test
+    void authenticate_WithCurrentHash_ShouldNotRehash() {
+        User user = new User();
+        user.setUsername("test@ifg.edu.br");
+        user.setPassword(securityConfig.passwordEncoder().encode("senha123"));
+        user.setRoles(new HashSet<>());
+        when(userRepository.findComRolesByUsername("test@ifg.edu.br")).thenReturn(user);
+
+        securityConfig.authenticationProvider()
+                .authenticate(new UsernamePasswordAuthenticationToken("test@ifg.edu.br", "senha123"));
+
+        verify(userRepository, never()).save(any());
+    }
+
+    @Test
+    void authenticate_WhenUserDoesNotExist_ShouldRejectCredentials() {
+        when(userRepository.findComRolesByUsername("nonexistent@ifg.edu.br")).thenReturn(null);
+        AuthenticationProvider provider = securityConfig.authenticationProvider();
+        UsernamePasswordAuthenticationToken credenciais =
+                new UsernamePasswordAuthenticationToken("nonexistent@ifg.edu.br", "invalid_password");
+
+        assertThrows(BadCredentialsException.class, () -> provider.authenticate(credenciais));
     }
 
-}
\ No newline at end of file
+}
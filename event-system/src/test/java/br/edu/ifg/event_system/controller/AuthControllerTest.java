@@ -2,28 +2,34 @@ package br.edu.ifg.event_system.controller;
 
 import br.edu.ifg.event_system.dto.LoginRequestDTO;
 import br.edu.ifg.event_system.dto.LoginResponseDTO;
+import br.edu.ifg.event_system.dto.RefreshTokenRequestDTO;
 import br.edu.ifg.event_system.dto.RegisterRequestDTO;
 import br.edu.ifg.event_system.model.Role;
 import br.edu.ifg.event_system.model.User;
 import br.edu.ifg.event_system.service.JwtService;
+import br.edu.ifg.event_system.service.RevogacaoTokenService;
 import br.edu.ifg.event_system.service.UserService;
+import br.edu.ifg.event_system.service.UsuarioLogadoService;
+import br.edu.ifg.event_system.service.VerificacaoSenhaService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 
-import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -33,7 +39,7 @@ import static org.mockito.Mockito.*;
 class AuthControllerTest {
 
     @Mock
-    private AuthenticationManager authenticationManager;
+    private VerificacaoSenhaService verificacaoSenhaService;
 
     @Mock
     private JwtService jwtService;
@@ -41,6 +47,12 @@ class AuthControllerTest {
     @Mock
     private UserService userService;
 
+    @Mock
+    private UsuarioLogadoService usuarioLogadoService;
+
+    @Mock
+    private RevogacaoTokenService revogacaoTokenService;
+
     @Mock
     private SecurityContext securityContext;
 
@@ -64,7 +76,7 @@ class AuthControllerTest {
         testUser.setId(1L);
         testUser.setUsername("test@ifg.edu.br");
         testUser.setNomeCompleto("Test User");
-        testUser.setRoles(List.of(userRole));
+        testUser.setRoles(Set.of(userRole));
 
         SecurityContextHolder.setContext(securityContext);
     }
@@ -75,24 +87,21 @@ class AuthControllerTest {
         loginRequest.setUsername("test@ifg.edu.br");
         loginRequest.setPassword("password123");
 
-        when(userService.buscarPorUsername("test@ifg.edu.br")).thenReturn(testUser);
-        when(jwtService.generateToken(eq("test@ifg.edu.br"), anyList())).thenReturn(testToken);
+        when(verificacaoSenhaService.autenticar("test@ifg.edu.br", "password123"))
+                .thenReturn(CompletableFuture.completedFuture(authentication));
+        when(userService.buscarComEscopoPorUsername("test@ifg.edu.br")).thenReturn(testUser);
+        when(jwtService.generateToken(testUser)).thenReturn(testToken);
+        when(jwtService.generateRefreshToken(testUser)).thenReturn("jwt.refresh.token");
 
-        ResponseEntity<LoginResponseDTO> response = authController.login(loginRequest);
+        ResponseEntity<LoginResponseDTO> response = authController.login(loginRequest).join();
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
         assertEquals(testToken, response.getBody().getToken());
+        assertEquals("jwt.refresh.token", response.getBody().getRefreshToken());
 
-        verify(authenticationManager).authenticate(
-                argThat(auth ->
-                        auth instanceof UsernamePasswordAuthenticationToken &&
-                                "test@ifg.edu.br".equals(auth.getPrincipal()) &&
-                                "password123".equals(auth.getCredentials())
-                )
-        );
-        verify(userService).buscarPorUsername("test@ifg.edu.br");
-        verify(jwtService).generateToken(eq("test@ifg.edu.br"), anyList());
+        verify(userService).buscarComEscopoPorUsername("test@ifg.edu.br");
+        verify(jwtService).generateToken(testUser);
     }
 
     @Test
@@ -101,17 +110,85 @@ class AuthControllerTest {
         loginRequest.setUsername("test@ifg.edu.br");
         loginRequest.setPassword("wrongpassword");
 
-        when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
-                .thenThrow(new BadCredentialsException("Bad credentials"));
+        when(verificacaoSenhaService.autenticar("test@ifg.edu.br", "wrongpassword"))
+                .thenReturn(CompletableFuture.supplyAsync(() -> {
+                    throw new BadCredentialsException("Bad credentials");
+                }));
 
-        ResponseEntity<LoginResponseDTO> response = authController.login(loginRequest);
+        ResponseEntity<LoginResponseDTO> response = authController.login(loginRequest).join();
 
         assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode());
         assertNull(response.getBody());
 
-        verify(authenticationManager).authenticate(any(UsernamePasswordAuthenticationToken.class));
-        verify(userService, never()).buscarPorUsername(anyString());
-        verify(jwtService, never()).generateToken(anyString(), anyList());
+        verify(userService, never()).buscarComEscopoPorUsername(anyString());
+        verify(jwtService, never()).generateToken(any(User.class));
+    }
+
+    @Test
+    void login_WhenVerificationPoolIsSaturated_ShouldReturnTooManyRequests() {
+        LoginRequestDTO loginRequest = new LoginRequestDTO();
+        loginRequest.setUsername("test@ifg.edu.br");
+        loginRequest.setPassword("password123");
+
+        when(verificacaoSenhaService.autenticar("test@ifg.edu.br", "password123"))
+                .thenReturn(CompletableFuture.failedFuture(new RejectedExecutionException()));
+
+        ResponseEntity<LoginResponseDTO> response = authController.login(loginRequest).join();
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, response.getStatusCode());
+        assertEquals("1", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        verify(userService, never()).buscarComEscopoPorUsername(anyString());
+    }
+
+    @Test
+    void refresh_WithValidRefreshToken_ShouldRotateTokens() {
+        JwtService.TokenVerificado renovacao = renovacao("jti-1");
+        when(jwtService.verificar("jwt.refresh.token")).thenReturn(renovacao);
+        when(userService.buscarPorId(1L)).thenReturn(testUser);
+        when(revogacaoTokenService.revogarToken("jti-1", renovacao.expiraEm())).thenReturn(true);
+        when(jwtService.generateToken(testUser)).thenReturn(testToken);
+        when(jwtService.generateRefreshToken(testUser)).thenReturn("jwt.refresh.novo");
+
+        ResponseEntity<LoginResponseDTO> response = authController.refresh(refreshRequest("jwt.refresh.token"));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(testToken, response.getBody().getToken());
+        assertEquals("jwt.refresh.novo", response.getBody().getRefreshToken());
+    }
+
+    @Test
+    void refresh_WithReusedRefreshToken_ShouldReturnUnauthorized() {
+        JwtService.TokenVerificado renovacao = renovacao("jti-1");
+        when(jwtService.verificar("jwt.refresh.token")).thenReturn(renovacao);
+        when(userService.buscarPorId(1L)).thenReturn(testUser);
+        when(revogacaoTokenService.revogarToken("jti-1", renovacao.expiraEm())).thenReturn(false);
+
+        ResponseEntity<LoginResponseDTO> response = authController.refresh(refreshRequest("jwt.refresh.token"));
+
+        assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode());
+        verify(jwtService, never()).generateToken(any(User.class));
+    }
+
+    @Test
+    void refresh_WithAccessToken_ShouldReturnUnauthorized() {
+        when(jwtService.verificar(testToken)).thenReturn(new JwtService.TokenVerificado(null, JwtService.TIPO_ACESSO,
+                "test@ifg.edu.br", 1L, "Test", List.of("USER"), List.of(), List.of(), List.of(), 0L, Long.MAX_VALUE));
+
+        ResponseEntity<LoginResponseDTO> response = authController.refresh(refreshRequest(testToken));
+
+        assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode());
+        verify(revogacaoTokenService, never()).revogarToken(anyString(), anyLong());
+    }
+
+    @Test
+    void logout_WithValidRefreshToken_ShouldRevokeIt() {
+        JwtService.TokenVerificado renovacao = renovacao("jti-1");
+        when(jwtService.verificar("jwt.refresh.token")).thenReturn(renovacao);
+
+        ResponseEntity<Void> response = authController.logout(refreshRequest("jwt.refresh.token"));
+
+        assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
+        verify(revogacaoTokenService).revogarToken("jti-1", renovacao.expiraEm());
     }
 
     @Test
@@ -125,7 +202,7 @@ class AuthControllerTest {
         newUser.setId(2L);
         newUser.setUsername("newuser@ifg.edu.br");
         newUser.setNomeCompleto("New User");
-        newUser.setRoles(new ArrayList<>());
+        newUser.setRoles(new HashSet<>());
 
         when(userService.registrarUsuario("New User", "newuser@ifg.edu.br", "password123"))
                 .thenReturn(newUser);
@@ -160,8 +237,7 @@ class AuthControllerTest {
     @Test
     void getCurrentUser_WhenUserExists_ShouldReturnUser() {
         when(securityContext.getAuthentication()).thenReturn(authentication);
-        when(authentication.getName()).thenReturn("test@ifg.edu.br");
-        when(userService.buscarPorUsername("test@ifg.edu.br")).thenReturn(testUser);
+        when(usuarioLogadoService.obter()).thenReturn(testUser);
         when(authentication.isAuthenticated()).thenReturn(true);
         when(authentication.getPrincipal()).thenReturn("test@ifg.edu.br");
 
@@ -172,17 +248,15 @@ class AuthControllerTest {
         assertEquals(testUser, response.getBody());
 
         verify(securityContext).getAuthentication();
-        verify(authentication).getName();
         verify(authentication).isAuthenticated();
         verify(authentication).getPrincipal();
-        verify(userService).buscarPorUsername("test@ifg.edu.br");
+        verify(usuarioLogadoService).obter();
     }
 
     @Test
     void getCurrentUser_WhenUserDoesNotExist_ShouldReturnNotFound() {
         when(securityContext.getAuthentication()).thenReturn(authentication);
-        when(authentication.getName()).thenReturn("nonexistent@ifg.edu.br");
-        when(userService.buscarPorUsername("nonexistent@ifg.edu.br")).thenReturn(null);
+        when(usuarioLogadoService.obter()).thenReturn(null);
         when(authentication.isAuthenticated()).thenReturn(true);
         when(authentication.getPrincipal()).thenReturn("nonexistent@ifg.edu.br"); // Qualquer valor que não seja "anonymousUser"
 
@@ -192,10 +266,9 @@ class AuthControllerTest {
         assertNull(response.getBody());
 
         verify(securityContext).getAuthentication();
-        verify(authentication).getName();
         verify(authentication).isAuthenticated();
         verify(authentication).getPrincipal();
-        verify(userService).buscarPorUsername("nonexistent@ifg.edu.br");
+        verify(usuarioLogadoService).obter();
     }
 
     @Test
@@ -211,7 +284,7 @@ class AuthControllerTest {
         verify(securityContext).getAuthentication();
         verify(authentication).isAuthenticated();
         verify(authentication, never()).getName();
-        verify(userService, never()).buscarPorUsername(anyString());
+        verify(usuarioLogadoService, never()).obter();
     }
 
     @Test
@@ -229,7 +302,18 @@ class AuthControllerTest {
         verify(authentication).isAuthenticated();
         verify(authentication).getPrincipal();
         verify(authentication, never()).getName();
-        verify(userService, never()).buscarPorUsername(anyString());
+        verify(usuarioLogadoService, never()).obter();
+    }
+
+    private static JwtService.TokenVerificado renovacao(String jti) {
+        return new JwtService.TokenVerificado(jti, JwtService.TIPO_RENOVACAO, "test@ifg.edu.br", 1L, null,
+                List.of(), List.of(), List.of(), List.of(), 0L, System.currentTimeMillis() + 60_000);
+    }
+
+    private static RefreshTokenRequestDTO refreshRequest(String refreshToken) {
+        RefreshTokenRequestDTO request = new RefreshTokenRequestDTO();
+        request.setRefreshToken(refreshToken);
+        return request;
     }
 
-}
\ No newline at end of file
+}
@@ -7,8 +7,9 @@ import br.edu.ifg.event_system.model.Role;
 import br.edu.ifg.event_system.model.User;
 import br.edu.ifg.event_system.service.CampusService;
 import br.edu.ifg.event_system.service.DepartamentoService;
-import br.edu.ifg.event_system.service.UserService;
+import br.edu.ifg.event_system.service.UsuarioLogadoService;
 import br.edu.ifg.event_system.util.DepartamentoUtils;
+import br.edu.ifg.event_system.util.EscopoAutorizacao;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -26,8 +27,10 @@ import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
@@ -49,7 +52,7 @@ class DepartamentoControllerTest {
     private CampusService campusService;
 
     @Mock
-    private UserService userService;
+    private UsuarioLogadoService usuarioLogadoService;
 
     @Mock
     private SecurityContext securityContext;
@@ -84,25 +87,25 @@ class DepartamentoControllerTest {
         adminGeral.setId(1L);
         adminGeral.setUsername("admin.geral@ifg.edu.br");
         adminGeral.setNomeCompleto("Admin Geral");
-        adminGeral.setRoles(List.of(roleAdminGeral));
-        adminGeral.setCampusQueAdministro(new ArrayList<>());
-        adminGeral.setDepartamentosQueAdministro(new ArrayList<>());
+        adminGeral.setRoles(Set.of(roleAdminGeral));
+        adminGeral.setCampusQueAdministro(new HashSet<>());
+        adminGeral.setDepartamentosQueAdministro(new HashSet<>());
 
         adminCampus = new User();
         adminCampus.setId(2L);
         adminCampus.setUsername("admin.campus@ifg.edu.br");
         adminCampus.setNomeCompleto("Admin Campus");
-        adminCampus.setRoles(List.of(roleAdminCampus));
-        adminCampus.setCampusQueAdministro(new ArrayList<>());
-        adminCampus.setDepartamentosQueAdministro(new ArrayList<>());
+        adminCampus.setRoles(Set.of(roleAdminCampus));
+        adminCampus.setCampusQueAdministro(new HashSet<>());
+        adminCampus.setDepartamentosQueAdministro(new HashSet<>());
 
         adminDepartamento = new User();
         adminDepartamento.setId(3L);
         adminDepartamento.setUsername("admin.departamento@ifg.edu.br");
         adminDepartamento.setNomeCompleto("Admin Departamento");
-        adminDepartamento.setRoles(List.of(roleAdminDepartamento));
-        adminDepartamento.setCampusQueAdministro(new ArrayList<>());
-        adminDepartamento.setDepartamentosQueAdministro(new ArrayList<>());
+        adminDepartamento.setRoles(Set.of(roleAdminDepartamento));
+        adminDepartamento.setCampusQueAdministro(new HashSet<>());
+        adminDepartamento.setDepartamentosQueAdministro(new HashSet<>());
 
         campus1 = new Campus();
         campus1.setId(1L);
@@ -165,8 +168,8 @@ class DepartamentoControllerTest {
 
     @Test
     void listarDepartamentosGerenciados_ComoAdminGeral_DeveRetornarTodos() {
-        when(authentication.getName()).thenReturn("admin.geral@ifg.edu.br");
-        when(userService.buscarPorUsername("admin.geral@ifg.edu.br")).thenReturn(adminGeral);
+        when(usuarioLogadoService.obter()).thenReturn(adminGeral);
+        when(usuarioLogadoService.obterEscopo()).thenAnswer(invocacao -> EscopoAutorizacao.de(adminGeral));
         when(departamentoService.listarTodos()).thenReturn(listaDepartamentos);
 
         ResponseEntity<List<Departamento>> response = departamentoController.listarDepartamentosGerenciados();
@@ -178,8 +181,8 @@ class DepartamentoControllerTest {
 
     @Test
     void listarDepartamentosGerenciados_ComoAdminCampus_DeveRetornarDepartamentosDoCampus() {
-        when(authentication.getName()).thenReturn("admin.campus@ifg.edu.br");
-        when(userService.buscarPorUsername("admin.campus@ifg.edu.br")).thenReturn(adminCampus);
+        when(usuarioLogadoService.obter()).thenReturn(adminCampus);
+        when(usuarioLogadoService.obterEscopo()).thenAnswer(invocacao -> EscopoAutorizacao.de(adminCampus));
         when(departamentoService.listarPorCampus(1L)).thenReturn(List.of(departamento1));
 
         ResponseEntity<List<Departamento>> response = departamentoController.listarDepartamentosGerenciados();
@@ -191,8 +194,8 @@ class DepartamentoControllerTest {
 
     @Test
     void listarDepartamentosGerenciados_ComoAdminDepartamento_DeveRetornarDepartamentosGerenciados() {
-        when(authentication.getName()).thenReturn("admin.departamento@ifg.edu.br");
-        when(userService.buscarPorUsername("admin.departamento@ifg.edu.br")).thenReturn(adminDepartamento);
+        when(usuarioLogadoService.obter()).thenReturn(adminDepartamento);
+        when(usuarioLogadoService.obterEscopo()).thenAnswer(invocacao -> EscopoAutorizacao.de(adminDepartamento));
 
         ResponseEntity<List<Departamento>> response = departamentoController.listarDepartamentosGerenciados();
 
@@ -203,8 +206,7 @@ class DepartamentoControllerTest {
 
     @Test
     void listarDepartamentosGerenciados_QuandoUsuarioNaoEncontrado_DeveRetornarNotFound() {
-        when(authentication.getName()).thenReturn("nao.existe@ifg.edu.br");
-        when(userService.buscarPorUsername("nao.existe@ifg.edu.br")).thenReturn(null);
+        when(usuarioLogadoService.obter()).thenReturn(null);
 
         ResponseEntity<List<Departamento>> response = departamentoController.listarDepartamentosGerenciados();
 
@@ -383,8 +385,8 @@ class DepartamentoControllerTest {
     @Test
     void deletar_ComoAdminGeral_DeveDeletarDepartamento() {
         when(departamentoService.buscarPorId(1L)).thenReturn(departamento1);
-        when(authentication.getName()).thenReturn("admin.geral@ifg.edu.br");
-        when(userService.buscarPorUsername("admin.geral@ifg.edu.br")).thenReturn(adminGeral);
+        when(usuarioLogadoService.obter()).thenReturn(adminGeral);
+        when(usuarioLogadoService.obterEscopo()).thenAnswer(invocacao -> EscopoAutorizacao.de(adminGeral));
 
         ResponseEntity<String> response = departamentoController.deletar(1L);
 
@@ -395,8 +397,8 @@ class DepartamentoControllerTest {
     @Test
     void deletar_ComoAdminCampusGerenciandoCampus_DeveDeletarDepartamento() {
         when(departamentoService.buscarPorId(1L)).thenReturn(departamento1);
-        when(authentication.getName()).thenReturn("admin.campus@ifg.edu.br");
-        when(userService.buscarPorUsername("admin.campus@ifg.edu.br")).thenReturn(adminCampus);
+        when(usuarioLogadoService.obter()).thenReturn(adminCampus);
+        when(usuarioLogadoService.obterEscopo()).thenAnswer(invocacao -> EscopoAutorizacao.de(adminCampus));
 
         ResponseEntity<String> response = departamentoController.deletar(1L);
 
@@ -407,8 +409,8 @@ class DepartamentoControllerTest {
     @Test
     void deletar_ComoAdminCampusNaoGerenciandoCampus_DeveRetornarForbidden() {
         when(departamentoService.buscarPorId(2L)).thenReturn(departamento2); // Departamento do campus2
-        when(authentication.getName()).thenReturn("admin.campus@ifg.edu.br");
-        when(userService.buscarPorUsername("admin.campus@ifg.edu.br")).thenReturn(adminCampus);
+        when(usuarioLogadoService.obter()).thenReturn(adminCampus);
+        when(usuarioLogadoService.obterEscopo()).thenAnswer(invocacao -> EscopoAutorizacao.de(adminCampus));
 
         ResponseEntity<String> response = departamentoController.deletar(2L);
 
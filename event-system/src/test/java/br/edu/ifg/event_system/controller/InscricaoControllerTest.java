@@ -1,13 +1,22 @@
 package br.edu.ifg.event_system.controller;
 
 import br.edu.ifg.event_system.dto.CampoValorDTO;
+import br.edu.ifg.event_system.dto.FilaVirtualDTO;
+import br.edu.ifg.event_system.dto.InscricaoCarrinhoRequestDTO;
 import br.edu.ifg.event_system.dto.InscricaoRequestDTO;
 import br.edu.ifg.event_system.dto.InscricaoResponseDTO;
+import br.edu.ifg.event_system.dto.TicketInscricaoDTO;
 import br.edu.ifg.event_system.exception.InscricaoException;
 import br.edu.ifg.event_system.model.*;
 import br.edu.ifg.event_system.service.EventoService;
+import br.edu.ifg.event_system.service.FilaVirtualService;
+import br.edu.ifg.event_system.service.IdempotenciaService;
+import br.edu.ifg.event_system.service.InscricaoAssincronaService;
+import br.edu.ifg.event_system.service.InscricaoExecutorService;
 import br.edu.ifg.event_system.service.InscricaoService;
-import br.edu.ifg.event_system.service.UserService;
+import br.edu.ifg.event_system.service.ReservaVagaService;
+import br.edu.ifg.event_system.service.UsuarioLogadoService;
+import br.edu.ifg.event_system.util.EscopoAutorizacao;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -22,8 +31,13 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -36,11 +50,26 @@ class InscricaoControllerTest {
     private InscricaoService inscricaoService;
 
     @Mock
-    private UserService userService;
+    private UsuarioLogadoService usuarioLogadoService;
 
     @Mock
     private EventoService eventoService;
 
+    @Mock
+    private InscricaoExecutorService inscricaoExecutorService;
+
+    @Mock
+    private IdempotenciaService idempotenciaService;
+
+    @Mock
+    private InscricaoAssincronaService inscricaoAssincronaService;
+
+    @Mock
+    private FilaVirtualService filaVirtualService;
+
+    @Mock
+    private ReservaVagaService reservaVagaService;
+
     @Mock
     private Authentication authentication;
 
@@ -60,12 +89,15 @@ class InscricaoControllerTest {
 
     @BeforeEach
     void setUp() {
+        lenient().when(idempotenciaService.executar(any(), any(), any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<ResponseEntity<Object>>>getArgument(3).get());
+
         // Configurar usuário comum
         usuarioLogado = new User();
         usuarioLogado.setId(1L);
         usuarioLogado.setUsername("usuario@ifg.edu.br");
         usuarioLogado.setNomeCompleto("Usuário Teste");
-        usuarioLogado.setRoles(new ArrayList<>());
+        usuarioLogado.setRoles(new HashSet<>());
 
         // Configurar admin geral
         Role roleAdminGeral = new Role();
@@ -75,7 +107,7 @@ class InscricaoControllerTest {
         adminGeral = new User();
         adminGeral.setId(2L);
         adminGeral.setUsername("admin@ifg.edu.br");
-        adminGeral.setRoles(new ArrayList<>(List.of(roleAdminGeral)));
+        adminGeral.setRoles(new HashSet<>(Set.of(roleAdminGeral)));
 
         camposAdicionais = new ArrayList<>();
         CampoAdicional campo1 = new CampoAdicional();
@@ -129,9 +161,7 @@ class InscricaoControllerTest {
     void listarMinhasInscricoes_ComUsuarioLogado_DeveRetornarInscricoes() {
         try (MockedStatic<SecurityContextHolder> securityContextHolder = Mockito.mockStatic(SecurityContextHolder.class)) {
             securityContextHolder.when(SecurityContextHolder::getContext).thenReturn(securityContext);
-            when(securityContext.getAuthentication()).thenReturn(authentication);
-            when(authentication.getName()).thenReturn("usuario@ifg.edu.br");
-            when(userService.buscarPorUsername("usuario@ifg.edu.br")).thenReturn(usuarioLogado);
+            when(usuarioLogadoService.obterReferencia()).thenReturn(usuarioLogado);
             when(inscricaoService.listarInscricoesDoUsuario(1L)).thenReturn(inscricoes);
 
             ResponseEntity<Object> response = inscricaoController.listarMinhasInscricoes();
@@ -144,7 +174,7 @@ class InscricaoControllerTest {
             List<InscricaoResponseDTO> listaResponse = (List<InscricaoResponseDTO>) response.getBody();
             assertEquals(1, listaResponse.size());
 
-            verify(userService).buscarPorUsername("usuario@ifg.edu.br");
+            verify(usuarioLogadoService).obterReferencia();
             verify(inscricaoService).listarInscricoesDoUsuario(1L);
         }
     }
@@ -153,16 +183,14 @@ class InscricaoControllerTest {
     void listarMinhasInscricoes_SemUsuarioLogado_DeveRetornarUnauthorized() {
         try (MockedStatic<SecurityContextHolder> securityContextHolder = Mockito.mockStatic(SecurityContextHolder.class)) {
             securityContextHolder.when(SecurityContextHolder::getContext).thenReturn(securityContext);
-            when(securityContext.getAuthentication()).thenReturn(authentication);
-            when(authentication.getName()).thenReturn("usuario@ifg.edu.br");
-            when(userService.buscarPorUsername("usuario@ifg.edu.br")).thenReturn(null);
+            when(usuarioLogadoService.obterReferencia()).thenReturn(null);
 
             ResponseEntity<Object> response = inscricaoController.listarMinhasInscricoes();
 
             assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode());
             assertEquals("Usuário não logado.", response.getBody());
 
-            verify(userService).buscarPorUsername("usuario@ifg.edu.br");
+            verify(usuarioLogadoService).obterReferencia();
             verify(inscricaoService, never()).listarInscricoesDoUsuario(anyLong());
         }
     }
@@ -173,36 +201,241 @@ class InscricaoControllerTest {
             securityContextHolder.when(SecurityContextHolder::getContext).thenReturn(securityContext);
             when(securityContext.getAuthentication()).thenReturn(authentication);
             when(authentication.getName()).thenReturn("usuario@ifg.edu.br");
-            when(userService.buscarPorUsername("usuario@ifg.edu.br")).thenReturn(usuarioLogado);
+            when(usuarioLogadoService.obterReferencia()).thenReturn(usuarioLogado);
             when(eventoService.buscarPorId(1L)).thenReturn(evento);
             when(inscricaoService.inscreverUsuarioEmEvento(usuarioLogado, evento)).thenReturn(inscricao);
 
-            ResponseEntity<Object> response = inscricaoController.inscreverNoEvento(1L);
+            ResponseEntity<Object> response = inscricaoController.inscreverNoEvento(1L, null, null);
 
             assertEquals(HttpStatus.OK, response.getStatusCode());
             assertNotNull(response.getBody());
             assertInstanceOf(InscricaoResponseDTO.class, response.getBody());
 
-            verify(userService).buscarPorUsername("usuario@ifg.edu.br");
+            verify(usuarioLogadoService).obterReferencia();
             verify(eventoService).buscarPorId(1L);
             verify(inscricaoService).inscreverUsuarioEmEvento(usuarioLogado, evento);
         }
     }
 
+    @Test
+    void inscreverNoEvento_DeveMontarRespostaSemCarregarAReferenciaDoUsuario() {
+        try (MockedStatic<SecurityContextHolder> securityContextHolder = Mockito.mockStatic(SecurityContextHolder.class)) {
+            securityContextHolder.when(SecurityContextHolder::getContext).thenReturn(securityContext);
+            when(securityContext.getAuthentication()).thenReturn(authentication);
+            when(authentication.getName()).thenReturn("usuario@ifg.edu.br");
+            User referencia = mock(User.class);
+            when(referencia.getId()).thenReturn(1L);
+            inscricao.setUser(referencia);
+            when(usuarioLogadoService.obterReferencia()).thenReturn(referencia);
+            when(usuarioLogadoService.obterNomeCompleto()).thenReturn("Usuário Teste");
+            when(eventoService.buscarPorId(1L)).thenReturn(evento);
+            when(inscricaoService.inscreverUsuarioEmEvento(referencia, evento)).thenReturn(inscricao);
+
+            ResponseEntity<Object> response = inscricaoController.inscreverNoEvento(1L, null, null);
+
+            InscricaoResponseDTO body = assertInstanceOf(InscricaoResponseDTO.class, response.getBody());
+            assertEquals(1L, body.getUserId());
+            assertEquals("Usuário Teste", body.getNomeUsuario());
+            verify(referencia, never()).getNomeCompleto();
+            verify(referencia, never()).getUsername();
+        }
+    }
+
+    @Test
+    void inscreverNoEvento_ComExecutorHabilitado_DeveRotearPelaFaixaDoEvento() {
+        try (MockedStatic<SecurityContextHolder> securityContextHolder = Mockito.mockStatic(SecurityContextHolder.class)) {
+            securityContextHolder.when(SecurityContextHolder::getContext).thenReturn(securityContext);
+            when(securityContext.getAuthentication()).thenReturn(authentication);
+            when(authentication.getName()).thenReturn("usuario@ifg.edu.br");
+            when(usuarioLogadoService.obterReferencia()).thenReturn(usuarioLogado);
+            when(eventoService.buscarPorId(1L)).thenReturn(evento);
+            when(inscricaoExecutorService.isHabilitado()).thenReturn(true);
+            when(inscricaoExecutorService.inscrever(usuarioLogado, evento, null)).thenReturn(inscricao);
+
+            ResponseEntity<Object> response = inscricaoController.inscreverNoEvento(1L, null, null);
+
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+            assertInstanceOf(InscricaoResponseDTO.class, response.getBody());
+
+            verify(inscricaoExecutorService).inscrever(usuarioLogado, evento, null);
+            verify(inscricaoService, never()).inscreverUsuarioEmEvento(any(), any());
+        }
+    }
+
+    @Test
+    void inscreverNoEvento_ComChaveIdempotencia_DeveRepassarChaveDoUsuario() {
+        try (MockedStatic<SecurityContextHolder> securityContextHolder = Mockito.mockStatic(SecurityContextHolder.class)) {
+            securityContextHolder.when(SecurityContextHolder::getContext).thenReturn(securityContext);
+            when(securityContext.getAuthentication()).thenReturn(authentication);
+            when(authentication.getName()).thenReturn("usuario@ifg.edu.br");
+            doReturn(ResponseEntity.ok("resposta memorizada")).when(idempotenciaService)
+                    .executar(eq("usuario@ifg.edu.br"), eq("inscrever:1"), eq("chave-1"), any());
+
+            ResponseEntity<Object> response = inscricaoController.inscreverNoEvento(1L, "chave-1", null);
+
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+            assertEquals("resposta memorizada", response.getBody());
+            verify(usuarioLogadoService, never()).obterReferencia();
+            verify(inscricaoService, never()).inscreverUsuarioEmEvento(any(), any());
+        }
+    }
+
+    @Test
+    void inscreverNoEvento_ComFilaVirtualSemAdmissao_DeveRetornarTooManyRequests() {
+        evento.setFilaVirtual(true);
+        try (MockedStatic<SecurityContextHolder> securityContextHolder = Mockito.mockStatic(SecurityContextHolder.class)) {
+            securityContextHolder.when(SecurityContextHolder::getContext).thenReturn(securityContext);
+            when(securityContext.getAuthentication()).thenReturn(authentication);
+            when(authentication.getName()).thenReturn("usuario@ifg.edu.br");
+            when(usuarioLogadoService.obterReferencia()).thenReturn(usuarioLogado);
+            when(eventoService.buscarPorId(1L)).thenReturn(evento);
+            when(filaVirtualService.verificarAdmissao(1L, "usuario@ifg.edu.br", "token"))
+                    .thenReturn(FilaVirtualService.Admissao.AGUARDANDO);
+
+            ResponseEntity<Object> response = inscricaoController.inscreverNoEvento(1L, null, "token");
+
+            assertEquals(HttpStatus.TOO_MANY_REQUESTS, response.getStatusCode());
+            verify(inscricaoService, never()).inscreverUsuarioEmEvento(any(), any());
+        }
+    }
+
+    @Test
+    void inscreverNoEvento_ComFilaVirtualSemToken_DeveRetornarForbidden() {
+        evento.setFilaVirtual(true);
+        try (MockedStatic<SecurityContextHolder> securityContextHolder = Mockito.mockStatic(SecurityContextHolder.class)) {
+            securityContextHolder.when(SecurityContextHolder::getContext).thenReturn(securityContext);
+            when(securityContext.getAuthentication()).thenReturn(authentication);
+            when(authentication.getName()).thenReturn("usuario@ifg.edu.br");
+            when(usuarioLogadoService.obterReferencia()).thenReturn(usuarioLogado);
+            when(eventoService.buscarPorId(1L)).thenReturn(evento);
+            when(filaVirtualService.verificarAdmissao(1L, "usuario@ifg.edu.br", null))
+                    .thenReturn(FilaVirtualService.Admissao.INVALIDO);
+
+            ResponseEntity<Object> response = inscricaoController.inscreverNoEvento(1L, null, null);
+
+            assertEquals(HttpStatus.FORBIDDEN, response.getStatusCode());
+            verify(inscricaoService, never()).inscreverUsuarioEmEvento(any(), any());
+        }
+    }
+
+    @Test
+    void inscreverNoEvento_ComSalaAbertaSemAdmissao_NaoDeveCarregarUsuarioNemEvento() {
+        try (MockedStatic<SecurityContextHolder> securityContextHolder = Mockito.mockStatic(SecurityContextHolder.class)) {
+            securityContextHolder.when(SecurityContextHolder::getContext).thenReturn(securityContext);
+            when(securityContext.getAuthentication()).thenReturn(authentication);
+            when(authentication.getName()).thenReturn("usuario@ifg.edu.br");
+            when(filaVirtualService.possuiSala(1L)).thenReturn(true);
+            when(filaVirtualService.verificarAdmissao(1L, "usuario@ifg.edu.br", "token"))
+                    .thenReturn(FilaVirtualService.Admissao.AGUARDANDO);
+
+            ResponseEntity<Object> response = inscricaoController.inscreverNoEvento(1L, null, "token");
+
+            assertEquals(HttpStatus.TOO_MANY_REQUESTS, response.getStatusCode());
+            verify(usuarioLogadoService, never()).obterReferencia();
+            verify(eventoService, never()).buscarPorId(anyLong());
+        }
+    }
+
+    @Test
+    void inscreverNoEvento_ComSalaAbertaAdmitido_DeveVerificarAdmissaoUmaVez() {
+        evento.setFilaVirtual(true);
+        try (MockedStatic<SecurityContextHolder> securityContextHolder = Mockito.mockStatic(SecurityContextHolder.class)) {
+            securityContextHolder.when(SecurityContextHolder::getContext).thenReturn(securityContext);
+            when(securityContext.getAuthentication()).thenReturn(authentication);
+            when(authentication.getName()).thenReturn("usuario@ifg.edu.br");
+            when(filaVirtualService.possuiSala(1L)).thenReturn(true);
+            when(filaVirtualService.verificarAdmissao(1L, "usuario@ifg.edu.br", "token"))
+                    .thenReturn(FilaVirtualService.Admissao.ADMITIDO);
+            when(usuarioLogadoService.obterReferencia()).thenReturn(usuarioLogado);
+            when(eventoService.buscarPorId(1L)).thenReturn(evento);
+            when(inscricaoService.inscreverUsuarioEmEvento(usuarioLogado, evento)).thenReturn(inscricao);
+
+            ResponseEntity<Object> response = inscricaoController.inscreverNoEvento(1L, null, "token");
+
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+            verify(filaVirtualService).verificarAdmissao(1L, "usuario@ifg.edu.br", "token");
+        }
+    }
+
+    @Test
+    void inscreverCompletoNoEvento_ComSalaAbertaSemToken_NaoDeveCarregarEvento() {
+        try (MockedStatic<SecurityContextHolder> securityContextHolder = Mockito.mockStatic(SecurityContextHolder.class)) {
+            securityContextHolder.when(SecurityContextHolder::getContext).thenReturn(securityContext);
+            when(securityContext.getAuthentication()).thenReturn(authentication);
+            when(authentication.getName()).thenReturn("usuario@ifg.edu.br");
+            when(filaVirtualService.possuiSala(1L)).thenReturn(true);
+            when(filaVirtualService.verificarAdmissao(1L, "usuario@ifg.edu.br", null))
+                    .thenReturn(FilaVirtualService.Admissao.INVALIDO);
+
+            ResponseEntity<Object> response = inscricaoController.inscreverCompletoNoEvento(inscricaoRequestDTO, false, null, null);
+
+            assertEquals(HttpStatus.FORBIDDEN, response.getStatusCode());
+            verify(eventoService, never()).buscarPorId(anyLong());
+        }
+    }
+
+    @Test
+    void inscreverNoEvento_ComFilaVirtualAdmitido_DeveInscrever() {
+        evento.setFilaVirtual(true);
+        try (MockedStatic<SecurityContextHolder> securityContextHolder = Mockito.mockStatic(SecurityContextHolder.class)) {
+            securityContextHolder.when(SecurityContextHolder::getContext).thenReturn(securityContext);
+            when(securityContext.getAuthentication()).thenReturn(authentication);
+            when(authentication.getName()).thenReturn("usuario@ifg.edu.br");
+            when(usuarioLogadoService.obterReferencia()).thenReturn(usuarioLogado);
+            when(eventoService.buscarPorId(1L)).thenReturn(evento);
+            when(filaVirtualService.verificarAdmissao(1L, "usuario@ifg.edu.br", "token"))
+                    .thenReturn(FilaVirtualService.Admissao.ADMITIDO);
+            when(inscricaoService.inscreverUsuarioEmEvento(usuarioLogado, evento)).thenReturn(inscricao);
+
+            ResponseEntity<Object> response = inscricaoController.inscreverNoEvento(1L, null, "token");
+
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+        }
+    }
+
+    @Test
+    void entrarNaFilaVirtual_EventoSemFila_DeveRetornarBadRequest() {
+        when(eventoService.buscarPorId(1L)).thenReturn(evento);
+
+        ResponseEntity<Object> response = inscricaoController.entrarNaFilaVirtual(1L);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        verify(filaVirtualService, never()).entrar(anyLong(), anyString());
+        verify(filaVirtualService).encerrar(1L);
+    }
+
+    @Test
+    void entrarNaFilaVirtual_EventoComFila_DeveRetornarTicket() {
+        evento.setFilaVirtual(true);
+        FilaVirtualDTO situacao = new FilaVirtualDTO("token", 1L, 1, 1, false, 1);
+        try (MockedStatic<SecurityContextHolder> securityContextHolder = Mockito.mockStatic(SecurityContextHolder.class)) {
+            securityContextHolder.when(SecurityContextHolder::getContext).thenReturn(securityContext);
+            when(securityContext.getAuthentication()).thenReturn(authentication);
+            when(authentication.getName()).thenReturn("usuario@ifg.edu.br");
+            when(eventoService.buscarPorId(1L)).thenReturn(evento);
+            when(filaVirtualService.entrar(1L, "usuario@ifg.edu.br")).thenReturn(situacao);
+
+            ResponseEntity<Object> response = inscricaoController.entrarNaFilaVirtual(1L);
+
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+            assertEquals(situacao, response.getBody());
+        }
+    }
+
     @Test
     void inscreverNoEvento_SemUsuarioLogado_DeveRetornarUnauthorized() {
         try (MockedStatic<SecurityContextHolder> securityContextHolder = Mockito.mockStatic(SecurityContextHolder.class)) {
             securityContextHolder.when(SecurityContextHolder::getContext).thenReturn(securityContext);
             when(securityContext.getAuthentication()).thenReturn(authentication);
             when(authentication.getName()).thenReturn("usuario@ifg.edu.br");
-            when(userService.buscarPorUsername("usuario@ifg.edu.br")).thenReturn(null);
+            when(usuarioLogadoService.obterReferencia()).thenReturn(null);
 
-            ResponseEntity<Object> response = inscricaoController.inscreverNoEvento(1L);
+            ResponseEntity<Object> response = inscricaoController.inscreverNoEvento(1L, null, null);
 
             assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode());
             assertEquals("Usuário não logado.", response.getBody());
 
-            verify(userService).buscarPorUsername("usuario@ifg.edu.br");
+            verify(usuarioLogadoService).obterReferencia();
             verify(eventoService, never()).buscarPorId(anyLong());
             verify(inscricaoService, never()).inscreverUsuarioEmEvento(any(), any());
         }
@@ -214,15 +447,15 @@ class InscricaoControllerTest {
             securityContextHolder.when(SecurityContextHolder::getContext).thenReturn(securityContext);
             when(securityContext.getAuthentication()).thenReturn(authentication);
             when(authentication.getName()).thenReturn("usuario@ifg.edu.br");
-            when(userService.buscarPorUsername("usuario@ifg.edu.br")).thenReturn(usuarioLogado);
+            when(usuarioLogadoService.obterReferencia()).thenReturn(usuarioLogado);
             when(eventoService.buscarPorId(999L)).thenReturn(null);
 
-            ResponseEntity<Object> response = inscricaoController.inscreverNoEvento(999L);
+            ResponseEntity<Object> response = inscricaoController.inscreverNoEvento(999L, null, null);
 
             assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
             assertEquals("Evento inexistente.", response.getBody());
 
-            verify(userService).buscarPorUsername("usuario@ifg.edu.br");
+            verify(usuarioLogadoService).obterReferencia();
             verify(eventoService).buscarPorId(999L);
             verify(inscricaoService, never()).inscreverUsuarioEmEvento(any(), any());
         }
@@ -234,17 +467,17 @@ class InscricaoControllerTest {
             securityContextHolder.when(SecurityContextHolder::getContext).thenReturn(securityContext);
             when(securityContext.getAuthentication()).thenReturn(authentication);
             when(authentication.getName()).thenReturn("usuario@ifg.edu.br");
-            when(userService.buscarPorUsername("usuario@ifg.edu.br")).thenReturn(usuarioLogado);
+            when(usuarioLogadoService.obterReferencia()).thenReturn(usuarioLogado);
             when(eventoService.buscarPorId(1L)).thenReturn(evento);
             when(inscricaoService.inscreverUsuarioEmEvento(usuarioLogado, evento))
                     .thenThrow(new InscricaoException("Erro de inscrição: evento já encerrado."));
 
-            ResponseEntity<Object> response = inscricaoController.inscreverNoEvento(1L);
+            ResponseEntity<Object> response = inscricaoController.inscreverNoEvento(1L, null, null);
 
             assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
             assertEquals("Erro de inscrição: evento já encerrado.", response.getBody());
 
-            verify(userService).buscarPorUsername("usuario@ifg.edu.br");
+            verify(usuarioLogadoService).obterReferencia();
             verify(eventoService).buscarPorId(1L);
             verify(inscricaoService).inscreverUsuarioEmEvento(usuarioLogado, evento);
         }
@@ -256,17 +489,17 @@ class InscricaoControllerTest {
             securityContextHolder.when(SecurityContextHolder::getContext).thenReturn(securityContext);
             when(securityContext.getAuthentication()).thenReturn(authentication);
             when(authentication.getName()).thenReturn("usuario@ifg.edu.br");
-            when(userService.buscarPorUsername("usuario@ifg.edu.br")).thenReturn(usuarioLogado);
+            when(usuarioLogadoService.obterReferencia()).thenReturn(usuarioLogado);
             when(eventoService.buscarPorId(1L)).thenReturn(evento);
             when(inscricaoService.inscreverUsuarioEmEvento(usuarioLogado, evento))
                     .thenThrow(new RuntimeException("Erro interno"));
 
-            ResponseEntity<Object> response = inscricaoController.inscreverNoEvento(1L);
+            ResponseEntity<Object> response = inscricaoController.inscreverNoEvento(1L, null, null);
 
             assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
             assertEquals("Erro ao inscrever: Erro interno", response.getBody());
 
-            verify(userService).buscarPorUsername("usuario@ifg.edu.br");
+            verify(usuarioLogadoService).obterReferencia();
             verify(eventoService).buscarPorId(1L);
             verify(inscricaoService).inscreverUsuarioEmEvento(usuarioLogado, evento);
         }
@@ -278,18 +511,18 @@ class InscricaoControllerTest {
             securityContextHolder.when(SecurityContextHolder::getContext).thenReturn(securityContext);
             when(securityContext.getAuthentication()).thenReturn(authentication);
             when(authentication.getName()).thenReturn("usuario@ifg.edu.br");
-            when(userService.buscarPorUsername("usuario@ifg.edu.br")).thenReturn(usuarioLogado);
+            when(usuarioLogadoService.obterReferencia()).thenReturn(usuarioLogado);
             when(eventoService.buscarPorId(1L)).thenReturn(evento);
             when(inscricaoService.processarInscricao(eq(usuarioLogado), any(InscricaoRequestDTO.class), eq(evento)))
                     .thenReturn(inscricao);
 
-            ResponseEntity<Object> response = inscricaoController.inscreverCompletoNoEvento(inscricaoRequestDTO);
+            ResponseEntity<Object> response = inscricaoController.inscreverCompletoNoEvento(inscricaoRequestDTO, false, null, null);
 
             assertEquals(HttpStatus.OK, response.getStatusCode());
             assertNotNull(response.getBody());
             assertInstanceOf(InscricaoResponseDTO.class, response.getBody());
 
-            verify(userService).buscarPorUsername("usuario@ifg.edu.br");
+            verify(usuarioLogadoService).obterReferencia();
             verify(eventoService).buscarPorId(1L);
             verify(inscricaoService).processarInscricao(eq(usuarioLogado), any(InscricaoRequestDTO.class), eq(evento));
         }
@@ -301,14 +534,14 @@ class InscricaoControllerTest {
             securityContextHolder.when(SecurityContextHolder::getContext).thenReturn(securityContext);
             when(securityContext.getAuthentication()).thenReturn(authentication);
             when(authentication.getName()).thenReturn("usuario@ifg.edu.br");
-            when(userService.buscarPorUsername("usuario@ifg.edu.br")).thenReturn(null);
+            when(usuarioLogadoService.obterReferencia()).thenReturn(null);
 
-            ResponseEntity<Object> response = inscricaoController.inscreverCompletoNoEvento(inscricaoRequestDTO);
+            ResponseEntity<Object> response = inscricaoController.inscreverCompletoNoEvento(inscricaoRequestDTO, false, null, null);
 
             assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode());
             assertEquals("Usuário não logado.", response.getBody());
 
-            verify(userService).buscarPorUsername("usuario@ifg.edu.br");
+            verify(usuarioLogadoService).obterReferencia();
             verify(eventoService, never()).buscarPorId(anyLong());
             verify(inscricaoService, never()).processarInscricao(any(), any(), any());
         }
@@ -320,27 +553,189 @@ class InscricaoControllerTest {
             securityContextHolder.when(SecurityContextHolder::getContext).thenReturn(securityContext);
             when(securityContext.getAuthentication()).thenReturn(authentication);
             when(authentication.getName()).thenReturn("usuario@ifg.edu.br");
-            when(userService.buscarPorUsername("usuario@ifg.edu.br")).thenReturn(usuarioLogado);
+            when(usuarioLogadoService.obterReferencia()).thenReturn(usuarioLogado);
             when(eventoService.buscarPorId(1L)).thenReturn(null);
 
-            ResponseEntity<Object> response = inscricaoController.inscreverCompletoNoEvento(inscricaoRequestDTO);
+            ResponseEntity<Object> response = inscricaoController.inscreverCompletoNoEvento(inscricaoRequestDTO, false, null, null);
 
             assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
             assertEquals("Evento inexistente.", response.getBody());
 
-            verify(userService).buscarPorUsername("usuario@ifg.edu.br");
+            verify(usuarioLogadoService).obterReferencia();
             verify(eventoService).buscarPorId(1L);
             verify(inscricaoService, never()).processarInscricao(any(), any(), any());
         }
     }
 
     @Test
-    void cancelarInscricao_ComUsuarioDonoInscricao_DeveCancelarComSucesso() {
+    void inscreverCompletoNoEvento_Assincrono_DeveRetornarAcceptedComTicket() {
+        try (MockedStatic<SecurityContextHolder> securityContextHolder = Mockito.mockStatic(SecurityContextHolder.class)) {
+            securityContextHolder.when(SecurityContextHolder::getContext).thenReturn(securityContext);
+            when(securityContext.getAuthentication()).thenReturn(authentication);
+            when(authentication.getName()).thenReturn("usuario@ifg.edu.br");
+            when(usuarioLogadoService.obterReferencia()).thenReturn(usuarioLogado);
+            when(eventoService.buscarPorId(1L)).thenReturn(evento);
+            TicketInscricaoDTO ticket = new TicketInscricaoDTO("abc", "PENDENTE", null, null);
+            when(inscricaoAssincronaService.aceitar("usuario@ifg.edu.br", usuarioLogado, evento,
+                    inscricaoRequestDTO.getCamposValores()))
+                    .thenReturn(ticket);
+
+            ResponseEntity<Object> response = inscricaoController.inscreverCompletoNoEvento(inscricaoRequestDTO, true, null, null);
+
+            assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+            assertEquals(ticket, response.getBody());
+            assertEquals("/api/inscricoes/tickets/abc", response.getHeaders().getLocation().toString());
+            verify(inscricaoService, never()).processarInscricao(any(), any(), any());
+            verify(inscricaoExecutorService, never()).inscrever(any(), any(), any());
+        }
+    }
+
+    @Test
+    void inscreverCompletoNoEvento_AssincronoComPrazoEncerrado_DeveRetornarBadRequest() {
+        try (MockedStatic<SecurityContextHolder> securityContextHolder = Mockito.mockStatic(SecurityContextHolder.class)) {
+            securityContextHolder.when(SecurityContextHolder::getContext).thenReturn(securityContext);
+            when(securityContext.getAuthentication()).thenReturn(authentication);
+            when(authentication.getName()).thenReturn("usuario@ifg.edu.br");
+            when(usuarioLogadoService.obterReferencia()).thenReturn(usuarioLogado);
+            when(eventoService.buscarPorId(1L)).thenReturn(evento);
+            when(inscricaoAssincronaService.aceitar(any(), any(), any(), any()))
+                    .thenThrow(new InscricaoException("As inscrições para este evento já foram encerradas!"));
+
+            ResponseEntity<Object> response = inscricaoController.inscreverCompletoNoEvento(inscricaoRequestDTO, true, null, null);
+
+            assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+            assertEquals("As inscrições para este evento já foram encerradas!", response.getBody());
+        }
+    }
+
+    @Test
+    void inscreverCarrinho_ComEventosValidos_DeveInscreverTodos() {
+        try (MockedStatic<SecurityContextHolder> securityContextHolder = Mockito.mockStatic(SecurityContextHolder.class)) {
+            securityContextHolder.when(SecurityContextHolder::getContext).thenReturn(securityContext);
+            when(securityContext.getAuthentication()).thenReturn(authentication);
+            when(authentication.getName()).thenReturn("usuario@ifg.edu.br");
+            when(usuarioLogadoService.obterReferencia()).thenReturn(usuarioLogado);
+
+            Evento outroEvento = new Evento();
+            outroEvento.setId(2L);
+            outroEvento.setTitulo("Outro Evento");
+            Inscricao outraInscricao = new Inscricao(usuarioLogado, outroEvento, LocalDateTime.now(), "ATIVA");
+
+            InscricaoRequestDTO segundoItem = new InscricaoRequestDTO();
+            segundoItem.setEventoId(2L);
+            InscricaoCarrinhoRequestDTO carrinho = new InscricaoCarrinhoRequestDTO();
+            carrinho.setItens(List.of(inscricaoRequestDTO, segundoItem));
+
+            when(eventoService.buscarPorIds(any())).thenReturn(List.of(evento, outroEvento));
+            when(inscricaoService.inscreverEmEventos(eq(usuarioLogado), eq(List.of(evento, outroEvento)), any()))
+                    .thenReturn(List.of(inscricao, outraInscricao));
+
+            ResponseEntity<Object> response = inscricaoController.inscreverCarrinho(carrinho, null);
+
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+            assertEquals(2, ((List<?>) response.getBody()).size());
+            verify(eventoService, never()).buscarPorId(anyLong());
+            verify(idempotenciaService).executar(eq("usuario@ifg.edu.br"), eq("carrinho:[1, 2]"), isNull(), any());
+        }
+    }
+
+    @Test
+    void inscreverCarrinho_ComEventoRepetido_DeveRetornarBadRequest() {
+        try (MockedStatic<SecurityContextHolder> securityContextHolder = Mockito.mockStatic(SecurityContextHolder.class)) {
+            securityContextHolder.when(SecurityContextHolder::getContext).thenReturn(securityContext);
+            when(securityContext.getAuthentication()).thenReturn(authentication);
+            when(authentication.getName()).thenReturn("usuario@ifg.edu.br");
+            when(usuarioLogadoService.obterReferencia()).thenReturn(usuarioLogado);
+
+            InscricaoCarrinhoRequestDTO carrinho = new InscricaoCarrinhoRequestDTO();
+            carrinho.setItens(List.of(inscricaoRequestDTO, inscricaoRequestDTO));
+
+            ResponseEntity<Object> response = inscricaoController.inscreverCarrinho(carrinho, null);
+
+            assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+            verifyNoInteractions(eventoService);
+            verify(inscricaoService, never()).inscreverEmEventos(any(), any(), any());
+        }
+    }
+
+    @Test
+    void inscreverCarrinho_ComEventoInexistente_DeveRetornarBadRequest() {
         try (MockedStatic<SecurityContextHolder> securityContextHolder = Mockito.mockStatic(SecurityContextHolder.class)) {
             securityContextHolder.when(SecurityContextHolder::getContext).thenReturn(securityContext);
             when(securityContext.getAuthentication()).thenReturn(authentication);
             when(authentication.getName()).thenReturn("usuario@ifg.edu.br");
-            when(userService.buscarPorUsername("usuario@ifg.edu.br")).thenReturn(usuarioLogado);
+            when(usuarioLogadoService.obterReferencia()).thenReturn(usuarioLogado);
+
+            InscricaoRequestDTO segundoItem = new InscricaoRequestDTO();
+            segundoItem.setEventoId(99L);
+            InscricaoCarrinhoRequestDTO carrinho = new InscricaoCarrinhoRequestDTO();
+            carrinho.setItens(List.of(inscricaoRequestDTO, segundoItem));
+            when(eventoService.buscarPorIds(any())).thenReturn(List.of(evento));
+
+            ResponseEntity<Object> response = inscricaoController.inscreverCarrinho(carrinho, null);
+
+            assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+            assertEquals("Evento inexistente.", response.getBody());
+            verify(inscricaoService, never()).inscreverEmEventos(any(), any(), any());
+        }
+    }
+
+    @Test
+    void inscreverCarrinho_ComInscricaoException_DeveRetornarBadRequest() {
+        try (MockedStatic<SecurityContextHolder> securityContextHolder = Mockito.mockStatic(SecurityContextHolder.class)) {
+            securityContextHolder.when(SecurityContextHolder::getContext).thenReturn(securityContext);
+            when(securityContext.getAuthentication()).thenReturn(authentication);
+            when(authentication.getName()).thenReturn("usuario@ifg.edu.br");
+            when(usuarioLogadoService.obterReferencia()).thenReturn(usuarioLogado);
+
+            InscricaoCarrinhoRequestDTO carrinho = new InscricaoCarrinhoRequestDTO();
+            carrinho.setItens(List.of(inscricaoRequestDTO));
+            when(eventoService.buscarPorIds(any())).thenReturn(List.of(evento));
+            when(inscricaoService.inscreverEmEventos(any(), any(), any()))
+                    .thenThrow(new InscricaoException("Evento Teste: Você já está inscrito neste evento!"));
+
+            ResponseEntity<Object> response = inscricaoController.inscreverCarrinho(carrinho, null);
+
+            assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+            assertEquals("Evento Teste: Você já está inscrito neste evento!", response.getBody());
+        }
+    }
+
+    @Test
+    void consultarTicket_DoProprioUsuario_DeveRetornarStatus() {
+        try (MockedStatic<SecurityContextHolder> securityContextHolder = Mockito.mockStatic(SecurityContextHolder.class)) {
+            securityContextHolder.when(SecurityContextHolder::getContext).thenReturn(securityContext);
+            when(securityContext.getAuthentication()).thenReturn(authentication);
+            when(authentication.getName()).thenReturn("usuario@ifg.edu.br");
+            TicketInscricaoDTO ticket = new TicketInscricaoDTO("abc", "ATIVA", 10L, null);
+            when(inscricaoAssincronaService.consultar("abc", "usuario@ifg.edu.br")).thenReturn(Optional.of(ticket));
+
+            ResponseEntity<Object> response = inscricaoController.consultarTicket("abc");
+
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+            assertEquals(ticket, response.getBody());
+        }
+    }
+
+    @Test
+    void consultarTicket_Inexistente_DeveRetornarNotFound() {
+        try (MockedStatic<SecurityContextHolder> securityContextHolder = Mockito.mockStatic(SecurityContextHolder.class)) {
+            securityContextHolder.when(SecurityContextHolder::getContext).thenReturn(securityContext);
+            when(securityContext.getAuthentication()).thenReturn(authentication);
+            when(authentication.getName()).thenReturn("usuario@ifg.edu.br");
+            when(inscricaoAssincronaService.consultar("abc", "usuario@ifg.edu.br")).thenReturn(Optional.empty());
+
+            ResponseEntity<Object> response = inscricaoController.consultarTicket("abc");
+
+            assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        }
+    }
+
+    @Test
+    void cancelarInscricao_ComUsuarioDonoInscricao_DeveCancelarComSucesso() {
+        try (MockedStatic<SecurityContextHolder> securityContextHolder = Mockito.mockStatic(SecurityContextHolder.class)) {
+            securityContextHolder.when(SecurityContextHolder::getContext).thenReturn(securityContext);
+            when(usuarioLogadoService.obterEscopo()).thenAnswer(invocacao -> EscopoAutorizacao.de(usuarioLogado));
             when(inscricaoService.buscarPorId(1L)).thenReturn(inscricao);
             doNothing().when(inscricaoService).cancelarInscricao(1L);
 
@@ -350,7 +745,7 @@ class InscricaoControllerTest {
             assertEquals("Inscrição cancelada (status CANCELADA) com sucesso!", response.getBody());
 
             verify(inscricaoService).buscarPorId(1L);
-            verify(userService).buscarPorUsername("usuario@ifg.edu.br");
+            verify(usuarioLogadoService).obterEscopo();
             verify(inscricaoService).cancelarInscricao(1L);
         }
     }
@@ -368,9 +763,7 @@ class InscricaoControllerTest {
 
         try (MockedStatic<SecurityContextHolder> securityContextHolder = Mockito.mockStatic(SecurityContextHolder.class)) {
             securityContextHolder.when(SecurityContextHolder::getContext).thenReturn(securityContext);
-            when(securityContext.getAuthentication()).thenReturn(authentication);
-            when(authentication.getName()).thenReturn("admin@ifg.edu.br");
-            when(userService.buscarPorUsername("admin@ifg.edu.br")).thenReturn(adminGeral);
+            when(usuarioLogadoService.obterEscopo()).thenAnswer(invocacao -> EscopoAutorizacao.de(adminGeral));
             when(inscricaoService.buscarPorId(2L)).thenReturn(inscricaoOutroUsuario);
             doNothing().when(inscricaoService).cancelarInscricao(2L);
 
@@ -380,7 +773,7 @@ class InscricaoControllerTest {
             assertEquals("Inscrição cancelada (status CANCELADA) com sucesso!", response.getBody());
 
             verify(inscricaoService).buscarPorId(2L);
-            verify(userService).buscarPorUsername("admin@ifg.edu.br");
+            verify(usuarioLogadoService).obterEscopo();
             verify(inscricaoService).cancelarInscricao(2L);
         }
     }
@@ -410,9 +803,7 @@ class InscricaoControllerTest {
 
         try (MockedStatic<SecurityContextHolder> securityContextHolder = Mockito.mockStatic(SecurityContextHolder.class)) {
             securityContextHolder.when(SecurityContextHolder::getContext).thenReturn(securityContext);
-            when(securityContext.getAuthentication()).thenReturn(authentication);
-            when(authentication.getName()).thenReturn("usuario@ifg.edu.br");
-            when(userService.buscarPorUsername("usuario@ifg.edu.br")).thenReturn(usuarioLogado);
+            when(usuarioLogadoService.obterEscopo()).thenAnswer(invocacao -> EscopoAutorizacao.de(usuarioLogado));
             when(inscricaoService.buscarPorId(2L)).thenReturn(inscricaoOutroUsuario);
 
             ResponseEntity<String> response = inscricaoController.cancelarInscricao(2L);
@@ -421,7 +812,7 @@ class InscricaoControllerTest {
             assertEquals("Você não pode cancelar a inscrição de outro usuário!", response.getBody());
 
             verify(inscricaoService).buscarPorId(2L);
-            verify(userService).buscarPorUsername("usuario@ifg.edu.br");
+            verify(usuarioLogadoService).obterEscopo();
             verify(inscricaoService, never()).cancelarInscricao(anyLong());
         }
     }
@@ -430,9 +821,7 @@ class InscricaoControllerTest {
     void cancelarInscricao_ComInscricaoException_DeveRetornarBadRequest() {
         try (MockedStatic<SecurityContextHolder> securityContextHolder = Mockito.mockStatic(SecurityContextHolder.class)) {
             securityContextHolder.when(SecurityContextHolder::getContext).thenReturn(securityContext);
-            when(securityContext.getAuthentication()).thenReturn(authentication);
-            when(authentication.getName()).thenReturn("usuario@ifg.edu.br");
-            when(userService.buscarPorUsername("usuario@ifg.edu.br")).thenReturn(usuarioLogado);
+            when(usuarioLogadoService.obterEscopo()).thenAnswer(invocacao -> EscopoAutorizacao.de(usuarioLogado));
             when(inscricaoService.buscarPorId(1L)).thenReturn(inscricao);
             doThrow(new InscricaoException("Não é possível cancelar inscrição com status atual."))
                     .when(inscricaoService).cancelarInscricao(1L);
@@ -443,7 +832,7 @@ class InscricaoControllerTest {
             assertEquals("Não é possível cancelar inscrição com status atual.", response.getBody());
 
             verify(inscricaoService).buscarPorId(1L);
-            verify(userService).buscarPorUsername("usuario@ifg.edu.br");
+            verify(usuarioLogadoService).obterEscopo();
             verify(inscricaoService).cancelarInscricao(1L);
         }
     }
@@ -452,7 +841,7 @@ class InscricaoControllerTest {
     void listarCamposDoEvento_ComEventoExistente_DeveRetornarCampos() {
         when(eventoService.buscarPorId(1L)).thenReturn(evento);
 
-        ResponseEntity<Object> response = inscricaoController.listarCamposDoEvento(1L);
+        ResponseEntity<Object> response = inscricaoController.listarCamposDoEvento(1L, null);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
@@ -465,11 +854,47 @@ class InscricaoControllerTest {
         verify(eventoService).buscarPorId(1L);
     }
 
+    @Test
+    void listarCamposDoEvento_ComUsuarioLogado_DeveReservarVagaEInformarExpiracao() {
+        try (MockedStatic<SecurityContextHolder> securityContextHolder = Mockito.mockStatic(SecurityContextHolder.class)) {
+            securityContextHolder.when(SecurityContextHolder::getContext).thenReturn(securityContext);
+            when(securityContext.getAuthentication()).thenReturn(authentication);
+            when(usuarioLogadoService.obterReferencia()).thenReturn(usuarioLogado);
+            when(eventoService.buscarPorId(1L)).thenReturn(evento);
+            when(reservaVagaService.reservar(usuarioLogado, evento))
+                    .thenReturn(Optional.of(LocalDateTime.of(2030, 1, 1, 10, 0)));
+
+            ResponseEntity<Object> response = inscricaoController.listarCamposDoEvento(1L, null);
+
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+            assertTrue(response.getHeaders().getFirst(ReservaVagaService.CABECALHO_EXPIRACAO).startsWith("2030-01-01T10:00"));
+        }
+    }
+
+    @Test
+    void listarCamposDoEvento_ComFilaVirtualSemAdmissao_NaoDeveReservarVaga() {
+        evento.setFilaVirtual(true);
+        try (MockedStatic<SecurityContextHolder> securityContextHolder = Mockito.mockStatic(SecurityContextHolder.class)) {
+            securityContextHolder.when(SecurityContextHolder::getContext).thenReturn(securityContext);
+            when(securityContext.getAuthentication()).thenReturn(authentication);
+            when(authentication.getName()).thenReturn("usuario@ifg.edu.br");
+            when(eventoService.buscarPorId(1L)).thenReturn(evento);
+            when(filaVirtualService.verificarAdmissao(1L, "usuario@ifg.edu.br", null))
+                    .thenReturn(FilaVirtualService.Admissao.AGUARDANDO);
+
+            ResponseEntity<Object> response = inscricaoController.listarCamposDoEvento(1L, null);
+
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+            assertNull(response.getHeaders().getFirst(ReservaVagaService.CABECALHO_EXPIRACAO));
+            verify(reservaVagaService, never()).reservar(any(), any());
+        }
+    }
+
     @Test
     void listarCamposDoEvento_ComEventoInexistente_DeveRetornarNotFound() {
         when(eventoService.buscarPorId(999L)).thenReturn(null);
 
-        ResponseEntity<Object> response = inscricaoController.listarCamposDoEvento(999L);
+        ResponseEntity<Object> response = inscricaoController.listarCamposDoEvento(999L, null);
 
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
 
@@ -9,6 +9,8 @@ import br.edu.ifg.event_system.model.User;
 import br.edu.ifg.event_system.service.CampusService;
 import br.edu.ifg.event_system.service.DepartamentoService;
 import br.edu.ifg.event_system.service.UserService;
+import br.edu.ifg.event_system.service.UsuarioLogadoService;
+import br.edu.ifg.event_system.util.EscopoAutorizacao;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -27,9 +29,10 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 
-import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -42,6 +45,9 @@ class UserControllerTest {
     @Mock
     private UserService userService;
 
+    @Mock
+    private UsuarioLogadoService usuarioLogadoService;
+
     @Mock
     private DepartamentoService departamentoService;
 
@@ -70,9 +76,9 @@ class UserControllerTest {
         user.setId(1L);
         user.setUsername("user@ifg.edu.br");
         user.setNomeCompleto("Usuário Teste");
-        user.setRoles(new ArrayList<>());
-        user.setCampusQueAdministro(new ArrayList<>());
-        user.setDepartamentosQueAdministro(new ArrayList<>());
+        user.setRoles(new HashSet<>());
+        user.setCampusQueAdministro(new HashSet<>());
+        user.setDepartamentosQueAdministro(new HashSet<>());
 
         campus = new Campus();
         campus.setId(1L);
@@ -94,13 +100,13 @@ class UserControllerTest {
         adminGeral = new User();
         adminGeral.setId(2L);
         adminGeral.setUsername("admin_geral@ifg.edu.br");
-        adminGeral.setRoles(new ArrayList<>(List.of(roleAdminGeral)));
+        adminGeral.setRoles(new HashSet<>(Set.of(roleAdminGeral)));
 
         adminCampus = new User();
         adminCampus.setId(3L);
         adminCampus.setUsername("admin_campus@ifg.edu.br");
-        adminCampus.setRoles(new ArrayList<>(List.of(roleAdminCampus)));
-        adminCampus.setCampusQueAdministro(new ArrayList<>(List.of(campus)));
+        adminCampus.setRoles(new HashSet<>(Set.of(roleAdminCampus)));
+        adminCampus.setCampusQueAdministro(new HashSet<>(Set.of(campus)));
 
         pageable = PageRequest.of(0, 10);
     }
@@ -243,9 +249,7 @@ class UserControllerTest {
 
         try (MockedStatic<SecurityContextHolder> securityContextHolder = Mockito.mockStatic(SecurityContextHolder.class)) {
             securityContextHolder.when(SecurityContextHolder::getContext).thenReturn(securityContext);
-            when(securityContext.getAuthentication()).thenReturn(authentication);
-            when(authentication.getName()).thenReturn("admin_geral@ifg.edu.br");
-            when(userService.buscarPorUsername("admin_geral@ifg.edu.br")).thenReturn(adminGeral);
+            when(usuarioLogadoService.obterEscopo()).thenAnswer(invocacao -> EscopoAutorizacao.de(adminGeral));
 
             doNothing().when(userService).adicionarDepartamentoAoUsuario(user, departamento);
 
@@ -269,9 +273,7 @@ class UserControllerTest {
 
         try (MockedStatic<SecurityContextHolder> securityContextHolder = Mockito.mockStatic(SecurityContextHolder.class)) {
             securityContextHolder.when(SecurityContextHolder::getContext).thenReturn(securityContext);
-            when(securityContext.getAuthentication()).thenReturn(authentication);
-            when(authentication.getName()).thenReturn("admin_campus@ifg.edu.br");
-            when(userService.buscarPorUsername("admin_campus@ifg.edu.br")).thenReturn(adminCampus);
+            when(usuarioLogadoService.obterEscopo()).thenAnswer(invocacao -> EscopoAutorizacao.de(adminCampus));
 
             doNothing().when(userService).adicionarDepartamentoAoUsuario(user, departamento);
 
@@ -327,17 +329,15 @@ class UserControllerTest {
         User adminOutroCampus = new User();
         adminOutroCampus.setId(4L);
         adminOutroCampus.setUsername("admin_outro_campus@ifg.edu.br");
-        adminOutroCampus.setRoles(new ArrayList<>(adminCampus.getRoles()));
-        adminOutroCampus.setCampusQueAdministro(new ArrayList<>(List.of(outroCampus)));
+        adminOutroCampus.setRoles(new HashSet<>(adminCampus.getRoles()));
+        adminOutroCampus.setCampusQueAdministro(new HashSet<>(Set.of(outroCampus)));
 
         when(userService.buscarPorId(1L)).thenReturn(user);
         when(departamentoService.buscarPorId(1L)).thenReturn(departamento);
 
         try (MockedStatic<SecurityContextHolder> securityContextHolder = Mockito.mockStatic(SecurityContextHolder.class)) {
             securityContextHolder.when(SecurityContextHolder::getContext).thenReturn(securityContext);
-            when(securityContext.getAuthentication()).thenReturn(authentication);
-            when(authentication.getName()).thenReturn("admin_outro_campus@ifg.edu.br");
-            when(userService.buscarPorUsername("admin_outro_campus@ifg.edu.br")).thenReturn(adminOutroCampus);
+            when(usuarioLogadoService.obterEscopo()).thenAnswer(invocacao -> EscopoAutorizacao.de(adminOutroCampus));
 
             ResponseEntity<String> response = userController.adicionarDepartamentoAoUsuario(1L, requestDTO);
 
@@ -356,9 +356,7 @@ class UserControllerTest {
 
         try (MockedStatic<SecurityContextHolder> securityContextHolder = Mockito.mockStatic(SecurityContextHolder.class)) {
             securityContextHolder.when(SecurityContextHolder::getContext).thenReturn(securityContext);
-            when(securityContext.getAuthentication()).thenReturn(authentication);
-            when(authentication.getName()).thenReturn("admin_geral@ifg.edu.br");
-            when(userService.buscarPorUsername("admin_geral@ifg.edu.br")).thenReturn(adminGeral);
+            when(usuarioLogadoService.obterEscopo()).thenAnswer(invocacao -> EscopoAutorizacao.de(adminGeral));
 
             doNothing().when(userService).removerDepartamentoDoUsuario(user, departamento);
 
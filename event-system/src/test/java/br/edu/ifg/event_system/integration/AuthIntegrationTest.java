@@ -52,7 +52,7 @@ class AuthIntegrationTest extends BaseIntegrationTest {
         testUser.setUsername("existing@ifg.edu.br");
         testUser.setPassword(passwordEncoder.encode("password123"));
         testUser.setNomeCompleto("Usuário Existente");
-        testUser.setRoles(java.util.List.of(userRole));
+        testUser.setRoles(java.util.Set.of(userRole));
         userRepository.save(testUser);
     }
 
@@ -100,9 +100,11 @@ class AuthIntegrationTest extends BaseIntegrationTest {
         dto.setUsername("existing@ifg.edu.br");
         dto.setPassword("password123");
 
-        mockMvc.perform(post("/api/auth/login")
+        mockMvc.perform(asyncDispatch(mockMvc.perform(post("/api/auth/login")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(dto)))
+                        .andExpect(request().asyncStarted())
+                        .andReturn()))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.token").exists())
                 .andExpect(jsonPath("$.token").isString())
@@ -115,9 +117,11 @@ class AuthIntegrationTest extends BaseIntegrationTest {
         dto.setUsername("existing@ifg.edu.br");
         dto.setPassword("senhaErrada");
 
-        mockMvc.perform(post("/api/auth/login")
+        mockMvc.perform(asyncDispatch(mockMvc.perform(post("/api/auth/login")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(dto)))
+                        .andExpect(request().asyncStarted())
+                        .andReturn()))
                 .andExpect(status().isUnauthorized());
     }
 
@@ -127,9 +131,11 @@ class AuthIntegrationTest extends BaseIntegrationTest {
         dto.setUsername("existing@ifg.edu.br");
         dto.setPassword("password123");
 
-        String result = mockMvc.perform(post("/api/auth/login")
+        String result = mockMvc.perform(asyncDispatch(mockMvc.perform(post("/api/auth/login")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(dto)))
+                        .andExpect(request().asyncStarted())
+                        .andReturn()))
                 .andExpect(status().isOk())
                 .andReturn().getResponse().getContentAsString();
 
@@ -11,24 +11,34 @@ import br.edu.ifg.event_system.repository.RoleRepository;
 import br.edu.ifg.event_system.repository.UserRepository;
 import br.edu.ifg.event_system.service.JwtService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.List;
+import java.util.Set;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @Transactional
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 class EventoControllerIntegrationTest extends BaseIntegrationTest {
 
+    private static final String CONSULTA_USUARIO_COM_ESCOPO =
+            "SELECT u FROM User u LEFT JOIN FETCH u.roles LEFT JOIN FETCH u.campusQueAdministro " +
+                    "LEFT JOIN FETCH u.departamentosQueAdministro d LEFT JOIN FETCH d.campus WHERE u.id = :id";
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -53,6 +63,9 @@ class EventoControllerIntegrationTest extends BaseIntegrationTest {
     @Autowired
     private JwtService jwtService;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     private User adminUser;
     private Campus campus;
     private Departamento departamento;
@@ -74,7 +87,7 @@ class EventoControllerIntegrationTest extends BaseIntegrationTest {
         adminUser.setUsername("admin@ifg.edu.br");
         adminUser.setPassword(passwordEncoder.encode("password"));
         adminUser.setNomeCompleto("Administrador");
-        adminUser.setRoles(List.of(adminRole));
+        adminUser.setRoles(Set.of(adminRole));
         userRepository.save(adminUser);
 
         campus = new Campus();
@@ -86,8 +99,7 @@ class EventoControllerIntegrationTest extends BaseIntegrationTest {
         departamento.setCampus(campus);
         departamentoRepository.save(departamento);
 
-        adminToken = jwtService.generateToken(adminUser.getUsername(),
-                List.of("ADMIN_GERAL"));
+        adminToken = jwtService.generateToken(adminUser);
     }
 
     @Test
@@ -142,4 +154,86 @@ class EventoControllerIntegrationTest extends BaseIntegrationTest {
                 .andExpect(status().isNotFound());
     }
 
-}
\ No newline at end of file
+    @Test
+    void atualizarEvento_NaoDeveCarregarOUsuarioLogado() throws Exception {
+        EventoRequestDTO dto = new EventoRequestDTO();
+        dto.setTitulo("Evento de Teste");
+        dto.setCampusId(campus.getId());
+        dto.setDepartamentoId(departamento.getId());
+        dto.setDataInicio(LocalDateTime.now().plusDays(1));
+        dto.setDataFim(LocalDateTime.now().plusDays(2));
+        dto.setVagas(100);
+        dto.setLocal("Sala de reuniões 101");
+
+        String criado = mockMvc.perform(post("/api/eventos")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        long eventoId = objectMapper.readTree(criado).get("id").asLong();
+
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+        dto.setTitulo("Evento Atualizado");
+
+        // A checagem de permissão e a validação dos dados usam o escopo das claims do token.
+        mockMvc.perform(put("/api/eventos/" + eventoId)
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.titulo", is("Evento Atualizado")));
+
+        assertEquals(0, estatisticas.getQueryStatistics(CONSULTA_USUARIO_COM_ESCOPO).getExecutionCount());
+    }
+
+    @Test
+    void currentUser_DeveCarregarOUsuarioComEscopoEmUmUnicoComando() throws Exception {
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+
+        mockMvc.perform(get("/api/auth/current-user")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.username", is("admin@ifg.edu.br")))
+                .andExpect(jsonPath("$.roles[0].name", is("ADMIN_GERAL")));
+
+        // Papéis, campus e departamentos vêm no mesmo fetch join; nenhuma coleção é lida depois.
+        assertEquals(1, estatisticas.getPrepareStatementCount());
+        assertEquals(1, estatisticas.getQueryStatistics(CONSULTA_USUARIO_COM_ESCOPO).getExecutionCount());
+    }
+
+    @Test
+    void inscrever_NaoDeveConsultarOUsuario() throws Exception {
+        EventoRequestDTO dto = new EventoRequestDTO();
+        dto.setTitulo("Evento Aberto");
+        dto.setCampusId(campus.getId());
+        dto.setDepartamentoId(departamento.getId());
+        dto.setDataInicio(LocalDateTime.now().plusDays(1));
+        dto.setDataFim(LocalDateTime.now().plusDays(2));
+        dto.setLocal("Auditório");
+
+        String criado = mockMvc.perform(post("/api/eventos")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        long eventoId = objectMapper.readTree(criado).get("id").asLong();
+
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+
+        mockMvc.perform(post("/api/inscricoes/inscrever")
+                        .param("eventoId", String.valueOf(eventoId))
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.userId", is(adminUser.getId().intValue())));
+
+        // A inscrição usa apenas o id do token.
+        assertEquals(0, estatisticas.getQueryStatistics(CONSULTA_USUARIO_COM_ESCOPO).getExecutionCount());
+        assertEquals(0, estatisticas.getEntityStatistics(User.class.getName()).getFetchCount());
+    }
+
+}
@@ -18,6 +18,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 
 import static org.hamcrest.Matchers.*;
 import static org.junit.jupiter.api.Assertions.*;
@@ -86,14 +87,14 @@ class EventoInscricaoFlowIntegrationTest extends BaseIntegrationTest {
         adminUser.setUsername("admin@ifg.edu.br");
         adminUser.setPassword(passwordEncoder.encode("admin123"));
         adminUser.setNomeCompleto("Administrador");
-        adminUser.setRoles(List.of(adminRole, userRole));
+        adminUser.setRoles(Set.of(adminRole, userRole));
         userRepository.save(adminUser);
 
         regularUser = new User();
         regularUser.setUsername("aluno@ifg.edu.br");
         regularUser.setPassword(passwordEncoder.encode("aluno123"));
         regularUser.setNomeCompleto("Aluno Teste");
-        regularUser.setRoles(List.of(userRole));
+        regularUser.setRoles(Set.of(userRole));
         userRepository.save(regularUser);
 
         campus = new Campus();
@@ -111,9 +112,11 @@ class EventoInscricaoFlowIntegrationTest extends BaseIntegrationTest {
             adminLoginDto.setUsername("admin@ifg.edu.br");
             adminLoginDto.setPassword("admin123");
 
-            MvcResult adminResult = mockMvc.perform(post("/api/auth/login")
+            MvcResult adminResult = mockMvc.perform(asyncDispatch(mockMvc.perform(post("/api/auth/login")
                             .contentType(MediaType.APPLICATION_JSON)
                             .content(objectMapper.writeValueAsString(adminLoginDto)))
+                            .andExpect(request().asyncStarted())
+                            .andReturn()))
                     .andExpect(status().isOk())
                     .andReturn();
 
@@ -124,9 +127,11 @@ class EventoInscricaoFlowIntegrationTest extends BaseIntegrationTest {
             userLoginDto.setUsername("aluno@ifg.edu.br");
             userLoginDto.setPassword("aluno123");
 
-            MvcResult userResult = mockMvc.perform(post("/api/auth/login")
+            MvcResult userResult = mockMvc.perform(asyncDispatch(mockMvc.perform(post("/api/auth/login")
                             .contentType(MediaType.APPLICATION_JSON)
                             .content(objectMapper.writeValueAsString(userLoginDto)))
+                            .andExpect(request().asyncStarted())
+                            .andReturn()))
                     .andExpect(status().isOk())
                     .andReturn();
 
@@ -0,0 +1,158 @@
+package br.edu.ifg.event_system.service;
+
+import br.edu.ifg.event_system.config.UsuarioAutenticado;
+import br.edu.ifg.event_system.model.Campus;
+import br.edu.ifg.event_system.model.Role;
+import br.edu.ifg.event_system.model.User;
+import br.edu.ifg.event_system.repository.UserRepository;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AutenticacaoTokenServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private RevogacaoTokenService revogacaoTokenService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private JwtService jwtService;
+    private AutenticacaoTokenService autenticacaoTokenService;
+    private User user;
+
+    private static final String SECRET_KEY = "MINHA_CHAVE_SECRETA_GRANDE_O_SUFICIENTE_PARA_256BITS";
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService(100, Duration.ofMinutes(15), Duration.ofDays(7));
+        autenticacaoTokenService = new AutenticacaoTokenService(jwtService, userRepository,
+                revogacaoTokenService, transactionTemplate, 100, Duration.ofMinutes(1));
+
+        Campus campus = new Campus();
+        campus.setId(3L);
+
+        user = new User();
+        user.setId(5L);
+        user.setUsername("admin@ifg.edu.br");
+        user.setRoles(new HashSet<>(Set.of(new Role("ADMIN_CAMPUS"))));
+        user.setCampusQueAdministro(new HashSet<>(Set.of(campus)));
+        user.setDepartamentosQueAdministro(new HashSet<>());
+    }
+
+    @Test
+    void autenticar_ComClaimsCompletas_NaoDeveConsultarOBanco() {
+        String token = jwtService.generateToken(user);
+
+        UsuarioAutenticado principal = autenticacaoTokenService.autenticar(token);
+
+        assertNotNull(principal);
+        assertEquals(5L, principal.getId());
+        assertEquals("admin@ifg.edu.br", principal.getName());
+        assertEquals(List.of("ADMIN_CAMPUS"), principal.getRoles());
+        assertTrue(principal.getEscopo().isAdminCampus());
+        assertTrue(principal.getEscopo().administraCampus(3L));
+        assertFalse(principal.getEscopo().administraCampus(4L));
+        verifyNoInteractions(userRepository, transactionTemplate);
+    }
+
+    @Test
+    void autenticar_ComTokenRevogado_DeveRetornarNullMesmoComTokenJaVerificado() {
+        String token = jwtService.generateToken(user);
+        assertNotNull(autenticacaoTokenService.autenticar(token));
+
+        when(revogacaoTokenService.isUsuarioRevogado(eq(5L), anyLong())).thenReturn(true);
+
+        assertNull(autenticacaoTokenService.autenticar(token));
+    }
+
+    @Test
+    void autenticar_ComTokenInvalido_DeveRetornarNull() {
+        assertNull(autenticacaoTokenService.autenticar("invalid.jwt.token"));
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void autenticar_ComTokenSemIdDoUsuario_DeveCarregarDoBanco() {
+        String token = tokenSemIdDoUsuario();
+        when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            TransactionCallback<?> callback = invocation.getArgument(0);
+            return callback.doInTransaction(null);
+        });
+        when(userRepository.findByUsername("admin@ifg.edu.br")).thenReturn(user);
+
+        UsuarioAutenticado principal = autenticacaoTokenService.autenticar(token);
+
+        assertNotNull(principal);
+        assertEquals(List.of("ADMIN_CAMPUS"), principal.getRoles());
+        assertTrue(principal.getEscopo().administraCampus(3L));
+    }
+
+    @Test
+    void autenticar_ComTokenCarregadoDoBanco_DeveConsultarUmaVez() {
+        String token = tokenSemIdDoUsuario();
+        when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            TransactionCallback<?> callback = invocation.getArgument(0);
+            return callback.doInTransaction(null);
+        });
+        when(userRepository.findByUsername("admin@ifg.edu.br")).thenReturn(user);
+
+        UsuarioAutenticado primeiro = autenticacaoTokenService.autenticar(token);
+
+        assertSame(primeiro, autenticacaoTokenService.autenticar(token));
+        verify(userRepository, times(1)).findByUsername("admin@ifg.edu.br");
+    }
+
+    @Test
+    void autenticar_ComTokenDeRenovacao_DeveRetornarNull() {
+        assertNull(autenticacaoTokenService.autenticar(jwtService.generateRefreshToken(user)));
+    }
+
+    @Test
+    void autenticar_ComTokenSemIdEUsuarioRemovido_DeveRetornarNull() {
+        String token = tokenSemIdDoUsuario();
+        when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            TransactionCallback<?> callback = invocation.getArgument(0);
+            return callback.doInTransaction(null);
+        });
+        when(userRepository.findByUsername("admin@ifg.edu.br")).thenReturn(null);
+
+        assertNull(autenticacaoTokenService.autenticar(token));
+    }
+
+    /**
+     * Token no formato emitido antes das claims de id e escopo, ainda aceito até expirar.
+     */
+    private static String tokenSemIdDoUsuario() {
+        Date agora = new Date();
+        return Jwts.builder()
+                .setSubject("admin@ifg.edu.br")
+                .claim("roles", List.of("USER"))
+                .setIssuedAt(agora)
+                .setExpiration(new Date(agora.getTime() + TimeUnit.HOURS.toMillis(2)))
+                .signWith(Keys.hmacShaKeyFor(SECRET_KEY.getBytes()))
+                .compact();
+    }
+
+}
@@ -0,0 +1,115 @@
+package br.edu.ifg.event_system.service;
+
+import br.edu.ifg.event_system.dto.EventoResumoDTO;
+import br.edu.ifg.event_system.dto.PaginaDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BuscaEventosServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private EventoService eventoService;
+
+    private BuscaEventosService buscaEventosService;
+
+    @BeforeEach
+    void setUp() {
+        buscaEventosService = new BuscaEventosService(jdbcTemplate, eventoService);
+    }
+
+    @Test
+    void montarConsulta_DeveGerarTermosPorPrefixoSemOperadoresDoUsuario() {
+        assertEquals("programação:* & java:*", BuscaEventosService.montarConsulta("Programação, JAVA!"));
+        assertEquals("a:* & b:* & c:*", BuscaEventosService.montarConsulta("a & b | !c:*"));
+        assertEquals("java:*", BuscaEventosService.montarConsulta("java java"));
+        assertNull(BuscaEventosService.montarConsulta("  --  "));
+        assertNull(BuscaEventosService.montarConsulta(null));
+    }
+
+    @Test
+    void prepararIndice_ComFalhaNoBanco_DeveUsarLike() {
+        doThrow(new DataAccessResourceFailureException("sem permissão"))
+                .when(jdbcTemplate).execute("CREATE EXTENSION IF NOT EXISTS unaccent");
+        PaginaDTO<EventoResumoDTO> pagina = new PaginaDTO<>(List.of(), null);
+        when(eventoService.pesquisarPaginado("java", null, 10)).thenReturn(pagina);
+
+        buscaEventosService.prepararIndice();
+
+        assertFalse(buscaEventosService.isIndiceDisponivel());
+        assertSame(pagina, buscaEventosService.buscar("java", null, 10));
+        verify(jdbcTemplate, never()).query(anyString(), any(RowMapper.class), any(Object[].class));
+    }
+
+    @Test
+    void buscar_DeveManterOrdemDeRelevanciaEGerarCursor() {
+        buscaEventosService.prepararIndice();
+        doReturn(List.of(
+                new BuscaEventosService.Resultado(3L, 0.9f),
+                new BuscaEventosService.Resultado(1L, 0.5f),
+                new BuscaEventosService.Resultado(2L, 0.1f)))
+                .when(jdbcTemplate).query(anyString(), any(RowMapper.class), eq("java:*"), eq(3));
+        when(eventoService.buscarResumosPorIds(List.of(3L, 1L))).thenReturn(List.of(resumo(1L), resumo(3L)));
+
+        PaginaDTO<EventoResumoDTO> pagina = buscaEventosService.buscar("Java", null, 2);
+
+        assertEquals(List.of(3L, 1L), pagina.getItens().stream().map(EventoResumoDTO::getId).toList());
+        BuscaEventosService.Cursor cursor = BuscaEventosService.Cursor.decodificar(pagina.getProximoCursor());
+        assertEquals(0.5f, cursor.relevancia());
+        assertEquals(1L, cursor.id());
+    }
+
+    @Test
+    void buscar_ComCursor_DeveContinuarAposAPosicao() {
+        buscaEventosService.prepararIndice();
+        String cursor = BuscaEventosService.Cursor.codificar(0.5f, 1L);
+        doReturn(List.of(new BuscaEventosService.Resultado(2L, 0.1f)))
+                .when(jdbcTemplate).query(contains("< (CAST(? AS real), ?)"), any(RowMapper.class),
+                        eq("java:*"), eq(0.5f), eq(1L), eq(3));
+        when(eventoService.buscarResumosPorIds(List.of(2L))).thenReturn(List.of(resumo(2L)));
+
+        PaginaDTO<EventoResumoDTO> pagina = buscaEventosService.buscar("java", cursor, 2);
+
+        assertEquals(1, pagina.getItens().size());
+        assertNull(pagina.getProximoCursor());
+    }
+
+    @Test
+    void buscar_SemTermos_NaoDeveConsultar() {
+        buscaEventosService.prepararIndice();
+
+        PaginaDTO<EventoResumoDTO> pagina = buscaEventosService.buscar(" ? ", null, 10);
+
+        assertTrue(pagina.getItens().isEmpty());
+        verify(jdbcTemplate, never()).query(anyString(), any(RowMapper.class), any(Object[].class));
+    }
+
+    @Test
+    void buscar_ComCursorInvalido_DeveLancarExcecao() {
+        buscaEventosService.prepararIndice();
+
+        assertThrows(IllegalArgumentException.class, () -> buscaEventosService.buscar("java", "???", 10));
+    }
+
+    private static EventoResumoDTO resumo(Long id) {
+        EventoResumoDTO resumo = new EventoResumoDTO();
+        resumo.setId(id);
+        return resumo;
+    }
+
+}
@@ -28,6 +28,9 @@ class CampusServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private UserService userService;
+
     @InjectMocks
     private CampusService campusService;
 
@@ -48,8 +51,8 @@ class CampusServiceTest {
         user = new User();
         user.setId(1L);
         user.setUsername("test@ifg.edu.br");
-        user.setRoles(new ArrayList<>());
-        user.setCampusQueAdministro(new ArrayList<>());
+        user.setRoles(new HashSet<>());
+        user.setCampusQueAdministro(new HashSet<>());
     }
 
     @Test
@@ -120,6 +123,7 @@ class CampusServiceTest {
         verify(campusRepository).findById(1L);
         verify(userRepository).findAll();
         verify(campusRepository).deleteById(1L);
+        verify(userService, never()).publicarAlteracaoDePermissoes(any());
     }
 
     @Test
@@ -146,7 +150,7 @@ class CampusServiceTest {
         User usuarioSalvo = userCaptor.getValue();
 
         assertEquals(1, usuarioSalvo.getCampusQueAdministro().size());
-        assertEquals(2L, usuarioSalvo.getCampusQueAdministro().get(0).getId());
+        assertEquals(2L, usuarioSalvo.getCampusQueAdministro().iterator().next().getId());
         assertTrue(usuarioSalvo.getRoles().contains(adminCampusRole));
 
         verify(campusRepository).deleteById(1L);
@@ -173,6 +177,7 @@ class CampusServiceTest {
         assertTrue(usuarioSalvo.getCampusQueAdministro().isEmpty());
         assertFalse(usuarioSalvo.getRoles().contains(adminCampusRole));
 
+        verify(userService).publicarAlteracaoDePermissoes(user);
         verify(campusRepository).deleteById(1L);
     }
 
@@ -183,8 +188,8 @@ class CampusServiceTest {
         User usuario1 = new User();
         usuario1.setId(1L);
         usuario1.setUsername("user1@ifg.edu.br");
-        usuario1.setRoles(new ArrayList<>(List.of(adminCampusRole)));
-        usuario1.setCampusQueAdministro(new ArrayList<>(List.of(campus)));
+        usuario1.setRoles(new HashSet<>(Set.of(adminCampusRole)));
+        usuario1.setCampusQueAdministro(new HashSet<>(Set.of(campus)));
 
         Campus outroCampus = new Campus();
         outroCampus.setId(2L);
@@ -193,8 +198,8 @@ class CampusServiceTest {
         User usuario2 = new User();
         usuario2.setId(2L);
         usuario2.setUsername("user2@ifg.edu.br");
-        usuario2.setRoles(new ArrayList<>(List.of(adminCampusRole)));
-        usuario2.setCampusQueAdministro(new ArrayList<>(Arrays.asList(campus, outroCampus)));
+        usuario2.setRoles(new HashSet<>(Set.of(adminCampusRole)));
+        usuario2.setCampusQueAdministro(new HashSet<>(Arrays.asList(campus, outroCampus)));
 
         when(userRepository.findAll()).thenReturn(Arrays.asList(usuario1, usuario2));
 
@@ -0,0 +1,191 @@
+package br.edu.ifg.event_system.service;
+
+import br.edu.ifg.event_system.dto.EstatisticasCacheDTO;
+import br.edu.ifg.event_system.dto.EventoDetalheDTO;
+import br.edu.ifg.event_system.dto.EventoResumoDTO;
+import br.edu.ifg.event_system.dto.FiltroEventoDTO;
+import br.edu.ifg.event_system.dto.PaginaDTO;
+import br.edu.ifg.event_system.model.Evento;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogoEventosServiceTest {
+
+    @Mock
+    private EventoService eventoService;
+
+    @Mock
+    private BuscaEventosService buscaEventosService;
+
+    private CatalogoEventosService catalogoEventosService;
+    private Evento evento;
+    private EventoDetalheDTO detalhe;
+
+    @BeforeEach
+    void setUp() {
+        catalogoEventosService = novoCatalogo();
+
+        evento = new Evento();
+        evento.setId(1L);
+        evento.setTitulo("Evento Teste");
+        detalhe = new EventoDetalheDTO(evento);
+    }
+
+    @Test
+    void buscarDetalhe_SegundaLeitura_DeveVirDoCache() {
+        when(eventoService.buscarDetalhe(1L)).thenReturn(detalhe);
+
+        EventoDetalheDTO primeiro = catalogoEventosService.buscarDetalhe(1L).valor();
+        EventoDetalheDTO segundo = catalogoEventosService.buscarDetalhe(1L).valor();
+
+        assertSame(primeiro, segundo);
+        verify(eventoService, times(1)).buscarDetalhe(1L);
+
+        EstatisticasCacheDTO detalhes = catalogoEventosService.estatisticas().get(0);
+        assertEquals(1, detalhes.getAcertos());
+        assertEquals(1, detalhes.getFalhas());
+        assertEquals(0.5, detalhes.getTaxaAcerto());
+    }
+
+    @Test
+    void buscarDetalhe_EventoInexistente_NaoDeveSerArmazenado() {
+        when(eventoService.buscarDetalhe(99L)).thenReturn(null);
+
+        assertNull(catalogoEventosService.buscarDetalhe(99L));
+        assertNull(catalogoEventosService.buscarDetalhe(99L));
+        verify(eventoService, times(2)).buscarDetalhe(99L);
+    }
+
+    @Test
+    void aoAlterarCatalogo_DeveDescartarEntradasEAvancarVersao() {
+        when(eventoService.buscarDetalhe(1L)).thenReturn(detalhe);
+        catalogoEventosService.buscarDetalhe(1L);
+
+        catalogoEventosService.aoAlterarCatalogo(new EventoService.CatalogoAlteradoEvent(1L));
+        catalogoEventosService.buscarDetalhe(1L);
+
+        assertEquals(1, catalogoEventosService.getVersao());
+        verify(eventoService, times(2)).buscarDetalhe(1L);
+    }
+
+    @Test
+    void buscarDetalhe_AlteradoDuranteACarga_NaoDeveServirValorAntigo() {
+        when(eventoService.buscarDetalhe(1L)).thenAnswer(invocation -> {
+            catalogoEventosService.aoAlterarCatalogo(new EventoService.CatalogoAlteradoEvent(1L));
+            return detalhe;
+        });
+
+        catalogoEventosService.buscarDetalhe(1L);
+        catalogoEventosService.buscarDetalhe(1L);
+
+        verify(eventoService, times(2)).buscarDetalhe(1L);
+    }
+
+    @Test
+    void listarResumos_DeveSepararPorFiltro() {
+        FiltroEventoDTO campus1 = new FiltroEventoDTO();
+        campus1.setCampusId(1L);
+        FiltroEventoDTO campus2 = new FiltroEventoDTO();
+        campus2.setCampusId(2L);
+        when(eventoService.listarResumos(any())).thenReturn(List.of(new EventoResumoDTO(evento)));
+
+        catalogoEventosService.listarResumos(campus1);
+        catalogoEventosService.listarResumos(campus1);
+        catalogoEventosService.listarResumos(campus2);
+
+        verify(eventoService, times(1)).listarResumos(campus1);
+        verify(eventoService, times(1)).listarResumos(campus2);
+    }
+
+    @Test
+    void listarPaginado_MesmaPagina_DeveVirDoCache() {
+        FiltroEventoDTO filtro = new FiltroEventoDTO();
+        PaginaDTO<EventoResumoDTO> pagina = new PaginaDTO<>(List.of(), null);
+        when(eventoService.listarPaginado(filtro, null, 20, false)).thenReturn(pagina);
+
+        assertSame(pagina, catalogoEventosService.listarPaginado(filtro, null, 20, false).valor());
+        assertSame(pagina, catalogoEventosService.listarPaginado(filtro, null, 20, false).valor());
+        verify(eventoService, times(1)).listarPaginado(filtro, null, 20, false);
+    }
+
+    @Test
+    void pesquisar_MesmaConsulta_DeveVirDoCache() {
+        PaginaDTO<EventoResumoDTO> pagina = new PaginaDTO<>(List.of(new EventoResumoDTO(evento)), null);
+        when(buscaEventosService.buscar("java", null, 20)).thenReturn(pagina);
+
+        assertSame(pagina, catalogoEventosService.pesquisar("java", null, 20).valor());
+        assertSame(pagina, catalogoEventosService.pesquisar("java", null, 20).valor());
+        verify(buscaEventosService, times(1)).buscar("java", null, 20);
+    }
+
+    @Test
+    void pesquisarTodos_DeveSeguirOCursorAteAUltimaPagina() {
+        Evento outro = new Evento();
+        outro.setId(2L);
+        outro.setTitulo("Outro");
+        when(buscaEventosService.buscar("java", null, 100))
+                .thenReturn(new PaginaDTO<>(List.of(new EventoResumoDTO(evento)), "c1"));
+        when(buscaEventosService.buscar("java", "c1", 100))
+                .thenReturn(new PaginaDTO<>(List.of(new EventoResumoDTO(outro)), null));
+
+        List<EventoResumoDTO> resultados = catalogoEventosService.pesquisarTodos("java").valor();
+        catalogoEventosService.pesquisarTodos("java");
+
+        assertEquals(List.of(1L, 2L), resultados.stream().map(EventoResumoDTO::getId).toList());
+        verify(buscaEventosService, times(2)).buscar(eq("java"), any(), eq(100));
+    }
+
+    @Test
+    void etag_MesmoConteudoEmOutraInstancia_DeveSerIgual() {
+        when(eventoService.buscarDetalhe(1L)).thenReturn(detalhe).thenReturn(new EventoDetalheDTO(evento));
+
+        String etag = catalogoEventosService.buscarDetalhe(1L).etag();
+        String outraInstancia = novoCatalogo().buscarDetalhe(1L).etag();
+
+        assertEquals(etag, outraInstancia);
+        assertTrue(etag.startsWith("\"") && etag.endsWith("\""));
+    }
+
+    @Test
+    void etag_ConteudoAlterado_DeveMudar() {
+        when(eventoService.buscarDetalhe(1L)).thenReturn(detalhe);
+        String antes = catalogoEventosService.buscarDetalhe(1L).etag();
+
+        evento.setVagasOcupadas(1);
+        when(eventoService.buscarDetalhe(1L)).thenReturn(new EventoDetalheDTO(evento));
+        catalogoEventosService.aoAlterarCatalogo(new EventoService.CatalogoAlteradoEvent(1L));
+
+        assertNotEquals(antes, catalogoEventosService.buscarDetalhe(1L).etag());
+    }
+
+    @Test
+    void naoModificado_DeveInterpretarIfNoneMatch() {
+        String etag = "\"k1-3-0\"";
+
+        assertTrue(CatalogoEventosService.naoModificado(etag, etag));
+        assertTrue(CatalogoEventosService.naoModificado("\"outra\", W/" + etag, etag));
+        assertTrue(CatalogoEventosService.naoModificado("*", etag));
+        assertFalse(CatalogoEventosService.naoModificado("\"k1-2-0\"", etag));
+        assertFalse(CatalogoEventosService.naoModificado(null, etag));
+        assertFalse(CatalogoEventosService.naoModificado(" ", etag));
+    }
+
+    private CatalogoEventosService novoCatalogo() {
+        return new CatalogoEventosService(eventoService, buscaEventosService,
+                new ObjectMapper().findAndRegisterModules(), 100, 100, Duration.ofMinutes(1));
+    }
+
+}
@@ -1,5 +1,9 @@
 package br.edu.ifg.event_system.service;
 
+import br.edu.ifg.event_system.dto.EventoDetalheDTO;
+import br.edu.ifg.event_system.dto.EventoResumoDTO;
+import br.edu.ifg.event_system.dto.FiltroEventoDTO;
+import br.edu.ifg.event_system.dto.PaginaDTO;
 import br.edu.ifg.event_system.model.Evento;
 import br.edu.ifg.event_system.repository.EventoRepository;
 import jakarta.persistence.EntityManager;
@@ -10,6 +14,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDateTime;
@@ -33,6 +38,9 @@ class EventoServiceTest {
     @Mock
     private Query query;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private EventoService eventoService;
 
@@ -60,6 +68,7 @@ class EventoServiceTest {
         assertEquals(1L, resultado.getId());
         assertEquals("Evento Teste", resultado.getTitulo());
         verify(eventoRepository).save(evento);
+        verify(eventPublisher).publishEvent(new EventoService.CatalogoAlteradoEvent(1L));
     }
 
     @Test
@@ -98,17 +107,20 @@ class EventoServiceTest {
     }
 
     @Test
-    void buscarPorTituloOuDescricao_DeveRetornarEventosEncontrados() {
-        List<Evento> eventos = Collections.singletonList(evento);
-        String termo = "Teste";
-        when(eventoRepository.searchByTituloOrDescricao(termo)).thenReturn(eventos);
+    void buscarDetalhe_DeveMontarDetalheDoEvento() {
+        when(eventoRepository.findById(1L)).thenReturn(Optional.of(evento));
 
-        List<Evento> resultado = eventoService.buscarPorTituloOuDescricao(termo);
+        EventoDetalheDTO resultado = eventoService.buscarDetalhe(1L);
 
-        assertNotNull(resultado);
-        assertEquals(1, resultado.size());
-        assertEquals("Evento Teste", resultado.get(0).getTitulo());
-        verify(eventoRepository).searchByTituloOrDescricao(termo);
+        assertEquals(1L, resultado.getId());
+        assertEquals("Evento Teste", resultado.getTitulo());
+    }
+
+    @Test
+    void buscarDetalhe_ComIdInexistente_DeveRetornarNull() {
+        when(eventoRepository.findById(999L)).thenReturn(Optional.empty());
+
+        assertNull(eventoService.buscarDetalhe(999L));
     }
 
     @Test
@@ -120,9 +132,11 @@ class EventoServiceTest {
         eventoService.deletar(1L);
 
         verify(eventoRepository).existsById(1L);
-        verify(entityManager, times(4)).createNativeQuery(anyString());
-        verify(query, times(4)).setParameter(anyInt(), any());
-        verify(query, times(4)).executeUpdate();
+        verify(entityManager, times(5)).createNativeQuery(anyString());
+        verify(entityManager).createNativeQuery("DELETE FROM reserva_vaga WHERE evento_id = ?");
+        verify(query, times(5)).setParameter(anyInt(), any());
+        verify(query, times(5)).executeUpdate();
+        verify(eventPublisher).publishEvent(new EventoService.CatalogoAlteradoEvent(1L));
     }
 
     @Test
@@ -133,6 +147,7 @@ class EventoServiceTest {
 
         verify(eventoRepository).existsById(999L);
         verify(entityManager, never()).createNativeQuery(anyString());
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
@@ -187,4 +202,118 @@ class EventoServiceTest {
         verify(eventoRepository).findByCampusIdAndDepartamentoId(1L, 1L);
     }
 
-}
\ No newline at end of file
+    private EventoResumoDTO eventoEm(long id, LocalDateTime dataInicio) {
+        EventoResumoDTO e = new EventoResumoDTO();
+        e.setId(id);
+        e.setDataInicio(dataInicio);
+        return e;
+    }
+
+    @Test
+    void listarPaginado_ComMaisItensQueOLimite_DeveDevolverProximoCursor() {
+        LocalDateTime inicio = LocalDateTime.of(2025, 3, 10, 8, 0);
+        List<EventoResumoDTO> encontrados = List.of(eventoEm(1L, inicio), eventoEm(2L, inicio), eventoEm(3L, inicio.plusDays(1)));
+        when(eventoRepository.buscarResumos(any(), any(), eq(3))).thenReturn(encontrados);
+
+        PaginaDTO<EventoResumoDTO> pagina = eventoService.listarPaginado(new FiltroEventoDTO(), null, 2, false);
+
+        assertEquals(2, pagina.getItens().size());
+        assertNotNull(pagina.getProximoCursor());
+        EventoService.Cursor cursor = EventoService.Cursor.decodificar(pagina.getProximoCursor());
+        assertEquals(inicio, cursor.dataInicio());
+        assertEquals(2L, cursor.id());
+    }
+
+    @Test
+    void listarPaginado_NaUltimaPagina_DeveDevolverCursorNulo() {
+        when(eventoRepository.buscarResumos(any(), any(), eq(11))).thenReturn(List.of(eventoEm(5L, null)));
+        String cursor = EventoService.Cursor.codificar(null, 4L);
+
+        PaginaDTO<EventoResumoDTO> pagina = eventoService.listarPaginado(new FiltroEventoDTO(), cursor, 10, true);
+
+        assertEquals(1, pagina.getItens().size());
+        assertNull(pagina.getProximoCursor());
+    }
+
+    @Test
+    void listarPaginado_AoEsgotarEventosComData_DeveCompletarComOsSemData() {
+        LocalDateTime inicio = LocalDateTime.of(2025, 3, 10, 8, 0);
+        String cursor = EventoService.Cursor.codificar(inicio, 2L);
+        when(eventoRepository.buscarResumos(any(), any(), eq(3))).thenReturn(List.of(eventoEm(3L, inicio)));
+        when(eventoRepository.buscarResumos(any(), any(), eq(2))).thenReturn(List.of(eventoEm(7L, null), eventoEm(8L, null)));
+
+        PaginaDTO<EventoResumoDTO> pagina = eventoService.listarPaginado(new FiltroEventoDTO(), cursor, 2, false);
+
+        assertEquals(List.of(3L, 7L), pagina.getItens().stream().map(EventoResumoDTO::getId).toList());
+        EventoService.Cursor proximo = EventoService.Cursor.decodificar(pagina.getProximoCursor());
+        assertNull(proximo.dataInicio());
+        assertEquals(7L, proximo.id());
+    }
+
+    @Test
+    void listarPaginado_ComCursorNoTrechoSemData_NaoDeveConsultarOutroTrecho() {
+        when(eventoRepository.buscarResumos(any(), any(), eq(3))).thenReturn(List.of(eventoEm(8L, null)));
+
+        eventoService.listarPaginado(new FiltroEventoDTO(), EventoService.Cursor.codificar(null, 7L), 2, false);
+
+        verify(eventoRepository, times(1)).buscarResumos(any(), any(), anyInt());
+    }
+
+    @Test
+    void listarPaginado_ComCursorInvalido_DeveLancarExcecao() {
+        FiltroEventoDTO filtro = new FiltroEventoDTO();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> eventoService.listarPaginado(filtro, "nao-e-um-cursor", 10, false));
+        verify(eventoRepository, never()).buscarResumos(any(), any(), anyInt());
+    }
+
+    @Test
+    void listarPaginado_DeveLimitarTamanhoDaPagina() {
+        when(eventoRepository.buscarResumos(any(), any(), eq(101))).thenReturn(List.of());
+
+        eventoService.listarPaginado(new FiltroEventoDTO(), null, 5000, false);
+
+        verify(eventoRepository).buscarResumos(any(), any(), eq(101));
+    }
+
+    @Test
+    void pesquisarPaginado_DevePaginarPorCursor() {
+        LocalDateTime inicio = LocalDateTime.of(2025, 3, 10, 8, 0);
+        when(eventoRepository.buscarResumos(any(), any(), eq(2)))
+                .thenReturn(List.of(eventoEm(1L, inicio), eventoEm(2L, inicio)));
+
+        PaginaDTO<EventoResumoDTO> pagina = eventoService.pesquisarPaginado("java", null, 1);
+
+        assertEquals(1, pagina.getItens().size());
+        assertEquals(1L, EventoService.Cursor.decodificar(pagina.getProximoCursor()).id());
+    }
+
+    @Test
+    void listarQueGerencio_SemCampusNemDepartamentos_NaoDeveConsultar() {
+        EventoService.EscopoGerencia escopo = new EventoService.EscopoGerencia(false, List.of(), List.of());
+
+        assertTrue(eventoService.listarQueGerencio(escopo, false).isEmpty());
+        assertTrue(eventoService.listarQueGerencioPaginado(escopo, true, null, 10).getItens().isEmpty());
+        verifyNoInteractions(eventoRepository);
+    }
+
+    @Test
+    void listarQueGerencio_DeveFiltrarNoBanco() {
+        EventoService.EscopoGerencia escopo = new EventoService.EscopoGerencia(false, List.of(1L), List.of(2L));
+        List<EventoResumoDTO> encontrados = List.of(eventoEm(1L, LocalDateTime.of(2025, 3, 10, 8, 0)));
+        when(eventoRepository.buscarResumos(any(), any())).thenReturn(encontrados);
+
+        assertSame(encontrados, eventoService.listarQueGerencio(escopo, true));
+        verify(eventoRepository, never()).findAll();
+    }
+
+    @Test
+    void cursor_DevePreservarDataNula() {
+        EventoService.Cursor cursor = EventoService.Cursor.decodificar(EventoService.Cursor.codificar(null, 42L));
+
+        assertNull(cursor.dataInicio());
+        assertEquals(42L, cursor.id());
+    }
+
+}
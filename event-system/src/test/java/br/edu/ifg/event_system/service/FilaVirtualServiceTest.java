@@ -0,0 +1,138 @@
+package br.edu.ifg.event_system.service;
+
+import br.edu.ifg.event_system.dto.FilaVirtualDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FilaVirtualServiceTest {
+
+    private AtomicLong agora;
+    private FilaVirtualService filaVirtualService;
+
+    @BeforeEach
+    void setUp() {
+        agora = new AtomicLong(1_000_000L);
+        filaVirtualService = new FilaVirtualService("segredo-de-teste", 2, Duration.ofMinutes(30), agora::get);
+    }
+
+    @Test
+    void entrar_DeveDistribuirPosicoesEmOrdemDeChegada() {
+        FilaVirtualDTO primeiro = filaVirtualService.entrar(1L, "a");
+        FilaVirtualDTO segundo = filaVirtualService.entrar(1L, "b");
+
+        assertEquals(1, primeiro.getPosicao());
+        assertEquals(2, segundo.getPosicao());
+        assertFalse(segundo.isAdmitido());
+        assertEquals(1, segundo.getEstimativaSegundos());
+    }
+
+    @Test
+    void entrar_UsuarioJaNaFila_DeveManterPosicao() {
+        filaVirtualService.entrar(1L, "a");
+        filaVirtualService.entrar(1L, "b");
+
+        assertEquals(1, filaVirtualService.entrar(1L, "a").getPosicao());
+    }
+
+    @Test
+    void verificarAdmissao_DeveLiberarNaTaxaConfigurada() {
+        String tokenA = filaVirtualService.entrar(1L, "a").getToken();
+        String tokenB = filaVirtualService.entrar(1L, "b").getToken();
+        String tokenC = filaVirtualService.entrar(1L, "c").getToken();
+
+        agora.addAndGet(500);
+        assertEquals(FilaVirtualService.Admissao.ADMITIDO, filaVirtualService.verificarAdmissao(1L, "a", tokenA));
+        assertEquals(FilaVirtualService.Admissao.AGUARDANDO, filaVirtualService.verificarAdmissao(1L, "b", tokenB));
+
+        agora.addAndGet(500);
+        assertEquals(FilaVirtualService.Admissao.ADMITIDO, filaVirtualService.verificarAdmissao(1L, "b", tokenB));
+        assertEquals(FilaVirtualService.Admissao.AGUARDANDO, filaVirtualService.verificarAdmissao(1L, "c", tokenC));
+    }
+
+    @Test
+    void verificarAdmissao_ComFilaOciosa_NaoDeveAcumularAdmissoes() {
+        filaVirtualService.entrar(1L, "a");
+        agora.addAndGet(60_000);
+
+        String tokenB = filaVirtualService.entrar(1L, "b").getToken();
+        String tokenC = filaVirtualService.entrar(1L, "c").getToken();
+        agora.addAndGet(500);
+
+        assertEquals(FilaVirtualService.Admissao.ADMITIDO, filaVirtualService.verificarAdmissao(1L, "b", tokenB));
+        assertEquals(FilaVirtualService.Admissao.AGUARDANDO, filaVirtualService.verificarAdmissao(1L, "c", tokenC));
+    }
+
+    @Test
+    void verificarAdmissao_ComTokenAdulterado_DeveRetornarInvalido() {
+        String token = filaVirtualService.entrar(1L, "a").getToken();
+        agora.addAndGet(1000);
+
+        String adulterado = "X" + token.substring(1);
+        assertEquals(FilaVirtualService.Admissao.INVALIDO, filaVirtualService.verificarAdmissao(1L, "a", adulterado));
+        assertEquals(FilaVirtualService.Admissao.INVALIDO, filaVirtualService.verificarAdmissao(1L, "a", "lixo"));
+        assertEquals(FilaVirtualService.Admissao.INVALIDO, filaVirtualService.verificarAdmissao(1L, "a", null));
+    }
+
+    @Test
+    void verificarAdmissao_ComTokenDeOutroUsuarioOuEvento_DeveRetornarInvalido() {
+        String token = filaVirtualService.entrar(1L, "a").getToken();
+        filaVirtualService.entrar(2L, "a");
+        agora.addAndGet(1000);
+
+        assertEquals(FilaVirtualService.Admissao.INVALIDO, filaVirtualService.verificarAdmissao(1L, "b", token));
+        assertEquals(FilaVirtualService.Admissao.INVALIDO, filaVirtualService.verificarAdmissao(2L, "a", token));
+    }
+
+    @Test
+    void verificarAdmissao_ComTokenExpirado_DeveRetornarInvalido() {
+        String token = filaVirtualService.entrar(1L, "a").getToken();
+        agora.addAndGet(Duration.ofMinutes(31).toMillis());
+
+        assertEquals(FilaVirtualService.Admissao.INVALIDO, filaVirtualService.verificarAdmissao(1L, "a", token));
+    }
+
+    @Test
+    void consultar_ComTokenValido_DeveRetornarSituacao() {
+        String token = filaVirtualService.entrar(1L, "a").getToken();
+        agora.addAndGet(1000);
+
+        FilaVirtualDTO situacao = filaVirtualService.consultar(1L, "a", token);
+
+        assertNotNull(situacao);
+        assertTrue(situacao.isAdmitido());
+        assertNull(filaVirtualService.consultar(1L, "b", token));
+    }
+
+    @Test
+    void possuiSala_DeveRefletirEntradasEEncerramento() {
+        assertFalse(filaVirtualService.possuiSala(1L));
+
+        filaVirtualService.entrar(1L, "a");
+        assertTrue(filaVirtualService.possuiSala(1L));
+
+        filaVirtualService.encerrar(1L);
+        assertFalse(filaVirtualService.possuiSala(1L));
+    }
+
+    @Test
+    void descartarExpiradas_DeveRemoverPosicoesVencidasESalasVazias() {
+        filaVirtualService.entrar(1L, "a");
+        filaVirtualService.entrar(2L, "a");
+        agora.addAndGet(Duration.ofMinutes(20).toMillis());
+        filaVirtualService.entrar(2L, "b");
+        agora.addAndGet(Duration.ofMinutes(15).toMillis());
+
+        filaVirtualService.descartarExpiradas();
+
+        assertEquals(1, filaVirtualService.getQuantidadeSalas());
+        assertEquals(2, filaVirtualService.entrar(2L, "b").getPosicao());
+        assertEquals(3, filaVirtualService.entrar(2L, "a").getPosicao());
+        assertEquals(1, filaVirtualService.entrar(1L, "c").getPosicao());
+    }
+
+}
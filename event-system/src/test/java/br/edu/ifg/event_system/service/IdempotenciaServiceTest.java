@@ -0,0 +1,131 @@
+package br.edu.ifg.event_system.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotenciaServiceTest {
+
+    private IdempotenciaService idempotenciaService;
+    private AtomicInteger execucoes;
+
+    @BeforeEach
+    void setUp() {
+        idempotenciaService = new IdempotenciaService(100, Duration.ofMinutes(5), 50);
+        execucoes = new AtomicInteger();
+    }
+
+    private ResponseEntity<Object> operacao(HttpStatus status) {
+        execucoes.incrementAndGet();
+        return ResponseEntity.status(status).body("resposta " + execucoes.get());
+    }
+
+    @Test
+    void executar_SemChave_DeveExecutarSempre() {
+        idempotenciaService.executar("user", "inscrever:1", null, () -> operacao(HttpStatus.OK));
+        idempotenciaService.executar("user", "inscrever:1", " ", () -> operacao(HttpStatus.OK));
+
+        assertEquals(2, execucoes.get());
+    }
+
+    @Test
+    void executar_ComMesmaChave_DeveRepetirRespostaSemExecutarNovamente() {
+        ResponseEntity<Object> primeira = idempotenciaService.executar("user", "inscrever:1", "k", () -> operacao(HttpStatus.OK));
+        ResponseEntity<Object> segunda = idempotenciaService.executar("user", "inscrever:1", "k", () -> operacao(HttpStatus.OK));
+
+        assertEquals(1, execucoes.get());
+        assertEquals(primeira.getBody(), segunda.getBody());
+        assertEquals(HttpStatus.OK, segunda.getStatusCode());
+        assertEquals("true", segunda.getHeaders().getFirst(IdempotenciaService.CABECALHO_REPETICAO));
+    }
+
+    @Test
+    void executar_ComErroDeNegocio_DeveMemorizarResposta() {
+        idempotenciaService.executar("user", "inscrever:1", "k", () -> operacao(HttpStatus.BAD_REQUEST));
+        ResponseEntity<Object> segunda = idempotenciaService.executar("user", "inscrever:1", "k", () -> operacao(HttpStatus.OK));
+
+        assertEquals(1, execucoes.get());
+        assertEquals(HttpStatus.BAD_REQUEST, segunda.getStatusCode());
+    }
+
+    @Test
+    void executar_ComErroInterno_NaoDeveMemorizarResposta() {
+        idempotenciaService.executar("user", "inscrever:1", "k", () -> operacao(HttpStatus.INTERNAL_SERVER_ERROR));
+        ResponseEntity<Object> segunda = idempotenciaService.executar("user", "inscrever:1", "k", () -> operacao(HttpStatus.OK));
+
+        assertEquals(2, execucoes.get());
+        assertEquals(HttpStatus.OK, segunda.getStatusCode());
+    }
+
+    @Test
+    void executar_AguardandoFilaDepoisAdmitido_DeveExecutarNovamenteComMesmaChave() {
+        ResponseEntity<Object> aguardando = idempotenciaService.executar("user", "inscrever:1", "k",
+                () -> operacao(HttpStatus.TOO_MANY_REQUESTS));
+        ResponseEntity<Object> admitido = idempotenciaService.executar("user", "inscrever:1", "k",
+                () -> operacao(HttpStatus.OK));
+        ResponseEntity<Object> repeticao = idempotenciaService.executar("user", "inscrever:1", "k",
+                () -> operacao(HttpStatus.OK));
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, aguardando.getStatusCode());
+        assertEquals(HttpStatus.OK, admitido.getStatusCode());
+        assertNull(admitido.getHeaders().getFirst(IdempotenciaService.CABECALHO_REPETICAO));
+        assertEquals(2, execucoes.get());
+        assertEquals(admitido.getBody(), repeticao.getBody());
+        assertEquals("true", repeticao.getHeaders().getFirst(IdempotenciaService.CABECALHO_REPETICAO));
+    }
+
+    @Test
+    void executar_ComRecusaDeAcesso_NaoDeveMemorizarResposta() {
+        idempotenciaService.executar("user", "inscrever:1", "k", () -> operacao(HttpStatus.FORBIDDEN));
+        idempotenciaService.executar("user", "inscrever:1", "k2", () -> operacao(HttpStatus.UNAUTHORIZED));
+        ResponseEntity<Object> forbidden = idempotenciaService.executar("user", "inscrever:1", "k", () -> operacao(HttpStatus.OK));
+        ResponseEntity<Object> unauthorized = idempotenciaService.executar("user", "inscrever:1", "k2", () -> operacao(HttpStatus.OK));
+
+        assertEquals(4, execucoes.get());
+        assertEquals(HttpStatus.OK, forbidden.getStatusCode());
+        assertEquals(HttpStatus.OK, unauthorized.getStatusCode());
+    }
+
+    @Test
+    void executar_ComExcecao_DeveLiberarChaveParaNovaTentativa() {
+        assertThrows(IllegalStateException.class, () -> idempotenciaService.executar("user", "inscrever:1", "k", () -> {
+            throw new IllegalStateException("falha");
+        }));
+
+        idempotenciaService.executar("user", "inscrever:1", "k", () -> operacao(HttpStatus.OK));
+        assertEquals(1, execucoes.get());
+    }
+
+    @Test
+    void executar_ComMesmaChaveEmOutraRequisicao_DeveRetornarUnprocessableEntity() {
+        idempotenciaService.executar("user", "inscrever:1", "k", () -> operacao(HttpStatus.OK));
+        ResponseEntity<Object> resposta = idempotenciaService.executar("user", "inscrever:2", "k", () -> operacao(HttpStatus.OK));
+
+        assertEquals(1, execucoes.get());
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, resposta.getStatusCode());
+    }
+
+    @Test
+    void executar_ComMesmaChaveDeOutroUsuario_DeveExecutarIndependentemente() {
+        idempotenciaService.executar("user-a", "inscrever:1", "k", () -> operacao(HttpStatus.OK));
+        idempotenciaService.executar("user-b", "inscrever:1", "k", () -> operacao(HttpStatus.OK));
+
+        assertEquals(2, execucoes.get());
+    }
+
+    @Test
+    void executar_ComRequisicaoOriginalEmAndamento_DeveRetornarConflict() {
+        ResponseEntity<Object> repeticao = idempotenciaService.executar("user", "inscrever:1", "k",
+                () -> idempotenciaService.executar("user", "inscrever:1", "k", () -> operacao(HttpStatus.OK)));
+
+        assertEquals(0, execucoes.get());
+        assertEquals(HttpStatus.CONFLICT, repeticao.getStatusCode());
+    }
+
+}
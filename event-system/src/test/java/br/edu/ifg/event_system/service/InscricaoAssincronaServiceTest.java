@@ -0,0 +1,142 @@
+package br.edu.ifg.event_system.service;
+
+import br.edu.ifg.event_system.dto.TicketInscricaoDTO;
+import br.edu.ifg.event_system.exception.InscricaoException;
+import br.edu.ifg.event_system.model.Evento;
+import br.edu.ifg.event_system.model.Inscricao;
+import br.edu.ifg.event_system.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InscricaoAssincronaServiceTest {
+
+    @Mock
+    private InscricaoService inscricaoService;
+
+    @Mock
+    private InscricaoExecutorService inscricaoExecutorService;
+
+    private InscricaoAssincronaService inscricaoAssincronaService;
+    private User user;
+    private Evento evento;
+
+    @BeforeEach
+    void setUp() {
+        inscricaoAssincronaService = new InscricaoAssincronaService(
+                inscricaoService, inscricaoExecutorService, 100, Duration.ofMinutes(5));
+
+        // Como a referência devolvida por getReferenceById: qualquer leitura além do id consultaria o banco.
+        user = mock(User.class);
+
+        evento = new Evento();
+        evento.setId(1L);
+    }
+
+    @Test
+    void aceitar_DeveRetornarTicketPendenteEnquantoFaixaProcessa() {
+        CompletableFuture<Inscricao> futuro = new CompletableFuture<>();
+        when(inscricaoExecutorService.submeter(user, evento, null)).thenReturn(futuro);
+
+        TicketInscricaoDTO ticket = inscricaoAssincronaService.aceitar("usuario@ifg.edu.br", user, evento, null);
+
+        assertEquals("PENDENTE", ticket.getStatus());
+        assertNotNull(ticket.getTicket());
+        assertEquals("PENDENTE", inscricaoAssincronaService.consultar(ticket.getTicket(), "usuario@ifg.edu.br")
+                .orElseThrow().getStatus());
+        verifyNoInteractions(user);
+    }
+
+    @Test
+    void consultar_AposProcessamento_DeveRetornarStatusDaInscricao() {
+        CompletableFuture<Inscricao> futuro = new CompletableFuture<>();
+        when(inscricaoExecutorService.submeter(user, evento, null)).thenReturn(futuro);
+        TicketInscricaoDTO ticket = inscricaoAssincronaService.aceitar("usuario@ifg.edu.br", user, evento, null);
+
+        Inscricao inscricao = new Inscricao();
+        inscricao.setId(10L);
+        inscricao.setStatus("LISTA_ESPERA");
+        futuro.complete(inscricao);
+
+        TicketInscricaoDTO consulta = inscricaoAssincronaService.consultar(ticket.getTicket(), "usuario@ifg.edu.br").orElseThrow();
+        assertEquals("LISTA_ESPERA", consulta.getStatus());
+        assertEquals(10L, consulta.getInscricaoId());
+    }
+
+    @Test
+    void consultar_TicketPendente_NaoDeveSerDescartadoPelaCapacidadeDoCache() {
+        inscricaoAssincronaService = new InscricaoAssincronaService(
+                inscricaoService, inscricaoExecutorService, 1, Duration.ofMinutes(5));
+        CompletableFuture<Inscricao> pendente = new CompletableFuture<>();
+        when(inscricaoExecutorService.submeter(user, evento, null))
+                .thenReturn(pendente)
+                .thenReturn(CompletableFuture.completedFuture(new Inscricao()))
+                .thenReturn(CompletableFuture.completedFuture(new Inscricao()));
+
+        TicketInscricaoDTO ticket = inscricaoAssincronaService.aceitar("usuario@ifg.edu.br", user, evento, null);
+        inscricaoAssincronaService.aceitar("usuario@ifg.edu.br", user, evento, null);
+        TicketInscricaoDTO ultimo = inscricaoAssincronaService.aceitar("usuario@ifg.edu.br", user, evento, null);
+
+        assertEquals("PENDENTE", inscricaoAssincronaService.consultar(ticket.getTicket(), "usuario@ifg.edu.br")
+                .orElseThrow().getStatus());
+        assertTrue(inscricaoAssincronaService.consultar(ultimo.getTicket(), "usuario@ifg.edu.br").isPresent());
+
+        Inscricao inscricao = new Inscricao();
+        inscricao.setStatus("ATIVA");
+        pendente.complete(inscricao);
+
+        assertEquals("ATIVA", inscricaoAssincronaService.consultar(ticket.getTicket(), "usuario@ifg.edu.br")
+                .orElseThrow().getStatus());
+    }
+
+    @Test
+    void consultar_ComInscricaoRecusada_DeveRetornarRejeitadaComMotivo() {
+        CompletableFuture<Inscricao> futuro = new CompletableFuture<>();
+        when(inscricaoExecutorService.submeter(user, evento, null)).thenReturn(futuro);
+        TicketInscricaoDTO ticket = inscricaoAssincronaService.aceitar("usuario@ifg.edu.br", user, evento, null);
+
+        futuro.completeExceptionally(new InscricaoException("Você já está inscrito neste evento!"));
+
+        TicketInscricaoDTO consulta = inscricaoAssincronaService.consultar(ticket.getTicket(), "usuario@ifg.edu.br").orElseThrow();
+        assertEquals("REJEITADA", consulta.getStatus());
+        assertEquals("Você já está inscrito neste evento!", consulta.getMensagem());
+    }
+
+    @Test
+    void consultar_TicketDeOutroUsuario_DeveRetornarVazio() {
+        when(inscricaoExecutorService.submeter(user, evento, null)).thenReturn(new CompletableFuture<>());
+        TicketInscricaoDTO ticket = inscricaoAssincronaService.aceitar("usuario@ifg.edu.br", user, evento, null);
+
+        assertTrue(inscricaoAssincronaService.consultar(ticket.getTicket(), "outro@ifg.edu.br").isEmpty());
+        assertTrue(inscricaoAssincronaService.consultar("inexistente", "usuario@ifg.edu.br").isEmpty());
+    }
+
+    @Test
+    void aceitar_ComFilaCheia_DeveLancarExcecao() {
+        when(inscricaoExecutorService.submeter(user, evento, null))
+                .thenReturn(CompletableFuture.failedFuture(new InscricaoException("fila cheia")));
+
+        InscricaoException exception = assertThrows(InscricaoException.class,
+                () -> inscricaoAssincronaService.aceitar("usuario@ifg.edu.br", user, evento, null));
+        assertEquals("fila cheia", exception.getMessage());
+    }
+
+    @Test
+    void aceitar_ComPrazoEncerrado_NaoDeveEnfileirar() {
+        doThrow(new InscricaoException("encerrado")).when(inscricaoService).verificarPrazoInscricao(evento);
+
+        assertThrows(InscricaoException.class, () -> inscricaoAssincronaService.aceitar("usuario@ifg.edu.br", user, evento, null));
+        verify(inscricaoExecutorService, never()).submeter(any(), any(), any());
+    }
+
+}
@@ -0,0 +1,239 @@
+package br.edu.ifg.event_system.service;
+
+import br.edu.ifg.event_system.exception.InscricaoException;
+import br.edu.ifg.event_system.model.Evento;
+import br.edu.ifg.event_system.model.Inscricao;
+import br.edu.ifg.event_system.model.User;
+import br.edu.ifg.event_system.repository.EventoRepository;
+import br.edu.ifg.event_system.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InscricaoExecutorServiceTest {
+
+    @Mock
+    private InscricaoService inscricaoService;
+
+    @Mock
+    private EventoRepository eventoRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private InscricaoExecutorService executorService;
+
+    private Evento evento;
+    private User user1;
+    private User user2;
+
+    @BeforeEach
+    void setUp() {
+        executorService = new InscricaoExecutorService(inscricaoService, eventoRepository, userRepository,
+                transactionTemplate, true, 1, 32, 100, 2000);
+
+        evento = new Evento();
+        evento.setId(1L);
+
+        user1 = new User();
+        user1.setId(1L);
+        user2 = new User();
+        user2.setId(2L);
+
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            TransactionCallback<?> callback = invocation.getArgument(0);
+            return callback.doInTransaction(null);
+        });
+        lenient().when(eventoRepository.findById(1L)).thenReturn(Optional.of(evento));
+        lenient().when(userRepository.getReferenceById(1L)).thenReturn(user1);
+        lenient().when(userRepository.getReferenceById(2L)).thenReturn(user2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executorService.encerrar();
+    }
+
+    private InscricaoExecutorService.Comando comando(User user) {
+        return new InscricaoExecutorService.Comando(user.getId(), 1L, null, new CompletableFuture<>());
+    }
+
+    @Test
+    void isHabilitado_DeveRefletirConfiguracao() {
+        assertTrue(executorService.isHabilitado());
+    }
+
+    @Test
+    void desabilitado_SoDeveCriarFaixasNaPrimeiraInscricaoAssincrona() throws Exception {
+        long antes = threadsDeFaixa();
+        InscricaoExecutorService desabilitado = new InscricaoExecutorService(inscricaoService, eventoRepository,
+                userRepository, transactionTemplate, false, 2, 32, 100, 2000);
+        try {
+            assertFalse(desabilitado.isHabilitado());
+            assertTrue(threadsDeFaixa() <= antes);
+
+            Inscricao inscricao = new Inscricao(user1, evento, LocalDateTime.now(), "ATIVA");
+            when(inscricaoService.registrarInscricao(user1, evento, null)).thenReturn(inscricao);
+
+            assertSame(inscricao, desabilitado.submeter(user1, evento, null).get(5, TimeUnit.SECONDS));
+        } finally {
+            desabilitado.encerrar();
+        }
+    }
+
+    @Test
+    void encerrar_SemFaixasCriadas_NaoDeveFalhar() {
+        new InscricaoExecutorService(inscricaoService, eventoRepository, userRepository,
+                transactionTemplate, false, 2, 32, 100, 2000).encerrar();
+    }
+
+    private static long threadsDeFaixa() {
+        return Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.isAlive() && thread.getName().startsWith("inscricao-faixa-"))
+                .count();
+    }
+
+    @Test
+    void processarLote_DeveGravarTodasAsInscricoesEmUmaTransacao() throws Exception {
+        Inscricao inscricao1 = new Inscricao(user1, evento, LocalDateTime.now(), "ATIVA");
+        Inscricao inscricao2 = new Inscricao(user2, evento, LocalDateTime.now(), "ATIVA");
+        when(inscricaoService.registrarInscricao(user1, evento, null)).thenReturn(inscricao1);
+        when(inscricaoService.registrarInscricao(user2, evento, null)).thenReturn(inscricao2);
+
+        InscricaoExecutorService.Comando c1 = comando(user1);
+        InscricaoExecutorService.Comando c2 = comando(user2);
+
+        executorService.processarLote(List.of(c1, c2));
+
+        assertSame(inscricao1, c1.resultado().get());
+        assertSame(inscricao2, c2.resultado().get());
+        verify(transactionTemplate, times(1)).execute(any());
+        verify(eventoRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    void processarLote_ComErroDeValidacao_NaoDeveAfetarDemaisComandos() throws Exception {
+        Inscricao inscricao2 = new Inscricao(user2, evento, LocalDateTime.now(), "ATIVA");
+        when(inscricaoService.registrarInscricao(user1, evento, null))
+                .thenThrow(new InscricaoException("Você já está inscrito neste evento!"));
+        when(inscricaoService.registrarInscricao(user2, evento, null)).thenReturn(inscricao2);
+
+        InscricaoExecutorService.Comando c1 = comando(user1);
+        InscricaoExecutorService.Comando c2 = comando(user2);
+
+        executorService.processarLote(List.of(c1, c2));
+
+        ExecutionException erro = assertThrows(ExecutionException.class, () -> c1.resultado().get());
+        assertEquals("Você já está inscrito neste evento!", erro.getCause().getMessage());
+        assertSame(inscricao2, c2.resultado().get());
+        verify(transactionTemplate, times(1)).execute(any());
+    }
+
+    @Test
+    void processarLote_ComFalhaNaTransacao_DeveReprocessarIndividualmente() throws Exception {
+        Inscricao inscricao2 = new Inscricao(user2, evento, LocalDateTime.now(), "ATIVA");
+        when(inscricaoService.registrarInscricao(user1, evento, null))
+                .thenThrow(new DataIntegrityViolationException("UK_inscricao_user_evento"));
+        when(inscricaoService.registrarInscricao(user2, evento, null)).thenReturn(inscricao2);
+
+        InscricaoExecutorService.Comando c1 = comando(user1);
+        InscricaoExecutorService.Comando c2 = comando(user2);
+
+        executorService.processarLote(List.of(c1, c2));
+
+        ExecutionException erro = assertThrows(ExecutionException.class, () -> c1.resultado().get());
+        assertInstanceOf(DataIntegrityViolationException.class, erro.getCause());
+        assertSame(inscricao2, c2.resultado().get());
+        verify(transactionTemplate, times(3)).execute(any());
+    }
+
+    @Test
+    void inscrever_DeveProcessarNaFaixaEDevolverUsuarioDoChamador() {
+        User referencia = new User();
+        referencia.setId(1L);
+        when(userRepository.getReferenceById(1L)).thenReturn(referencia);
+        when(inscricaoService.registrarInscricao(referencia, evento, null))
+                .thenReturn(new Inscricao(referencia, evento, LocalDateTime.now(), "ATIVA"));
+
+        Inscricao resultado = executorService.inscrever(user1, evento, null);
+
+        assertEquals("ATIVA", resultado.getStatus());
+        assertSame(user1, resultado.getUser());
+    }
+
+    @Test
+    void inscrever_ComErroDeValidacao_DevePropagarInscricaoException() {
+        when(inscricaoService.registrarInscricao(user1, evento, null))
+                .thenThrow(new InscricaoException("As inscrições para este evento já foram encerradas!"));
+
+        InscricaoException erro = assertThrows(InscricaoException.class,
+                () -> executorService.inscrever(user1, evento, null));
+
+        assertEquals("As inscrições para este evento já foram encerradas!", erro.getMessage());
+    }
+
+    @Test
+    void processarLote_ComComandoAbandonado_NaoDeveGravarOComando() throws Exception {
+        when(inscricaoService.registrarInscricao(user2, evento, null))
+                .thenReturn(new Inscricao(user2, evento, LocalDateTime.now(), "ATIVA"));
+        InscricaoExecutorService.Comando c1 = comando(user1);
+        InscricaoExecutorService.Comando c2 = comando(user2);
+        assertTrue(c1.abandonar());
+
+        executorService.processarLote(List.of(c1, c2));
+
+        assertEquals("ATIVA", c2.resultado().get().getStatus());
+        assertFalse(c1.resultado().isDone());
+        verify(inscricaoService, never()).registrarInscricao(eq(user1), any(), any());
+        verify(transactionTemplate, times(1)).execute(any());
+    }
+
+    @Test
+    void inscrever_ComTempoEsgotadoNaFila_DeveAbandonarOComando() throws Exception {
+        executorService.encerrar();
+        executorService = new InscricaoExecutorService(inscricaoService, eventoRepository, userRepository,
+                transactionTemplate, true, 1, 32, 100, 100);
+        CountDownLatch iniciou = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        when(inscricaoService.registrarInscricao(user1, evento, null)).thenAnswer(invocacao -> {
+            iniciou.countDown();
+            liberar.await(5, TimeUnit.SECONDS);
+            return new Inscricao(user1, evento, LocalDateTime.now(), "ATIVA");
+        });
+
+        CompletableFuture<Inscricao> emExecucao = executorService.submeter(user1, evento, null);
+        assertTrue(iniciou.await(5, TimeUnit.SECONDS));
+
+        InscricaoException erro = assertThrows(InscricaoException.class,
+                () -> executorService.inscrever(user2, evento, null));
+        liberar.countDown();
+        emExecucao.get(5, TimeUnit.SECONDS);
+        executorService.submeter(user1, evento, null).get(5, TimeUnit.SECONDS);
+
+        assertEquals("Tempo esgotado ao processar a inscrição. Tente novamente.", erro.getMessage());
+        verify(inscricaoService, never()).registrarInscricao(eq(user2), any(), any());
+    }
+
+}
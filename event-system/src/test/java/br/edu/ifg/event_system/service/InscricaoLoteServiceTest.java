@@ -0,0 +1,217 @@
+package br.edu.ifg.event_system.service;
+
+import br.edu.ifg.event_system.dto.InscricaoEmLoteRequestDTO;
+import br.edu.ifg.event_system.dto.ItemInscricaoEmLoteDTO;
+import br.edu.ifg.event_system.dto.ResultadoInscricaoEmLoteDTO;
+import br.edu.ifg.event_system.exception.InscricaoException;
+import br.edu.ifg.event_system.model.Evento;
+import br.edu.ifg.event_system.repository.EventoRepository;
+import br.edu.ifg.event_system.repository.InscricaoRepository;
+import br.edu.ifg.event_system.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InscricaoLoteServiceTest {
+
+    @Mock
+    private EventoRepository eventoRepository;
+
+    @Mock
+    private InscricaoRepository inscricaoRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ReservaVagaService reservaVagaService;
+
+    @Mock
+    private VagaService vagaService;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private InscricaoLoteService inscricaoLoteService;
+    private Evento evento;
+
+    @BeforeEach
+    void setUp() {
+        inscricaoLoteService = new InscricaoLoteService(
+                eventoRepository, inscricaoRepository, userRepository, reservaVagaService, vagaService,
+                jdbcTemplate, 10, 500);
+
+        evento = new Evento();
+        evento.setId(1L);
+        evento.setVagas(2);
+        evento.setVagasOcupadas(0);
+    }
+
+    private UserRepository.Resumo resumo(Long id, String username) {
+        return new UserRepository.Resumo() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getUsername() {
+                return username;
+            }
+        };
+    }
+
+    private static List<String> resultados(ResultadoInscricaoEmLoteDTO dto) {
+        List<String> lista = new ArrayList<>();
+        for (ItemInscricaoEmLoteDTO item : dto.getItens()) {
+            lista.add(item.getIdentificador() + "=" + item.getResultado());
+        }
+        return lista;
+    }
+
+    @Test
+    void inscrever_DeveReportarCadaLinhaEOcuparVagasUmaVez() {
+        InscricaoEmLoteRequestDTO request = new InscricaoEmLoteRequestDTO();
+        request.setUserIds(List.of(1L, 2L, 99L, 1L));
+        request.setUsernames(List.of("c@ifg.edu.br", "d@ifg.edu.br"));
+
+        when(eventoRepository.findByIdParaAtualizacao(1L)).thenReturn(Optional.of(evento));
+        when(userRepository.findResumoByIdIn(any())).thenReturn(List.of(resumo(1L, "a"), resumo(2L, "b")));
+        when(userRepository.findResumoByUsernameIn(any()))
+                .thenReturn(List.of(resumo(3L, "c@ifg.edu.br"), resumo(4L, "d@ifg.edu.br")));
+        when(inscricaoRepository.findStatusPorUsuario(eq(1L), any()))
+                .thenReturn(List.<Object[]>of(new Object[]{2L, "ATIVA"}));
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), eq(500), any()))
+                .thenReturn(new int[][]{{1, 1, 1}});
+
+        ResultadoInscricaoEmLoteDTO resultado = inscricaoLoteService.inscrever(1L, request);
+
+        assertEquals(List.of("1=ATIVA", "2=JA_INSCRITO", "99=USUARIO_INEXISTENTE", "1=DUPLICADO",
+                "c@ifg.edu.br=ATIVA", "d@ifg.edu.br=LISTA_ESPERA"), resultados(resultado));
+        assertEquals(2, resultado.getTotais().get("ATIVA"));
+        verify(eventoRepository).ocuparVagas(1L, 2);
+    }
+
+    @Test
+    void inscrever_ComConflitoConcorrente_DeveReportarJaInscrito() {
+        InscricaoEmLoteRequestDTO request = new InscricaoEmLoteRequestDTO();
+        request.setUserIds(List.of(1L, 2L));
+
+        when(eventoRepository.findByIdParaAtualizacao(1L)).thenReturn(Optional.of(evento));
+        when(userRepository.findResumoByIdIn(any())).thenReturn(List.of(resumo(1L, "a"), resumo(2L, "b")));
+        when(inscricaoRepository.findStatusPorUsuario(eq(1L), any())).thenReturn(List.of());
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), eq(500), any()))
+                .thenReturn(new int[][]{{0, 1}});
+
+        ResultadoInscricaoEmLoteDTO resultado = inscricaoLoteService.inscrever(1L, request);
+
+        assertEquals("JA_INSCRITO", resultado.getItens().get(0).getResultado());
+        assertEquals("ATIVA", resultado.getItens().get(1).getResultado());
+        verify(eventoRepository).ocuparVagas(1L, 1);
+    }
+
+    @Test
+    void inscrever_ComReservas_DeveInscreverQuemReservouSemOcuparOutraVaga() {
+        evento.setVagasOcupadas(2);
+        InscricaoEmLoteRequestDTO request = new InscricaoEmLoteRequestDTO();
+        request.setUserIds(List.of(1L, 2L, 3L));
+
+        when(eventoRepository.findByIdParaAtualizacao(1L)).thenReturn(Optional.of(evento));
+        when(userRepository.findResumoByIdIn(any()))
+                .thenReturn(List.of(resumo(1L, "a"), resumo(2L, "b"), resumo(3L, "c")));
+        when(inscricaoRepository.findStatusPorUsuario(eq(1L), any())).thenReturn(List.of());
+        when(reservaVagaService.consumir(eq(1L), anyCollection())).thenReturn(Set.of(2L, 3L));
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), eq(500), any()))
+                .thenReturn(new int[][]{{1, 1, 1}});
+
+        ResultadoInscricaoEmLoteDTO resultado = inscricaoLoteService.inscrever(1L, request);
+
+        assertEquals(List.of("1=LISTA_ESPERA", "2=ATIVA", "3=ATIVA"), resultados(resultado));
+        verify(eventoRepository, never()).ocuparVagas(anyLong(), anyInt());
+        verify(vagaService, never()).liberar(anyLong(), anyInt());
+    }
+
+    @Test
+    void inscrever_ComReservaDeQuemJaSeInscreveu_DeveDevolverAVaga() {
+        InscricaoEmLoteRequestDTO request = new InscricaoEmLoteRequestDTO();
+        request.setUserIds(List.of(1L));
+
+        when(eventoRepository.findByIdParaAtualizacao(1L)).thenReturn(Optional.of(evento));
+        when(userRepository.findResumoByIdIn(any())).thenReturn(List.of(resumo(1L, "a")));
+        when(inscricaoRepository.findStatusPorUsuario(eq(1L), any())).thenReturn(List.of());
+        when(reservaVagaService.consumir(eq(1L), anyCollection())).thenReturn(Set.of(1L));
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), eq(500), any()))
+                .thenReturn(new int[][]{{0}});
+
+        ResultadoInscricaoEmLoteDTO resultado = inscricaoLoteService.inscrever(1L, request);
+
+        assertEquals(List.of("1=JA_INSCRITO"), resultados(resultado));
+        verify(vagaService).liberar(1L, 1);
+        verify(eventoRepository, never()).ocuparVagas(anyLong(), anyInt());
+    }
+
+    @Test
+    void inscrever_ComInscricaoCancelada_DeveLimparCamposEReativar() {
+        InscricaoEmLoteRequestDTO request = new InscricaoEmLoteRequestDTO();
+        request.setUserIds(List.of(1L));
+
+        when(eventoRepository.findByIdParaAtualizacao(1L)).thenReturn(Optional.of(evento));
+        when(userRepository.findResumoByIdIn(any())).thenReturn(List.of(resumo(1L, "a")));
+        when(inscricaoRepository.findStatusPorUsuario(eq(1L), any()))
+                .thenReturn(List.<Object[]>of(new Object[]{1L, "CANCELADA"}));
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), eq(500), any()))
+                .thenReturn(new int[][]{{1}});
+
+        ResultadoInscricaoEmLoteDTO resultado = inscricaoLoteService.inscrever(1L, request);
+
+        assertEquals("ATIVA", resultado.getItens().get(0).getResultado());
+        verify(jdbcTemplate).batchUpdate(startsWith("DELETE FROM campo_valor"), anyCollection(), eq(500), any());
+    }
+
+    @Test
+    void inscrever_EventoAguardandoSorteio_DeveRegistrarParaSorteio() {
+        evento.setModoAlocacao(Evento.ModoAlocacao.SORTEIO);
+        InscricaoEmLoteRequestDTO request = new InscricaoEmLoteRequestDTO();
+        request.setUserIds(List.of(1L));
+
+        when(eventoRepository.findByIdParaAtualizacao(1L)).thenReturn(Optional.of(evento));
+        when(userRepository.findResumoByIdIn(any())).thenReturn(List.of(resumo(1L, "a")));
+        when(inscricaoRepository.findStatusPorUsuario(eq(1L), any())).thenReturn(List.of());
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), eq(500), any())).thenReturn(new int[][]{{1}});
+
+        ResultadoInscricaoEmLoteDTO resultado = inscricaoLoteService.inscrever(1L, request);
+
+        assertEquals("PENDENTE_SORTEIO", resultado.getItens().get(0).getResultado());
+        verify(eventoRepository, never()).ocuparVagas(anyLong(), anyInt());
+    }
+
+    @Test
+    void inscrever_AcimaDoLimite_DeveLancarExcecao() {
+        InscricaoEmLoteRequestDTO request = new InscricaoEmLoteRequestDTO();
+        List<Long> ids = new ArrayList<>();
+        for (long i = 0; i < 11; i++) {
+            ids.add(i);
+        }
+        request.setUserIds(ids);
+
+        assertThrows(InscricaoException.class, () -> inscricaoLoteService.inscrever(1L, request));
+        verifyNoInteractions(eventoRepository, jdbcTemplate);
+    }
+
+    @Test
+    void inscrever_SemUsuarios_DeveLancarExcecao() {
+        assertThrows(InscricaoException.class,
+                () -> inscricaoLoteService.inscrever(1L, new InscricaoEmLoteRequestDTO()));
+    }
+
+}
@@ -20,11 +20,13 @@ import org.springframework.context.ApplicationContext;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,6 +35,12 @@ class InscricaoServiceTest {
     @Mock
     private InscricaoRepository inscricaoRepository;
 
+    @Mock
+    private VagaService vagaService;
+
+    @Mock
+    private ReservaVagaService reservaVagaService;
+
     @Mock
     private ApplicationContext applicationContext;
 
@@ -98,7 +106,7 @@ class InscricaoServiceTest {
     @Test
     void inscreverUsuarioEmEvento_DeveCriarInscricaoSemCamposValores() {
         when(inscricaoRepository.findByUserIdAndEventoId(1L, 1L)).thenReturn(Optional.empty());
-        when(inscricaoRepository.countByEventoId(1L)).thenReturn(0L);
+        when(vagaService.reservar(1L)).thenReturn(true);
         when(inscricaoRepository.save(any(Inscricao.class))).thenReturn(inscricao);
 
         Inscricao result = inscricaoService.inscreverUsuarioEmEvento(user, evento);
@@ -109,14 +117,82 @@ class InscricaoServiceTest {
         assertEquals(evento, result.getEvento());
 
         verify(inscricaoRepository).findByUserIdAndEventoId(1L, 1L);
-        verify(inscricaoRepository).countByEventoId(1L);
+        verify(vagaService).reservar(1L);
         verify(inscricaoRepository).save(any(Inscricao.class));
     }
 
+    @Test
+    void inscreverUsuarioEmEvento_SemCamposAdicionais_DeveInscreverEmUmUnicoComando() {
+        evento.setCamposAdicionais(new ArrayList<>());
+        when(inscricaoRepository.upsertInscricaoAtiva(eq(1L), eq(1L), any(LocalDateTime.class)))
+                .thenReturn(List.<Object[]>of(new Object[]{1L, 10L}));
+
+        Inscricao result = inscricaoService.inscreverUsuarioEmEvento(user, evento);
+
+        assertEquals(10L, result.getId());
+        assertEquals("ATIVA", result.getStatus());
+        assertEquals(user, result.getUser());
+        assertEquals(evento, result.getEvento());
+        verify(inscricaoRepository, never()).findByUserIdAndEventoId(anyLong(), anyLong());
+        verify(inscricaoRepository, never()).save(any(Inscricao.class));
+        verify(vagaService, never()).reservar(anyLong());
+    }
+
+    @Test
+    void inscreverUsuarioEmEvento_SemCamposAdicionais_NaoDeveConsultarReservaAntesDoComando() {
+        evento.setCamposAdicionais(new ArrayList<>());
+        when(inscricaoRepository.upsertInscricaoAtiva(eq(1L), eq(1L), any(LocalDateTime.class)))
+                .thenReturn(List.<Object[]>of(new Object[]{1L, 10L}));
+
+        inscricaoService.inscreverUsuarioEmEvento(user, evento);
+
+        // O comando consome a reserva, se houver; nenhuma consulta extra é feita antes dele.
+        verifyNoInteractions(reservaVagaService);
+    }
+
+    @Test
+    void inscreverUsuarioEmEvento_SemCamposAdicionaisELotado_DeveUsarFluxoCompleto() {
+        evento.setCamposAdicionais(new ArrayList<>());
+        when(inscricaoRepository.upsertInscricaoAtiva(eq(1L), eq(1L), any(LocalDateTime.class)))
+                .thenReturn(List.<Object[]>of(new Object[]{0L, null}));
+        when(inscricaoRepository.findByUserIdAndEventoId(1L, 1L)).thenReturn(Optional.empty());
+        when(vagaService.reservar(1L)).thenReturn(false);
+        when(inscricaoRepository.save(any(Inscricao.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Inscricao result = inscricaoService.inscreverUsuarioEmEvento(user, evento);
+
+        assertEquals("LISTA_ESPERA", result.getStatus());
+        verify(inscricaoRepository).save(any(Inscricao.class));
+    }
+
+    @Test
+    void inscreverUsuarioEmEvento_SemCamposAdicionaisComCorrida_DeveLancarExcecao() {
+        evento.setCamposAdicionais(new ArrayList<>());
+        when(inscricaoRepository.upsertInscricaoAtiva(eq(1L), eq(1L), any(LocalDateTime.class)))
+                .thenReturn(List.<Object[]>of(new Object[]{1L, null}));
+
+        InscricaoException exception = assertThrows(InscricaoException.class, () -> {
+            inscricaoService.inscreverUsuarioEmEvento(user, evento);
+        });
+
+        assertEquals("Você já está inscrito neste evento!", exception.getMessage());
+        verify(inscricaoRepository, never()).save(any(Inscricao.class));
+    }
+
+    @Test
+    void inscreverUsuarioEmEvento_SemCamposAdicionaisAposDataLimite_NaoDeveExecutarComando() {
+        evento.setCamposAdicionais(new ArrayList<>());
+        evento.setDataLimiteInscricao(LocalDateTime.now().minusDays(1));
+
+        assertThrows(InscricaoException.class, () -> inscricaoService.inscreverUsuarioEmEvento(user, evento));
+
+        verify(inscricaoRepository, never()).upsertInscricaoAtiva(anyLong(), anyLong(), any());
+    }
+
     @Test
     void inscreverUsuarioEmEvento_DeveCriarInscricaoComCamposValores() {
         when(inscricaoRepository.findByUserIdAndEventoId(1L, 1L)).thenReturn(Optional.empty());
-        when(inscricaoRepository.countByEventoId(1L)).thenReturn(0L);
+        when(vagaService.reservar(1L)).thenReturn(true);
         when(inscricaoRepository.save(any(Inscricao.class))).thenAnswer(invocation -> {
             Inscricao insc = invocation.getArgument(0);
             insc.setId(1L);
@@ -132,7 +208,7 @@ class InscricaoServiceTest {
         assertEquals(1, result.getCamposValores().size());
 
         verify(inscricaoRepository).findByUserIdAndEventoId(1L, 1L);
-        verify(inscricaoRepository).countByEventoId(1L);
+        verify(vagaService).reservar(1L);
         verify(inscricaoRepository).save(any(Inscricao.class));
     }
 
@@ -146,7 +222,7 @@ class InscricaoServiceTest {
         inscricaoCancelada.setCamposValores(new ArrayList<>());
 
         when(inscricaoRepository.findByUserIdAndEventoId(1L, 1L)).thenReturn(Optional.of(inscricaoCancelada));
-        when(inscricaoRepository.countByEventoId(1L)).thenReturn(0L);
+        when(vagaService.reservar(1L)).thenReturn(true);
         when(inscricaoRepository.save(any(Inscricao.class))).thenReturn(inscricaoCancelada);
 
         Inscricao result = inscricaoService.inscreverUsuarioEmEvento(user, evento, camposValoresDTO);
@@ -190,26 +266,98 @@ class InscricaoServiceTest {
     }
 
     @Test
-    void inscreverUsuarioEmEvento_DeveLancarExcecaoQuandoSemVagas() {
+    void inscreverUsuarioEmEvento_DeveColocarNaListaDeEsperaQuandoSemVagas() {
+        when(inscricaoRepository.findByUserIdAndEventoId(1L, 1L)).thenReturn(Optional.empty());
+        when(vagaService.reservar(1L)).thenReturn(false);
+        when(inscricaoRepository.save(any(Inscricao.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Inscricao result = inscricaoService.inscreverUsuarioEmEvento(user, evento);
+
+        assertEquals("LISTA_ESPERA", result.getStatus());
+        verify(inscricaoRepository).findByUserIdAndEventoId(1L, 1L);
+        verify(vagaService).reservar(1L);
+        verify(inscricaoRepository).save(any(Inscricao.class));
+    }
+
+    @Test
+    void inscreverUsuarioEmEvento_ComReservaDeVaga_DeveConsumirReservaSemNovaVaga() {
         when(inscricaoRepository.findByUserIdAndEventoId(1L, 1L)).thenReturn(Optional.empty());
-        when(inscricaoRepository.countByEventoId(1L)).thenReturn(100L);
+        when(reservaVagaService.consumir(1L, 1L)).thenReturn(true);
+        when(inscricaoRepository.save(any(Inscricao.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Inscricao result = inscricaoService.inscreverUsuarioEmEvento(user, evento, camposValoresDTO);
+
+        assertEquals("ATIVA", result.getStatus());
+        verify(vagaService, never()).reservar(anyLong());
+    }
+
+    @Test
+    void inscreverUsuarioEmEvento_EventoAguardandoSorteio_DeveRegistrarSemOcuparVaga() {
+        evento.setModoAlocacao(Evento.ModoAlocacao.SORTEIO);
+        evento.setCamposAdicionais(new ArrayList<>());
+        when(inscricaoRepository.findByUserIdAndEventoId(1L, 1L)).thenReturn(Optional.empty());
+        when(inscricaoRepository.save(any(Inscricao.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Inscricao result = inscricaoService.inscreverUsuarioEmEvento(user, evento);
+
+        assertEquals("PENDENTE_SORTEIO", result.getStatus());
+        verify(inscricaoRepository, never()).upsertInscricaoAtiva(anyLong(), anyLong(), any());
+        verify(vagaService, never()).reservar(anyLong());
+        verify(reservaVagaService, never()).consumir(anyLong(), anyLong());
+    }
+
+    @Test
+    void inscreverUsuarioEmEvento_JaParticipandoDoSorteio_DeveLancarExcecao() {
+        evento.setModoAlocacao(Evento.ModoAlocacao.SORTEIO);
+        inscricao.setStatus("PENDENTE_SORTEIO");
+        when(inscricaoRepository.findByUserIdAndEventoId(1L, 1L)).thenReturn(Optional.of(inscricao));
+
+        InscricaoException exception = assertThrows(InscricaoException.class,
+                () -> inscricaoService.inscreverUsuarioEmEvento(user, evento, camposValoresDTO));
+
+        assertEquals("Você já está participando do sorteio deste evento!", exception.getMessage());
+    }
+
+    @Test
+    void inscreverUsuarioEmEvento_AposSorteio_DeveUsarOrdemDeChegada() {
+        evento.setModoAlocacao(Evento.ModoAlocacao.SORTEIO);
+        evento.setSorteioRealizadoEm(LocalDateTime.now().minusHours(1));
+        inscricao.setStatus("CANCELADA");
+        inscricao.setPosicaoSorteio(7);
+        when(inscricaoRepository.findByUserIdAndEventoId(1L, 1L)).thenReturn(Optional.of(inscricao));
+        when(vagaService.reservar(1L)).thenReturn(false);
+        when(inscricaoRepository.save(any(Inscricao.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Inscricao result = inscricaoService.inscreverUsuarioEmEvento(user, evento, camposValoresDTO);
+
+        assertEquals("LISTA_ESPERA", result.getStatus());
+        assertNull(result.getPosicaoSorteio());
+    }
+
+    @Test
+    void inscreverUsuarioEmEvento_DeveLancarExcecaoQuandoJaNaListaDeEspera() {
+        Inscricao inscricaoEmEspera = new Inscricao();
+        inscricaoEmEspera.setId(1L);
+        inscricaoEmEspera.setUser(user);
+        inscricaoEmEspera.setEvento(evento);
+        inscricaoEmEspera.setStatus("LISTA_ESPERA");
+
+        when(inscricaoRepository.findByUserIdAndEventoId(1L, 1L)).thenReturn(Optional.of(inscricaoEmEspera));
 
         InscricaoException exception = assertThrows(InscricaoException.class, () -> {
             inscricaoService.inscreverUsuarioEmEvento(user, evento);
         });
 
-        assertEquals("Não há vagas disponíveis neste evento!", exception.getMessage());
-        verify(inscricaoRepository).findByUserIdAndEventoId(1L, 1L);
-        verify(inscricaoRepository).countByEventoId(1L);
+        assertEquals("Você já está na lista de espera deste evento!", exception.getMessage());
+        verify(vagaService, never()).reservar(anyLong());
         verify(inscricaoRepository, never()).save(any(Inscricao.class));
     }
 
     @Test
     void inscreverUsuarioEmEvento_DeveLancarExcecaoQuandoFaltaCampoObrigatorio() {
-        InscricaoService realService = new InscricaoService(inscricaoRepository, applicationContext);
+        InscricaoService realService = new InscricaoService(inscricaoRepository, vagaService, reservaVagaService, applicationContext);
 
         when(inscricaoRepository.findByUserIdAndEventoId(1L, 1L)).thenReturn(Optional.empty());
-        when(inscricaoRepository.countByEventoId(1L)).thenReturn(0L);
         lenient().when(applicationContext.getBean(InscricaoService.class)).thenReturn(realService);
 
         List<CampoValorDTO> camposIncompletos = new ArrayList<>();
@@ -224,6 +372,7 @@ class InscricaoServiceTest {
 
         assertTrue(exception.getMessage().contains("Os seguintes campos obrigatórios não foram preenchidos"));
         assertTrue(exception.getMessage().contains("Campo Obrigatório"));
+        verify(vagaService, never()).reservar(anyLong());
     }
 
     @Test
@@ -248,6 +397,18 @@ class InscricaoServiceTest {
 
         assertEquals("CANCELADA", inscricao.getStatus());
         verify(inscricaoRepository).save(inscricao);
+        verify(vagaService).liberar(1L);
+    }
+
+    @Test
+    void cancelarInscricao_JaCancelada_NaoDeveLiberarVaga() {
+        inscricao.setStatus("CANCELADA");
+        when(inscricaoRepository.findById(1L)).thenReturn(Optional.of(inscricao));
+
+        inscricaoService.cancelarInscricao(1L);
+
+        verify(inscricaoRepository).save(inscricao);
+        verify(vagaService, never()).liberar(anyLong());
     }
 
     @Test
@@ -309,4 +470,45 @@ class InscricaoServiceTest {
         verify(inscricaoRepository).findById(999L);
     }
 
-}
\ No newline at end of file
+    @Test
+    void inscreverEmEventos_DeveCarregarExistentesUmaVezESalvarJuntas() {
+        Evento outroEvento = new Evento();
+        outroEvento.setId(2L);
+        outroEvento.setTitulo("Outro Evento");
+        Inscricao cancelada = new Inscricao(user, outroEvento, LocalDateTime.now().minusDays(1), "CANCELADA");
+
+        when(inscricaoRepository.findByUserIdAndEventoIdIn(1L, List.of(1L, 2L))).thenReturn(List.of(cancelada));
+        when(reservaVagaService.consumir(anyLong(), anyLong())).thenReturn(false);
+        when(vagaService.reservar(1L)).thenReturn(true);
+        when(vagaService.reservar(2L)).thenReturn(false);
+        when(inscricaoRepository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<Inscricao> result = inscricaoService.inscreverEmEventos(user, List.of(outroEvento, evento), Map.of());
+
+        assertEquals(2, result.size());
+        assertEquals(evento, result.get(0).getEvento());
+        assertEquals("ATIVA", result.get(0).getStatus());
+        assertSame(cancelada, result.get(1));
+        assertEquals("LISTA_ESPERA", cancelada.getStatus());
+        verify(inscricaoRepository, never()).findByUserIdAndEventoId(anyLong(), anyLong());
+        verify(inscricaoRepository, never()).save(any());
+    }
+
+    @Test
+    void inscreverEmEventos_ComUmEventoInvalido_DeveFalharSemSalvar() {
+        Evento encerrado = new Evento();
+        encerrado.setId(2L);
+        encerrado.setTitulo("Evento Encerrado");
+        encerrado.setDataLimiteInscricao(LocalDateTime.now().minusDays(1));
+
+        when(inscricaoRepository.findByUserIdAndEventoIdIn(eq(1L), any())).thenReturn(List.of());
+        when(vagaService.reservar(1L)).thenReturn(true);
+
+        InscricaoException exception = assertThrows(InscricaoException.class,
+                () -> inscricaoService.inscreverEmEventos(user, List.of(evento, encerrado), Map.of()));
+
+        assertTrue(exception.getMessage().startsWith("Evento Encerrado: "));
+        verify(inscricaoRepository, never()).saveAll(any());
+    }
+
+}
@@ -1,17 +1,23 @@
 package br.edu.ifg.event_system.service;
 
+import br.edu.ifg.event_system.model.Campus;
+import br.edu.ifg.event_system.model.Departamento;
+import br.edu.ifg.event_system.model.Role;
+import br.edu.ifg.event_system.model.User;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.security.Key;
+import java.time.Duration;
 import java.util.Date;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -19,22 +25,28 @@ import static org.junit.jupiter.api.Assertions.*;
 @ExtendWith(MockitoExtension.class)
 class JwtServiceTest {
 
-    @InjectMocks
-    private JwtService jwtService;
+    private final JwtService jwtService = new JwtService(100, Duration.ofHours(2), Duration.ofDays(7));
 
     private String username;
     private List<String> roles;
+    private User user;
     private static final String SECRET_KEY = "MINHA_CHAVE_SECRETA_GRANDE_O_SUFICIENTE_PARA_256BITS";
 
     @BeforeEach
     void setUp() {
         username = "test@ifg.edu.br";
         roles = List.of("USER", "ADMIN_CAMPUS");
+
+        user = new User();
+        user.setId(7L);
+        user.setUsername(username);
+        user.setNomeCompleto("Usuário Teste");
+        user.setRoles(new LinkedHashSet<>(List.of(new Role("USER"), new Role("ADMIN_CAMPUS"))));
     }
 
     @Test
     void testGenerateToken() {
-        String token = jwtService.generateToken(username, roles);
+        String token = jwtService.generateToken(user);
 
         assertNotNull(token);
         assertFalse(token.isEmpty());
@@ -59,7 +71,7 @@ class JwtServiceTest {
 
     @Test
     void testGetUsernameFromToken() {
-        String token = jwtService.generateToken(username, roles);
+        String token = jwtService.generateToken(user);
 
         String extractedUsername = jwtService.getUsernameFromToken(token);
 
@@ -68,7 +80,7 @@ class JwtServiceTest {
 
     @Test
     void testValidateToken_WithValidToken() {
-        String token = jwtService.generateToken(username, roles);
+        String token = jwtService.generateToken(user);
 
         boolean isValid = jwtService.validateToken(token);
 
@@ -86,7 +98,7 @@ class JwtServiceTest {
 
     @Test
     void testValidateToken_WithTamperedToken() {
-        String originalToken = jwtService.generateToken(username, roles);
+        String originalToken = jwtService.generateToken(user);
         String tamperedToken = originalToken.substring(0, originalToken.lastIndexOf('.') + 1) + "tampered";
 
         boolean isValid = jwtService.validateToken(tamperedToken);
@@ -124,4 +136,89 @@ class JwtServiceTest {
         assertFalse(jwtService.validateToken(""));
     }
 
-}
\ No newline at end of file
+    @Test
+    void generateToken_ComUsuario_DeveIncluirIdNomeEEscopoAdministrativo() {
+        Campus campus = new Campus();
+        campus.setId(4L);
+        Departamento departamento = new Departamento();
+        departamento.setId(9L);
+        departamento.setCampus(campus);
+
+        user.setRoles(new LinkedHashSet<>(List.of(new Role("ADMIN_CAMPUS"), new Role("ADMIN_DEPARTAMENTO"))));
+        user.setCampusQueAdministro(Set.of(campus));
+        user.setDepartamentosQueAdministro(Set.of(departamento));
+
+        JwtService.TokenVerificado verificado = jwtService.verificar(jwtService.generateToken(user));
+
+        assertNotNull(verificado);
+        assertEquals(username, verificado.username());
+        assertEquals(7L, verificado.userId());
+        assertEquals("Usuário Teste", verificado.nomeCompleto());
+        assertEquals(List.of("ADMIN_CAMPUS", "ADMIN_DEPARTAMENTO"), verificado.roles());
+        assertEquals(List.of(4L), verificado.campusIds());
+        assertEquals(List.of(9L), verificado.departamentoIds());
+        assertEquals(List.of(4L), verificado.campusDosDepartamentos());
+        assertFalse(verificado.isExpirado(System.currentTimeMillis()));
+    }
+
+    @Test
+    void verificar_ComTokenInvalido_DeveRetornarNull() {
+        String token = jwtService.generateToken(user);
+
+        assertNull(jwtService.verificar(token.substring(0, token.lastIndexOf('.') + 1) + "tampered"));
+        assertNull(jwtService.verificar(""));
+        assertNull(jwtService.verificar(null));
+    }
+
+    @Test
+    void verificar_ComMesmoToken_DeveReutilizarAVerificacao() {
+        String token = jwtService.generateToken(user);
+
+        JwtService.TokenVerificado primeiro = jwtService.verificar(token);
+
+        assertNotNull(primeiro);
+        assertEquals(7L, primeiro.userId());
+        assertEquals(roles, primeiro.roles());
+        assertSame(primeiro, jwtService.verificar(token));
+    }
+
+    @Test
+    void verificar_ComCacheCheio_DeveVerificarSemArmazenar() {
+        JwtService pequeno = new JwtService(1, Duration.ofHours(2), Duration.ofDays(7));
+        String primeiro = pequeno.generateToken(user);
+        String segundo = pequeno.generateRefreshToken(user);
+
+        assertNotNull(pequeno.verificar(primeiro));
+        JwtService.TokenVerificado verificado = pequeno.verificar(segundo);
+
+        assertNotNull(verificado);
+        assertNotSame(verificado, pequeno.verificar(segundo));
+        assertEquals(1, pequeno.getQuantidadeVerificados());
+    }
+
+    @Test
+    void descartarExpirados_DeveManterApenasTokensValidos() {
+        jwtService.verificar(jwtService.generateToken(user));
+        jwtService.verificar(jwtService.generateRefreshToken(user));
+
+        jwtService.descartarExpirados(System.currentTimeMillis() + Duration.ofDays(1).toMillis());
+
+        assertEquals(1, jwtService.getQuantidadeVerificados());
+        jwtService.descartarExpirados(System.currentTimeMillis() + Duration.ofDays(8).toMillis());
+        assertEquals(0, jwtService.getQuantidadeVerificados());
+    }
+
+    @Test
+    void generateRefreshToken_DeveGerarTokenDeRenovacaoComJti() {
+        JwtService.TokenVerificado renovacao = jwtService.verificar(jwtService.generateRefreshToken(user));
+        JwtService.TokenVerificado outra = jwtService.verificar(jwtService.generateRefreshToken(user));
+
+        assertNotNull(renovacao);
+        assertTrue(renovacao.isRenovacao());
+        assertEquals(7L, renovacao.userId());
+        assertNotNull(renovacao.id());
+        assertNotEquals(renovacao.id(), outra.id());
+        assertTrue(renovacao.roles().isEmpty());
+    }
+
+}
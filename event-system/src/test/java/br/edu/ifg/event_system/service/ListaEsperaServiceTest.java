@@ -0,0 +1,121 @@
+package br.edu.ifg.event_system.service;
+
+import br.edu.ifg.event_system.model.Evento;
+import br.edu.ifg.event_system.repository.EventoRepository;
+import br.edu.ifg.event_system.repository.InscricaoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ListaEsperaServiceTest {
+
+    @Mock
+    private EventoRepository eventoRepository;
+
+    @Mock
+    private InscricaoRepository inscricaoRepository;
+
+    @Mock
+    private ApplicationContext applicationContext;
+
+    @Spy
+    @InjectMocks
+    private ListaEsperaService listaEsperaService;
+
+    private Evento evento;
+
+    @BeforeEach
+    void setUp() {
+        evento = new Evento();
+        evento.setId(1L);
+        evento.setVagas(10);
+        evento.setVagasOcupadas(8);
+
+        lenient().when(applicationContext.getBean(ListaEsperaService.class)).thenReturn(listaEsperaService);
+    }
+
+    @Test
+    void promover_ComVagasLivres_DevePromoverMaisAntigosEmLote() {
+        when(eventoRepository.findByIdParaAtualizacao(1L)).thenReturn(Optional.of(evento));
+        when(inscricaoRepository.findIdsByEventoIdAndStatusOrdenados(1L, "LISTA_ESPERA", PageRequest.of(0, 2)))
+                .thenReturn(List.of(5L, 6L));
+
+        int promovidos = listaEsperaService.promover(1L);
+
+        assertEquals(2, promovidos);
+        verify(inscricaoRepository).atualizarStatus(List.of(5L, 6L), "ATIVA");
+        verify(eventoRepository).ocuparVagas(1L, 2);
+    }
+
+    @Test
+    void promover_ComEventoLotado_NaoDevePromover() {
+        evento.setVagasOcupadas(10);
+        when(eventoRepository.findByIdParaAtualizacao(1L)).thenReturn(Optional.of(evento));
+
+        assertEquals(0, listaEsperaService.promover(1L));
+        verify(inscricaoRepository, never()).atualizarStatus(anyList(), anyString());
+        verify(eventoRepository, never()).ocuparVagas(anyLong(), anyInt());
+    }
+
+    @Test
+    void promover_ComEventoEncerrado_NaoDevePromover() {
+        evento.setStatus(Evento.EventoStatus.ENCERRADO);
+        when(eventoRepository.findByIdParaAtualizacao(1L)).thenReturn(Optional.of(evento));
+
+        assertEquals(0, listaEsperaService.promover(1L));
+        verify(inscricaoRepository, never()).findIdsByEventoIdAndStatusOrdenados(anyLong(), anyString(), any());
+    }
+
+    @Test
+    void promover_SemInscritosEmEspera_NaoDeveOcuparVagas() {
+        when(eventoRepository.findByIdParaAtualizacao(1L)).thenReturn(Optional.of(evento));
+        when(inscricaoRepository.findIdsByEventoIdAndStatusOrdenados(eq(1L), eq("LISTA_ESPERA"), any()))
+                .thenReturn(List.of());
+
+        assertEquals(0, listaEsperaService.promover(1L));
+        verify(eventoRepository, never()).ocuparVagas(anyLong(), anyInt());
+    }
+
+    @Test
+    void aoLiberarVaga_DevePromoverEventoDaVagaLiberada() {
+        doReturn(1).when(listaEsperaService).promover(1L);
+
+        listaEsperaService.aoLiberarVaga(new VagaService.VagaLiberadaEvent(1L));
+
+        verify(listaEsperaService).promover(1L);
+    }
+
+    @Test
+    void aoLiberarVaga_ComErro_NaoDevePropagarExcecao() {
+        doThrow(new RuntimeException("falha")).when(listaEsperaService).promover(1L);
+
+        assertDoesNotThrow(() -> listaEsperaService.aoLiberarVaga(new VagaService.VagaLiberadaEvent(1L)));
+    }
+
+    @Test
+    void promoverPendentes_DevePromoverCadaEventoComVagaELista() {
+        when(inscricaoRepository.findEventoIdsComVagaEStatus("LISTA_ESPERA", Evento.EventoStatus.ATIVO))
+                .thenReturn(List.of(1L, 2L));
+        doReturn(0).when(listaEsperaService).promover(anyLong());
+
+        listaEsperaService.promoverPendentes();
+
+        verify(listaEsperaService).promover(1L);
+        verify(listaEsperaService).promover(2L);
+    }
+
+}
@@ -0,0 +1,69 @@
+package br.edu.ifg.event_system.service;
+
+import br.edu.ifg.event_system.model.Role;
+import br.edu.ifg.event_system.repository.RoleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RegistroRolesTest {
+
+    @Mock
+    private RoleRepository roleRepository;
+
+    private RegistroRoles registroRoles;
+
+    @BeforeEach
+    void setUp() {
+        registroRoles = new RegistroRoles(roleRepository);
+    }
+
+    @Test
+    void obterOuCriar_RoleCarregada_DeveResponderSemConsultarOBanco() {
+        Role roleUser = new Role("USER");
+        when(roleRepository.findAll()).thenReturn(List.of(roleUser));
+        registroRoles.carregar();
+
+        assertSame(roleUser, registroRoles.obterOuCriar("USER"));
+        assertSame(roleUser, registroRoles.obterOuCriar("USER"));
+
+        verify(roleRepository, times(1)).findAll();
+        verifyNoMoreInteractions(roleRepository);
+    }
+
+    @Test
+    void obterOuCriar_RoleForaDoMapa_DeveBuscarUmaVezEGuardar() {
+        Role roleAdminCampus = new Role("ADMIN_CAMPUS");
+        when(roleRepository.findAll()).thenReturn(List.of());
+        when(roleRepository.findByName("ADMIN_CAMPUS")).thenReturn(roleAdminCampus);
+
+        assertSame(roleAdminCampus, registroRoles.obterOuCriar("ADMIN_CAMPUS"));
+        assertSame(roleAdminCampus, registroRoles.obterOuCriar("ADMIN_CAMPUS"));
+
+        verify(roleRepository, times(1)).findByName("ADMIN_CAMPUS");
+        verify(roleRepository, never()).save(any(Role.class));
+    }
+
+    @Test
+    void obterOuCriar_RoleInexistente_DeveCriarEGuardarForaDeTransacao() {
+        when(roleRepository.findAll()).thenReturn(List.of());
+        when(roleRepository.findByName("NOVA")).thenReturn(null);
+        when(roleRepository.save(any(Role.class))).thenAnswer(invocacao -> invocacao.getArgument(0));
+
+        Role criada = registroRoles.obterOuCriar("NOVA");
+
+        assertEquals("NOVA", criada.getName());
+        assertSame(criada, registroRoles.obterOuCriar("NOVA"));
+        verify(roleRepository, times(1)).save(any(Role.class));
+    }
+
+}
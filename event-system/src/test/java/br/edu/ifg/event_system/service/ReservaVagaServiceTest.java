@@ -0,0 +1,155 @@
+package br.edu.ifg.event_system.service;
+
+import br.edu.ifg.event_system.model.CampoAdicional;
+import br.edu.ifg.event_system.model.Evento;
+import br.edu.ifg.event_system.model.Inscricao;
+import br.edu.ifg.event_system.model.ReservaVaga;
+import br.edu.ifg.event_system.model.User;
+import br.edu.ifg.event_system.repository.InscricaoRepository;
+import br.edu.ifg.event_system.repository.ReservaVagaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationContext;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReservaVagaServiceTest {
+
+    @Mock
+    private ReservaVagaRepository reservaVagaRepository;
+
+    @Mock
+    private InscricaoRepository inscricaoRepository;
+
+    @Mock
+    private VagaService vagaService;
+
+    @Mock
+    private ApplicationContext applicationContext;
+
+    private ReservaVagaService reservaVagaService;
+    private User user;
+    private Evento evento;
+
+    @BeforeEach
+    void setUp() {
+        reservaVagaService = spy(new ReservaVagaService(reservaVagaRepository, inscricaoRepository,
+                vagaService, applicationContext, Duration.ofMinutes(10)));
+        lenient().when(applicationContext.getBean(ReservaVagaService.class)).thenReturn(reservaVagaService);
+
+        user = new User();
+        user.setId(1L);
+
+        evento = new Evento();
+        evento.setId(1L);
+        evento.setVagas(10);
+        List<CampoAdicional> campos = new ArrayList<>();
+        campos.add(new CampoAdicional());
+        evento.setCamposAdicionais(campos);
+    }
+
+    @Test
+    void reservar_ComVagaDisponivel_DeveCriarReserva() {
+        when(reservaVagaRepository.findByUserIdAndEventoId(1L, 1L)).thenReturn(Optional.empty());
+        when(inscricaoRepository.findByUserIdAndEventoId(1L, 1L)).thenReturn(Optional.empty());
+        when(reservaVagaRepository.inserirSeAusente(eq(1L), eq(1L), any(LocalDateTime.class))).thenReturn(1);
+        when(vagaService.reservar(1L)).thenReturn(true);
+
+        Optional<LocalDateTime> expiraEm = reservaVagaService.reservar(user, evento);
+
+        assertTrue(expiraEm.isPresent());
+        assertTrue(expiraEm.get().isAfter(LocalDateTime.now().plusMinutes(9)));
+    }
+
+    @Test
+    void reservar_ComEventoLotado_DeveDesfazerReserva() {
+        when(reservaVagaRepository.findByUserIdAndEventoId(1L, 1L)).thenReturn(Optional.empty());
+        when(inscricaoRepository.findByUserIdAndEventoId(1L, 1L)).thenReturn(Optional.empty());
+        when(reservaVagaRepository.inserirSeAusente(eq(1L), eq(1L), any(LocalDateTime.class))).thenReturn(1);
+        when(vagaService.reservar(1L)).thenReturn(false);
+
+        assertTrue(reservaVagaService.reservar(user, evento).isEmpty());
+        verify(reservaVagaRepository).deleteByUserIdAndEventoId(1L, 1L);
+    }
+
+    @Test
+    void reservar_ComReservaExistente_NaoDeveProrrogar() {
+        ReservaVaga existente = new ReservaVaga();
+        LocalDateTime expiracaoOriginal = LocalDateTime.now().plusMinutes(3);
+        existente.setExpiraEm(expiracaoOriginal);
+        when(reservaVagaRepository.findByUserIdAndEventoId(1L, 1L)).thenReturn(Optional.of(existente));
+
+        assertEquals(Optional.of(expiracaoOriginal), reservaVagaService.reservar(user, evento));
+        verify(vagaService, never()).reservar(anyLong());
+    }
+
+    @Test
+    void reservar_UsuarioJaInscrito_NaoDeveReservar() {
+        Inscricao inscricao = new Inscricao();
+        inscricao.setStatus("ATIVA");
+        when(reservaVagaRepository.findByUserIdAndEventoId(1L, 1L)).thenReturn(Optional.empty());
+        when(inscricaoRepository.findByUserIdAndEventoId(1L, 1L)).thenReturn(Optional.of(inscricao));
+
+        assertTrue(reservaVagaService.reservar(user, evento).isEmpty());
+        verify(reservaVagaRepository, never()).inserirSeAusente(anyLong(), anyLong(), any());
+    }
+
+    @Test
+    void reservar_EventoSemLimiteOuSemCampos_NaoDeveReservar() {
+        evento.setVagas(null);
+        assertTrue(reservaVagaService.reservar(user, evento).isEmpty());
+
+        evento.setVagas(10);
+        evento.setCamposAdicionais(new ArrayList<>());
+        assertTrue(reservaVagaService.reservar(user, evento).isEmpty());
+
+        verifyNoInteractions(reservaVagaRepository, vagaService);
+    }
+
+    @Test
+    void consumir_ComReserva_DeveRetornarTrue() {
+        when(reservaVagaRepository.deleteByUserIdAndEventoId(1L, 1L)).thenReturn(1);
+
+        assertTrue(reservaVagaService.consumir(1L, 1L));
+    }
+
+    @Test
+    void consumir_VariosUsuarios_DeveApagarEmUmComando() {
+        when(reservaVagaRepository.consumirDoEvento(1L, List.of(1L, 2L, 3L))).thenReturn(List.of(2L));
+
+        assertEquals(Set.of(2L), reservaVagaService.consumir(1L, List.of(1L, 2L, 3L)));
+    }
+
+    @Test
+    void consumir_SemUsuarios_NaoDeveConsultarOBanco() {
+        assertTrue(reservaVagaService.consumir(1L, List.of()).isEmpty());
+
+        verifyNoInteractions(reservaVagaRepository);
+    }
+
+    @Test
+    void liberarExpiradas_DeveDevolverVagasApagadasPorEvento() {
+        when(reservaVagaRepository.findEventoIdsComReservasExpiradas(any(LocalDateTime.class))).thenReturn(List.of(1L, 2L));
+        when(reservaVagaRepository.deleteExpiradasDoEvento(eq(1L), any(LocalDateTime.class))).thenReturn(3);
+        when(reservaVagaRepository.deleteExpiradasDoEvento(eq(2L), any(LocalDateTime.class))).thenReturn(0);
+
+        reservaVagaService.liberarExpiradas();
+
+        verify(vagaService).liberar(1L, 3);
+        verify(vagaService, never()).liberar(eq(2L), anyInt());
+    }
+
+}
@@ -0,0 +1,129 @@
+package br.edu.ifg.event_system.service;
+
+import br.edu.ifg.event_system.model.TokenRevogado;
+import br.edu.ifg.event_system.repository.TokenRevogadoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationContext;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RevogacaoTokenServiceTest {
+
+    @Mock
+    private TokenRevogadoRepository tokenRevogadoRepository;
+
+    @Mock
+    private ApplicationContext applicationContext;
+
+    private AtomicLong agora;
+    private RevogacaoTokenService revogacaoTokenService;
+
+    @BeforeEach
+    void setUp() {
+        agora = new AtomicLong(1_000L);
+        JwtService jwtService = new JwtService(10, Duration.ofMinutes(15), Duration.ofDays(7));
+        revogacaoTokenService = new RevogacaoTokenService(tokenRevogadoRepository, jwtService,
+                applicationContext, agora::get);
+    }
+
+    @Test
+    void aoAlterarPermissoes_DeveRegistrarERecusarTokensEmitidosAteORevogacao() {
+        when(applicationContext.getBean(RevogacaoTokenService.class)).thenReturn(revogacaoTokenService);
+        agora.set(1_100L);
+
+        revogacaoTokenService.aoAlterarPermissoes(new UserService.PermissoesAlteradasEvent(1L));
+
+        verify(tokenRevogadoRepository).registrar("u:1", 1_101L, 1_100L + 900);
+        assertTrue(revogacaoTokenService.isUsuarioRevogado(1L, 1_050L));
+        assertTrue(revogacaoTokenService.isUsuarioRevogado(1L, 1_100L));
+        assertFalse(revogacaoTokenService.isUsuarioRevogado(1L, 1_101L));
+        assertFalse(revogacaoTokenService.isUsuarioRevogado(2L, 1_050L));
+        assertFalse(revogacaoTokenService.isUsuarioRevogado(null, 1_050L));
+    }
+
+    @Test
+    void sincronizar_DeveCarregarRevogacoesFeitasEmOutrasInstancias() {
+        when(tokenRevogadoRepository.findByExpiraEmGreaterThan(1_000L)).thenReturn(List.of(
+                new TokenRevogado("u:7", 990L, 1_500L),
+                new TokenRevogado("j:abc", 990L, 5_000L)));
+
+        revogacaoTokenService.sincronizar();
+
+        assertTrue(revogacaoTokenService.isUsuarioRevogado(7L, 980L));
+        assertFalse(revogacaoTokenService.isUsuarioRevogado(7L, 995L));
+        assertTrue(revogacaoTokenService.isTokenRevogado("abc"));
+        assertFalse(revogacaoTokenService.isTokenRevogado("outro"));
+    }
+
+    @Test
+    void isRevogado_AntesDaPrimeiraSincronizacao_DeveConsiderarApenasRevogacoesLocaisSemAcessarOBanco() {
+        when(tokenRevogadoRepository.inserirSeAusente(eq("j:abc"), anyLong(), anyLong())).thenReturn(1);
+        revogacaoTokenService.revogarToken("abc", 2_000_000L);
+
+        assertTrue(revogacaoTokenService.isTokenRevogado("abc"));
+        assertFalse(revogacaoTokenService.isUsuarioRevogado(7L, 980L));
+
+        verify(tokenRevogadoRepository, never()).findByExpiraEmGreaterThan(anyLong());
+    }
+
+    @Test
+    void isRevogado_ComBancoForaDoArNaSubida_DeveFalharAbertoAteSincronizar() {
+        when(tokenRevogadoRepository.findByExpiraEmGreaterThan(1_000L))
+                .thenThrow(new DataAccessResourceFailureException("fora do ar"))
+                .thenReturn(List.of(new TokenRevogado("u:7", 990L, 1_500L)));
+
+        revogacaoTokenService.sincronizar();
+        assertFalse(revogacaoTokenService.isUsuarioRevogado(7L, 980L));
+
+        revogacaoTokenService.sincronizar();
+        assertTrue(revogacaoTokenService.isUsuarioRevogado(7L, 980L));
+        verify(tokenRevogadoRepository, times(2)).findByExpiraEmGreaterThan(anyLong());
+    }
+
+    @Test
+    void sincronizar_DeveManterMarcasLocaisAindaNaoVistasNoBancoEDescartarExpiradas() {
+        when(tokenRevogadoRepository.inserirSeAusente(eq("j:abc"), anyLong(), anyLong())).thenReturn(1);
+        when(tokenRevogadoRepository.findByExpiraEmGreaterThan(anyLong())).thenReturn(List.of());
+
+        assertTrue(revogacaoTokenService.revogarToken("abc", 2_000_000L));
+        revogacaoTokenService.sincronizar();
+        assertTrue(revogacaoTokenService.isTokenRevogado("abc"));
+
+        agora.set(2_001L);
+        revogacaoTokenService.sincronizar();
+        assertFalse(revogacaoTokenService.isTokenRevogado("abc"));
+        assertEquals(0, revogacaoTokenService.getTamanho());
+    }
+
+    @Test
+    void revogarToken_JaRevogado_DeveRetornarFalse() {
+        when(tokenRevogadoRepository.inserirSeAusente(eq("j:abc"), anyLong(), anyLong())).thenReturn(0);
+
+        assertFalse(revogacaoTokenService.revogarToken("abc", 2_000_000L));
+    }
+
+    @Test
+    void sincronizar_ComFalhaNoBanco_DeveManterEstadoAtual() {
+        when(tokenRevogadoRepository.inserirSeAusente(eq("j:abc"), anyLong(), anyLong())).thenReturn(1);
+        revogacaoTokenService.revogarToken("abc", 2_000_000L);
+        when(tokenRevogadoRepository.findByExpiraEmGreaterThan(anyLong()))
+                .thenThrow(new DataAccessResourceFailureException("fora do ar"));
+
+        revogacaoTokenService.sincronizar();
+
+        assertTrue(revogacaoTokenService.isTokenRevogado("abc"));
+    }
+
+}
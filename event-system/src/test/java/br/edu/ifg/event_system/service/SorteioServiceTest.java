@@ -0,0 +1,149 @@
+package br.edu.ifg.event_system.service;
+
+import br.edu.ifg.event_system.dto.ResultadoSorteioDTO;
+import br.edu.ifg.event_system.exception.InscricaoException;
+import br.edu.ifg.event_system.model.Evento;
+import br.edu.ifg.event_system.repository.EventoRepository;
+import br.edu.ifg.event_system.repository.InscricaoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SorteioServiceTest {
+
+    @Mock
+    private EventoRepository eventoRepository;
+
+    @Mock
+    private InscricaoRepository inscricaoRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ApplicationContext applicationContext;
+
+    private SorteioService sorteioService;
+    private Evento evento;
+
+    @BeforeEach
+    void setUp() {
+        sorteioService = spy(new SorteioService(eventoRepository, inscricaoRepository, jdbcTemplate, applicationContext, 2));
+        lenient().when(applicationContext.getBean(SorteioService.class)).thenReturn(sorteioService);
+
+        evento = new Evento();
+        evento.setId(1L);
+        evento.setVagas(3);
+        evento.setVagasOcupadas(0);
+        evento.setModoAlocacao(Evento.ModoAlocacao.SORTEIO);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void sortear_DeveContemplarAteOLimiteDeVagasEGravarEmLotes() throws SQLException {
+        when(eventoRepository.findByIdParaAtualizacao(1L)).thenReturn(Optional.of(evento));
+        when(inscricaoRepository.findIdsByEventoIdAndStatus(1L, "PENDENTE_SORTEIO"))
+                .thenReturn(List.of(10L, 11L, 12L, 13L, 14L));
+
+        ResultadoSorteioDTO resultado = sorteioService.sortear(1L);
+
+        assertEquals(5, resultado.getParticipantes());
+        assertEquals(3, resultado.getContemplados());
+        assertEquals(2, resultado.getListaEspera());
+        assertNotNull(evento.getSorteioRealizadoEm());
+        verify(eventoRepository).ocuparVagas(1L, 3);
+
+        ArgumentCaptor<Collection<Object>> lote = ArgumentCaptor.forClass(Collection.class);
+        ArgumentCaptor<ParameterizedPreparedStatementSetter<Object>> setter =
+                ArgumentCaptor.forClass(ParameterizedPreparedStatementSetter.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), lote.capture(), eq(2), setter.capture());
+
+        Map<String, Integer> porStatus = new HashMap<>();
+        Set<Long> ids = new HashSet<>();
+        Set<Integer> posicoes = new HashSet<>();
+        for (Object sorteado : lote.getValue()) {
+            PreparedStatement ps = mock(PreparedStatement.class);
+            setter.getValue().setValues(ps, sorteado);
+
+            ArgumentCaptor<String> status = ArgumentCaptor.forClass(String.class);
+            ArgumentCaptor<Integer> posicao = ArgumentCaptor.forClass(Integer.class);
+            ArgumentCaptor<Long> id = ArgumentCaptor.forClass(Long.class);
+            verify(ps).setString(eq(1), status.capture());
+            verify(ps).setInt(eq(2), posicao.capture());
+            verify(ps).setLong(eq(3), id.capture());
+
+            porStatus.merge(status.getValue(), 1, Integer::sum);
+            ids.add(id.getValue());
+            posicoes.add(posicao.getValue());
+        }
+
+        assertEquals(Map.of("ATIVA", 3, "LISTA_ESPERA", 2), porStatus);
+        assertEquals(Set.of(10L, 11L, 12L, 13L, 14L), ids);
+        assertEquals(Set.of(1, 2, 3, 4, 5), posicoes);
+    }
+
+    @Test
+    void sortear_ComMenosParticipantesQueVagas_DeveContemplarTodos() {
+        evento.setVagas(10);
+        evento.setVagasOcupadas(2);
+        when(eventoRepository.findByIdParaAtualizacao(1L)).thenReturn(Optional.of(evento));
+        when(inscricaoRepository.findIdsByEventoIdAndStatus(1L, "PENDENTE_SORTEIO")).thenReturn(List.of(10L, 11L));
+
+        ResultadoSorteioDTO resultado = sorteioService.sortear(1L);
+
+        assertEquals(2, resultado.getContemplados());
+        assertEquals(0, resultado.getListaEspera());
+        verify(eventoRepository).ocuparVagas(1L, 2);
+    }
+
+    @Test
+    void sortear_JaRealizado_DeveLancarExcecao() {
+        evento.setSorteioRealizadoEm(LocalDateTime.now());
+        when(eventoRepository.findByIdParaAtualizacao(1L)).thenReturn(Optional.of(evento));
+
+        InscricaoException exception = assertThrows(InscricaoException.class, () -> sorteioService.sortear(1L));
+
+        assertEquals("O sorteio deste evento já foi realizado.", exception.getMessage());
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void sortear_EventoPorOrdemDeChegada_DeveLancarExcecao() {
+        evento.setModoAlocacao(Evento.ModoAlocacao.ORDEM_CHEGADA);
+        when(eventoRepository.findByIdParaAtualizacao(1L)).thenReturn(Optional.of(evento));
+
+        assertThrows(InscricaoException.class, () -> sorteioService.sortear(1L));
+        verify(inscricaoRepository, never()).findIdsByEventoIdAndStatus(anyLong(), anyString());
+    }
+
+    @Test
+    void sortearPendentes_DeveSortearEventosVencidosEEncaminharRetardatarios() {
+        when(eventoRepository.findIdsParaSorteio(eq(Evento.ModoAlocacao.SORTEIO), eq(Evento.EventoStatus.ATIVO),
+                any(LocalDateTime.class))).thenReturn(List.of(1L));
+        doReturn(null).when(sorteioService).sortear(1L);
+        when(inscricaoRepository.findEventoIdsSorteadosComStatus("PENDENTE_SORTEIO")).thenReturn(List.of(2L));
+        when(inscricaoRepository.atualizarStatusDoEvento(2L, "PENDENTE_SORTEIO", "LISTA_ESPERA")).thenReturn(1);
+
+        sorteioService.sortearPendentes();
+
+        verify(sorteioService).sortear(1L);
+        verify(applicationContext).publishEvent(new VagaService.VagaLiberadaEvent(2L));
+    }
+
+}
@@ -0,0 +1,96 @@
+package br.edu.ifg.event_system.service;
+
+import br.edu.ifg.event_system.dto.ReferenciaDTO;
+import br.edu.ifg.event_system.model.Evento;
+import br.edu.ifg.event_system.repository.EventoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SugestaoEventosServiceTest {
+
+    @Mock
+    private EventoRepository eventoRepository;
+
+    private SugestaoEventosService sugestaoEventosService;
+
+    @BeforeEach
+    void setUp() {
+        sugestaoEventosService = new SugestaoEventosService(eventoRepository);
+        when(eventoRepository.findTitulosByStatus(Evento.EventoStatus.ATIVO)).thenReturn(List.of(
+                new ReferenciaDTO(1L, "Semana de Programação"),
+                new ReferenciaDTO(2L, "Introdução ao Java"),
+                new ReferenciaDTO(3L, "Programa de Extensão")));
+        sugestaoEventosService.reconstruir();
+    }
+
+    @Test
+    void sugerir_DeveIgnorarAcentosEMaiusculas() {
+        List<ReferenciaDTO> sugestoes = sugestaoEventosService.sugerir("INTRODUCÃO", 10);
+
+        assertEquals(1, sugestoes.size());
+        assertEquals("Introdução ao Java", sugestoes.get(0).getNome());
+    }
+
+    @Test
+    void sugerir_DeveCasarInicioDeQualquerPalavra() {
+        List<Long> ids = sugestaoEventosService.sugerir("program", 10).stream().map(ReferenciaDTO::getId).toList();
+
+        assertEquals(2, ids.size());
+        assertTrue(ids.containsAll(List.of(1L, 3L)));
+        assertTrue(sugestaoEventosService.sugerir("gramacao", 10).isEmpty());
+    }
+
+    @Test
+    void sugerir_DeveRespeitarLimiteSemRepetirEvento() {
+        assertEquals(1, sugestaoEventosService.sugerir("p", 1).size());
+        assertTrue(sugestaoEventosService.sugerir(" - ", 10).isEmpty());
+    }
+
+    @Test
+    void aoAlterarCatalogo_DeveAtualizarSoOEventoAlterado() {
+        Evento renomeado = new Evento();
+        renomeado.setId(2L);
+        renomeado.setTitulo("Oficina de Kotlin");
+        renomeado.setStatus(Evento.EventoStatus.ATIVO);
+        when(eventoRepository.findById(2L)).thenReturn(Optional.of(renomeado));
+
+        sugestaoEventosService.aoAlterarCatalogo(new EventoService.CatalogoAlteradoEvent(2L));
+
+        assertTrue(sugestaoEventosService.sugerir("java", 10).isEmpty());
+        assertEquals(2L, sugestaoEventosService.sugerir("kot", 10).get(0).getId());
+        assertEquals(3, sugestaoEventosService.getTamanho());
+    }
+
+    @Test
+    void aoAlterarCatalogo_EventoEncerradoOuExcluido_DeveSairDoIndice() {
+        Evento encerrado = new Evento();
+        encerrado.setId(1L);
+        encerrado.setTitulo("Semana de Programação");
+        encerrado.setStatus(Evento.EventoStatus.ENCERRADO);
+        when(eventoRepository.findById(1L)).thenReturn(Optional.of(encerrado));
+        when(eventoRepository.findById(3L)).thenReturn(Optional.empty());
+
+        sugestaoEventosService.aoAlterarCatalogo(new EventoService.CatalogoAlteradoEvent(1L));
+        sugestaoEventosService.aoAlterarCatalogo(new EventoService.CatalogoAlteradoEvent(3L));
+
+        assertTrue(sugestaoEventosService.sugerir("program", 10).isEmpty());
+        assertEquals(1, sugestaoEventosService.getTamanho());
+    }
+
+    @Test
+    void dobrar_DeveNormalizarTexto() {
+        assertEquals("acao e reacao", SugestaoEventosService.dobrar("  Ação e REAÇÃO! "));
+        assertEquals("", SugestaoEventosService.dobrar(null));
+    }
+
+}
@@ -6,20 +6,21 @@ import br.edu.ifg.event_system.model.Role;
 import br.edu.ifg.event_system.model.User;
 import br.edu.ifg.event_system.repository.RoleRepository;
 import br.edu.ifg.event_system.repository.UserRepository;
+import br.edu.ifg.event_system.util.EscopoAutorizacao;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
-import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 
@@ -40,7 +41,9 @@ class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
-    @InjectMocks
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     private UserService userService;
 
     private User user;
@@ -53,14 +56,16 @@ class UserServiceTest {
 
     @BeforeEach
     void setUp() {
+        userService = new UserService(userRepository, new RegistroRoles(roleRepository), passwordEncoder, eventPublisher);
+
         user = new User();
         user.setId(1L);
         user.setUsername("test@ifg.edu.br");
         user.setPassword("encoded_password");
         user.setNomeCompleto("Test User");
-        user.setRoles(new ArrayList<>());
-        user.setCampusQueAdministro(new ArrayList<>());
-        user.setDepartamentosQueAdministro(new ArrayList<>());
+        user.setRoles(new HashSet<>());
+        user.setCampusQueAdministro(new HashSet<>());
+        user.setDepartamentosQueAdministro(new HashSet<>());
 
         roleUser = new Role();
         roleUser.setId(1L);
@@ -147,7 +152,7 @@ class UserServiceTest {
         assertEquals("test@ifg.edu.br", savedUser.getUsername());
         assertEquals("Test User", savedUser.getNomeCompleto());
         assertEquals(1, savedUser.getRoles().size());
-        assertEquals("USER", savedUser.getRoles().get(0).getName());
+        assertEquals("USER", savedUser.getRoles().iterator().next().getName());
     }
 
     @Test
@@ -224,8 +229,10 @@ class UserServiceTest {
         userService.atualizarRolesDoUsuario(user, novasRoles);
 
         verify(userRepository).save(user);
+        verify(eventPublisher).publishEvent(new UserService.PermissoesAlteradasEvent(1L));
         assertEquals(1, user.getRoles().size());
-        assertEquals("ADMIN_CAMPUS", user.getRoles().get(0).getName());
+        assertEquals("ADMIN_CAMPUS", user.getRoles().iterator().next().getName());
+        assertEquals(EscopoAutorizacao.ADMIN_CAMPUS, user.getRolesMask());
     }
 
     @Test
@@ -236,6 +243,7 @@ class UserServiceTest {
         userService.adicionarCampusAoUsuario(user, campus);
 
         verify(userRepository).save(user);
+        verify(eventPublisher).publishEvent(new UserService.PermissoesAlteradasEvent(1L));
         assertTrue(user.getRoles().contains(roleAdminCampus));
         assertTrue(user.getCampusQueAdministro().contains(campus));
     }
@@ -275,6 +283,7 @@ class UserServiceTest {
         verify(userRepository).save(user);
         assertTrue(user.getCampusQueAdministro().isEmpty());
         assertFalse(user.getRoles().contains(roleAdminCampus));
+        assertEquals(0, user.getRolesMask());
     }
 
     @Test
@@ -306,6 +315,7 @@ class UserServiceTest {
         verify(userRepository).save(user);
         assertTrue(user.getRoles().contains(roleAdminDepartamento));
         assertTrue(user.getDepartamentosQueAdministro().contains(departamento));
+        assertEquals(EscopoAutorizacao.ADMIN_DEPARTAMENTO, user.getRolesMask());
     }
 
     @Test
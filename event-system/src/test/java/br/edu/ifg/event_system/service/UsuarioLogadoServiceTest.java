@@ -0,0 +1,199 @@
+package br.edu.ifg.event_system.service;
+
+import br.edu.ifg.event_system.config.UsuarioAutenticado;
+import br.edu.ifg.event_system.model.Role;
+import br.edu.ifg.event_system.model.User;
+import br.edu.ifg.event_system.repository.UserRepository;
+import br.edu.ifg.event_system.util.EscopoAutorizacao;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UsuarioLogadoServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UsuarioLogadoService usuarioLogadoService;
+
+    @BeforeEach
+    void setUp() {
+        usuarioLogadoService = new UsuarioLogadoService(userRepository);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void obter_DeveCarregarOUsuarioUmaUnicaVezPorRequisicao() {
+        autenticar("admin@ifg.edu.br");
+        User admin = new User();
+        admin.setId(1L);
+        admin.setUsername("admin@ifg.edu.br");
+        when(userRepository.findComEscopoByUsername("admin@ifg.edu.br")).thenReturn(admin);
+
+        User primeiro = usuarioLogadoService.obter();
+        User segundo = usuarioLogadoService.obter();
+        User terceiro = usuarioLogadoService.obter();
+
+        assertSame(admin, primeiro);
+        assertSame(admin, segundo);
+        assertSame(admin, terceiro);
+        verify(userRepository, times(1)).findComEscopoByUsername("admin@ifg.edu.br");
+        verifyNoMoreInteractions(userRepository);
+    }
+
+    @Test
+    void obter_UsuarioInexistente_DeveRetornarNullSemConsultarDeNovo() {
+        autenticar("removido@ifg.edu.br");
+        when(userRepository.findComEscopoByUsername("removido@ifg.edu.br")).thenReturn(null);
+
+        assertNull(usuarioLogadoService.obter());
+        assertNull(usuarioLogadoService.obter());
+
+        verify(userRepository, times(1)).findComEscopoByUsername("removido@ifg.edu.br");
+        verifyNoMoreInteractions(userRepository);
+    }
+
+    @Test
+    void obter_RequisicaoAnonima_DeveRetornarNullSemConsultarOBanco() {
+        SecurityContextHolder.getContext().setAuthentication(new AnonymousAuthenticationToken(
+                "chave", "anonymousUser", AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS")));
+
+        assertNull(usuarioLogadoService.obter());
+
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void obter_PrincipalDoToken_DeveCarregarPeloIdEmUmaUnicaConsulta() {
+        autenticarComToken(7L, "admin@ifg.edu.br");
+        User admin = new User();
+        admin.setId(7L);
+        when(userRepository.findComEscopoById(7L)).thenReturn(admin);
+
+        assertSame(admin, usuarioLogadoService.obter());
+        assertSame(admin, usuarioLogadoService.obter());
+
+        verify(userRepository, times(1)).findComEscopoById(7L);
+        verifyNoMoreInteractions(userRepository);
+    }
+
+    @Test
+    void obterEscopo_DeveCompilarOEscopoUmaUnicaVezPorRequisicao() {
+        autenticar("admin@ifg.edu.br");
+        User admin = new User();
+        admin.setId(1L);
+        admin.setRoles(Set.of(new Role("ADMIN_GERAL")));
+        when(userRepository.findComEscopoByUsername("admin@ifg.edu.br")).thenReturn(admin);
+
+        EscopoAutorizacao primeiro = usuarioLogadoService.obterEscopo();
+
+        assertTrue(primeiro.isAdminGeral());
+        assertSame(primeiro, usuarioLogadoService.obterEscopo());
+        verify(userRepository, times(1)).findComEscopoByUsername("admin@ifg.edu.br");
+    }
+
+    @Test
+    void obterEscopo_PrincipalDoToken_DeveUsarOEscopoDasClaimsSemConsultarOBanco() {
+        UsuarioAutenticado principal = autenticarComToken(7L, "admin@ifg.edu.br");
+
+        assertSame(principal.getEscopo(), usuarioLogadoService.obterEscopo());
+
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void obterReferencia_PrincipalDoToken_NaoDeveConsultarOBanco() {
+        autenticarComToken(7L, "aluno@ifg.edu.br");
+        User referencia = new User();
+        referencia.setId(7L);
+        when(userRepository.getReferenceById(7L)).thenReturn(referencia);
+
+        assertSame(referencia, usuarioLogadoService.obterReferencia());
+
+        verify(userRepository).getReferenceById(7L);
+        verifyNoMoreInteractions(userRepository);
+    }
+
+    @Test
+    void obterReferencia_UsuarioJaCarregado_DeveReaproveitarOUsuario() {
+        autenticarComToken(7L, "admin@ifg.edu.br");
+        User admin = new User();
+        admin.setId(7L);
+        when(userRepository.findComEscopoById(7L)).thenReturn(admin);
+
+        usuarioLogadoService.obter();
+
+        assertSame(admin, usuarioLogadoService.obterReferencia());
+        verify(userRepository, never()).getReferenceById(any());
+    }
+
+    @Test
+    void obterReferencia_SemIdNoPrincipal_DeveCarregarOUsuario() {
+        autenticar("admin@ifg.edu.br");
+        User admin = new User();
+        admin.setId(1L);
+        when(userRepository.findComEscopoByUsername("admin@ifg.edu.br")).thenReturn(admin);
+
+        assertSame(admin, usuarioLogadoService.obterReferencia());
+
+        verify(userRepository, never()).getReferenceById(any());
+    }
+
+    @Test
+    void obterNomeCompleto_ComClaimNoToken_NaoDeveConsultarOBanco() {
+        autenticarComToken(7L, "user@ifg.edu.br", "Usuário Teste");
+
+        assertEquals("Usuário Teste", usuarioLogadoService.obterNomeCompleto());
+
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void obterNomeCompleto_TokenSemClaim_DeveLerDaReferencia() {
+        autenticarComToken(7L, "user@ifg.edu.br");
+        User referencia = new User();
+        referencia.setId(7L);
+        referencia.setNomeCompleto("Usuário Teste");
+        when(userRepository.getReferenceById(7L)).thenReturn(referencia);
+
+        assertEquals("Usuário Teste", usuarioLogadoService.obterNomeCompleto());
+    }
+
+    private static UsuarioAutenticado autenticarComToken(Long id, String username) {
+        return autenticarComToken(id, username, null);
+    }
+
+    private static UsuarioAutenticado autenticarComToken(Long id, String username, String nomeCompleto) {
+        UsuarioAutenticado principal = new UsuarioAutenticado(id, username, nomeCompleto, List.of("USER"),
+                EscopoAutorizacao.compilar(id, List.of("USER"), List.of(), List.of(), List.of()),
+                0L, Long.MAX_VALUE);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+        return principal;
+    }
+
+    private static void autenticar(String username) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(username, null, List.of()));
+    }
+
+}
@@ -0,0 +1,137 @@
+package br.edu.ifg.event_system.service;
+
+import br.edu.ifg.event_system.model.Evento;
+import br.edu.ifg.event_system.repository.EventoRepository;
+import br.edu.ifg.event_system.repository.InscricaoRepository;
+import br.edu.ifg.event_system.repository.ReservaVagaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationContext;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class VagaServiceTest {
+
+    @Mock
+    private EventoRepository eventoRepository;
+
+    @Mock
+    private InscricaoRepository inscricaoRepository;
+
+    @Mock
+    private ReservaVagaRepository reservaVagaRepository;
+
+    @Mock
+    private ApplicationContext applicationContext;
+
+    @Spy
+    @InjectMocks
+    private VagaService vagaService;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(applicationContext.getBean(VagaService.class)).thenReturn(vagaService);
+    }
+
+    @Test
+    void reservar_ComVagaDisponivel_DeveRetornarTrue() {
+        when(eventoRepository.reservarVaga(1L)).thenReturn(1);
+
+        assertTrue(vagaService.reservar(1L));
+        verify(eventoRepository).reservarVaga(1L);
+    }
+
+    @Test
+    void reservar_ComEventoLotado_DeveRetornarFalse() {
+        when(eventoRepository.reservarVaga(1L)).thenReturn(0);
+
+        assertFalse(vagaService.reservar(1L));
+    }
+
+    @Test
+    void liberar_DeveDecrementarUmaVaga() {
+        vagaService.liberar(1L);
+
+        verify(eventoRepository).liberarVagas(1L, 1);
+        verify(applicationContext).publishEvent(new VagaService.VagaLiberadaEvent(1L));
+    }
+
+    @Test
+    void reconciliar_ComContadorDivergente_DeveCorrigir() {
+        when(eventoRepository.bloquearVagasOcupadas(1L)).thenReturn(7);
+        when(inscricaoRepository.countByEventoIdAndStatus(1L, "ATIVA")).thenReturn(5L);
+
+        assertTrue(vagaService.reconciliar(1L));
+        verify(eventoRepository).definirVagasOcupadas(1L, 5);
+    }
+
+    @Test
+    void liberar_ComQuantidade_DeveDevolverTodasAsVagas() {
+        vagaService.liberar(1L, 3);
+
+        verify(eventoRepository).liberarVagas(1L, 3);
+        verify(applicationContext).publishEvent(new VagaService.VagaLiberadaEvent(1L));
+    }
+
+    @Test
+    void reconciliar_DeveContarReservasDeVagaPendentes() {
+        when(eventoRepository.bloquearVagasOcupadas(1L)).thenReturn(5);
+        when(inscricaoRepository.countByEventoIdAndStatus(1L, "ATIVA")).thenReturn(3L);
+        when(reservaVagaRepository.countByEventoId(1L)).thenReturn(2L);
+
+        assertFalse(vagaService.reconciliar(1L));
+        verify(eventoRepository, never()).definirVagasOcupadas(anyLong(), anyInt());
+    }
+
+    @Test
+    void reconciliar_ComContadorCorreto_NaoDeveAtualizar() {
+        when(eventoRepository.bloquearVagasOcupadas(1L)).thenReturn(5);
+        when(inscricaoRepository.countByEventoIdAndStatus(1L, "ATIVA")).thenReturn(5L);
+
+        assertFalse(vagaService.reconciliar(1L));
+        verify(eventoRepository, never()).definirVagasOcupadas(anyLong(), anyInt());
+    }
+
+    @Test
+    void reconciliar_ComEventoInexistente_DeveRetornarFalse() {
+        when(eventoRepository.bloquearVagasOcupadas(99L)).thenReturn(null);
+
+        assertFalse(vagaService.reconciliar(99L));
+        verify(inscricaoRepository, never()).countByEventoIdAndStatus(anyLong(), any());
+    }
+
+    @Test
+    void afterSingletonsInstantiated_DevePreencherContadorPeloProxy() {
+        when(eventoRepository.recalcularVagasOcupadas()).thenReturn(3);
+
+        vagaService.afterSingletonsInstantiated();
+
+        verify(applicationContext).getBean(VagaService.class);
+        verify(eventoRepository).recalcularVagasOcupadas();
+        verify(eventoRepository, never()).findIdsByStatus(any());
+    }
+
+    @Test
+    void reconciliarTodas_DeveReconciliarCadaEventoAtivo() {
+        when(eventoRepository.findIdsByStatus(Evento.EventoStatus.ATIVO)).thenReturn(List.of(1L, 2L));
+        doReturn(true).when(vagaService).reconciliar(1L);
+        doReturn(false).when(vagaService).reconciliar(2L);
+
+        vagaService.reconciliarTodas();
+
+        verify(vagaService).reconciliar(1L);
+        verify(vagaService).reconciliar(2L);
+    }
+
+}
@@ -0,0 +1,116 @@
+package br.edu.ifg.event_system.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class VerificacaoSenhaServiceTest {
+
+    @Mock
+    private AuthenticationManager authenticationManager;
+
+    @Mock
+    private Authentication authentication;
+
+    private VerificacaoSenhaService verificacaoSenhaService;
+
+    @AfterEach
+    void tearDown() {
+        verificacaoSenhaService.encerrar();
+    }
+
+    @Test
+    void autenticar_DeveDelegarAoAuthenticationManagerForaDaThreadAtual() {
+        verificacaoSenhaService = novoServico(2, 10);
+        Thread chamadora = Thread.currentThread();
+        Thread[] executora = new Thread[1];
+        when(authenticationManager.authenticate(any())).thenAnswer(invocacao -> {
+            executora[0] = Thread.currentThread();
+            return authentication;
+        });
+
+        Authentication resultado = verificacaoSenhaService.autenticar("test@ifg.edu.br", "senha123").join();
+
+        assertSame(authentication, resultado);
+        assertNotSame(chamadora, executora[0]);
+        assertTrue(executora[0].getName().startsWith("login-senha-"));
+        verify(authenticationManager).authenticate(argThat(auth ->
+                auth instanceof UsernamePasswordAuthenticationToken
+                        && "test@ifg.edu.br".equals(auth.getPrincipal())
+                        && "senha123".equals(auth.getCredentials())));
+    }
+
+    @Test
+    void autenticar_ComSenhaInvalida_DeveFalharComAExcecaoDeAutenticacao() {
+        verificacaoSenhaService = novoServico(1, 10);
+        when(authenticationManager.authenticate(any())).thenThrow(new BadCredentialsException("Bad credentials"));
+
+        CompletableFuture<Authentication> futuro = verificacaoSenhaService.autenticar("test@ifg.edu.br", "errada");
+
+        CompletionException erro = assertThrows(CompletionException.class, futuro::join);
+        assertInstanceOf(BadCredentialsException.class, erro.getCause());
+    }
+
+    @Test
+    void autenticar_ComFilaCheia_DeveRecusarImediatamente() throws InterruptedException {
+        verificacaoSenhaService = novoServico(1, 1);
+        CountDownLatch iniciou = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        when(authenticationManager.authenticate(any())).thenAnswer(invocacao -> {
+            iniciou.countDown();
+            liberar.await(5, TimeUnit.SECONDS);
+            return authentication;
+        });
+
+        CompletableFuture<Authentication> emExecucao = verificacaoSenhaService.autenticar("a@ifg.edu.br", "senha");
+        assertTrue(iniciou.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Authentication> naFila = verificacaoSenhaService.autenticar("b@ifg.edu.br", "senha");
+        CompletableFuture<Authentication> recusado = verificacaoSenhaService.autenticar("c@ifg.edu.br", "senha");
+
+        assertEquals(1, verificacaoSenhaService.getTamanhoFila());
+        CompletionException erro = assertThrows(CompletionException.class, recusado::join);
+        assertInstanceOf(RejectedExecutionException.class, erro.getCause());
+
+        liberar.countDown();
+        assertSame(authentication, emExecucao.join());
+        assertSame(authentication, naFila.join());
+    }
+
+    @Test
+    void calibrarCusto_ComAlvoInalcancavel_DeveRetornarOMinimo() {
+        verificacaoSenhaService = novoServico(1, 1);
+
+        assertEquals(4, VerificacaoSenhaService.calibrarCusto(Duration.ofNanos(1), 4, 6));
+    }
+
+    @Test
+    void calibrarCusto_ComAlvoFolgado_DeveRetornarOMaximo() {
+        verificacaoSenhaService = novoServico(1, 1);
+
+        assertEquals(5, VerificacaoSenhaService.calibrarCusto(Duration.ofMinutes(1), 4, 5));
+    }
+
+    private VerificacaoSenhaService novoServico(int threads, int capacidadeFila) {
+        return new VerificacaoSenhaService(authenticationManager, threads, capacidadeFila,
+                false, Duration.ofMillis(250));
+    }
+
+}
@@ -0,0 +1,73 @@
+package br.edu.ifg.event_system.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheExpiravelTest {
+
+    private AtomicLong agora;
+    private CacheExpiravel<String, String> cache;
+
+    @BeforeEach
+    void setUp() {
+        agora = new AtomicLong();
+        cache = new CacheExpiravel<>(2, Duration.ofSeconds(10), agora::get);
+    }
+
+    @Test
+    void obter_DentroDoPrazo_DeveRetornarValor() {
+        cache.colocar("a", "1");
+        agora.addAndGet(Duration.ofSeconds(9).toNanos());
+
+        assertEquals("1", cache.obter("a"));
+    }
+
+    @Test
+    void obter_AposExpiracao_DeveRemoverEntrada() {
+        cache.colocar("a", "1");
+        agora.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        assertNull(cache.obter("a"));
+        assertEquals(0, cache.tamanho());
+    }
+
+    @Test
+    void colocar_AcimaDaCapacidade_DeveDescartarMenosRecenteUsada() {
+        cache.colocar("a", "1");
+        cache.colocar("b", "2");
+        cache.obter("a");
+        cache.colocar("c", "3");
+
+        assertEquals("1", cache.obter("a"));
+        assertNull(cache.obter("b"));
+        assertEquals("3", cache.obter("c"));
+    }
+
+    @Test
+    void colocarSeAusente_ComChaveExistente_DeveManterValorOriginal() {
+        assertNull(cache.colocarSeAusente("a", "1"));
+        assertEquals("1", cache.colocarSeAusente("a", "2"));
+        assertEquals("1", cache.obter("a"));
+    }
+
+    @Test
+    void remover_ComValorDiferente_NaoDeveRemover() {
+        cache.colocar("a", "1");
+
+        assertFalse(cache.remover("a", "outro"));
+        assertTrue(cache.remover("a", cache.obter("a")));
+        assertNull(cache.obter("a"));
+    }
+
+    @Test
+    void construtor_ComCapacidadeInvalida_DeveLancarExcecao() {
+        Duration ttl = Duration.ofSeconds(1);
+        assertThrows(IllegalArgumentException.class, () -> new CacheExpiravel<String, String>(0, ttl));
+    }
+
+}
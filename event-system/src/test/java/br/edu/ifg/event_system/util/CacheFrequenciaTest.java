@@ -0,0 +1,103 @@
+package br.edu.ifg.event_system.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheFrequenciaTest {
+
+    private AtomicLong agora;
+    private CacheFrequencia<String, String> cache;
+
+    @BeforeEach
+    void setUp() {
+        agora = new AtomicLong();
+        cache = new CacheFrequencia<>(2, Duration.ofSeconds(10), agora::get);
+    }
+
+    @Test
+    void obter_DeveContarAcertosEFalhas() {
+        assertNull(cache.obter("a"));
+        cache.colocar("a", "1");
+
+        assertEquals("1", cache.obter("a"));
+        assertEquals(1, cache.acertos());
+        assertEquals(1, cache.falhas());
+    }
+
+    @Test
+    void obter_AposExpiracao_DeveRemoverEntrada() {
+        cache.colocar("a", "1");
+        agora.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        assertNull(cache.obter("a"));
+        assertEquals(0, cache.tamanho());
+    }
+
+    @Test
+    void obter_ComValorInvalido_DeveTratarComoFalha() {
+        cache.colocar("a", "1");
+
+        assertNull(cache.obter("a", "2"::equals));
+        assertEquals(0, cache.tamanho());
+        assertEquals(1, cache.falhas());
+    }
+
+    @Test
+    void colocar_ChavePoucoFrequente_NaoDeveExpulsarChavesQuentes() {
+        for (int i = 0; i < 5; i++) {
+            cache.obter("a");
+            cache.obter("b");
+        }
+        cache.colocar("a", "1");
+        cache.colocar("b", "2");
+
+        cache.obter("unica");
+        assertFalse(cache.colocar("unica", "x"));
+
+        assertEquals("1", cache.obter("a"));
+        assertEquals("2", cache.obter("b"));
+        assertEquals(1, cache.rejeicoes());
+    }
+
+    @Test
+    void colocar_ChaveMaisFrequenteQueAVitima_DeveSerAdmitida() {
+        cache.colocar("a", "1");
+        cache.colocar("b", "2");
+        for (int i = 0; i < 5; i++) {
+            cache.obter("c");
+        }
+
+        assertTrue(cache.colocar("c", "3"));
+        assertNull(cache.obter("a"));
+        assertEquals("3", cache.obter("c"));
+    }
+
+    @Test
+    void colocar_ComVitimaExpirada_DeveAdmitirSemComparar() {
+        cache.colocar("a", "1");
+        cache.colocar("b", "2");
+        agora.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        assertTrue(cache.colocar("c", "3"));
+        assertEquals(2, cache.tamanho());
+    }
+
+    @Test
+    void frequencia_DeveEnvelhecerPelaMetade() {
+        for (int i = 0; i < 10; i++) {
+            cache.obter("a");
+        }
+        int antes = cache.frequencia("a");
+        for (int i = 0; i < 20; i++) {
+            cache.obter("outra-" + i);
+        }
+
+        assertTrue(cache.frequencia("a") < antes);
+    }
+
+}
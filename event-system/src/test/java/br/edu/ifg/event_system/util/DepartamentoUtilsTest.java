@@ -6,7 +6,7 @@ import br.edu.ifg.event_system.model.Departamento;
 import br.edu.ifg.event_system.model.Role;
 import br.edu.ifg.event_system.model.User;
 import br.edu.ifg.event_system.service.CampusService;
-import br.edu.ifg.event_system.service.UserService;
+import br.edu.ifg.event_system.service.UsuarioLogadoService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -22,8 +22,8 @@ import org.springframework.security.core.context.SecurityContextHolder;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.HashSet;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -35,7 +35,7 @@ class DepartamentoUtilsTest {
     private CampusService campusService;
 
     @Mock
-    private UserService userService;
+    private UsuarioLogadoService usuarioLogadoService;
 
     @Mock
     private Authentication authentication;
@@ -75,22 +75,20 @@ class DepartamentoUtilsTest {
     void testValidarCampusEPermissao_CampusNaoEncontrado() {
         when(campusService.buscarPorId(1L)).thenReturn(null);
 
-        ResponseEntity<Object> response = DepartamentoUtils.validarCampusEPermissao(requestDTO, campusService, userService);
+        ResponseEntity<Object> response = DepartamentoUtils.validarCampusEPermissao(requestDTO, campusService, usuarioLogadoService);
 
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
         assertEquals("Campus inválido ou não encontrado.", response.getBody());
         verify(campusService).buscarPorId(1L);
-        verifyNoInteractions(userService);
+        verifyNoInteractions(usuarioLogadoService);
     }
 
     @Test
     void testValidarCampusEPermissao_AdminGeral() {
         when(campusService.buscarPorId(1L)).thenReturn(campus);
-        when(securityContext.getAuthentication()).thenReturn(authentication);
-        when(authentication.getName()).thenReturn("test_user");
-        when(userService.buscarPorUsername("test_user")).thenReturn(user);
+        when(usuarioLogadoService.obterEscopo()).thenAnswer(invocacao -> EscopoAutorizacao.de(user));
 
-        List<Role> roles = new ArrayList<>();
+        Set<Role> roles = new HashSet<>();
         Role adminGeralRole = new Role();
         adminGeralRole.setName("ADMIN_GERAL");
         roles.add(adminGeralRole);
@@ -99,56 +97,50 @@ class DepartamentoUtilsTest {
         try (MockedStatic<SecurityContextHolder> securityContextHolder = Mockito.mockStatic(SecurityContextHolder.class)) {
             securityContextHolder.when(SecurityContextHolder::getContext).thenReturn(securityContext);
 
-            ResponseEntity<Object> response = DepartamentoUtils.validarCampusEPermissao(requestDTO, campusService, userService);
+            ResponseEntity<Object> response = DepartamentoUtils.validarCampusEPermissao(requestDTO, campusService, usuarioLogadoService);
 
             assertEquals(HttpStatus.OK, response.getStatusCode());
             assertInstanceOf(DepartamentoUtils.DepartamentoValidationData.class, response.getBody());
 
             DepartamentoUtils.DepartamentoValidationData data = (DepartamentoUtils.DepartamentoValidationData) response.getBody();
             assertEquals(campus, data.getCampus());
-            assertEquals(user, data.getUsuarioLogado());
         }
     }
 
     @Test
     void testValidarCampusEPermissao_AdminCampus_GerenciaCampus() {
         when(campusService.buscarPorId(1L)).thenReturn(campus);
-        when(securityContext.getAuthentication()).thenReturn(authentication);
-        when(authentication.getName()).thenReturn("test_user");
-        when(userService.buscarPorUsername("test_user")).thenReturn(user);
+        when(usuarioLogadoService.obterEscopo()).thenAnswer(invocacao -> EscopoAutorizacao.de(user));
 
-        List<Role> roles = new ArrayList<>();
+        Set<Role> roles = new HashSet<>();
         Role adminCampusRole = new Role();
         adminCampusRole.setName("ADMIN_CAMPUS");
         roles.add(adminCampusRole);
         user.setRoles(roles);
 
-        List<Campus> campusQueAdministro = new ArrayList<>();
+        Set<Campus> campusQueAdministro = new HashSet<>();
         campusQueAdministro.add(campus);
         user.setCampusQueAdministro(campusQueAdministro);
 
         try (MockedStatic<SecurityContextHolder> securityContextHolder = Mockito.mockStatic(SecurityContextHolder.class)) {
             securityContextHolder.when(SecurityContextHolder::getContext).thenReturn(securityContext);
 
-            ResponseEntity<Object> response = DepartamentoUtils.validarCampusEPermissao(requestDTO, campusService, userService);
+            ResponseEntity<Object> response = DepartamentoUtils.validarCampusEPermissao(requestDTO, campusService, usuarioLogadoService);
 
             assertEquals(HttpStatus.OK, response.getStatusCode());
             assertInstanceOf(DepartamentoUtils.DepartamentoValidationData.class, response.getBody());
 
             DepartamentoUtils.DepartamentoValidationData data = (DepartamentoUtils.DepartamentoValidationData) response.getBody();
             assertEquals(campus, data.getCampus());
-            assertEquals(user, data.getUsuarioLogado());
         }
     }
 
     @Test
     void testValidarCampusEPermissao_AdminCampus_NaoGerenciaCampus() {
         when(campusService.buscarPorId(1L)).thenReturn(campus);
-        when(securityContext.getAuthentication()).thenReturn(authentication);
-        when(authentication.getName()).thenReturn("test_user");
-        when(userService.buscarPorUsername("test_user")).thenReturn(user);
+        when(usuarioLogadoService.obterEscopo()).thenAnswer(invocacao -> EscopoAutorizacao.de(user));
 
-        List<Role> roles = new ArrayList<>();
+        Set<Role> roles = new HashSet<>();
         Role adminCampusRole = new Role();
         adminCampusRole.setName("ADMIN_CAMPUS");
         roles.add(adminCampusRole);
@@ -156,14 +148,14 @@ class DepartamentoUtilsTest {
 
         Campus outroCampus = new Campus();
         outroCampus.setId(2L);
-        List<Campus> campusQueAdministro = new ArrayList<>();
+        Set<Campus> campusQueAdministro = new HashSet<>();
         campusQueAdministro.add(outroCampus);
         user.setCampusQueAdministro(campusQueAdministro);
 
         try (MockedStatic<SecurityContextHolder> securityContextHolder = Mockito.mockStatic(SecurityContextHolder.class)) {
             securityContextHolder.when(SecurityContextHolder::getContext).thenReturn(securityContext);
 
-            ResponseEntity<Object> response = DepartamentoUtils.validarCampusEPermissao(requestDTO, campusService, userService);
+            ResponseEntity<Object> response = DepartamentoUtils.validarCampusEPermissao(requestDTO, campusService, usuarioLogadoService);
 
             assertEquals(HttpStatus.FORBIDDEN, response.getStatusCode());
             assertEquals("Você não gerencia este campus.", response.getBody());
@@ -173,11 +165,9 @@ class DepartamentoUtilsTest {
     @Test
     void testValidarCampusEPermissao_AdminDepartamento_GerenciaDepartamentoNoCampus() {
         when(campusService.buscarPorId(1L)).thenReturn(campus);
-        when(securityContext.getAuthentication()).thenReturn(authentication);
-        when(authentication.getName()).thenReturn("test_user");
-        when(userService.buscarPorUsername("test_user")).thenReturn(user);
+        when(usuarioLogadoService.obterEscopo()).thenAnswer(invocacao -> EscopoAutorizacao.de(user));
 
-        List<Role> roles = new ArrayList<>();
+        Set<Role> roles = new HashSet<>();
         Role adminDepartamentoRole = new Role();
         adminDepartamentoRole.setName("ADMIN_DEPARTAMENTO");
         roles.add(adminDepartamentoRole);
@@ -185,32 +175,29 @@ class DepartamentoUtilsTest {
 
         Departamento departamento = new Departamento();
         departamento.setCampus(campus);
-        List<Departamento> departamentosQueAdministro = new ArrayList<>();
+        Set<Departamento> departamentosQueAdministro = new HashSet<>();
         departamentosQueAdministro.add(departamento);
         user.setDepartamentosQueAdministro(departamentosQueAdministro);
 
         try (MockedStatic<SecurityContextHolder> securityContextHolder = Mockito.mockStatic(SecurityContextHolder.class)) {
             securityContextHolder.when(SecurityContextHolder::getContext).thenReturn(securityContext);
 
-            ResponseEntity<Object> response = DepartamentoUtils.validarCampusEPermissao(requestDTO, campusService, userService);
+            ResponseEntity<Object> response = DepartamentoUtils.validarCampusEPermissao(requestDTO, campusService, usuarioLogadoService);
 
             assertEquals(HttpStatus.OK, response.getStatusCode());
             assertInstanceOf(DepartamentoUtils.DepartamentoValidationData.class, response.getBody());
 
             DepartamentoUtils.DepartamentoValidationData data = (DepartamentoUtils.DepartamentoValidationData) response.getBody();
             assertEquals(campus, data.getCampus());
-            assertEquals(user, data.getUsuarioLogado());
         }
     }
 
     @Test
     void testValidarCampusEPermissao_AdminDepartamento_NaoGerenciaDepartamentoNoCampus() {
         when(campusService.buscarPorId(1L)).thenReturn(campus);
-        when(securityContext.getAuthentication()).thenReturn(authentication);
-        when(authentication.getName()).thenReturn("test_user");
-        when(userService.buscarPorUsername("test_user")).thenReturn(user);
+        when(usuarioLogadoService.obterEscopo()).thenAnswer(invocacao -> EscopoAutorizacao.de(user));
 
-        List<Role> roles = new ArrayList<>();
+        Set<Role> roles = new HashSet<>();
         Role adminDepartamentoRole = new Role();
         adminDepartamentoRole.setName("ADMIN_DEPARTAMENTO");
         roles.add(adminDepartamentoRole);
@@ -222,14 +209,14 @@ class DepartamentoUtilsTest {
         Departamento departamento = new Departamento();
         departamento.setCampus(outroCampus);
 
-        List<Departamento> departamentosQueAdministro = new ArrayList<>();
+        Set<Departamento> departamentosQueAdministro = new HashSet<>();
         departamentosQueAdministro.add(departamento);
         user.setDepartamentosQueAdministro(departamentosQueAdministro);
 
         try (MockedStatic<SecurityContextHolder> securityContextHolder = Mockito.mockStatic(SecurityContextHolder.class)) {
             securityContextHolder.when(SecurityContextHolder::getContext).thenReturn(securityContext);
 
-            ResponseEntity<Object> response = DepartamentoUtils.validarCampusEPermissao(requestDTO, campusService, userService);
+            ResponseEntity<Object> response = DepartamentoUtils.validarCampusEPermissao(requestDTO, campusService, usuarioLogadoService);
 
             assertEquals(HttpStatus.FORBIDDEN, response.getStatusCode());
             assertEquals("Você não administra departamentos neste campus.", response.getBody());
@@ -239,11 +226,9 @@ class DepartamentoUtilsTest {
     @Test
     void testValidarCampusEPermissao_SemPermissao() {
         when(campusService.buscarPorId(1L)).thenReturn(campus);
-        when(securityContext.getAuthentication()).thenReturn(authentication);
-        when(authentication.getName()).thenReturn("test_user");
-        when(userService.buscarPorUsername("test_user")).thenReturn(user);
+        when(usuarioLogadoService.obterEscopo()).thenAnswer(invocacao -> EscopoAutorizacao.de(user));
 
-        List<Role> roles = new ArrayList<>();
+        Set<Role> roles = new HashSet<>();
         Role userRole = new Role();
         userRole.setName("USER");
         roles.add(userRole);
@@ -252,7 +237,7 @@ class DepartamentoUtilsTest {
         try (MockedStatic<SecurityContextHolder> securityContextHolder = Mockito.mockStatic(SecurityContextHolder.class)) {
             securityContextHolder.when(SecurityContextHolder::getContext).thenReturn(securityContext);
 
-            ResponseEntity<Object> response = DepartamentoUtils.validarCampusEPermissao(requestDTO, campusService, userService);
+            ResponseEntity<Object> response = DepartamentoUtils.validarCampusEPermissao(requestDTO, campusService, usuarioLogadoService);
 
             assertEquals(HttpStatus.FORBIDDEN, response.getStatusCode());
             assertEquals("Você não tem permissão para esta operação.", response.getBody());
@@ -264,13 +249,10 @@ class DepartamentoUtilsTest {
         DepartamentoUtils.DepartamentoValidationData data = new DepartamentoUtils.DepartamentoValidationData();
 
         assertNull(data.getCampus());
-        assertNull(data.getUsuarioLogado());
 
         data.setCampus(campus);
-        data.setUsuarioLogado(user);
 
         assertEquals(campus, data.getCampus());
-        assertEquals(user, data.getUsuarioLogado());
     }
 
 }
\ No newline at end of file
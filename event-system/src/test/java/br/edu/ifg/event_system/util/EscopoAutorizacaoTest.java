@@ -0,0 +1,104 @@
+package br.edu.ifg.event_system.util;
+
+import br.edu.ifg.event_system.model.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EscopoAutorizacaoTest {
+
+    private User user;
+    private Campus campus;
+    private Departamento departamento;
+    private Evento evento;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setId(7L);
+        user.setRoles(new HashSet<>());
+        user.setCampusQueAdministro(new HashSet<>());
+        user.setDepartamentosQueAdministro(new HashSet<>());
+
+        campus = new Campus();
+        campus.setId(3L);
+        departamento = new Departamento();
+        departamento.setId(5L);
+        departamento.setCampus(campus);
+
+        evento = new Evento();
+        evento.setCampus(campus);
+        evento.setDepartamento(departamento);
+    }
+
+    @Test
+    void de_DeveCompilarPapeisEmMascara() {
+        adicionarRole("ADMIN_CAMPUS");
+        adicionarRole("ADMIN_DEPARTAMENTO");
+        adicionarRole("USER");
+
+        EscopoAutorizacao escopo = EscopoAutorizacao.de(user);
+
+        assertEquals(EscopoAutorizacao.ADMIN_CAMPUS | EscopoAutorizacao.ADMIN_DEPARTAMENTO, escopo.getPapeis());
+        assertFalse(escopo.isAdminGeral());
+        assertTrue(escopo.isUsuario(7L));
+        assertFalse(escopo.isUsuario(8L));
+    }
+
+    @Test
+    void podeGerenciarEvento_AdminGeral_DevePermitirQualquerEvento() {
+        adicionarRole("ADMIN_GERAL");
+
+        assertTrue(EscopoAutorizacao.de(user).podeGerenciarEvento(new Evento()));
+    }
+
+    @Test
+    void podeGerenciarEvento_DeveExigirPapelEVinculo() {
+        user.getCampusQueAdministro().add(campus);
+        assertFalse(EscopoAutorizacao.de(user).podeGerenciarEvento(evento));
+
+        adicionarRole("ADMIN_CAMPUS");
+        assertTrue(EscopoAutorizacao.de(user).podeGerenciarEvento(evento));
+
+        Campus outro = new Campus();
+        outro.setId(99L);
+        evento.setCampus(outro);
+        assertFalse(EscopoAutorizacao.de(user).podeGerenciarEvento(evento));
+
+        user.getDepartamentosQueAdministro().add(departamento);
+        adicionarRole("ADMIN_DEPARTAMENTO");
+        assertTrue(EscopoAutorizacao.de(user).podeGerenciarEvento(evento));
+    }
+
+    @Test
+    void administraDepartamentoNoCampus_DeveUsarCampusDosDepartamentos() {
+        user.getDepartamentosQueAdministro().add(departamento);
+
+        EscopoAutorizacao escopo = EscopoAutorizacao.de(user);
+
+        assertTrue(escopo.administraDepartamentoNoCampus(3L));
+        assertFalse(escopo.administraDepartamentoNoCampus(4L));
+        assertFalse(escopo.administraCampus(null));
+    }
+
+    @Test
+    void getCampusIds_DeveDevolverIdsOrdenados() {
+        for (long id : new long[]{9L, 1L, 4L}) {
+            Campus c = new Campus();
+            c.setId(id);
+            user.getCampusQueAdministro().add(c);
+        }
+
+        assertArrayEquals(new long[]{1L, 4L, 9L}, EscopoAutorizacao.de(user).getCampusIds());
+    }
+
+    private void adicionarRole(String nome) {
+        Role role = new Role();
+        role.setName(nome);
+        user.getRoles().add(role);
+    }
+
+}
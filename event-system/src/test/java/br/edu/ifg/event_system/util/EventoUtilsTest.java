@@ -8,7 +8,7 @@ import br.edu.ifg.event_system.repository.CampoValorRepository;
 import br.edu.ifg.event_system.service.CampusService;
 import br.edu.ifg.event_system.service.DepartamentoService;
 import br.edu.ifg.event_system.service.EventoService;
-import br.edu.ifg.event_system.service.UserService;
+import br.edu.ifg.event_system.service.UsuarioLogadoService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -27,6 +27,7 @@ import java.lang.reflect.InvocationTargetException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -43,7 +44,7 @@ class EventoUtilsTest {
     private DepartamentoService departamentoService;
 
     @Mock
-    private UserService userService;
+    private UsuarioLogadoService usuarioLogadoService;
 
     @Mock
     private EventoService eventoService;
@@ -93,9 +94,9 @@ class EventoUtilsTest {
         user = new User();
         user.setId(1L);
         user.setUsername("test_user");
-        user.setRoles(new ArrayList<>());
-        user.setCampusQueAdministro(new ArrayList<>());
-        user.setDepartamentosQueAdministro(new ArrayList<>());
+        user.setRoles(new HashSet<>());
+        user.setCampusQueAdministro(new HashSet<>());
+        user.setDepartamentosQueAdministro(new HashSet<>());
 
         evento = new Evento();
         evento.setId(1L);
@@ -130,7 +131,7 @@ class EventoUtilsTest {
         when(campusService.buscarPorId(1L)).thenReturn(null);
 
         ResponseEntity<Object> response = EventoUtils.validarDadosIniciais(
-                requestDTO, campusService, departamentoService, userService);
+                requestDTO, campusService, departamentoService, usuarioLogadoService);
 
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
         assertEquals("Campus ou Departamento inválido.", response.getBody());
@@ -149,7 +150,7 @@ class EventoUtilsTest {
         when(departamentoService.buscarPorId(1L)).thenReturn(departamentoOutroCampus);
 
         ResponseEntity<Object> response = EventoUtils.validarDadosIniciais(
-                requestDTO, campusService, departamentoService, userService);
+                requestDTO, campusService, departamentoService, usuarioLogadoService);
 
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
         assertEquals("Departamento não pertence ao Campus informado.", response.getBody());
@@ -165,7 +166,7 @@ class EventoUtilsTest {
             when(securityContext.getAuthentication()).thenReturn(null);
 
             ResponseEntity<Object> response = EventoUtils.validarDadosIniciais(
-                    requestDTO, campusService, departamentoService, userService);
+                    requestDTO, campusService, departamentoService, usuarioLogadoService);
 
             assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode());
             assertEquals("Nenhum usuário logado.", response.getBody());
@@ -180,11 +181,10 @@ class EventoUtilsTest {
         try (MockedStatic<SecurityContextHolder> securityContextHolder = Mockito.mockStatic(SecurityContextHolder.class)) {
             securityContextHolder.when(SecurityContextHolder::getContext).thenReturn(securityContext);
             when(securityContext.getAuthentication()).thenReturn(authentication);
-            when(authentication.getName()).thenReturn("test_user");
-            when(userService.buscarPorUsername("test_user")).thenReturn(null);
+            when(usuarioLogadoService.obterEscopo()).thenReturn(null);
 
             ResponseEntity<Object> response = EventoUtils.validarDadosIniciais(
-                    requestDTO, campusService, departamentoService, userService);
+                    requestDTO, campusService, departamentoService, usuarioLogadoService);
 
             assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode());
             assertEquals("Usuário não encontrado.", response.getBody());
@@ -203,11 +203,10 @@ class EventoUtilsTest {
         try (MockedStatic<SecurityContextHolder> securityContextHolder = Mockito.mockStatic(SecurityContextHolder.class)) {
             securityContextHolder.when(SecurityContextHolder::getContext).thenReturn(securityContext);
             when(securityContext.getAuthentication()).thenReturn(authentication);
-            when(authentication.getName()).thenReturn("test_user");
-            when(userService.buscarPorUsername("test_user")).thenReturn(user);
+            when(usuarioLogadoService.obterEscopo()).thenAnswer(invocacao -> EscopoAutorizacao.de(user));
 
             ResponseEntity<Object> response = EventoUtils.validarDadosIniciais(
-                    requestDTO, campusService, departamentoService, userService);
+                    requestDTO, campusService, departamentoService, usuarioLogadoService);
 
             assertEquals(HttpStatus.FORBIDDEN, response.getStatusCode());
             assertEquals("Você não gerencia este departamento.", response.getBody());
@@ -226,11 +225,10 @@ class EventoUtilsTest {
         try (MockedStatic<SecurityContextHolder> securityContextHolder = Mockito.mockStatic(SecurityContextHolder.class)) {
             securityContextHolder.when(SecurityContextHolder::getContext).thenReturn(securityContext);
             when(securityContext.getAuthentication()).thenReturn(authentication);
-            when(authentication.getName()).thenReturn("test_user");
-            when(userService.buscarPorUsername("test_user")).thenReturn(user);
+            when(usuarioLogadoService.obterEscopo()).thenAnswer(invocacao -> EscopoAutorizacao.de(user));
 
             ResponseEntity<Object> response = EventoUtils.validarDadosIniciais(
-                    requestDTO, campusService, departamentoService, userService);
+                    requestDTO, campusService, departamentoService, usuarioLogadoService);
 
             assertEquals(HttpStatus.OK, response.getStatusCode());
             assertInstanceOf(EventoUtils.EventoValidationData.class, response.getBody());
@@ -238,7 +236,6 @@ class EventoUtilsTest {
             EventoUtils.EventoValidationData data = (EventoUtils.EventoValidationData) response.getBody();
             assertEquals(campus, data.getCampus());
             assertEquals(departamento, data.getDepartamento());
-            assertEquals(user, data.getUsuarioLogado());
         }
     }
 
@@ -255,11 +252,10 @@ class EventoUtilsTest {
         try (MockedStatic<SecurityContextHolder> securityContextHolder = Mockito.mockStatic(SecurityContextHolder.class)) {
             securityContextHolder.when(SecurityContextHolder::getContext).thenReturn(securityContext);
             when(securityContext.getAuthentication()).thenReturn(authentication);
-            when(authentication.getName()).thenReturn("test_user");
-            when(userService.buscarPorUsername("test_user")).thenReturn(user);
+            when(usuarioLogadoService.obterEscopo()).thenAnswer(invocacao -> EscopoAutorizacao.de(user));
 
             ResponseEntity<Object> response = EventoUtils.validarDadosIniciais(
-                    requestDTO, campusService, departamentoService, userService);
+                    requestDTO, campusService, departamentoService, usuarioLogadoService);
 
             assertEquals(HttpStatus.OK, response.getStatusCode());
             assertInstanceOf(EventoUtils.EventoValidationData.class, response.getBody());
@@ -282,11 +278,10 @@ class EventoUtilsTest {
         try (MockedStatic<SecurityContextHolder> securityContextHolder = Mockito.mockStatic(SecurityContextHolder.class)) {
             securityContextHolder.when(SecurityContextHolder::getContext).thenReturn(securityContext);
             when(securityContext.getAuthentication()).thenReturn(authentication);
-            when(authentication.getName()).thenReturn("test_user");
-            when(userService.buscarPorUsername("test_user")).thenReturn(user);
+            when(usuarioLogadoService.obterEscopo()).thenAnswer(invocacao -> EscopoAutorizacao.de(user));
 
             ResponseEntity<Object> response = EventoUtils.validarDadosIniciais(
-                    requestDTO, campusService, departamentoService, userService);
+                    requestDTO, campusService, departamentoService, usuarioLogadoService);
 
             assertEquals(HttpStatus.FORBIDDEN, response.getStatusCode());
             assertEquals("Você não gerencia o campus deste departamento.", response.getBody());
@@ -306,11 +301,10 @@ class EventoUtilsTest {
         try (MockedStatic<SecurityContextHolder> securityContextHolder = Mockito.mockStatic(SecurityContextHolder.class)) {
             securityContextHolder.when(SecurityContextHolder::getContext).thenReturn(securityContext);
             when(securityContext.getAuthentication()).thenReturn(authentication);
-            when(authentication.getName()).thenReturn("test_user");
-            when(userService.buscarPorUsername("test_user")).thenReturn(user);
+            when(usuarioLogadoService.obterEscopo()).thenAnswer(invocacao -> EscopoAutorizacao.de(user));
 
             ResponseEntity<Object> response = EventoUtils.validarDadosIniciais(
-                    requestDTO, campusService, departamentoService, userService);
+                    requestDTO, campusService, departamentoService, usuarioLogadoService);
 
             assertEquals(HttpStatus.OK, response.getStatusCode());
             assertInstanceOf(EventoUtils.EventoValidationData.class, response.getBody());
@@ -333,11 +327,10 @@ class EventoUtilsTest {
         try (MockedStatic<SecurityContextHolder> securityContextHolder = Mockito.mockStatic(SecurityContextHolder.class)) {
             securityContextHolder.when(SecurityContextHolder::getContext).thenReturn(securityContext);
             when(securityContext.getAuthentication()).thenReturn(authentication);
-            when(authentication.getName()).thenReturn("test_user");
-            when(userService.buscarPorUsername("test_user")).thenReturn(user);
+            when(usuarioLogadoService.obterEscopo()).thenAnswer(invocacao -> EscopoAutorizacao.de(user));
 
             ResponseEntity<Object> response = EventoUtils.validarDadosIniciais(
-                    requestDTO, campusService, departamentoService, userService);
+                    requestDTO, campusService, departamentoService, usuarioLogadoService);
 
             assertEquals(HttpStatus.FORBIDDEN, response.getStatusCode());
             assertEquals("Você não gerencia este departamento.", response.getBody());
@@ -359,23 +352,46 @@ class EventoUtilsTest {
         try (MockedStatic<SecurityContextHolder> securityContextHolder = Mockito.mockStatic(SecurityContextHolder.class)) {
             securityContextHolder.when(SecurityContextHolder::getContext).thenReturn(securityContext);
             when(securityContext.getAuthentication()).thenReturn(authentication);
-            when(authentication.getName()).thenReturn("test_user");
-            when(userService.buscarPorUsername("test_user")).thenReturn(user);
+            when(usuarioLogadoService.obterEscopo()).thenAnswer(invocacao -> EscopoAutorizacao.de(user));
 
             ResponseEntity<Object> response = EventoUtils.validarDadosIniciais(
-                    requestDTO, campusService, departamentoService, userService);
+                    requestDTO, campusService, departamentoService, usuarioLogadoService);
 
             assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
             assertEquals("Data fim não pode ser anterior à data início.", response.getBody());
         }
     }
 
+    @Test
+    void testValidarDadosIniciais_SorteioSemDataLimite() {
+        when(campusService.buscarPorId(1L)).thenReturn(campus);
+        when(departamentoService.buscarPorId(1L)).thenReturn(departamento);
+
+        Role role = new Role();
+        role.setName("ADMIN_GERAL");
+        user.getRoles().add(role);
+
+        requestDTO.setModoAlocacao(Evento.ModoAlocacao.SORTEIO);
+        requestDTO.setDataLimiteInscricao(null);
+
+        try (MockedStatic<SecurityContextHolder> securityContextHolder = Mockito.mockStatic(SecurityContextHolder.class)) {
+            securityContextHolder.when(SecurityContextHolder::getContext).thenReturn(securityContext);
+            when(securityContext.getAuthentication()).thenReturn(authentication);
+            when(usuarioLogadoService.obterEscopo()).thenAnswer(invocacao -> EscopoAutorizacao.de(user));
+
+            ResponseEntity<Object> response = EventoUtils.validarDadosIniciais(
+                    requestDTO, campusService, departamentoService, usuarioLogadoService);
+
+            assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+            assertEquals("Eventos com sorteio precisam de uma data limite de inscrição.", response.getBody());
+        }
+    }
+
     @Test
     void testPersistirEvento_NovoCriado() {
         EventoUtils.EventoValidationData data = new EventoUtils.EventoValidationData();
         data.setCampus(campus);
         data.setDepartamento(departamento);
-        data.setUsuarioLogado(user);
 
         Evento novoEvento = new Evento();
 
@@ -400,7 +416,6 @@ class EventoUtilsTest {
         EventoUtils.EventoValidationData data = new EventoUtils.EventoValidationData();
         data.setCampus(campus);
         data.setDepartamento(departamento);
-        data.setUsuarioLogado(user);
 
         Evento eventoExistente = new Evento();
         eventoExistente.setId(1L);
@@ -425,7 +440,6 @@ class EventoUtilsTest {
         EventoUtils.EventoValidationData data = new EventoUtils.EventoValidationData();
         data.setCampus(campus);
         data.setDepartamento(departamento);
-        data.setUsuarioLogado(user);
 
         Evento eventoExistente = new Evento();
         eventoExistente.setId(1L);
@@ -456,7 +470,6 @@ class EventoUtilsTest {
         EventoUtils.EventoValidationData data = new EventoUtils.EventoValidationData();
         data.setCampus(campus);
         data.setDepartamento(departamento);
-        data.setUsuarioLogado(user);
 
         Evento eventoExistente = new Evento();
         eventoExistente.setId(1L);
@@ -489,7 +502,6 @@ class EventoUtilsTest {
         EventoUtils.EventoValidationData data = new EventoUtils.EventoValidationData();
         data.setCampus(campus);
         data.setDepartamento(departamento);
-        data.setUsuarioLogado(user);
 
         Evento novoEvento = new Evento();
         requestDTO.setCamposAdicionais(null);
@@ -515,7 +527,6 @@ class EventoUtilsTest {
         EventoUtils.EventoValidationData data = new EventoUtils.EventoValidationData();
         data.setCampus(campus);
         data.setDepartamento(departamento);
-        data.setUsuarioLogado(user);
 
         Evento eventoExistente = new Evento();
         eventoExistente.setId(1L);
@@ -545,82 +556,27 @@ class EventoUtilsTest {
     }
 
     @Test
-    void testChecarPermissaoEvento_AdminGeral() {
+    void testEscopoGerencia_AdminGeral_DeveSerIrrestrito() {
         Role role = new Role();
         role.setName("ADMIN_GERAL");
         user.getRoles().add(role);
 
-        ResponseEntity<Object> response = EventoUtils.checarPermissaoEvento(user, evento);
-
-        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertTrue(EventoUtils.escopoGerencia(EscopoAutorizacao.de(user)).irrestrito());
     }
 
     @Test
-    void testChecarPermissaoEvento_AdminCampus_GerenciaCampus() {
+    void testEscopoGerencia_DeveConsiderarSoAsRolesDoUsuario() {
         Role role = new Role();
         role.setName("ADMIN_CAMPUS");
         user.getRoles().add(role);
         user.getCampusQueAdministro().add(campus);
-
-        ResponseEntity<Object> response = EventoUtils.checarPermissaoEvento(user, evento);
-
-        assertEquals(HttpStatus.OK, response.getStatusCode());
-    }
-
-    @Test
-    void testChecarPermissaoEvento_AdminCampus_NaoGerenciaCampus() {
-        Role role = new Role();
-        role.setName("ADMIN_CAMPUS");
-        user.getRoles().add(role);
-
-        Campus outroCampus = new Campus();
-        outroCampus.setId(2L);
-        user.getCampusQueAdministro().add(outroCampus);
-
-        ResponseEntity<Object> response = EventoUtils.checarPermissaoEvento(user, evento);
-
-        assertEquals(HttpStatus.FORBIDDEN, response.getStatusCode());
-        assertEquals("Você não tem permissão para este evento.", response.getBody());
-    }
-
-    @Test
-    void testChecarPermissaoEvento_AdminDepartamento_GerenciaDepartamento() {
-        Role role = new Role();
-        role.setName("ADMIN_DEPARTAMENTO");
-        user.getRoles().add(role);
         user.getDepartamentosQueAdministro().add(departamento);
 
-        ResponseEntity<Object> response = EventoUtils.checarPermissaoEvento(user, evento);
-
-        assertEquals(HttpStatus.OK, response.getStatusCode());
-    }
-
-    @Test
-    void testChecarPermissaoEvento_AdminDepartamento_NaoGerenciaDepartamento() {
-        Role role = new Role();
-        role.setName("ADMIN_DEPARTAMENTO");
-        user.getRoles().add(role);
-
-        Departamento outroDepartamento = new Departamento();
-        outroDepartamento.setId(2L);
-        user.getDepartamentosQueAdministro().add(outroDepartamento);
-
-        ResponseEntity<Object> response = EventoUtils.checarPermissaoEvento(user, evento);
-
-        assertEquals(HttpStatus.FORBIDDEN, response.getStatusCode());
-        assertEquals("Você não tem permissão para este evento.", response.getBody());
-    }
-
-    @Test
-    void testChecarPermissaoEvento_SemPermissao() {
-        Role role = new Role();
-        role.setName("USER");
-        user.getRoles().add(role);
-
-        ResponseEntity<Object> response = EventoUtils.checarPermissaoEvento(user, evento);
+        EventoService.EscopoGerencia escopo = EventoUtils.escopoGerencia(EscopoAutorizacao.de(user));
 
-        assertEquals(HttpStatus.FORBIDDEN, response.getStatusCode());
-        assertEquals("Você não tem permissão para este evento.", response.getBody());
+        assertFalse(escopo.irrestrito());
+        assertEquals(List.of(campus.getId()), escopo.campusIds());
+        assertTrue(escopo.departamentoIds().isEmpty());
     }
 
     @Test
@@ -629,15 +585,12 @@ class EventoUtilsTest {
 
         assertNull(data.getCampus());
         assertNull(data.getDepartamento());
-        assertNull(data.getUsuarioLogado());
 
         data.setCampus(campus);
         data.setDepartamento(departamento);
-        data.setUsuarioLogado(user);
 
         assertEquals(campus, data.getCampus());
         assertEquals(departamento, data.getDepartamento());
-        assertEquals(user, data.getUsuarioLogado());
     }
 
 }
\ No newline at end of file
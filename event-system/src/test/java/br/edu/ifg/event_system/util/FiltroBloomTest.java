@@ -0,0 +1,44 @@
+package br.edu.ifg.event_system.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FiltroBloomTest {
+
+    @Test
+    void talvezContenha_ComChavesAdicionadas_NuncaDeveDarFalsoNegativo() {
+        FiltroBloom filtro = new FiltroBloom(1000, 0.01);
+        for (int i = 0; i < 1000; i++) {
+            filtro.adicionar("u:" + i);
+        }
+
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(filtro.talvezContenha("u:" + i));
+        }
+    }
+
+    @Test
+    void talvezContenha_ComChavesAusentes_DeveManterTaxaDeFalsosPositivosProximaDaPedida() {
+        FiltroBloom filtro = new FiltroBloom(1000, 0.01);
+        for (int i = 0; i < 1000; i++) {
+            filtro.adicionar("u:" + i);
+        }
+
+        int falsosPositivos = 0;
+        for (int i = 1000; i < 11000; i++) {
+            if (filtro.talvezContenha("u:" + i)) {
+                falsosPositivos++;
+            }
+        }
+
+        assertTrue(falsosPositivos < 300, "falsos positivos: " + falsosPositivos);
+    }
+
+    @Test
+    void construtor_ComParametrosInvalidos_DeveLancarExcecao() {
+        assertThrows(IllegalArgumentException.class, () -> new FiltroBloom(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new FiltroBloom(10, 1.0));
+    }
+
+}
@@ -29,12 +29,17 @@ const LoginModal = ({ isOpen, onClose, onLoginSuccess, onOpenRegister }) => {
         body: JSON.stringify({ username, password }),
       });
 
+      if (response.status === 429) {
+        setError("Muitos acessos no momento. Tente novamente em instantes.");
+        return;
+      }
       if (!response.ok) {
         throw new Error("Credenciais inválidas");
       }
 
       const data = await response.json();
       localStorage.setItem("token", data.token);
+      localStorage.setItem("refreshToken", data.refreshToken);
       onLoginSuccess(data.token);
 
       const redirectEventoId = localStorage.getItem("redirectEventoId");
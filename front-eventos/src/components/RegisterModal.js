@@ -60,6 +60,7 @@ const RegisterModal = ({ isOpen, onClose, onRegisterSuccess, onOpenLogin }) => {
 
       const data = await loginResponse.json();
       localStorage.setItem("token", data.token);
+      localStorage.setItem("refreshToken", data.refreshToken);
 
       setTimeout(() => {
         onRegisterSuccess(data.token);
@@ -1,6 +1,6 @@
 import React, { createContext, useState, useContext, useEffect } from 'react';
 import { useNavigate } from 'react-router-dom';
-import api from '../services/api';
+import api, { encerrarSessao } from '../services/api';
 
 const AuthContext = createContext(null);
 
@@ -48,10 +48,16 @@ export const AuthProvider = ({ children }) => {
   const handleLogout = () => {
     setLoggingOut(true);
 
+    const refreshToken = localStorage.getItem('refreshToken');
+    if (refreshToken) {
+      encerrarSessao(refreshToken);
+    }
+
     navigate('/', { replace: true });
 
     setTimeout(() => {
       localStorage.removeItem('token');
+      localStorage.removeItem('refreshToken');
       setIsLogged(false);
       setUserRoles([]);
       window.showNotification && window.showNotification('info', 'Você saiu do sistema.');
@@ -19,6 +19,8 @@ function HomePage({ onOpenLoginModal, isLogged }) {
 
   const [eventoDetalhes, setEventoDetalhes] = useState(null);
   const [mostrarDetalhes, setMostrarDetalhes] = useState(false);
+  // A listagem traz a descrição truncada; a pesquisa no servidor cobre o texto completo.
+  const [idsPesquisaServidor, setIdsPesquisaServidor] = useState(new Set());
 
   const token = localStorage.getItem("token");
   const isAuthenticated = isLogged && !!token;
@@ -86,6 +88,7 @@ function HomePage({ onOpenLoginModal, isLogged }) {
     const searchLower = search.toLowerCase();
     const filtrados = eventosBase.filter(evt =>
       evt.titulo.toLowerCase().includes(searchLower) ||
+      idsPesquisaServidor.has(evt.id) ||
       (evt.descricao && evt.descricao.toLowerCase().includes(searchLower)) ||
       (evt.local && evt.local.toLowerCase().includes(searchLower)) ||
       (evt.campus?.nome && evt.campus.nome.toLowerCase().includes(searchLower)) ||
@@ -93,7 +96,7 @@ function HomePage({ onOpenLoginModal, isLogged }) {
     );
 
     setEventosFiltrados(filtrados);
-  }, [activeTab, eventos, inscricoesCarregadas, minhasInscricoes, search]);
+  }, [activeTab, eventos, idsPesquisaServidor, inscricoesCarregadas, minhasInscricoes, search]);
 
   const fazerInscricao = useCallback(async (evento) => {
     if (!isAuthenticated) {
@@ -206,6 +209,15 @@ function HomePage({ onOpenLoginModal, isLogged }) {
   const abrirDetalhes = useCallback((evento) => {
     setEventoDetalhes(evento);
     setMostrarDetalhes(true);
+
+    // O item da listagem tem a descrição truncada; o detalhe traz o texto completo.
+    api.get(`/api/eventos/${evento.id}`)
+      .then((resp) => {
+        setEventoDetalhes(atual => (atual && atual.id === evento.id ? { ...atual, ...resp.data } : atual));
+      })
+      .catch((err) => {
+        console.error("Erro ao carregar detalhes do evento:", err);
+      });
   }, []);
 
   const fecharDetalhes = useCallback(() => {
@@ -234,6 +246,31 @@ function HomePage({ onOpenLoginModal, isLogged }) {
     }
   }, [isAuthenticated]);
 
+  useEffect(() => {
+    const texto = search.trim();
+    if (!texto) {
+      setIdsPesquisaServidor(new Set());
+      return;
+    }
+
+    let cancelada = false;
+    const timer = setTimeout(() => {
+      api.get("/api/eventos/search", { params: { texto } })
+        .then((resp) => {
+          if (!cancelada) {
+            setIdsPesquisaServidor(new Set(resp.data.map(evt => evt.id)));
+          }
+        })
+        .catch((err) => {
+          console.error("Erro ao pesquisar eventos:", err);
+        });
+    }, 300);
+    return () => {
+      cancelada = true;
+      clearTimeout(timer);
+    };
+  }, [search]);
+
   useEffect(() => {
     filtrarEventos();
   }, [search, eventos, activeTab, minhasInscricoes, filtrarEventos]);
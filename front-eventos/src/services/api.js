@@ -1,17 +1,115 @@
 import axios from 'axios';
 
+const BASE_URL = 'http://localhost:8080';
+const MARGEM_RENOVACAO_MS = 30000;
+const TRAVA_RENOVACAO = 'eventos-renovacao-token';
+const CABECALHO_IDEMPOTENCIA = 'Idempotency-Key';
+const ROTAS_IDEMPOTENTES = /^\/api\/inscricoes\/(inscrever|inscrever-completo|carrinho)(\?|$)/;
+
 const api = axios.create({
-  baseURL: 'http://localhost:8080',
+  baseURL: BASE_URL,
+});
+
+const expiraEm = (token) => {
+  try {
+    const payload = token.split('.')[1].replace(/-/g, '+').replace(/_/g, '/');
+    return JSON.parse(atob(payload)).exp * 1000;
+  } catch (error) {
+    return 0;
+  }
+};
+
+// Todas as abas compartilham o mesmo refresh token, que muda a cada renovação. A trava
+// (quando o navegador oferece Web Locks) faz as abas renovarem uma de cada vez; quem
+// entra depois encontra o token já trocado e apenas o reaproveita.
+const comTravaEntreAbas = (tarefa) => (navigator.locks
+  ? navigator.locks.request(TRAVA_RENOVACAO, tarefa)
+  : tarefa());
+
+const renovar = (refreshTokenUsado) => comTravaEntreAbas(async () => {
+  const refreshToken = localStorage.getItem('refreshToken');
+  if (!refreshToken) {
+    return null;
+  }
+  if (refreshToken !== refreshTokenUsado) {
+    return localStorage.getItem('token');
+  }
+
+  try {
+    const { data } = await axios.post(`${BASE_URL}/api/auth/refresh`, { refreshToken });
+    localStorage.setItem('token', data.token);
+    localStorage.setItem('refreshToken', data.refreshToken);
+    return data.token;
+  } catch (error) {
+    // Sem Web Locks, outra aba pode ter rotacionado o token ao mesmo tempo: se ela já
+    // gravou um novo, a sessão continua válida e não deve ser encerrada.
+    if (localStorage.getItem('refreshToken') !== refreshToken) {
+      return localStorage.getItem('token');
+    }
+    localStorage.removeItem('token');
+    localStorage.removeItem('refreshToken');
+    return null;
+  }
 });
 
-api.interceptors.request.use((config) => {
-  const token = localStorage.getItem('token');
+let renovacaoEmAndamento = null;
+
+const renovarToken = () => {
+  if (!renovacaoEmAndamento) {
+    renovacaoEmAndamento = renovar(localStorage.getItem('refreshToken'))
+      .finally(() => {
+        renovacaoEmAndamento = null;
+      });
+  }
+  return renovacaoEmAndamento;
+};
+
+const novaChaveIdempotencia = () => (window.crypto && window.crypto.randomUUID
+  ? window.crypto.randomUUID()
+  : `${Date.now().toString(36)}-${Math.random().toString(36).slice(2)}`);
+
+export const encerrarSessao = (refreshToken) =>
+  axios.post(`${BASE_URL}/api/auth/logout`, { refreshToken }).catch(() => {});
+
+api.interceptors.request.use(async (config) => {
+  let token = localStorage.getItem('token');
+  if (token && localStorage.getItem('refreshToken') && expiraEm(token) - Date.now() < MARGEM_RENOVACAO_MS) {
+    token = await renovarToken();
+  }
   if (token) {
     config.headers.Authorization = `Bearer ${token}`;
   }
+  // Cada tentativa de inscrição recebe uma chave própria. A repetição feita abaixo, após
+  // renovar o token, reaproveita o mesmo config e portanto a mesma chave: o servidor
+  // não grava a inscrição duas vezes se a primeira resposta se perdeu no caminho.
+  if (config.method === 'post' && ROTAS_IDEMPOTENTES.test(config.url || '')
+    && !config.headers[CABECALHO_IDEMPOTENCIA]) {
+    config.headers[CABECALHO_IDEMPOTENCIA] = novaChaveIdempotencia();
+  }
   return config;
 }, (error) => {
   return Promise.reject(error);
 });
 
+// O servidor revoga o token de acesso quando roles, campus ou departamentos do usuário
+// mudam, mesmo antes de ele expirar. Um 401/403 é então repetido uma vez com um token novo.
+api.interceptors.response.use((response) => response, async (error) => {
+  const { config, response } = error;
+  if (!config || config.tokenRenovado || !response || ![401, 403].includes(response.status)
+    || !localStorage.getItem('refreshToken')) {
+    return Promise.reject(error);
+  }
+
+  const usado = config.headers.Authorization;
+  const atual = localStorage.getItem('token');
+  // Outra requisição já renovou o token depois que esta foi enviada.
+  const token = atual && usado !== `Bearer ${atual}` ? atual : await renovarToken();
+  if (!token) {
+    return Promise.reject(error);
+  }
+
+  config.tokenRenovado = true;
+  return api(config);
+});
+
 export default api;